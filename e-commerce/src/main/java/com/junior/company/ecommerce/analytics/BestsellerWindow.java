@@ -0,0 +1,30 @@
+package com.junior.company.ecommerce.analytics;
+
+import java.time.Duration;
+
+public enum BestsellerWindow {
+
+    HOUR(Duration.ofMinutes(1), 60),
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofDays(1), 7);
+
+    private final Duration bucket;
+    private final int buckets;
+
+    BestsellerWindow(Duration bucket, int buckets) {
+        this.bucket = bucket;
+        this.buckets = buckets;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public Duration getLength() {
+        return bucket.multipliedBy(buckets);
+    }
+}
@@ -0,0 +1,215 @@
+package com.junior.company.ecommerce.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+// Per product counts of orders shared with other products. Counts of one product live in its own
+// open addressing long -> int table, capped at trackedNeighbours entries; when the cap is reached
+// the weaker half is dropped. The strongest neighbours are kept as a ranking snapshot for reads.
+public class CoOccurrenceModel {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY_KEY = 0;
+    private static final int ROW_OVERHEAD_BYTES = 128;
+
+    private final int neighbours;
+    private final int trackedNeighbours;
+    private final int maxProducts;
+    private final Map<Long, Neighbours> rows = new ConcurrentHashMap<>();
+
+    public CoOccurrenceModel(int neighbours, int trackedNeighbours, int maxProducts) {
+        this.neighbours = neighbours;
+        this.trackedNeighbours = Math.max(trackedNeighbours, neighbours * 2);
+        this.maxProducts = maxProducts;
+    }
+
+    public void addOrder(long[] orderedProductIds) {
+        long[] productIds = LongStream.of(orderedProductIds).distinct().toArray();
+        if (productIds.length < 2) {
+            return;
+        }
+        for (int i = 0; i < productIds.length; i++) {
+            Neighbours row = row(productIds[i]);
+            if (row != null) {
+                row.addAll(productIds, i);
+            }
+        }
+    }
+
+    public Ranking neighboursOf(long productId) {
+        Neighbours row = rows.get(productId);
+        return row == null ? Ranking.EMPTY : row.top;
+    }
+
+    public Stats stats() {
+        long pairs = 0;
+        long bytes = 0;
+        for (Neighbours row : rows.values()) {
+            synchronized (row) {
+                pairs += row.size;
+                bytes += ROW_OVERHEAD_BYTES + row.keys.length * (long) (Long.BYTES + Integer.BYTES)
+                        + row.top.sizeInBytes();
+            }
+        }
+        return new Stats(rows.size(), pairs, bytes);
+    }
+
+    public int getNeighbours() {
+        return neighbours;
+    }
+
+    public int getTrackedNeighbours() {
+        return trackedNeighbours;
+    }
+
+    public int getMaxProducts() {
+        return maxProducts;
+    }
+
+    private Neighbours row(long productId) {
+        Neighbours row = rows.get(productId);
+        if (row != null || productId == EMPTY_KEY || rows.size() >= maxProducts) {
+            return row;
+        }
+        return rows.computeIfAbsent(productId, (id) -> new Neighbours());
+    }
+
+    public static final class Stats {
+
+        private final int products;
+        private final long pairs;
+        private final long estimatedBytes;
+
+        private Stats(int products, long pairs, long estimatedBytes) {
+            this.products = products;
+            this.pairs = pairs;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public int getProducts() {
+            return products;
+        }
+
+        public long getPairs() {
+            return pairs;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+    }
+
+    private final class Neighbours {
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private int size;
+        private volatile Ranking top = Ranking.EMPTY;
+
+        private synchronized void addAll(long[] productIds, int self) {
+            Ranking ranking = top;
+            for (int i = 0; i < productIds.length; i++) {
+                if (i == self || productIds[i] == EMPTY_KEY) {
+                    continue;
+                }
+                if (size == trackedNeighbours) {
+                    prune();
+                    ranking = top;
+                }
+                ranking = ranking.offer(productIds[i], increment(productIds[i]), neighbours);
+            }
+            top = ranking;
+        }
+
+        private int increment(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != EMPTY_KEY) {
+                if (keys[slot] == key) {
+                    return ++counts[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot] = 1;
+            if (++size * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            return 1;
+        }
+
+        private void prune() {
+            int[] sortedCounts = new int[size];
+            int position = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY_KEY) {
+                    sortedCounts[position++] = counts[slot];
+                }
+            }
+            Arrays.sort(sortedCounts);
+            int keep = trackedNeighbours / 2;
+            int threshold = sortedCounts[size - keep];
+            int aboveThreshold = 0;
+            for (int count : sortedCounts) {
+                if (count > threshold) {
+                    aboveThreshold++;
+                }
+            }
+            int tiesToKeep = keep - aboveThreshold;
+
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length];
+            counts = new int[oldKeys.length];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] == EMPTY_KEY || oldCounts[slot] < threshold) {
+                    continue;
+                }
+                if (oldCounts[slot] == threshold && tiesToKeep-- <= 0) {
+                    continue;
+                }
+                put(oldKeys[slot], oldCounts[slot]);
+            }
+
+            Ranking ranking = Ranking.EMPTY;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY_KEY) {
+                    ranking = ranking.offer(keys[slot], counts[slot], neighbours);
+                }
+            }
+            top = ranking;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[capacity];
+            counts = new int[capacity];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY_KEY) {
+                    put(oldKeys[slot], oldCounts[slot]);
+                }
+            }
+        }
+
+        private void put(long key, int count) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot] = count;
+            size++;
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,62 @@
+package com.junior.company.ecommerce.analytics;
+
+import java.util.Arrays;
+
+public final class Ranking {
+
+    static final Ranking EMPTY = new Ranking(new long[0], new long[0]);
+
+    private final long[] productIds;
+    private final long[] counts;
+
+    Ranking(long[] productIds, long[] counts) {
+        this.productIds = productIds;
+        this.counts = counts;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public long productId(int position) {
+        return productIds[position];
+    }
+
+    public long count(int position) {
+        return counts[position];
+    }
+
+    public boolean hasSameProducts(Ranking other) {
+        return Arrays.equals(productIds, other.productIds);
+    }
+
+    long threshold(int capacity) {
+        return productIds.length < capacity ? 0 : counts[counts.length - 1];
+    }
+
+    int sizeInBytes() {
+        return (productIds.length + counts.length) * Long.BYTES;
+    }
+
+    Ranking offer(long productId, long count, int capacity) {
+        int position = 0;
+        while (position < productIds.length && productIds[position] != productId) {
+            position++;
+        }
+        if (position == productIds.length && productIds.length == capacity && count <= counts[capacity - 1]) {
+            return this;
+        }
+        int size = position < productIds.length ? productIds.length : Math.min(productIds.length + 1, capacity);
+        long[] newProductIds = Arrays.copyOf(productIds, size);
+        long[] newCounts = Arrays.copyOf(counts, size);
+        position = Math.min(position, size - 1);
+        while (position > 0 && newCounts[position - 1] < count) {
+            newProductIds[position] = newProductIds[position - 1];
+            newCounts[position] = newCounts[position - 1];
+            position--;
+        }
+        newProductIds[position] = productId;
+        newCounts[position] = count;
+        return new Ranking(newProductIds, newCounts);
+    }
+}
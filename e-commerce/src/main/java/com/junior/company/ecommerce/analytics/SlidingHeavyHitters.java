@@ -0,0 +1,139 @@
+package com.junior.company.ecommerce.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Ring of Count-Min sketches, one per time bucket plus a spare one cleared ahead of time by refresh,
+// so recording a sale is a few atomic adds. The top-K is recomputed from bounded candidates by refresh.
+public class SlidingHeavyHitters {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 4096;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int ringBuckets;
+    private final int capacity;
+    private final int maxCandidates;
+    private final AtomicLongArray counters;
+    private final AtomicLongArray epochs;
+    private final Map<Long, Boolean> candidates = new ConcurrentHashMap<>();
+    private volatile Ranking ranking = Ranking.EMPTY;
+
+    public SlidingHeavyHitters(long bucketMillis, int windowBuckets, int capacity) {
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets;
+        this.ringBuckets = windowBuckets + 1;
+        this.capacity = capacity;
+        this.maxCandidates = capacity * 4;
+        this.counters = new AtomicLongArray(ringBuckets * DEPTH * WIDTH);
+        this.epochs = new AtomicLongArray(ringBuckets);
+        for (int bucket = 0; bucket < ringBuckets; bucket++) {
+            epochs.set(bucket, Long.MIN_VALUE);
+        }
+    }
+
+    public void add(long productId, long amount, long timeMillis, long nowMillis) {
+        long epoch = Math.floorDiv(timeMillis, bucketMillis);
+        long currentEpoch = Math.floorDiv(nowMillis, bucketMillis);
+        if (epoch > currentEpoch || epoch <= currentEpoch - windowBuckets) {
+            return;
+        }
+        int bucket = (int) Math.floorMod(epoch, (long) ringBuckets);
+        if (epochs.get(bucket) != epoch && !claim(bucket, epoch)) {
+            return;
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            counters.addAndGet(index(bucket, row, productId), amount);
+        }
+        if (!candidates.containsKey(productId)
+                && (candidates.size() < maxCandidates || estimate(productId, nowMillis) > ranking.threshold(capacity))) {
+            candidates.put(productId, Boolean.TRUE);
+        }
+    }
+
+    public long estimate(long productId, long nowMillis) {
+        long currentEpoch = Math.floorDiv(nowMillis, bucketMillis);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            long sum = 0;
+            for (int bucket = 0; bucket < ringBuckets; bucket++) {
+                long epoch = epochs.get(bucket);
+                if (epoch <= currentEpoch && epoch > currentEpoch - windowBuckets) {
+                    sum += counters.get(index(bucket, row, productId));
+                }
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    public void refresh(long nowMillis) {
+        long nextEpoch = Math.floorDiv(nowMillis, bucketMillis) + 1;
+        int nextBucket = (int) Math.floorMod(nextEpoch, (long) ringBuckets);
+        if (epochs.get(nextBucket) < nextEpoch) {
+            claim(nextBucket, nextEpoch);
+        }
+
+        List<long[]> estimates = new ArrayList<>(candidates.size());
+        for (Long productId : candidates.keySet()) {
+            long estimate = estimate(productId, nowMillis);
+            if (estimate > 0) {
+                estimates.add(new long[]{productId, estimate});
+            } else {
+                candidates.remove(productId);
+            }
+        }
+        estimates.sort(Comparator.<long[]>comparingLong((entry) -> entry[1]).reversed()
+                .thenComparingLong((entry) -> entry[0]));
+        for (int i = maxCandidates; i < estimates.size(); i++) {
+            candidates.remove(estimates.get(i)[0]);
+        }
+
+        int size = Math.min(capacity, estimates.size());
+        long[] productIds = new long[size];
+        long[] counts = new long[size];
+        for (int i = 0; i < size; i++) {
+            productIds[i] = estimates.get(i)[0];
+            counts[i] = estimates.get(i)[1];
+        }
+        ranking = new Ranking(productIds, counts);
+    }
+
+    public Ranking top() {
+        return ranking;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private synchronized boolean claim(int bucket, long epoch) {
+        long current = epochs.get(bucket);
+        if (current > epoch) {
+            return false;
+        }
+        if (current < epoch) {
+            int from = bucket * DEPTH * WIDTH;
+            for (int i = from; i < from + DEPTH * WIDTH; i++) {
+                counters.set(i, 0);
+            }
+            epochs.set(bucket, epoch);
+        }
+        return true;
+    }
+
+    private static int index(int bucket, int row, long productId) {
+        long hash = (productId + 1) * SEEDS[row];
+        hash ^= hash >>> 31;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 29;
+        return (bucket * DEPTH + row) * WIDTH + (int) (hash & (WIDTH - 1));
+    }
+}
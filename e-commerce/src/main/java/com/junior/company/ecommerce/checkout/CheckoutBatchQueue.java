@@ -0,0 +1,97 @@
+package com.junior.company.ecommerce.checkout;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Routes submitted values by key into shards, each with its own ring buffer and a single writer thread.
+// A writer drains everything waiting in its ring (up to the max batch size) and hands it to the handler at once.
+// If the handler throws, the failure handler gets the batch and the error, so no submitter waits for a batch
+// that was dropped. Writers keep running while a submit is past the running check, so every value accepted
+// before close returns is drained. A full ring rejects the value at once instead of holding the submitter, and
+// an idle writer parks until a submit or close wakes it.
+@Slf4j
+public class CheckoutBatchQueue<T> implements Closeable {
+
+    private final List<CheckoutRingBuffer<T>> rings = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private final int maxBatchSize;
+    private final Consumer<List<T>> handler;
+    private final BiConsumer<List<T>, Throwable> failureHandler;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public CheckoutBatchQueue(int shards, int capacity, int maxBatchSize, Consumer<List<T>> handler,
+                              BiConsumer<List<T>, Throwable> failureHandler) {
+        this.maxBatchSize = maxBatchSize;
+        this.handler = handler;
+        this.failureHandler = failureHandler;
+        for (int shard = 0; shard < shards; shard++) {
+            CheckoutRingBuffer<T> ring = new CheckoutRingBuffer<>(capacity);
+            Thread writer = new Thread(() -> drainContinuously(ring), "checkout-writer-" + shard);
+            writer.setDaemon(true);
+            rings.add(ring);
+            writers.add(writer);
+        }
+        writers.forEach(Thread::start);
+    }
+
+    // returns false when the ring of the shard is full
+    public boolean submit(long key, T value) {
+        submitting.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Checkout queue is closed");
+            }
+            int shard = (int) Math.floorMod(key, (long) rings.size());
+            boolean accepted = rings.get(shard).offer(value);
+            LockSupport.unpark(writers.get(shard));
+            return accepted;
+        } finally {
+            // writers draining after close wait for the last submit, wake them once it is done
+            if (submitting.decrementAndGet() == 0 && !running) {
+                writers.forEach(LockSupport::unpark);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Thread writer : writers) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drainContinuously(CheckoutRingBuffer<T> ring) {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        while (running || submitting.get() > 0 || !ring.isEmpty()) {
+            batch.clear();
+            if (ring.drainTo(batch, maxBatchSize) == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                handler.accept(batch);
+            } catch (Throwable e) {
+                log.error("Checkout batch of {} requests failed", batch.size(), e);
+                try {
+                    failureHandler.accept(batch, e);
+                } catch (Throwable failure) {
+                    log.error("Failing checkout batch of {} requests failed", batch.size(), failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.junior.company.ecommerce.checkout;
+
+public enum CheckoutMode {
+
+    DIRECT,
+    BATCHED
+}
@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.checkout;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+@RequiredArgsConstructor
+public class CheckoutRequest {
+
+    private final Long appUserId;
+    private final Long cartId;
+    private final Long firstItemId;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+}
@@ -0,0 +1,58 @@
+package com.junior.company.ecommerce.checkout;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded multi-producer, single-consumer ring buffer.
+// Producers claim a sequence with CAS and publish into its slot; the consumer drains
+// published slots in sequence order and stops at the first slot that is claimed but not yet published.
+public class CheckoutRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public CheckoutRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalStateException("Ring buffer capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(T value) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.lazySet((int) sequence & mask, value);
+        return true;
+    }
+
+    public int drainTo(List<T> batch, int maxSize) {
+        long sequence = head;
+        int drained = 0;
+        while (drained < maxSize) {
+            int slot = (int) sequence & mask;
+            T value = slots.get(slot);
+            if (value == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            batch.add(value);
+            sequence++;
+            drained++;
+        }
+        head = sequence;
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return head == tail.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.junior.company.ecommerce.controller;
+
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.BoughtTogetherService;
+import com.junior.company.ecommerce.service.SalesRollupService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.ANALYTICS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/analytics")
+@RequiredArgsConstructor
+@Api(tags = {ANALYTICS_API_TAG})
+public class AnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+    private final BoughtTogetherService boughtTogetherService;
+
+    @GetMapping("sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get total sales per day", notes = "Available for ADMIN\n\n" +
+            "Allows to view units sold and revenue per day between the given dates (inclusive, up to 366 days). " +
+            "Figures are read from daily rollups and may lag behind placed orders by a few seconds.")
+    public ResponseEntity<Response> findDailySales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved daily sales from: %s to: %s", from, to))
+                .data(Map.of("sales", salesRollupService.findDailySales(from, to)))
+                .build());
+    }
+
+    @GetMapping("sales/products")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get sales per day and product", notes = "Available for ADMIN\n\n" +
+            "Allows to view units sold and revenue per day and product between the given dates " +
+            "(inclusive, up to 366 days), optionally for a single product.")
+    public ResponseEntity<Response> findProductSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                     @RequestParam(required = false) Long productId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved product sales from: %s to: %s", from, to))
+                .data(Map.of("sales", salesRollupService.findProductSales(from, to, productId)))
+                .build());
+    }
+
+    @GetMapping("sales/categories")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get sales per day and category", notes = "Available for ADMIN\n\n" +
+            "Allows to view units sold and revenue per day and category between the given dates " +
+            "(inclusive, up to 366 days), optionally for a single category. " +
+            "A product in many categories counts towards each of them.")
+    public ResponseEntity<Response> findCategorySales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved category sales from: %s to: %s", from, to))
+                .data(Map.of("sales", salesRollupService.findCategorySales(from, to, categoryId)))
+                .build());
+    }
+
+    @GetMapping("bought-together")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get statistics of the frequently bought together model", notes = "Available for ADMIN\n\n" +
+            "Allows to view how many products and product pairs are tracked in memory " +
+            "and an estimate of the memory they take.")
+    public ResponseEntity<Response> getBoughtTogetherStats() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved statistics of frequently bought together products")
+                .data(Map.of("stats", boughtTogetherService.getStats()))
+                .build());
+    }
+}
@@ -6,7 +6,9 @@ import com.junior.company.ecommerce.service.AppUserService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,10 +18,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -36,15 +41,79 @@ public class AppUserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @ApiOperation(value = "Get a list of all users", notes = "Available for ADMIN\n\n" +
-            "Allows to view a list of all users registered in the system.")
-    public ResponseEntity<Response> findUsers() {
+    @ApiOperation(value = "Get a page of users", notes = "Available for ADMIN\n\n" +
+            "Allows to view users registered in the system ordered by id, at most size (max 1000) users " +
+            "with id greater than afterId. The next page starts after next_after_id, which is null on the last page.")
+    public ResponseEntity<Response> findUsers(@RequestParam(required = false, defaultValue = "0") Long afterId,
+                                              @RequestParam(required = false, defaultValue = "100") Integer size) {
         return ResponseEntity.ok(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
-                .message("Retrieved list of users")
-                .data(Map.of("users", appUserService.findUsers()))
+                .message("Retrieved page of users")
+                .data(Map.of("page", appUserService.findUsersPage(afterId, size)))
+                .build());
+    }
+
+    @GetMapping("search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Search users", notes = "Available for ADMIN\n\n" +
+            "Allows to find users whose email or last name starts with the given text, " +
+            "ordered by email or by last name and first name. Either email or lastName must be given. " +
+            "At most size (max 100) users are returned on a page.")
+    public ResponseEntity<Response> searchUsers(@RequestParam(required = false) String email,
+                                                @RequestParam(required = false) String lastName,
+                                                @RequestParam(required = false, defaultValue = "0") Integer page,
+                                                @RequestParam(required = false, defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved users matching search")
+                .data(Map.of("page", appUserService.searchUsers(email, lastName, page, size)))
+                .build());
+    }
+
+    @GetMapping(params = "format=ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Export all users", notes = "Available for ADMIN\n\n" +
+            "Allows to download all users as NDJSON (one user per line). " +
+            "The file is streamed while being read from the database.")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        appUserService.exportUsers(response.getOutputStream());
+    }
+
+    @GetMapping("password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get statistics of password hashing", notes = "Available for ADMIN\n\n" +
+            "Allows to view how many password hashes are waiting, running, completed and rejected " +
+            "and how long a single hash takes.")
+    public ResponseEntity<Response> getPasswordHashingStats() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved statistics of password hashing")
+                .data(Map.of("stats", appUserService.getPasswordHashingStats()))
+                .build());
+    }
+
+    @GetMapping("login-attempts")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get failed login attempts", notes = "Available for ADMIN\n\n" +
+            "Allows to view how many failed logins were counted for an email and a client address " +
+            "within the throttling window, and whether their next logins get rejected.")
+    public ResponseEntity<Response> getLoginAttempts(@RequestParam(required = false) String email,
+                                                     @RequestParam(required = false) String address) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved failed login attempts")
+                .data(Map.of("attempts", appUserService.getLoginAttempts(email, address)))
                 .build());
     }
 
@@ -63,6 +132,20 @@ public class AppUserController {
                 .build());
     }
 
+    @GetMapping("{userId}/personal-data")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @ApiOperation(value = "Export personal data of an user by id", notes = "Available for ADMIN, USER\n\n" +
+            "Allows to download all data kept about an user as one JSON document: the profile, the address " +
+            "and all orders with their lines. The current logged user can only export his own data. " +
+            "The file is streamed while being read from the database.")
+    public void exportPersonalData(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                String.format("attachment; filename=\"personal_data_%s.json\"", userId));
+        appUserService.exportPersonalData(userId, response.getOutputStream());
+    }
+
     @PostMapping
     @ApiOperation(value = "Register a new user", notes = "Available for EVERYONE\n\n" +
             "Allows to register a new user in the system. The user's information must be valid. " +
@@ -98,14 +181,15 @@ public class AppUserController {
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @ApiOperation(value = "Delete an existing user by id", notes = "Available for ADMIN, USER\n\n" +
             "Allows to delete an existing user by id from the system. Every user can be deleted by an admin, " +
-            "but the current logged user can only delete his own account.")
+            "but the current logged user can only delete his own account. The account is disabled at once " +
+            "and its data is removed in the background.")
     public ResponseEntity<Response> deleteUserById(@PathVariable Long userId) {
-        return ResponseEntity.ok(Response.builder()
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Response.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.OK)
-                .statusCode(HttpStatus.OK.value())
-                .message(String.format("Deleted user with id: %s", userId))
-                .data(Map.of("is_deleted", appUserService.deleteUserById(userId)))
+                .status(HttpStatus.ACCEPTED)
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .message(String.format("Deleting user with id: %s", userId))
+                .data(Map.of("deletion", appUserService.deleteUserById(userId)))
                 .build());
     }
 }
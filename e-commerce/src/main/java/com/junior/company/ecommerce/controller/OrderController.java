@@ -0,0 +1,91 @@
+package com.junior.company.ecommerce.controller;
+
+import com.junior.company.ecommerce.dto.OrderStatusRequest;
+import com.junior.company.ecommerce.export.OrderExportFormat;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.OrderService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.ORDERS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/orders")
+@RequiredArgsConstructor
+@Api(tags = {ORDERS_API_TAG})
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get a list of orders with the given status", notes = "Available for ADMIN\n\n" +
+            "Allows to view a page of orders of all users filtered by the status.")
+    public ResponseEntity<Response> findOrdersByStatus(@RequestParam String status,
+                                                       @RequestParam(required = false, defaultValue = "0") Integer page,
+                                                       @RequestParam(required = false, defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved list of orders with status: %s", status))
+                .data(Map.of("orders", orderService.findOrdersByStatus(status, page, size)))
+                .build());
+    }
+
+    @PutMapping("status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Change status of many orders", notes = "Available for ADMIN\n\n" +
+            "Allows to move up to 10000 orders to the given status in one call. " +
+            "Valid transitions: PLACED -> PAID/CANCELLED, PAID -> SHIPPED/CANCELLED, SHIPPED -> DELIVERED. " +
+            "Orders which cannot be moved are reported by id with the reason.")
+    public ResponseEntity<Response> updateOrderStatus(@Valid @RequestBody OrderStatusRequest orderStatusRequest) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Updated status of orders")
+                .data(Map.of("result", orderService.updateOrderStatus(orderStatusRequest)))
+                .build());
+    }
+
+    @GetMapping("export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Export orders placed in a date range", notes = "Available for ADMIN\n\n" +
+            "Allows to download all orders with their lines placed between the given dates (inclusive) " +
+            "as CSV (one row per order line) or NDJSON (one order per line). " +
+            "The file is streamed while being read from the database.")
+    public void exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(required = false, defaultValue = "csv") String format,
+                             HttpServletResponse response) throws IOException {
+        if (from.isAfter(to)) {
+            throw new IllegalStateException("Date from must not be after date to");
+        }
+        OrderExportFormat exportFormat = OrderExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment; filename=\"orders_%s_%s.%s\"",
+                from, to, exportFormat.getExtension()));
+        orderService.exportOrders(from, to, exportFormat, response.getOutputStream());
+    }
+}
@@ -3,6 +3,9 @@ package com.junior.company.ecommerce.controller;
 import com.junior.company.ecommerce.dto.ItemRequest;
 import com.junior.company.ecommerce.dto.ProductRequest;
 import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.BestsellerService;
+import com.junior.company.ecommerce.service.BoughtTogetherService;
+import com.junior.company.ecommerce.service.LowStockService;
 import com.junior.company.ecommerce.service.ProductService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -39,6 +42,9 @@ import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
 public class ProductController {
 
     private final ProductService productService;
+    private final BestsellerService bestsellerService;
+    private final BoughtTogetherService boughtTogetherService;
+    private final LowStockService lowStockService;
 
     @GetMapping
     @ApiOperation(value = "Get a list of all products", notes = "Available for EVERYONE\n\n" +
@@ -54,6 +60,21 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("bestsellers")
+    @ApiOperation(value = "Get a list of products selling best right now", notes = "Available for EVERYONE\n\n" +
+            "Allows to view products with the most units sold in the last HOUR, DAY or WEEK. " +
+            "Counts are approximate and refreshed every second.")
+    public ResponseEntity<Response> findBestsellers(@RequestParam(required = false, defaultValue = "day") String window,
+                                                    @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved bestsellers of the last: %s", window))
+                .data(Map.of("bestsellers", bestsellerService.findBestsellers(window, limit)))
+                .build());
+    }
+
     @GetMapping("{productId}")
     @ApiOperation(value = "Get a product by id", notes = "Available for EVERYONE\n\n" +
             "Allows to view a product by id.")
@@ -67,6 +88,21 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("{productId}/bought-together")
+    @ApiOperation(value = "Get a list of products frequently bought together with a product", notes = "Available for EVERYONE\n\n" +
+            "Allows to view products most often ordered together with the given product, " +
+            "with the number of orders containing both.")
+    public ResponseEntity<Response> findBoughtTogether(@PathVariable Long productId,
+                                                       @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved products bought together with product with id: %s", productId))
+                .data(Map.of("products", boughtTogetherService.findBoughtTogether(productId, limit)))
+                .build());
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(value = "Create a new product", notes = "Available for ADMIN\n\n" +
@@ -146,6 +182,21 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("items/low-stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Get a list of items low on stock", notes = "Available for ADMIN\n\n" +
+            "Allows to view items whose quantity dropped below the low stock threshold of their product, " +
+            "most depleted first. An item stays on the list until restocked a bit above the threshold.")
+    public ResponseEntity<Response> findLowStockItems() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved list of items low on stock")
+                .data(Map.of("items", lowStockService.findLowStockItems()))
+                .build());
+    }
+
     @PutMapping("items")
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(value = "Update an existing item of product", notes = "Available for ADMIN\n\n" +
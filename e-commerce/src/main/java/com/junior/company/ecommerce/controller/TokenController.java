@@ -0,0 +1,60 @@
+package com.junior.company.ecommerce.controller;
+
+import com.junior.company.ecommerce.dto.RefreshTokenRequest;
+import com.junior.company.ecommerce.dto.TokenResponse;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.RefreshTokenService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.TOKENS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/token")
+@RequiredArgsConstructor
+@Api(tags = {TOKENS_API_TAG})
+public class TokenController {
+
+    private final RefreshTokenService refreshTokenService;
+
+    @PostMapping("refresh")
+    @ApiOperation(value = "Refresh an access token", notes = "Available for EVERYONE\n\n" +
+            "Allows to exchange a refresh token received on login for a new access token and a new refresh token. " +
+            "Every refresh token can be used only once.")
+    public ResponseEntity<Response> refreshAccessToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        TokenResponse tokens = refreshTokenService.refreshAccessToken(refreshTokenRequest.getRefreshToken());
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Refreshed access token")
+                .data(Map.of("access_token", tokens.getAccessToken(),
+                        "refresh_token", tokens.getRefreshToken()))
+                .build());
+    }
+
+    @PostMapping("revoke")
+    @ApiOperation(value = "Revoke a refresh token", notes = "Available for EVERYONE\n\n" +
+            "Allows to log out by revoking a refresh token, so it cannot be used to get new access tokens.")
+    public ResponseEntity<Response> revokeRefreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Revoked refresh token")
+                .data(Map.of("is_revoked", refreshTokenService.revokeRefreshToken(
+                        refreshTokenRequest.getRefreshToken())))
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.junior.company.ecommerce.controller;
+
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.UserDeletionService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.USERS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/users/deletions")
+@RequiredArgsConstructor
+@Api(tags = {USERS_API_TAG})
+public class UserDeletionController {
+
+    private final UserDeletionService userDeletionService;
+
+    @GetMapping("{deletionId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Find user deletion by id", notes = "Available for ADMIN\n\n" +
+            "Allows to follow the removal of a deleted user's data.")
+    public ResponseEntity<Response> findDeletionById(@PathVariable("deletionId") Long deletionId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved user deletion with id: %s", deletionId))
+                .data(Map.of("deletion", userDeletionService.findDeletionById(deletionId)))
+                .build());
+    }
+}
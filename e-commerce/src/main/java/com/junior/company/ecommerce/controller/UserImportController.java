@@ -0,0 +1,80 @@
+package com.junior.company.ecommerce.controller;
+
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.service.UserImportService;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.USERS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/users/import")
+@RequiredArgsConstructor
+@Api(tags = {USERS_API_TAG})
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Import users from a file", notes = "Available for ADMIN\n\n" +
+            "Allows to import users sent as the request body in JSON (an array or one object per line) " +
+            "or CSV (with a header row) format. Every user needs either a password or a bcrypt passwordHash. " +
+            "The import runs in the background; users with an already taken email are skipped.")
+    public ResponseEntity<Response> importUsers(@RequestParam(required = false, defaultValue = "json") String format,
+                                                HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.ACCEPTED)
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .message("Started import of users")
+                .data(Map.of("import", userImportService.startImport(UserImportFormat.of(format),
+                        request.getInputStream())))
+                .build());
+    }
+
+    @GetMapping("{importId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Find user import by id", notes = "Available for ADMIN\n\n" +
+            "Allows to follow the progress and throughput of a user import.")
+    public ResponseEntity<Response> findImportById(@PathVariable("importId") Long importId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved user import with id: %s", importId))
+                .data(Map.of("import", userImportService.findImportById(importId)))
+                .build());
+    }
+
+    @PostMapping("{importId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Resume user import", notes = "Available for ADMIN\n\n" +
+            "Allows to continue a failed or interrupted user import after the last imported chunk. " +
+            "Imports not resumed within the retention time expire and cannot be resumed.")
+    public ResponseEntity<Response> resumeImport(@PathVariable("importId") Long importId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.ACCEPTED)
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .message(String.format("Resumed user import with id: %s", importId))
+                .data(Map.of("import", userImportService.resumeImport(importId)))
+                .build());
+    }
+}
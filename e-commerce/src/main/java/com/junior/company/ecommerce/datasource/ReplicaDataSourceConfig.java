@@ -0,0 +1,48 @@
+package com.junior.company.ecommerce.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Replaces the data source of spring.datasource once replica urls are configured.
+// Replicas are reached with the username, password and driver of the primary.
+@Configuration
+@ConditionalOnProperty("replica-datasource.urls")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            @Value("${replica-datasource.urls}") List<String> replicaUrls,
+            @Value("${replica-datasource.sticky-primary-ms:5000}") long stickyPrimaryMillis,
+            @Value("${replica-datasource.max-sticky-users:100000}") int maxStickyUsers) {
+        log.info("Routing read-only transactions to {} replicas", replicaUrls.size());
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = replicaUrls.stream()
+                .map((url) -> DataSourceBuilder.create()
+                        .driverClassName(properties.determineDriverClassName())
+                        .url(url)
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build())
+                .collect(Collectors.toList());
+        return new ReplicaRoutingDataSource(primary, replicas, stickyPrimaryMillis, maxStickyUsers);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,96 @@
+package com.junior.company.ecommerce.datasource;
+
+import com.junior.company.ecommerce.security.ExpiringCache;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out connections of read-only transactions from the replicas in turn and all other connections from
+// the primary. A user whose read-write transaction committed on the primary keeps reading from it for
+// stickyPrimaryMillis after the commit, so that they see their own writes while the replicas catch up.
+// Rolled back transactions and read-write transactions that never asked for a connection do not count.
+// Has to be wrapped in a LazyConnectionDataSourceProxy, which asks for the connection only once the
+// transaction got marked read-only.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ExpiringCache<String, Boolean> recentWriters;
+    private final long stickyPrimaryMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    long stickyPrimaryMillis, int maxStickyUsers) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.recentWriters = new ExpiringCache<>(maxStickyUsers);
+        this.stickyPrimaryMillis = stickyPrimaryMillis;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys.add("replica-" + i);
+            targetDataSources.put(replicaKeys.get(i), replicas.get(i));
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        long committedAt = System.currentTimeMillis();
+                        recentWriters.put(user, Boolean.TRUE, committedAt + stickyPrimaryMillis, committedAt);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || (user != null && recentWriters.get(user, System.currentTimeMillis()) != null)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : replicas) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+        if (primary instanceof Closeable) {
+            ((Closeable) primary).close();
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
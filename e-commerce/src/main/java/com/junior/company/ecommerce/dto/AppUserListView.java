@@ -0,0 +1,30 @@
+package com.junior.company.ecommerce.dto;
+
+import java.time.LocalDate;
+
+public interface AppUserListView {
+
+    Long getId();
+
+    String getEmail();
+
+    Boolean getEnabled();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhoneNumber();
+
+    LocalDate getDob();
+
+    Long getAddressId();
+
+    Integer getApartmentNumber();
+
+    String getStreet();
+
+    String getCity();
+
+    String getCountry();
+}
@@ -0,0 +1,14 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Getter
+@SuperBuilder
+public class AppUserPageResponse {
+
+    private List<AppUserResponse> users;
+    private Long nextAfterId;
+}
@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.dto;
+
+public interface AuthUserView {
+
+    Long getId();
+
+    Long getCartId();
+
+    String getEmail();
+
+    String getPassword();
+
+    Boolean getEnabled();
+
+    String getRoleName();
+}
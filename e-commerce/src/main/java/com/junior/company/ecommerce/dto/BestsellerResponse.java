@@ -0,0 +1,13 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class BestsellerResponse {
+
+    private Long productId;
+    private String name;
+    private Long unitsSold;
+}
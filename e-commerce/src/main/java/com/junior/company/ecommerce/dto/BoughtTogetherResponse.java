@@ -0,0 +1,12 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class BoughtTogetherResponse {
+
+    private Long productId;
+    private Long timesBoughtTogether;
+}
@@ -0,0 +1,15 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class BoughtTogetherStatsResponse {
+
+    private Integer products;
+    private Integer maxProducts;
+    private Long pairs;
+    private Integer trackedNeighbours;
+    private Long estimatedBytes;
+}
@@ -0,0 +1,12 @@
+package com.junior.company.ecommerce.dto;
+
+import java.time.LocalDate;
+
+public interface DailySalesView {
+
+    LocalDate getSaleDate();
+
+    Long getUnits();
+
+    Double getRevenue();
+}
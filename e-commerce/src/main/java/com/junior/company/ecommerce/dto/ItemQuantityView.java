@@ -0,0 +1,8 @@
+package com.junior.company.ecommerce.dto;
+
+public interface ItemQuantityView {
+
+    Long getItemId();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,22 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class LoginAttemptsResponse {
+
+    private String email;
+    private Integer emailFailures;
+    private Integer maxEmailFailures;
+    private Boolean emailBlocked;
+    private String address;
+    private Integer addressFailures;
+    private Integer maxAddressFailures;
+    private Boolean addressBlocked;
+    private Long windowSeconds;
+    private Long rejectedByEmail;
+    private Long rejectedByAddress;
+    private Long memoryBytes;
+}
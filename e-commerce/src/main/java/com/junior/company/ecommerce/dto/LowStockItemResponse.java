@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class LowStockItemResponse {
+
+    private Long itemId;
+    private Long productId;
+    private String productName;
+    private String size;
+    private Integer quantity;
+    private Integer lowStockThreshold;
+}
@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.dto;
+
+public interface LowStockItemView {
+
+    Long getItemId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    String getSize();
+
+    Integer getQuantity();
+
+    Integer getLowStockThreshold();
+}
@@ -0,0 +1,25 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.model.OrderStatus;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+@Getter
+@SuperBuilder
+public class OrderExportLine {
+
+    private Long orderId;
+    private LocalDateTime dateOfOrder;
+    private OrderStatus status;
+    private Double totalValue;
+    private Long appUserId;
+    private Long orderItemId;
+    private Long itemId;
+    private String size;
+    private Long productId;
+    private String productName;
+    private Double price;
+    private Integer amount;
+}
@@ -1,6 +1,7 @@
 package com.junior.company.ecommerce.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.junior.company.ecommerce.model.OrderStatus;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -16,4 +17,5 @@ public class OrderResponse {
     private Double totalValue;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm")
     private LocalDateTime dateOfOrder;
+    private OrderStatus status;
 }
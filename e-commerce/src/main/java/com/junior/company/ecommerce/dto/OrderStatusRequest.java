@@ -0,0 +1,27 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.validation.ValidOrderStatus;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class OrderStatusRequest {
+
+    @NotEmpty(message = "Cannot be empty")
+    @Size(max = 10000, message = "Max size is 10000")
+    @ApiModelProperty(notes = "Ids of orders to change.", example = "[1, 2, 3]")
+    private Set<Long> orderIds;
+
+    @ValidOrderStatus
+    @ApiModelProperty(notes = "Target status of orders. " +
+            "Valid options: PLACED/PAID/SHIPPED/DELIVERED/CANCELLED.", example = "PAID")
+    private String status;
+}
@@ -0,0 +1,17 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.model.OrderStatus;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Map;
+
+@Getter
+@SuperBuilder
+public class OrderStatusResponse {
+
+    private OrderStatus status;
+    private Integer requested;
+    private Integer updated;
+    private Map<Long, String> rejected;
+}
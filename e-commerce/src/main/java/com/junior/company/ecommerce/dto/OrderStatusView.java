@@ -0,0 +1,10 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.model.OrderStatus;
+
+public interface OrderStatusView {
+
+    Long getId();
+
+    OrderStatus getStatus();
+}
@@ -0,0 +1,18 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class PasswordHashingStatsResponse {
+
+    private Integer threads;
+    private Integer queueCapacity;
+    private Integer queueDepth;
+    private Integer activeHashes;
+    private Long completedHashes;
+    private Long rejectedHashes;
+    private Double averageHashMillis;
+    private Double maxHashMillis;
+}
@@ -33,6 +33,11 @@ public class ProductRequest {
     @ApiModelProperty(notes = "Product's description.", example = "Casual t-shirt.")
     private String description;
 
+    @Min(value = 0, message = "Min is 0")
+    @ApiModelProperty(notes = "Quantity of an item below which it is reported as low on stock. " +
+            "Defaults to 5, 0 turns the alerts off.", example = "5")
+    private Integer lowStockThreshold;
+
     @NotNull(message = "Cannot be empty")
     @ApiModelProperty(notes = "Categories' ids suitable for product.", example = "[1, 2]")
     private Set<Long> categoriesIds;
@@ -17,6 +17,7 @@ public class ProductResponse {
     private Double price;
     private String imageUrl;
     private String description;
+    private Integer lowStockThreshold;
     private List<ItemRead> items;
     private Set<CategoryResponse> categories;
 }
@@ -0,0 +1,18 @@
+package com.junior.company.ecommerce.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Cannot be empty")
+    @ApiModelProperty(notes = "Refresh token received on login or on the previous refresh.")
+    private String refreshToken;
+}
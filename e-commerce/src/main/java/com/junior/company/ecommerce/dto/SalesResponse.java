@@ -0,0 +1,19 @@
+package com.junior.company.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+@Getter
+@SuperBuilder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesResponse {
+
+    private LocalDate date;
+    private Long productId;
+    private Long categoryId;
+    private Long units;
+    private Double revenue;
+}
@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.model.UserDeletionStatus;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+@Getter
+@SuperBuilder
+public class UserDeletionJobResponse {
+
+    private Long id;
+    private Long userId;
+    private UserDeletionStatus status;
+    private Long deletedRows;
+    private LocalDateTime requestedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+}
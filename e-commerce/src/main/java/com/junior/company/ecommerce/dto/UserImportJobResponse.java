@@ -0,0 +1,27 @@
+package com.junior.company.ecommerce.dto;
+
+import com.junior.company.ecommerce.model.UserImportStatus;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+@Getter
+@SuperBuilder
+public class UserImportJobResponse {
+
+    private Long id;
+    private UserImportFormat format;
+    private UserImportStatus status;
+    private Long processedRecords;
+    private Long importedUsers;
+    private Long skippedUsers;
+    private Long invalidRecords;
+    private Double elapsedSeconds;
+    private Double hashingSeconds;
+    private Double usersPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+}
@@ -0,0 +1,10 @@
+package com.junior.company.ecommerce.dto;
+
+public interface UserRoleView {
+
+    Long getUserId();
+
+    Long getRoleId();
+
+    String getRoleName();
+}
@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Getter
+@SuperBuilder
+public class UserSearchPageResponse {
+
+    private List<UserSearchResponse> users;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
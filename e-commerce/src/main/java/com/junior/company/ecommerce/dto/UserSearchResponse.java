@@ -0,0 +1,15 @@
+package com.junior.company.ecommerce.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class UserSearchResponse {
+
+    private Long id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private boolean enabled;
+}
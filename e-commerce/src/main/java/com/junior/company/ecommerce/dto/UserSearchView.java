@@ -0,0 +1,14 @@
+package com.junior.company.ecommerce.dto;
+
+public interface UserSearchView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Boolean getEnabled();
+}
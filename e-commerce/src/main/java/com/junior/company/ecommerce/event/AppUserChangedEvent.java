@@ -0,0 +1,11 @@
+package com.junior.company.ecommerce.event;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class AppUserChangedEvent {
+
+    private String email;
+}
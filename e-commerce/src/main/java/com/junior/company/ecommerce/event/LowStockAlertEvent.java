@@ -0,0 +1,16 @@
+package com.junior.company.ecommerce.event;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class LowStockAlertEvent {
+
+    private Long itemId;
+    private Long productId;
+    private String productName;
+    private String size;
+    private Integer quantity;
+    private Integer lowStockThreshold;
+}
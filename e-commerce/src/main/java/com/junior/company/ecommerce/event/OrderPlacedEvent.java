@@ -0,0 +1,17 @@
+package com.junior.company.ecommerce.event;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@SuperBuilder
+public class OrderPlacedEvent {
+
+    private Long orderId;
+    private Long appUserId;
+    private LocalDateTime dateOfOrder;
+    private List<OrderPlacedLine> lines;
+}
@@ -0,0 +1,17 @@
+package com.junior.company.ecommerce.event;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Set;
+
+@Getter
+@SuperBuilder
+public class OrderPlacedLine {
+
+    private Long itemId;
+    private Long productId;
+    private Set<Long> categoryIds;
+    private Integer amount;
+    private Double price;
+}
@@ -0,0 +1,21 @@
+package com.junior.company.ecommerce.event;
+
+import com.junior.company.ecommerce.model.StockChangeReason;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class StockChangedEvent {
+
+    private Long itemId;
+    private Long productId;
+    private String productName;
+    private String size;
+    private Integer quantity;
+    private Integer lowStockThreshold;
+    private Integer delta;
+    private StockChangeReason reason;
+    private Long orderId;
+    private boolean removed;
+}
@@ -1,14 +1,17 @@
 package com.junior.company.ecommerce.exception;
 
 import com.junior.company.ecommerce.model.Response;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,12 +20,16 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler
     public ResponseEntity<Response> handleMethodArgumentNotValidException(MethodArgumentNotValidException manve) {
+        // Violations come in no particular order, so a field failing several constraints reports the first one
+        // by constraint name to keep the response stable.
         Map<String, String> errors = new HashMap<>();
-        manve.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
+        manve.getBindingResult().getAllErrors().stream()
+                .sorted(Comparator.comparing(ObjectError::getCode, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach((error) -> {
+                    String fieldName = ((FieldError) error).getField();
+                    String errorMessage = error.getDefaultMessage();
+                    errors.putIfAbsent(fieldName, errorMessage);
+                });
         Response error = Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.BAD_REQUEST)
@@ -66,4 +73,17 @@ public class GlobalExceptionHandler {
                 .build();
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler
+    public ResponseEntity<Response> handleServiceOverloadedException(ServiceOverloadedException soe) {
+        Response error = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(soe.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(soe.getRetryAfterSeconds()))
+                .body(error);
+    }
 }
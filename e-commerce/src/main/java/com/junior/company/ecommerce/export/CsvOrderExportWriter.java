@@ -0,0 +1,67 @@
+package com.junior.company.ecommerce.export;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class CsvOrderExportWriter implements OrderExportWriter {
+
+    static final String HEADER = "order_id,date_of_order,status,total_value,app_user_id," +
+            "order_item_id,item_id,size,product_id,product_name,price,amount";
+
+    private final Writer writer;
+
+    public CsvOrderExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(OrderExportLine line) throws IOException {
+        writeValue(line.getOrderId());
+        writeValue(line.getDateOfOrder());
+        writeValue(line.getStatus());
+        writeValue(line.getTotalValue());
+        writeValue(line.getAppUserId());
+        writeValue(line.getOrderItemId());
+        writeValue(line.getItemId());
+        writeText(line.getSize());
+        writeValue(line.getProductId());
+        writeText(line.getProductName());
+        writeValue(line.getPrice());
+        writer.write(line.getAmount() == null ? "" : line.getAmount().toString());
+        writer.write('\n');
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+        writer.write(',');
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value != null) {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write(',');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
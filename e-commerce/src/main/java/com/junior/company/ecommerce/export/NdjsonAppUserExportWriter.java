@@ -0,0 +1,62 @@
+package com.junior.company.ecommerce.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.model.Address;
+import com.junior.company.ecommerce.model.Role;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonAppUserExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private boolean written;
+
+    public NdjsonAppUserExportWriter(OutputStream outputStream) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    public void write(AppUserResponse appUser) throws IOException {
+        written = true;
+        generator.writeStartObject();
+        generator.writeNumberField("id", appUser.getId());
+        generator.writeStringField("email", appUser.getEmail());
+        generator.writeArrayFieldStart("roles");
+        for (Role role : appUser.getRoles()) {
+            generator.writeString(role.getName());
+        }
+        generator.writeEndArray();
+        generator.writeBooleanField("enabled", appUser.isEnabled());
+        generator.writeStringField("first_name", appUser.getFirstName());
+        generator.writeStringField("last_name", appUser.getLastName());
+        generator.writeStringField("phone_number", appUser.getPhoneNumber());
+        generator.writeStringField("dob", appUser.getDob() == null ? null : appUser.getDob().toString());
+        Address address = appUser.getAddress();
+        if (address == null) {
+            generator.writeNullField("address");
+        } else {
+            generator.writeObjectFieldStart("address");
+            generator.writeNumberField("id", address.getId());
+            generator.writeNumberField("apartment_number", address.getApartmentNumber());
+            generator.writeStringField("street", address.getStreet());
+            generator.writeStringField("city", address.getCity());
+            generator.writeStringField("country", address.getCountry());
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    public void finish() throws IOException {
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
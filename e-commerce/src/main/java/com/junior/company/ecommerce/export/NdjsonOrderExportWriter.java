@@ -0,0 +1,72 @@
+package com.junior.company.ecommerce.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.junior.company.ecommerce.dto.OrderExportLine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+public class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private Long currentOrderId;
+
+    public NdjsonOrderExportWriter(OutputStream outputStream) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(OrderExportLine line) throws IOException {
+        if (!Objects.equals(currentOrderId, line.getOrderId())) {
+            endOrder();
+            startOrder(line);
+        }
+        generator.writeStartObject();
+        generator.writeNumberField("id", line.getOrderItemId());
+        generator.writeNumberField("item_id", line.getItemId());
+        generator.writeStringField("size", line.getSize());
+        generator.writeNumberField("product_id", line.getProductId());
+        generator.writeStringField("product_name", line.getProductName());
+        generator.writeNumberField("price", line.getPrice());
+        generator.writeNumberField("amount", line.getAmount());
+        generator.writeEndObject();
+    }
+
+    private void startOrder(OrderExportLine line) throws IOException {
+        currentOrderId = line.getOrderId();
+        generator.writeStartObject();
+        generator.writeNumberField("id", line.getOrderId());
+        generator.writeStringField("date_of_order", line.getDateOfOrder().toString());
+        generator.writeStringField("status", line.getStatus() == null ? null : line.getStatus().name());
+        generator.writeNumberField("total_value", line.getTotalValue());
+        if (line.getAppUserId() == null) {
+            generator.writeNullField("app_user_id");
+        } else {
+            generator.writeNumberField("app_user_id", line.getAppUserId());
+        }
+        generator.writeArrayFieldStart("order_items");
+    }
+
+    private void endOrder() throws IOException {
+        if (currentOrderId != null) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endOrder();
+        if (currentOrderId != null) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
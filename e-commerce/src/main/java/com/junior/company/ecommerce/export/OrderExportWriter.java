@@ -0,0 +1,24 @@
+package com.junior.company.ecommerce.export;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OrderExportWriter {
+
+    void write(OrderExportLine line) throws IOException;
+
+    void finish() throws IOException;
+
+    static OrderExportWriter of(OrderExportFormat format, OutputStream outputStream) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvOrderExportWriter(outputStream);
+            case NDJSON:
+                return new NdjsonOrderExportWriter(outputStream);
+            default:
+                throw new IllegalStateException(String.format("Export format: %s not supported", format));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.junior.company.ecommerce.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.model.Address;
+import com.junior.company.ecommerce.model.Role;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+// Writes one JSON document with the user's profile followed by all of the user's orders. Order lines are
+// expected grouped by order and are written as they come, so nothing but the current order id is kept.
+public class PersonalDataExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private Long currentOrderId;
+
+    public PersonalDataExportWriter(OutputStream outputStream) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+    }
+
+    public void writeProfile(AppUserResponse appUser) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", appUser.getId());
+        generator.writeStringField("email", appUser.getEmail());
+        generator.writeArrayFieldStart("roles");
+        for (Role role : appUser.getRoles()) {
+            generator.writeString(role.getName());
+        }
+        generator.writeEndArray();
+        generator.writeBooleanField("enabled", appUser.isEnabled());
+        generator.writeStringField("first_name", appUser.getFirstName());
+        generator.writeStringField("last_name", appUser.getLastName());
+        generator.writeStringField("phone_number", appUser.getPhoneNumber());
+        generator.writeStringField("dob", appUser.getDob() == null ? null : appUser.getDob().toString());
+        Address address = appUser.getAddress();
+        if (address == null) {
+            generator.writeNullField("address");
+        } else {
+            generator.writeObjectFieldStart("address");
+            generator.writeNumberField("apartment_number", address.getApartmentNumber());
+            generator.writeStringField("street", address.getStreet());
+            generator.writeStringField("city", address.getCity());
+            generator.writeStringField("country", address.getCountry());
+            generator.writeEndObject();
+        }
+        generator.writeArrayFieldStart("orders");
+    }
+
+    public void writeOrderLine(OrderExportLine line) throws IOException {
+        if (!Objects.equals(currentOrderId, line.getOrderId())) {
+            endOrder();
+            currentOrderId = line.getOrderId();
+            generator.writeStartObject();
+            generator.writeNumberField("id", line.getOrderId());
+            generator.writeStringField("date_of_order", line.getDateOfOrder().toString());
+            generator.writeStringField("status", line.getStatus() == null ? null : line.getStatus().name());
+            generator.writeNumberField("total_value", line.getTotalValue());
+            generator.writeArrayFieldStart("order_items");
+        }
+        generator.writeStartObject();
+        generator.writeNumberField("item_id", line.getItemId());
+        generator.writeStringField("size", line.getSize());
+        generator.writeNumberField("product_id", line.getProductId());
+        generator.writeStringField("product_name", line.getProductName());
+        generator.writeNumberField("price", line.getPrice());
+        generator.writeNumberField("amount", line.getAmount());
+        generator.writeEndObject();
+    }
+
+    private void endOrder() throws IOException {
+        if (currentOrderId != null) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    public void finish() throws IOException {
+        endOrder();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+}
@@ -0,0 +1,209 @@
+package com.junior.company.ecommerce.inventory;
+
+import com.junior.company.ecommerce.model.StockChangeReason;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Append-only log of stock deltas split into fixed size memory-mapped segments.
+// Record layout (32 bytes): item id, delta, reason code, marker, order id, timestamp.
+// The marker is written last, so the first record without it ends the log.
+// A single flusher thread forces all records appended since its previous pass at once (group commit).
+public class InventoryEventLog implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+
+    private static final short RECORD_MARKER = 0x494C;
+    private static final String SEGMENT_PREFIX = "inventory-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Thread flusher;
+
+    private MappedByteBuffer segment;
+    private long segmentFirstRecord;
+    private long written;
+    private long durable;
+    private boolean closed;
+
+    public InventoryEventLog(Path directory, int segmentRecords) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            openSegment(firstRecord(last));
+            int position = 0;
+            while (position < segmentRecords && segment.getShort(position * RECORD_SIZE + 14) == RECORD_MARKER) {
+                position++;
+            }
+            written = segmentFirstRecord + position;
+            durable = written;
+        }
+        flusher = new Thread(this::flushContinuously, "inventory-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public long append(long itemId, int delta, StockChangeReason reason, long orderId, long timestamp) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Inventory log is closed");
+            }
+            if (written - segmentFirstRecord == segmentRecords) {
+                segment.force();
+                try {
+                    openSegment(written);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int offset = (int) (written - segmentFirstRecord) * RECORD_SIZE;
+            segment.putLong(offset, itemId);
+            segment.putInt(offset + 8, delta);
+            segment.putShort(offset + 12, reason.getCode());
+            segment.putLong(offset + 16, orderId);
+            segment.putLong(offset + 24, timestamp);
+            segment.putShort(offset + 14, RECORD_MARKER);
+            written++;
+            appended.signal();
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitDurable(long record) {
+        lock.lock();
+        try {
+            while (durable < record && !closed) {
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return written == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.force();
+    }
+
+    public static long read(Path directory, InventoryLogRecordHandler handler) throws IOException {
+        long records = 0;
+        for (Path path : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+                    if (buffer.getShort(offset + 14) != RECORD_MARKER) {
+                        break;
+                    }
+                    handler.handle(buffer.getLong(offset), buffer.getInt(offset + 8),
+                            StockChangeReason.ofCode(buffer.getShort(offset + 12)),
+                            buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    private void flushContinuously() {
+        while (true) {
+            long target;
+            MappedByteBuffer toForce;
+            lock.lock();
+            try {
+                while (durable == written && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                target = written;
+                toForce = segment;
+            } finally {
+                lock.unlock();
+            }
+            toForce.force();
+            lock.lock();
+            try {
+                durable = Math.max(durable, target);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void openSegment(long firstRecord) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstRecord, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+        segmentFirstRecord = firstRecord;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter((path) -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long firstRecord(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.junior.company.ecommerce.inventory;
+
+import com.junior.company.ecommerce.model.StockChangeReason;
+
+@FunctionalInterface
+public interface InventoryLogRecordHandler {
+
+    void handle(long itemId, int delta, StockChangeReason reason, long orderId, long timestamp);
+}
@@ -0,0 +1,104 @@
+package com.junior.company.ecommerce.inventory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Rebuilds per-item stock by summing every delta in the log.
+// Usage: java -cp target/classes com.junior.company.ecommerce.inventory.InventoryLogReplay <log-directory>
+public class InventoryLogReplay {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys = new long[1024];
+    private long[] values = new long[1024];
+    private int size;
+    private long records;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: InventoryLogReplay <log-directory>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        InventoryLogReplay replay = replay(Path.of(args[0]));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        replay.print(System.out);
+        System.err.printf("Replayed %d records for %d items in %d ms%n", replay.getRecords(), replay.size(), elapsedMillis);
+    }
+
+    public static InventoryLogReplay replay(Path directory) throws IOException {
+        InventoryLogReplay replay = new InventoryLogReplay();
+        replay.records = InventoryEventLog.read(directory,
+                (itemId, delta, reason, orderId, timestamp) -> replay.add(itemId, delta));
+        return replay;
+    }
+
+    public long getQuantity(long itemId) {
+        int slot = slot(keys, itemId);
+        return keys[slot] == itemId ? values[slot] : 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long[] getItemIds() {
+        long[] itemIds = new long[size];
+        int index = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                itemIds[index++] = key;
+            }
+        }
+        Arrays.sort(itemIds);
+        return itemIds;
+    }
+
+    public void print(PrintStream out) {
+        out.println("item_id,quantity");
+        for (long itemId : getItemIds()) {
+            out.println(itemId + "," + getQuantity(itemId));
+        }
+    }
+
+    private void add(long itemId, int delta) {
+        int slot = slot(keys, itemId);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = itemId;
+            size++;
+        }
+        values[slot] += delta;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -1,10 +1,14 @@
 package com.junior.company.ecommerce.mapper;
 
 import com.junior.company.ecommerce.dto.AddressRequest;
+import com.junior.company.ecommerce.dto.AppUserListView;
 import com.junior.company.ecommerce.dto.AppUserRequest;
 import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.UserSearchResponse;
+import com.junior.company.ecommerce.dto.UserSearchView;
 import com.junior.company.ecommerce.model.Address;
 import com.junior.company.ecommerce.model.AppUser;
+import com.junior.company.ecommerce.model.Role;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +35,38 @@ public class AppUserMapper {
         return appUsers.stream().map(AppUserMapper::mapAppUserToAppUserResponse).collect(Collectors.toList());
     }
 
+    public static AppUserResponse mapAppUserListViewToAppUserResponse(AppUserListView appUser, List<Role> roles) {
+        return AppUserResponse.builder()
+                .id(appUser.getId())
+                .email(appUser.getEmail())
+                .roles(roles)
+                .enabled(Boolean.TRUE.equals(appUser.getEnabled()))
+                .firstName(appUser.getFirstName())
+                .lastName(appUser.getLastName())
+                .phoneNumber(appUser.getPhoneNumber())
+                .dob(appUser.getDob())
+                .address(appUser.getAddressId() == null ? null : Address.builder()
+                        .id(appUser.getAddressId())
+                        .apartmentNumber(appUser.getApartmentNumber())
+                        .street(appUser.getStreet())
+                        .city(appUser.getCity())
+                        .country(appUser.getCountry())
+                        .build())
+                .build();
+    }
+
+    public static List<UserSearchResponse> mapUserSearchViewsToUserSearchResponses(List<UserSearchView> appUsers) {
+        return appUsers.stream()
+                .map((appUser) -> UserSearchResponse.builder()
+                        .id(appUser.getId())
+                        .email(appUser.getEmail())
+                        .firstName(appUser.getFirstName())
+                        .lastName(appUser.getLastName())
+                        .enabled(Boolean.TRUE.equals(appUser.getEnabled()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public static AppUser mapAppUserRequestToAppUserCreate(AppUserRequest appUserRequest) {
         return AppUser.builder()
                 .id(EMPTY_ID)
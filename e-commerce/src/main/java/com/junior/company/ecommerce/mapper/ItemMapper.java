@@ -2,7 +2,10 @@ package com.junior.company.ecommerce.mapper;
 
 import com.junior.company.ecommerce.dto.ItemRequest;
 import com.junior.company.ecommerce.dto.ItemResponse;
+import com.junior.company.ecommerce.event.StockChangedEvent;
 import com.junior.company.ecommerce.model.Item;
+import com.junior.company.ecommerce.model.Product;
+import com.junior.company.ecommerce.model.StockChangeReason;
 
 import static com.junior.company.ecommerce.mapper.constant.SharedConstant.EMPTY_ID;
 
@@ -32,4 +35,34 @@ public class ItemMapper {
                 .product(ProductMapper.mapProductToProductResponse(item.getProduct()))
                 .build();
     }
+
+    public static StockChangedEvent mapItemToStockChangedEvent(Item item, Integer delta,
+                                                               StockChangeReason reason, Long orderId) {
+        return mapItemToStockChangedEvent(item, item.getProduct(), delta, reason, orderId);
+    }
+
+    public static StockChangedEvent mapItemToStockChangedEvent(Item item, Product product, Integer delta,
+                                                               StockChangeReason reason, Long orderId) {
+        return StockChangedEvent.builder()
+                .itemId(item.getId())
+                .productId(product.getId())
+                .productName(product.getName())
+                .size(item.getSize())
+                .quantity(item.getQuantity())
+                .lowStockThreshold(product.getLowStockThreshold())
+                .delta(delta)
+                .reason(reason)
+                .orderId(orderId)
+                .build();
+    }
+
+    public static StockChangedEvent mapItemToStockRemovedEvent(Item item, StockChangeReason reason) {
+        return StockChangedEvent.builder()
+                .itemId(item.getId())
+                .quantity(0)
+                .delta(-item.getQuantity())
+                .reason(reason)
+                .removed(true)
+                .build();
+    }
 }
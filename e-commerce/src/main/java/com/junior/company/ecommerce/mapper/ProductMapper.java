@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.junior.company.ecommerce.mapper.CategoryMapper.mapCategoriesToCategoryResponses;
+import static com.junior.company.ecommerce.mapper.constant.SharedConstant.DEFAULT_LOW_STOCK_THRESHOLD;
 import static com.junior.company.ecommerce.mapper.constant.SharedConstant.EMPTY_ID;
 
 public class ProductMapper {
@@ -21,6 +22,8 @@ public class ProductMapper {
                 .name(productRequest.getName())
                 .price(productRequest.getPrice())
                 .description(productRequest.getDescription())
+                .lowStockThreshold(productRequest.getLowStockThreshold() == null
+                        ? DEFAULT_LOW_STOCK_THRESHOLD : productRequest.getLowStockThreshold())
                 .build();
     }
 
@@ -30,6 +33,8 @@ public class ProductMapper {
                 .name(productRequest.getName())
                 .price(productRequest.getPrice())
                 .description(productRequest.getDescription())
+                .lowStockThreshold(productRequest.getLowStockThreshold() == null
+                        ? DEFAULT_LOW_STOCK_THRESHOLD : productRequest.getLowStockThreshold())
                 .build();
     }
 
@@ -40,6 +45,7 @@ public class ProductMapper {
                 .price(product.getPrice())
                 .imageUrl(product.getImageUrl())
                 .description(product.getDescription())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .items(mapItemsToItemsRead(product.getItems()))
                 .categories(mapCategoriesToCategoryResponses(product.getCategories()))
                 .build();
@@ -73,6 +79,7 @@ public class ProductMapper {
                 .price(product.getPrice())
                 .imageUrl(product.getImageUrl())
                 .description(product.getDescription())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .categories(mapCategoriesToCategoryResponses(product.getCategories()))
                 .build();
     }
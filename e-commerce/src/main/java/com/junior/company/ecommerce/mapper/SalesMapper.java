@@ -0,0 +1,44 @@
+package com.junior.company.ecommerce.mapper;
+
+import com.junior.company.ecommerce.dto.DailySalesView;
+import com.junior.company.ecommerce.dto.SalesResponse;
+import com.junior.company.ecommerce.model.DailyCategorySales;
+import com.junior.company.ecommerce.model.DailyProductSales;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SalesMapper {
+
+    public static List<SalesResponse> mapDailySalesViewsToSalesResponses(List<DailySalesView> sales) {
+        return sales.stream().map((dailySales) ->
+                        SalesResponse.builder()
+                                .date(dailySales.getSaleDate())
+                                .units(dailySales.getUnits())
+                                .revenue(dailySales.getRevenue())
+                                .build())
+                .collect(Collectors.toList());
+    }
+
+    public static List<SalesResponse> mapDailyProductSalesToSalesResponses(List<DailyProductSales> sales) {
+        return sales.stream().map((productSales) ->
+                        SalesResponse.builder()
+                                .date(productSales.getId().getSaleDate())
+                                .productId(productSales.getId().getDimensionId())
+                                .units(productSales.getUnits())
+                                .revenue(productSales.getRevenue())
+                                .build())
+                .collect(Collectors.toList());
+    }
+
+    public static List<SalesResponse> mapDailyCategorySalesToSalesResponses(List<DailyCategorySales> sales) {
+        return sales.stream().map((categorySales) ->
+                        SalesResponse.builder()
+                                .date(categorySales.getId().getSaleDate())
+                                .categoryId(categorySales.getId().getDimensionId())
+                                .units(categorySales.getUnits())
+                                .revenue(categorySales.getRevenue())
+                                .build())
+                .collect(Collectors.toList());
+    }
+}
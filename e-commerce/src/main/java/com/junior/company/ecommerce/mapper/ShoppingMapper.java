@@ -4,7 +4,11 @@ import com.junior.company.ecommerce.dto.CartItemResponse;
 import com.junior.company.ecommerce.dto.CartResponse;
 import com.junior.company.ecommerce.dto.OrderItemResponse;
 import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
+import com.junior.company.ecommerce.model.Category;
 import com.junior.company.ecommerce.model.CartItem;
 import com.junior.company.ecommerce.model.Order;
 import com.junior.company.ecommerce.model.OrderItem;
@@ -31,6 +35,7 @@ public class ShoppingMapper {
                                 .orderItems(mapOrderItemsToOrderItemResponses(order.getOrderItems()))
                                 .totalValue(order.getTotalValue())
                                 .dateOfOrder(order.getDateOfOrder())
+                                .status(order.getStatus())
                                 .build())
                 .collect(Collectors.toList());
     }
@@ -46,6 +51,25 @@ public class ShoppingMapper {
 
     }
 
+    public static OrderPlacedEvent mapOrderToOrderPlacedEvent(Order order, AppUser appUser) {
+        return OrderPlacedEvent.builder()
+                .orderId(order.getId())
+                .appUserId(appUser.getId())
+                .dateOfOrder(order.getDateOfOrder())
+                .lines(order.getOrderItems().stream().map((orderItem) ->
+                                OrderPlacedLine.builder()
+                                        .itemId(orderItem.getItem().getId())
+                                        .productId(orderItem.getItem().getProduct().getId())
+                                        .categoryIds(orderItem.getItem().getProduct().getCategories().stream()
+                                                .map(Category::getId)
+                                                .collect(Collectors.toSet()))
+                                        .amount(orderItem.getAmount())
+                                        .price(orderItem.getItem().getProduct().getPrice())
+                                        .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     private static List<OrderItemResponse> mapOrderItemsToOrderItemResponses(List<OrderItem> orderItems) {
         return orderItems.stream().map((orderItem) ->
                         OrderItemResponse.builder()
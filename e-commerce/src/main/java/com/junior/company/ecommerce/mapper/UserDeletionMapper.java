@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.mapper;
+
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.model.UserDeletionJob;
+
+public class UserDeletionMapper {
+
+    public static UserDeletionJobResponse mapUserDeletionJobToUserDeletionJobResponse(
+            UserDeletionJob userDeletionJob) {
+        return UserDeletionJobResponse.builder()
+                .id(userDeletionJob.getId())
+                .userId(userDeletionJob.getAppUserId())
+                .status(userDeletionJob.getStatus())
+                .deletedRows(userDeletionJob.getDeletedRows())
+                .requestedAt(userDeletionJob.getRequestedAt())
+                .finishedAt(userDeletionJob.getFinishedAt())
+                .lastError(userDeletionJob.getLastError())
+                .build();
+    }
+}
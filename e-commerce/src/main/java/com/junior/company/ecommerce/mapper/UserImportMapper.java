@@ -0,0 +1,26 @@
+package com.junior.company.ecommerce.mapper;
+
+import com.junior.company.ecommerce.dto.UserImportJobResponse;
+import com.junior.company.ecommerce.model.UserImportJob;
+
+public class UserImportMapper {
+
+    public static UserImportJobResponse mapUserImportJobToUserImportJobResponse(UserImportJob userImportJob) {
+        double elapsedSeconds = userImportJob.getElapsedMillis() / 1000.0;
+        return UserImportJobResponse.builder()
+                .id(userImportJob.getId())
+                .format(userImportJob.getFormat())
+                .status(userImportJob.getStatus())
+                .processedRecords(userImportJob.getProcessedRecords())
+                .importedUsers(userImportJob.getImportedUsers())
+                .skippedUsers(userImportJob.getSkippedUsers())
+                .invalidRecords(userImportJob.getInvalidRecords())
+                .elapsedSeconds(elapsedSeconds)
+                .hashingSeconds(userImportJob.getHashingMillis() / 1000.0)
+                .usersPerSecond(elapsedSeconds == 0 ? 0.0 : userImportJob.getImportedUsers() / elapsedSeconds)
+                .startedAt(userImportJob.getStartedAt())
+                .finishedAt(userImportJob.getFinishedAt())
+                .lastError(userImportJob.getLastError())
+                .build();
+    }
+}
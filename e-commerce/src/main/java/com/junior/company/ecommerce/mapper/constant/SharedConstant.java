@@ -6,4 +6,5 @@ public class SharedConstant {
     }
 
     public static final Long EMPTY_ID = null;
+    public static final Integer DEFAULT_LOW_STOCK_THRESHOLD = 5;
 }
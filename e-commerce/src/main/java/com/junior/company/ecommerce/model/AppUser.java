@@ -12,17 +12,21 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "app_user")
+@Table(name = "app_user",
+        uniqueConstraints = {@UniqueConstraint(name = "UQ_app_user_email", columnNames = "email")},
+        indexes = {@Index(name = "IX_app_user_last_name_first_name", columnList = "last_name, first_name, id")})
 @Getter
 @SuperBuilder
 @NoArgsConstructor
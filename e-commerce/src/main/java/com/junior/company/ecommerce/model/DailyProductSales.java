@@ -0,0 +1,29 @@
+package com.junior.company.ecommerce.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.AttributeOverride;
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "sales_daily_product")
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class DailyProductSales {
+
+    @EmbeddedId
+    @AttributeOverride(name = "dimensionId", column = @Column(name = "product_id"))
+    private SalesRollupId id;
+
+    @Column(name = "units")
+    private Long units;
+
+    @Column(name = "revenue")
+    private Double revenue;
+}
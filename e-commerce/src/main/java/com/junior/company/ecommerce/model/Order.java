@@ -7,10 +7,13 @@ import lombok.experimental.SuperBuilder;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
@@ -18,7 +21,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_order")
+@Table(name = "purchase_order",
+        indexes = {@Index(name = "IX_purchase_order_status", columnList = "status"),
+                @Index(name = "IX_purchase_order_date_of_order", columnList = "date_of_order")})
 @Getter
 @SuperBuilder
 @NoArgsConstructor
@@ -38,27 +43,8 @@ public class Order {
 
     @Column(name = "date_of_order")
     private LocalDateTime dateOfOrder;
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+}
@@ -0,0 +1,28 @@
+package com.junior.company.ecommerce.model;
+
+public enum OrderStatus {
+
+    PLACED,
+    PAID,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    private static final int[] TRANSITIONS = new int[values().length];
+
+    static {
+        allow(PLACED, PAID);
+        allow(PLACED, CANCELLED);
+        allow(PAID, SHIPPED);
+        allow(PAID, CANCELLED);
+        allow(SHIPPED, DELIVERED);
+    }
+
+    private static void allow(OrderStatus source, OrderStatus target) {
+        TRANSITIONS[source.ordinal()] |= 1 << target.ordinal();
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return (TRANSITIONS[ordinal()] & (1 << target.ordinal())) != 0;
+    }
+}
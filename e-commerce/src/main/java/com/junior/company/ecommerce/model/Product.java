@@ -44,6 +44,9 @@ public class Product {
     @Column(name = "product_description")
     private String description;
 
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     @Setter
     private List<Item> items;
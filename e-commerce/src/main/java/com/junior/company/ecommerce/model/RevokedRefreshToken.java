@@ -0,0 +1,26 @@
+package com.junior.company.ecommerce.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_refresh_token")
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class RevokedRefreshToken {
+
+    @Id
+    @Column(name = "token_id")
+    private String tokenId;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.junior.company.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class SalesRollupId implements Serializable {
+
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Column(name = "dimension_id")
+    private Long dimensionId;
+}
@@ -0,0 +1,38 @@
+package com.junior.company.ecommerce.model;
+
+public enum StockChangeReason {
+
+    BASELINE(1),
+    CHECKOUT(2),
+    ITEM_CREATED(3),
+    ITEM_UPDATED(4),
+    ITEM_DELETED(5),
+    PRODUCT_DELETED(6),
+    THRESHOLD_CHANGED(7),
+    RECONCILED(8);
+
+    private static final StockChangeReason[] BY_CODE = new StockChangeReason[9];
+
+    static {
+        for (StockChangeReason reason : values()) {
+            BY_CODE[reason.code] = reason;
+        }
+    }
+
+    private final short code;
+
+    StockChangeReason(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static StockChangeReason ofCode(short code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalStateException(String.format("Stock change reason with code: %s not found", code));
+        }
+        return BY_CODE[code];
+    }
+}
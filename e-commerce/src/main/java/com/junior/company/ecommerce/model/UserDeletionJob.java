@@ -0,0 +1,52 @@
+package com.junior.company.ecommerce.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_deletion_job")
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class UserDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "app_user_id")
+    private Long appUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    @Setter
+    private UserDeletionStatus status;
+
+    @Column(name = "deleted_rows")
+    @Setter
+    private Long deletedRows;
+
+    @Column(name = "requested_at")
+    private LocalDateTime requestedAt;
+
+    @Column(name = "finished_at")
+    @Setter
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error")
+    @Setter
+    private String lastError;
+}
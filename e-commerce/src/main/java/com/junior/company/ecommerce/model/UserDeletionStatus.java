@@ -0,0 +1,9 @@
+package com.junior.company.ecommerce.model;
+
+public enum UserDeletionStatus {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
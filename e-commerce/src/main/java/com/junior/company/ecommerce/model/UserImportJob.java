@@ -0,0 +1,77 @@
+package com.junior.company.ecommerce.model;
+
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_import_job")
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class UserImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private UserImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    @Setter
+    private UserImportStatus status;
+
+    @Column(name = "processed_records")
+    @Setter
+    private Long processedRecords;
+
+    @Column(name = "imported_users")
+    @Setter
+    private Long importedUsers;
+
+    @Column(name = "skipped_users")
+    @Setter
+    private Long skippedUsers;
+
+    @Column(name = "invalid_records")
+    @Setter
+    private Long invalidRecords;
+
+    @Column(name = "hashing_millis")
+    @Setter
+    private Long hashingMillis;
+
+    @Column(name = "elapsed_millis")
+    @Setter
+    private Long elapsedMillis;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    @Setter
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error")
+    @Setter
+    private String lastError;
+}
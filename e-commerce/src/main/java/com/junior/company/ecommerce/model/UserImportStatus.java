@@ -0,0 +1,10 @@
+package com.junior.company.ecommerce.model;
+
+public enum UserImportStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED,
+    EXPIRED
+}
@@ -0,0 +1,26 @@
+package com.junior.company.ecommerce.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_token_revocation")
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "app_user_id")
+    private Long appUserId;
+
+    @Column(name = "not_before")
+    private LocalDateTime notBefore;
+}
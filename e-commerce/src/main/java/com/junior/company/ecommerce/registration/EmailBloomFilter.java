@@ -0,0 +1,94 @@
+package com.junior.company.ecommerce.registration;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter of emails: mightContain never returns false for an added email, and returns true for
+// other emails with about falsePositiveProbability. Bits are set with CAS, so adding and checking are lock-free.
+// The k bit positions come from the two halves of a single 64-bit hash (double hashing).
+// Emails are lower-cased first, as the unique index on app_user.email compares them case-insensitively.
+public class EmailBloomFilter {
+
+    private final long expectedEmails;
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong additions = new AtomicLong();
+
+    public EmailBloomFilter(long expectedEmails, double falsePositiveProbability) {
+        long bits = (long) Math.ceil(-Math.max(expectedEmails, 1) * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        this.expectedEmails = expectedEmails;
+        int wordCount = (int) Math.min((bits + 63) / 64, Integer.MAX_VALUE - 8);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / Math.max(expectedEmails, 1)
+                * Math.log(2)));
+    }
+
+    public void add(String email) {
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(first + i * second);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+        additions.incrementAndGet();
+    }
+
+    public boolean mightContain(String email) {
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(first + i * second);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getExpectedEmails() {
+        return expectedEmails;
+    }
+
+    public long getAdditions() {
+        return additions.get();
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private long bitIndex(int combinedHash) {
+        return (combinedHash & 0xFFFFFFFFL) % bitSize;
+    }
+
+    // FNV-1a over the lower-cased characters, finished with the MurmurHash3 mixer to spread the bits.
+    private static long hash(String email) {
+        String normalized = email.toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,20 +1,62 @@
 package com.junior.company.ecommerce.repository;
 
+import com.junior.company.ecommerce.dto.AppUserListView;
+import com.junior.company.ecommerce.dto.AuthUserView;
+import com.junior.company.ecommerce.dto.UserRoleView;
+import com.junior.company.ecommerce.dto.UserSearchView;
 import com.junior.company.ecommerce.model.AppUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository extends JpaRepository<AppUser, Long>, AppUserRepositoryCustom {
 
     @Query("SELECT u FROM AppUser u " +
             "LEFT JOIN FETCH u.address")
     List<AppUser> findUsersAndAddresses();
 
+    @Query("SELECT u.id AS id, u.email AS email, u.enabled AS enabled, u.firstName AS firstName, " +
+            "u.lastName AS lastName, u.phoneNumber AS phoneNumber, u.dob AS dob, a.id AS addressId, " +
+            "a.apartmentNumber AS apartmentNumber, a.street AS street, a.city AS city, a.country AS country " +
+            "FROM AppUser u " +
+            "LEFT JOIN u.address a " +
+            "WHERE u.id > ?1 " +
+            "ORDER BY u.id")
+    List<AppUserListView> findUsersAfterId(Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS userId, r.id AS roleId, r.name AS roleName " +
+            "FROM AppUser u " +
+            "JOIN u.roles r " +
+            "WHERE u.id IN ?1")
+    List<UserRoleView> findRolesByUserIds(Collection<Long> userIds);
+
+    // Both searches match a LIKE 'prefix%' pattern and order by the columns of the index they range-scan:
+    // UQ_app_user_email and IX_app_user_last_name_first_name, so a page is read without sorting the matches.
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+            "u.enabled AS enabled " +
+            "FROM AppUser u " +
+            "WHERE u.email LIKE ?1 ESCAPE '!' " +
+            "ORDER BY u.email")
+    Slice<UserSearchView> searchByEmail(String emailPattern, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+            "u.enabled AS enabled " +
+            "FROM AppUser u " +
+            "WHERE u.lastName LIKE ?1 ESCAPE '!' " +
+            "ORDER BY u.lastName, u.firstName, u.id")
+    Slice<UserSearchView> searchByLastName(String lastNamePattern, Pageable pageable);
+
+    @Query("SELECT u.email FROM AppUser u WHERE u.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
     @Query("SELECT u FROM AppUser u " +
             "LEFT JOIN FETCH u.address " +
             "WHERE u.id = ?1")
@@ -25,4 +67,25 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
             "LEFT JOIN FETCH u.cart " +
             "WHERE u.email = ?1")
     Optional<AppUser> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM AppUser u WHERE u.id = ?1")
+    Optional<String> findEmailById(Long userId);
+
+    @Query("SELECT u.id AS id, c.id AS cartId, u.email AS email, u.password AS password, " +
+            "u.enabled AS enabled, r.name AS roleName " +
+            "FROM AppUser u " +
+            "LEFT JOIN u.cart c " +
+            "LEFT JOIN u.roles r " +
+            "WHERE u.email = ?1")
+    List<AuthUserView> findAuthUserByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE AppUser u SET u.password = ?2 WHERE u.email = ?1")
+    int updatePassword(String email, String password);
+
+    @Modifying
+    @Query("UPDATE AppUser u SET u.enabled = false WHERE u.id = ?1")
+    int disableUser(Long userId);
 }
@@ -0,0 +1,19 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.userimport.UserImportRecord;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface AppUserRepositoryCustom {
+
+    void insertImportedUsers(List<UserImportRecord> users, Long roleId);
+
+    void scrollEmails(Consumer<String> consumer);
+
+    int deleteOrdersChunk(Long userId, int chunkSize);
+
+    int deleteCartItemsChunk(Long userId, int chunkSize);
+
+    int deleteUserRows(Long userId);
+}
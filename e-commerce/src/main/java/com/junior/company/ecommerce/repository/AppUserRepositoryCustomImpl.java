@@ -0,0 +1,230 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.userimport.UserImportRecord;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class AppUserRepositoryCustomImpl implements AppUserRepositoryCustom {
+
+    private static final String INSERT_CART = "INSERT INTO cart (total_value) VALUES (?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO address (apartment_number, street, city, country) " +
+            "VALUES (?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO app_user (email, user_password, enabled, first_name, " +
+            "last_name, phone_number, date_of_birth, address_id, cart_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_role (app_user_id, role_id) VALUES (?, ?)";
+    private static final String EMAILS_QUERY = "SELECT email FROM app_user";
+    private static final String ORDER_IDS_QUERY = "SELECT id FROM purchase_order WHERE app_user_id = ? " +
+            "ORDER BY id LIMIT ?";
+    private static final String DELETE_ORDER_ITEMS = "DELETE FROM order_item WHERE purchase_order_id IN (%s)";
+    private static final String DELETE_ORDERS = "DELETE FROM purchase_order WHERE id IN (%s)";
+    private static final String CART_ITEM_IDS_QUERY = "SELECT ci.id FROM cart_item ci " +
+            "JOIN app_user u ON u.cart_id = ci.cart_id WHERE u.id = ? ORDER BY ci.id LIMIT ?";
+    private static final String DELETE_CART_ITEMS = "DELETE FROM cart_item WHERE id IN (%s)";
+    private static final String USER_REFERENCES_QUERY = "SELECT address_id, cart_id FROM app_user WHERE id = ? " +
+            "FOR UPDATE";
+    private static final String DELETE_USER_ORDER_ITEMS = "DELETE FROM order_item WHERE purchase_order_id IN " +
+            "(SELECT id FROM purchase_order WHERE app_user_id = ?)";
+    private static final String DELETE_USER_ORDERS = "DELETE FROM purchase_order WHERE app_user_id = ?";
+    private static final String DELETE_CART_ITEMS_OF_CART = "DELETE FROM cart_item WHERE cart_id = ?";
+    private static final String DELETE_USER_ROLES = "DELETE FROM user_role WHERE app_user_id = ?";
+    private static final String DELETE_USER = "DELETE FROM app_user WHERE id = ?";
+    private static final String DELETE_ADDRESS = "DELETE FROM address WHERE id = ?";
+    private static final String DELETE_CART = "DELETE FROM cart WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${registered-email.fetch-size:1000}")
+    private int fetchSize;
+
+    // Carts, addresses, users and role links are each written with one JDBC batch, bypassing the persistence
+    // context. Passwords are expected to be hashed already.
+    @Override
+    public void insertImportedUsers(List<UserImportRecord> users, Long roleId) {
+        entityManager.unwrap(Session.class).doWork((connection) -> {
+            long[] cartIds = insertBatch(connection, INSERT_CART, users.size(), (statement, row) ->
+                    statement.setDouble(1, 0.0));
+            long[] addressIds = insertBatch(connection, INSERT_ADDRESS, users.size(), (statement, row) -> {
+                UserImportRecord user = users.get(row);
+                if (user.getApartmentNumber() == null) {
+                    statement.setNull(1, Types.INTEGER);
+                } else {
+                    statement.setInt(1, user.getApartmentNumber());
+                }
+                statement.setString(2, user.getStreet());
+                statement.setString(3, user.getCity());
+                statement.setString(4, user.getCountry());
+            });
+            long[] userIds = insertBatch(connection, INSERT_USER, users.size(), (statement, row) -> {
+                UserImportRecord user = users.get(row);
+                statement.setString(1, user.getEmail());
+                statement.setString(2, user.getPasswordHash());
+                statement.setBoolean(3, true);
+                statement.setString(4, user.getFirstName());
+                statement.setString(5, user.getLastName());
+                statement.setString(6, user.getPhoneNumber());
+                statement.setDate(7, Date.valueOf(user.getDob()));
+                statement.setLong(8, addressIds[row]);
+                statement.setLong(9, cartIds[row]);
+            });
+            if (roleId == null) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USER_ROLE)) {
+                for (long userId : userIds) {
+                    statement.setLong(1, userId);
+                    statement.setLong(2, roleId);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public void scrollEmails(Consumer<String> consumer) {
+        NativeQuery<?> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(EMAILS_QUERY)
+                .addScalar("email", StandardBasicTypes.STRING);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept((String) results.get(0));
+            }
+        }
+    }
+
+    // Deletes up to chunk-size orders of the user together with their lines, returns the number of deleted rows.
+    @Override
+    public int deleteOrdersChunk(Long userId, int chunkSize) {
+        return entityManager.unwrap(Session.class).doReturningWork((connection) -> {
+            List<Long> orderIds = findIds(connection, ORDER_IDS_QUERY, userId, chunkSize);
+            if (orderIds.isEmpty()) {
+                return 0;
+            }
+            return deleteByIds(connection, DELETE_ORDER_ITEMS, orderIds)
+                    + deleteByIds(connection, DELETE_ORDERS, orderIds);
+        });
+    }
+
+    @Override
+    public int deleteCartItemsChunk(Long userId, int chunkSize) {
+        return entityManager.unwrap(Session.class).doReturningWork((connection) -> {
+            List<Long> cartItemIds = findIds(connection, CART_ITEM_IDS_QUERY, userId, chunkSize);
+            return cartItemIds.isEmpty() ? 0 : deleteByIds(connection, DELETE_CART_ITEMS, cartItemIds);
+        });
+    }
+
+    // Removes the user with its role links, address and cart. Orders and cart items are expected to be deleted in
+    // chunks before, but the disabled user may still have placed some since. The user row is locked first, so no new
+    // ones reference it until the transaction ends, and whatever is left is deleted together with the user.
+    @Override
+    public int deleteUserRows(Long userId) {
+        return entityManager.unwrap(Session.class).doReturningWork((connection) -> {
+            Long addressId;
+            Long cartId;
+            try (PreparedStatement statement = connection.prepareStatement(USER_REFERENCES_QUERY)) {
+                statement.setLong(1, userId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return 0;
+                    }
+                    addressId = resultSet.getObject(1, Long.class);
+                    cartId = resultSet.getObject(2, Long.class);
+                }
+            }
+            int deleted = deleteById(connection, DELETE_USER_ORDER_ITEMS, userId)
+                    + deleteById(connection, DELETE_USER_ORDERS, userId);
+            if (cartId != null) {
+                deleted += deleteById(connection, DELETE_CART_ITEMS_OF_CART, cartId);
+            }
+            deleted += deleteById(connection, DELETE_USER_ROLES, userId)
+                    + deleteById(connection, DELETE_USER, userId);
+            if (addressId != null) {
+                deleted += deleteById(connection, DELETE_ADDRESS, addressId);
+            }
+            if (cartId != null) {
+                deleted += deleteById(connection, DELETE_CART, cartId);
+            }
+            return deleted;
+        });
+    }
+
+    private static List<Long> findIds(Connection connection, String sql, Long ownerId, int limit)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ownerId);
+            statement.setInt(2, limit);
+            List<Long> ids = new ArrayList<>(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    private static int deleteByIds(Connection connection, String sql, List<Long> ids) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        try (PreparedStatement statement = connection.prepareStatement(String.format(sql, placeholders))) {
+            for (int index = 0; index < ids.size(); index++) {
+                statement.setLong(index + 1, ids.get(index));
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private static int deleteById(Connection connection, String sql, Long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, id);
+            return statement.executeUpdate();
+        }
+    }
+
+    private static long[] insertBatch(Connection connection, String sql, int rows, RowBinder binder)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int row = 0; row < rows; row++) {
+                binder.bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            long[] ids = new long[rows];
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                int row = 0;
+                while (keys.next() && row < ids.length) {
+                    ids[row++] = keys.getLong(1);
+                }
+                if (row != ids.length) {
+                    throw new SQLException(String.format("Expected %s generated keys, got %s", ids.length, row));
+                }
+            }
+            return ids;
+        }
+    }
+
+    private interface RowBinder {
+
+        void bind(PreparedStatement statement, int row) throws SQLException;
+    }
+}
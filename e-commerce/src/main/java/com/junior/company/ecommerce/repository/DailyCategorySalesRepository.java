@@ -0,0 +1,30 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.DailyCategorySales;
+import com.junior.company.ecommerce.model.SalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCategorySalesRepository extends JpaRepository<DailyCategorySales, SalesRollupId> {
+
+    @Query("SELECT s FROM DailyCategorySales s " +
+            "WHERE s.id.saleDate BETWEEN ?1 AND ?2 " +
+            "ORDER BY s.id.saleDate, s.id.dimensionId")
+    List<DailyCategorySales> findBySaleDateBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT s FROM DailyCategorySales s " +
+            "WHERE s.id.saleDate BETWEEN ?1 AND ?2 AND s.id.dimensionId = ?3 " +
+            "ORDER BY s.id.saleDate")
+    List<DailyCategorySales> findBySaleDateBetweenAndCategoryId(LocalDate from, LocalDate to, Long categoryId);
+
+    @Modifying
+    @Query("UPDATE DailyCategorySales s SET s.units = s.units + ?2, s.revenue = s.revenue + ?3 " +
+            "WHERE s.id = ?1")
+    int increment(SalesRollupId id, long units, double revenue);
+}
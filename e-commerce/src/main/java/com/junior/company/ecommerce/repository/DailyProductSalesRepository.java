@@ -0,0 +1,38 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.DailySalesView;
+import com.junior.company.ecommerce.model.DailyProductSales;
+import com.junior.company.ecommerce.model.SalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, SalesRollupId> {
+
+    @Query("SELECT s FROM DailyProductSales s " +
+            "WHERE s.id.saleDate BETWEEN ?1 AND ?2 " +
+            "ORDER BY s.id.saleDate, s.id.dimensionId")
+    List<DailyProductSales> findBySaleDateBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT s FROM DailyProductSales s " +
+            "WHERE s.id.saleDate BETWEEN ?1 AND ?2 AND s.id.dimensionId = ?3 " +
+            "ORDER BY s.id.saleDate")
+    List<DailyProductSales> findBySaleDateBetweenAndProductId(LocalDate from, LocalDate to, Long productId);
+
+    @Query("SELECT s.id.saleDate AS saleDate, SUM(s.units) AS units, SUM(s.revenue) AS revenue " +
+            "FROM DailyProductSales s " +
+            "WHERE s.id.saleDate BETWEEN ?1 AND ?2 " +
+            "GROUP BY s.id.saleDate " +
+            "ORDER BY s.id.saleDate")
+    List<DailySalesView> sumBySaleDateBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("UPDATE DailyProductSales s SET s.units = s.units + ?2, s.revenue = s.revenue + ?3 " +
+            "WHERE s.id = ?1")
+    int increment(SalesRollupId id, long units, double revenue);
+}
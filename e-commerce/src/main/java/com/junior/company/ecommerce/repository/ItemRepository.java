@@ -1,7 +1,38 @@
 package com.junior.company.ecommerce.repository;
 
+import com.junior.company.ecommerce.dto.ItemQuantityView;
+import com.junior.company.ecommerce.dto.LowStockItemView;
 import com.junior.company.ecommerce.model.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    @Query("SELECT i.id AS itemId, p.id AS productId, p.name AS productName, i.size AS size, " +
+            "i.quantity AS quantity, p.lowStockThreshold AS lowStockThreshold " +
+            "FROM Item i JOIN i.product p " +
+            "WHERE i.quantity < p.lowStockThreshold")
+    List<LowStockItemView> findLowStockItems();
+
+    @Query("SELECT i.id AS itemId, i.quantity AS quantity FROM Item i")
+    List<ItemQuantityView> findItemQuantities();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.id IN (SELECT ci.item.id FROM Cart c JOIN c.cartItems ci WHERE c.id IN ?1) " +
+            "ORDER BY i.id")
+    List<Item> findItemsInCartsForUpdate(Collection<Long> cartIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Query("SELECT MIN(ci.item.id) FROM Cart c JOIN c.cartItems ci WHERE c.id = ?1")
+    Optional<Long> findFirstItemIdInCart(Long cartId);
 }
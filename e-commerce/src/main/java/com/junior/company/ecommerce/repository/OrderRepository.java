@@ -0,0 +1,32 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.OrderStatusView;
+import com.junior.company.ecommerce.model.Order;
+import com.junior.company.ecommerce.model.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+
+    @Query("SELECT o.id AS id, o.status AS status FROM Order o " +
+            "WHERE o.id IN ?1")
+    List<OrderStatusView> findStatusesByIds(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = ?1 " +
+            "WHERE o.id IN ?2 AND o.status = ?3")
+    int updateStatus(OrderStatus target, Collection<Long> orderIds, OrderStatus source);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+    long findMaxId();
+}
@@ -0,0 +1,17 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface OrderRepositoryCustom {
+
+    void scrollOrderLines(LocalDateTime from, LocalDateTime to, Consumer<OrderExportLine> consumer);
+
+    void scrollOrderLines(LocalDateTime from, LocalDateTime to, long toOrderId, Consumer<OrderExportLine> consumer);
+
+    void scrollUserOrderLines(Long appUserId, Consumer<OrderExportLine> consumer);
+
+    void scrollOrderedProductIds(long fromOrderId, long toOrderId, Consumer<long[]> consumer);
+}
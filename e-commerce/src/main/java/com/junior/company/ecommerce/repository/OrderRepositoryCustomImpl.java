@@ -0,0 +1,139 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.model.OrderStatus;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    static final String ORDER_LINES_QUERY = "SELECT po.id AS order_id, po.date_of_order, po.status, " +
+            "po.total_value, po.app_user_id, oi.id AS order_item_id, i.id AS item_id, i.size, " +
+            "p.id AS product_id, p.product_name, p.price, oi.amount " +
+            "FROM purchase_order po " +
+            "JOIN order_item oi ON oi.purchase_order_id = po.id " +
+            "JOIN item i ON i.id = oi.item_id " +
+            "JOIN product p ON p.id = i.product_id ";
+
+    private static final String ORDERED_PRODUCT_IDS_QUERY = "SELECT oi.purchase_order_id AS order_id, " +
+            "i.product_id AS product_id " +
+            "FROM order_item oi " +
+            "JOIN item i ON i.id = oi.item_id " +
+            "WHERE oi.purchase_order_id BETWEEN :fromOrderId AND :toOrderId " +
+            "ORDER BY oi.purchase_order_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${order.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public void scrollOrderLines(LocalDateTime from, LocalDateTime to, Consumer<OrderExportLine> consumer) {
+        NativeQuery<?> query = createOrderLinesQuery("WHERE po.date_of_order >= :from AND po.date_of_order < :to ")
+                .setParameter("from", from)
+                .setParameter("to", to);
+        scroll(query, consumer);
+    }
+
+    @Override
+    public void scrollOrderLines(LocalDateTime from, LocalDateTime to, long toOrderId,
+                                 Consumer<OrderExportLine> consumer) {
+        NativeQuery<?> query = createOrderLinesQuery("WHERE po.date_of_order >= :from AND po.date_of_order < :to " +
+                "AND po.id <= :toOrderId ")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("toOrderId", toOrderId);
+        scroll(query, consumer);
+    }
+
+    @Override
+    public void scrollUserOrderLines(Long appUserId, Consumer<OrderExportLine> consumer) {
+        NativeQuery<?> query = createOrderLinesQuery("WHERE po.app_user_id = :appUserId ")
+                .setParameter("appUserId", appUserId);
+        scroll(query, consumer);
+    }
+
+    @Override
+    public void scrollOrderedProductIds(long fromOrderId, long toOrderId, Consumer<long[]> consumer) {
+        NativeQuery<?> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(ORDERED_PRODUCT_IDS_QUERY)
+                .addScalar("order_id", StandardBasicTypes.LONG)
+                .addScalar("product_id", StandardBasicTypes.LONG)
+                .setParameter("fromOrderId", fromOrderId)
+                .setParameter("toOrderId", toOrderId);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            long currentOrderId = 0;
+            LongStream.Builder productIds = LongStream.builder();
+            while (results.next()) {
+                Object[] row = results.get();
+                long orderId = (Long) row[0];
+                if (orderId != currentOrderId) {
+                    if (currentOrderId != 0) {
+                        consumer.accept(productIds.build().toArray());
+                    }
+                    currentOrderId = orderId;
+                    productIds = LongStream.builder();
+                }
+                productIds.add((Long) row[1]);
+            }
+            if (currentOrderId != 0) {
+                consumer.accept(productIds.build().toArray());
+            }
+        }
+    }
+
+    private NativeQuery<?> createOrderLinesQuery(String condition) {
+        return entityManager.unwrap(Session.class)
+                .createNativeQuery(ORDER_LINES_QUERY + condition + "ORDER BY po.id, oi.id")
+                .addScalar("order_id", StandardBasicTypes.LONG)
+                .addScalar("date_of_order", LocalDateTimeType.INSTANCE)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("total_value", StandardBasicTypes.DOUBLE)
+                .addScalar("app_user_id", StandardBasicTypes.LONG)
+                .addScalar("order_item_id", StandardBasicTypes.LONG)
+                .addScalar("item_id", StandardBasicTypes.LONG)
+                .addScalar("size", StandardBasicTypes.STRING)
+                .addScalar("product_id", StandardBasicTypes.LONG)
+                .addScalar("product_name", StandardBasicTypes.STRING)
+                .addScalar("price", StandardBasicTypes.DOUBLE)
+                .addScalar("amount", StandardBasicTypes.INTEGER);
+    }
+
+    private void scroll(NativeQuery<?> query, Consumer<OrderExportLine> consumer) {
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Object[] row = results.get();
+                consumer.accept(OrderExportLine.builder()
+                        .orderId((Long) row[0])
+                        .dateOfOrder((LocalDateTime) row[1])
+                        .status(row[2] == null ? null : OrderStatus.valueOf((String) row[2]))
+                        .totalValue((Double) row[3])
+                        .appUserId((Long) row[4])
+                        .orderItemId((Long) row[5])
+                        .itemId((Long) row[6])
+                        .size((String) row[7])
+                        .productId((Long) row[8])
+                        .productName((String) row[9])
+                        .price((Double) row[10])
+                        .amount((Integer) row[11])
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+
+    List<RevokedRefreshToken> findByExpiresAtAfter(LocalDateTime dateTime);
+
+    @Modifying
+    @Query("DELETE FROM RevokedRefreshToken t WHERE t.expiresAt <= ?1")
+    int deleteExpired(LocalDateTime dateTime);
+}
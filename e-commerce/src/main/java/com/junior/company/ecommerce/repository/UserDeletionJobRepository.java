@@ -0,0 +1,18 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.UserDeletionJob;
+import com.junior.company.ecommerce.model.UserDeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, Long> {
+
+    Optional<UserDeletionJob> findFirstByAppUserIdAndStatusIn(Long appUserId, Collection<UserDeletionStatus> statuses);
+
+    List<UserDeletionJob> findByStatusInOrderById(Collection<UserDeletionStatus> statuses);
+}
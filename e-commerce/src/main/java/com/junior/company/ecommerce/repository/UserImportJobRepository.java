@@ -0,0 +1,32 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.UserImportJob;
+import com.junior.company.ecommerce.model.UserImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, Long> {
+
+    @Modifying
+    @Query("UPDATE UserImportJob j SET j.status = ?2 WHERE j.status = ?1")
+    int updateStatus(UserImportStatus source, UserImportStatus target);
+
+    @Query("SELECT j.id FROM UserImportJob j WHERE j.status IN ?1 AND COALESCE(j.finishedAt, j.startedAt) < ?2")
+    List<Long> findIdsByStatusInAndLastRunBefore(Collection<UserImportStatus> statuses, LocalDateTime dateTime);
+
+    @Modifying
+    @Query("UPDATE UserImportJob j SET j.status = ?3, j.lastError = ?4 WHERE j.id = ?1 AND j.status IN ?2")
+    int updateStatusById(Long id, Collection<UserImportStatus> sources, UserImportStatus target, String error);
+
+    @Modifying
+    @Query("UPDATE UserImportJob j SET j.status = ?3, j.finishedAt = NULL, j.lastError = NULL " +
+            "WHERE j.id = ?1 AND j.status IN ?2")
+    int restartById(Long id, Collection<UserImportStatus> sources, UserImportStatus target);
+}
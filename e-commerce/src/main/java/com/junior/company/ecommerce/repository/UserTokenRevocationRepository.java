@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    List<UserTokenRevocation> findByNotBeforeAfter(LocalDateTime dateTime);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.notBefore <= ?1")
+    int deleteExpired(LocalDateTime dateTime);
+}
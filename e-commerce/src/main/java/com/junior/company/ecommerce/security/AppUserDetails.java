@@ -17,6 +17,8 @@ public class AppUserDetails implements UserDetails {
     private  String password;
     private  String username;
     private  boolean enabled;
+    private  Long userId;
+    private  Long cartId;
 
     public AppUserDetails(AppUser appUser) {
         this.authorities = appUser.getRoles().stream()
@@ -25,6 +27,39 @@ public class AppUserDetails implements UserDetails {
         this.password = appUser.getPassword();
         this.username = appUser.getEmail();
         this.enabled = appUser.isEnabled();
+        this.userId = appUser.getId();
+        this.cartId = appUser.getCart() == null ? null : appUser.getCart().getId();
+    }
+
+    public AppUserDetails(Long userId, Long cartId, String username, String password, boolean enabled,
+                          Collection<String> roleNames) {
+        this.authorities = roleNames.stream()
+                .map((roleName) -> new SimpleGrantedAuthority(ROLE_PREFIX + roleName))
+                .collect(Collectors.toList());
+        this.password = password;
+        this.username = username;
+        this.enabled = enabled;
+        this.userId = userId;
+        this.cartId = cartId;
+    }
+
+    public AppUserDetails(UserDetails userDetails, String password) {
+        this.authorities = userDetails.getAuthorities();
+        this.password = password;
+        this.username = userDetails.getUsername();
+        this.enabled = userDetails.isEnabled();
+        if (userDetails instanceof AppUserDetails) {
+            this.userId = ((AppUserDetails) userDetails).getUserId();
+            this.cartId = ((AppUserDetails) userDetails).getCartId();
+        }
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCartId() {
+        return cartId;
     }
 
     @Override
@@ -1,26 +1,75 @@
 package com.junior.company.ecommerce.security;
 
-import com.junior.company.ecommerce.model.AppUser;
+import com.junior.company.ecommerce.dto.AuthUserView;
+import com.junior.company.ecommerce.event.AppUserChangedEvent;
 import com.junior.company.ecommerce.repository.AppUserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// User details for authentication are loaded by a query of the authentication fields only
+// and kept for ttl-seconds, until the user gets updated or deleted.
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepository appUserRepository;
+    private final ExpiringCache<String, AppUserDetails> userDetailsCache;
+    private final long ttlMillis;
+
+    public AppUserDetailsService(AppUserRepository appUserRepository,
+                                 @Value("${user-details-cache.ttl-seconds:60}") long ttlSeconds,
+                                 @Value("${user-details-cache.max-size:10000}") int maxSize) {
+        this.appUserRepository = appUserRepository;
+        this.userDetailsCache = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        AppUserDetails cached = userDetailsCache.get(email, now);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Loading user by email: {}", email);
-        AppUser appUser = appUserRepository.findByEmail(email).orElseThrow(() ->
-                new UsernameNotFoundException(String.format("User with email: %s not found", email)));
-        return new AppUserDetails(appUser);
+        List<AuthUserView> rows = appUserRepository.findAuthUserByEmail(email);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException(String.format("User with email: %s not found", email));
+        }
+        AuthUserView first = rows.get(0);
+        List<String> roleNames = rows.stream()
+                .map(AuthUserView::getRoleName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        AppUserDetails appUserDetails = new AppUserDetails(first.getId(), first.getCartId(), first.getEmail(),
+                first.getPassword(), Boolean.TRUE.equals(first.getEnabled()), roleNames);
+        userDetailsCache.put(email, appUserDetails, now + ttlMillis, now);
+        return appUserDetails;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Rehashing password of user: {}", user.getUsername());
+        appUserRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.remove(user.getUsername());
+        return new AppUserDetails(user, newPassword);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppUserChanged(AppUserChangedEvent event) {
+        userDetailsCache.remove(event.getEmail());
     }
 }
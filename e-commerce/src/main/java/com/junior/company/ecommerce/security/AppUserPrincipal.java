@@ -0,0 +1,26 @@
+package com.junior.company.ecommerce.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+
+// Identity of the current request, built from the claims of the access token.
+@Getter
+@RequiredArgsConstructor
+public class AppUserPrincipal implements Principal {
+
+    private final Long userId;
+    private final Long cartId;
+    private final String email;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -1,12 +1,12 @@
 package com.junior.company.ecommerce.security;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
 import com.junior.company.ecommerce.model.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,30 +17,46 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static com.junior.company.ecommerce.security.SecurityConstant.ACCESS_TOKEN_EXPIRES_TIME;
-import static com.junior.company.ecommerce.security.SecurityConstant.getSecretKey;
-
 @RequiredArgsConstructor
 @Slf4j
 public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    private static final String LOGIN_EMAIL_ATTRIBUTE = CustomAuthenticationFilter.class.getName() + ".email";
+
     private final AuthenticationManager authenticationManager;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final LoginThrottle loginThrottle;
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request,
                                                 HttpServletResponse response) throws AuthenticationException {
         try {
             AppUserDetails credentials = new ObjectMapper().readValue(request.getInputStream(), AppUserDetails.class);
+            long now = System.currentTimeMillis();
+            if (loginThrottle.isBlocked(credentials.getUsername(), request.getRemoteAddr(), now)) {
+                log.warn("Rejected login of {} from {}: too many failed attempts",
+                        credentials.getUsername(), request.getRemoteAddr());
+                writeTooManyRequests(response, loginThrottle.getRetryAfterSeconds(now));
+                return null;
+            }
+            request.setAttribute(LOGIN_EMAIL_ATTRIBUTE, credentials.getUsername());
             return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                     credentials.getUsername(), credentials.getPassword()));
 
+        } catch (ServiceOverloadedException e) {
+            log.warn("Rejected login: {}", e.getMessage());
+            writeServiceOverloaded(response, e);
+            return null;
         } catch (IOException e) {
             log.info("IOException occurred while getting credentials: " + e.getMessage());
             throw new RuntimeException(e.getMessage());
@@ -54,27 +70,73 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
                                             Authentication authResult) throws IOException {
 
         AppUserDetails user = (AppUserDetails) authResult.getPrincipal();
-        Algorithm algorithm = Algorithm.HMAC256(getSecretKey());
+        List<String> roles = user.getAuthorities().stream()
+                .map((GrantedAuthority::getAuthority)).collect(Collectors.toList());
+        AppUserPrincipal principal = new AppUserPrincipal(user.getUserId(), user.getCartId(), user.getUsername());
+        String issuer = request.getRequestURL().toString();
 
-        String accessToken = JWT.create()
-                .withSubject(user.getUsername())
-                .withClaim("roles", user.getAuthorities().stream()
-                        .map((GrantedAuthority::getAuthority)).collect(Collectors.toList()))
-                .withExpiresAt(ACCESS_TOKEN_EXPIRES_TIME)
-                .withIssuer(request.getRequestURL().toString())
-                .sign(algorithm);
+        Date authTime = new Date();
+
+        String accessToken = jwtTokenProvider.createAccessToken(principal, roles, issuer, authTime);
+        String refreshToken = jwtTokenProvider.createRefreshToken(principal, roles, issuer, authTime);
 
         Response customResponse = Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
                 .message("Retrieved access token")
-                .data(Map.of("access_token", accessToken))
+                .data(Map.of("access_token", accessToken, "refresh_token", refreshToken))
                 .build();
 
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         new ObjectMapper().registerModule(new JavaTimeModule())
                 .writeValue(response.getOutputStream(), customResponse);
     }
-}
 
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request,
+                                              HttpServletResponse response,
+                                              AuthenticationException failed) throws IOException, ServletException {
+        loginThrottle.recordFailure((String) request.getAttribute(LOGIN_EMAIL_ATTRIBUTE), request.getRemoteAddr(),
+                System.currentTimeMillis());
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) {
+        Response customResponse = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many failed login attempts, try again later")
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            new ObjectMapper().registerModule(new JavaTimeModule())
+                    .writeValue(response.getOutputStream(), customResponse);
+        } catch (IOException ioe) {
+            log.info("IOException occurred while writing response: " + ioe.getMessage());
+        }
+    }
+
+    private void writeServiceOverloaded(HttpServletResponse response, ServiceOverloadedException e) {
+        Response customResponse = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(e.getMessage())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            new ObjectMapper().registerModule(new JavaTimeModule())
+                    .writeValue(response.getOutputStream(), customResponse);
+        } catch (IOException ioe) {
+            log.info("IOException occurred while writing response: " + ioe.getMessage());
+        }
+    }
+}
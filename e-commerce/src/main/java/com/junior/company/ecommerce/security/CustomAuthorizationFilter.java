@@ -2,13 +2,16 @@ package com.junior.company.ecommerce.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,6 +24,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +35,17 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 @Slf4j
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ExpiringCache<String, VerifiedToken> verifiedTokens;
+    private final UserTokenRevocations userTokenRevocations;
+    private volatile JWTVerifier verifier;
+
+    public CustomAuthorizationFilter(int maxCachedTokens, UserTokenRevocations userTokenRevocations) {
+        this.verifiedTokens = new ExpiringCache<>(maxCachedTokens);
+        this.userTokenRevocations = userTokenRevocations;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -42,17 +57,7 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 try {
                     String token = authorizationHeader.substring("Bearer ".length());
-                    Algorithm algorithm = Algorithm.HMAC256(getSecretKey());
-                    JWTVerifier verifier = JWT.require(algorithm).build();
-                    DecodedJWT decodedJWT = verifier.verify(token);
-                    String username = decodedJWT.getSubject();
-                    String[] roles = decodedJWT.getClaim("roles").asArray(String.class);
-                    Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    Arrays.stream(roles).forEach(role ->
-                        authorities.add(new SimpleGrantedAuthority(role)));
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    SecurityContextHolder.getContext().setAuthentication(authenticate(token));
                     filterChain.doFilter(request, response);
                 } catch (Exception e) {
                     log.error("Error logging in: {}", e.getMessage());
@@ -61,11 +66,59 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
                     Map<String, String> error = new HashMap<>();
                     error.put("error_message", e.getMessage());
                     response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                    new ObjectMapper().writeValue(response.getOutputStream(), error);
+                    OBJECT_MAPPER.writeValue(response.getOutputStream(), error);
                 }
             } else {
                 filterChain.doFilter(request, response);
             }
         }
     }
+
+    private Authentication authenticate(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token, now);
+        if (cached != null) {
+            if (userTokenRevocations.isRevoked(cached.userId, cached.issuedAt)) {
+                verifiedTokens.remove(token);
+                throw new JWTVerificationException("Token has been revoked");
+            }
+            return cached.authentication;
+        }
+        DecodedJWT decodedJWT = verifier().verify(token);
+        if (JwtTokenProvider.isRefreshToken(decodedJWT)) {
+            throw new JWTVerificationException("Refresh token cannot be used as an access token");
+        }
+        AppUserPrincipal principal = JwtTokenProvider.principalOf(decodedJWT);
+        if (userTokenRevocations.isRevoked(principal.getUserId(), decodedJWT.getIssuedAt())) {
+            throw new JWTVerificationException("Token has been revoked");
+        }
+        String[] roles = decodedJWT.getClaim(JwtTokenProvider.ROLES_CLAIM).asArray(String.class);
+        Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        Arrays.stream(roles).forEach(role ->
+                authorities.add(new SimpleGrantedAuthority(role)));
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        if (decodedJWT.getExpiresAt() != null) {
+            verifiedTokens.put(token, new VerifiedToken(authenticationToken, principal.getUserId(),
+                    decodedJWT.getIssuedAt()), decodedJWT.getExpiresAt().getTime(), now);
+        }
+        return authenticationToken;
+    }
+
+    private JWTVerifier verifier() {
+        JWTVerifier current = verifier;
+        if (current == null) {
+            current = JWT.require(Algorithm.HMAC256(getSecretKey())).build();
+            verifier = current;
+        }
+        return current;
+    }
+
+    @RequiredArgsConstructor
+    private static class VerifiedToken {
+
+        private final Authentication authentication;
+        private final Long userId;
+        private final Date issuedAt;
+    }
 }
@@ -0,0 +1,108 @@
+package com.junior.company.ecommerce.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static com.junior.company.ecommerce.security.SecurityConstant.getSecretKey;
+
+// Signs access and refresh tokens, each expiring relative to its own issue time but never after the session
+// deadline: max session after the login (auth_time), which refreshing carries over to the new tokens.
+// Both carry the user id, cart id and roles, so neither authorizing a request nor renewing
+// an access token needs a database lookup.
+public class JwtTokenProvider {
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "user_id";
+    public static final String CART_ID_CLAIM = "cart_id";
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String AUTH_TIME_CLAIM = "auth_time";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    private final long accessTokenValidityMillis;
+    private final long refreshTokenValidityMillis;
+    private final long maxSessionMillis;
+    private volatile Algorithm algorithm;
+    private volatile JWTVerifier refreshTokenVerifier;
+
+    public JwtTokenProvider(long accessTokenValiditySeconds, long refreshTokenValiditySeconds,
+                            long maxSessionSeconds) {
+        this.accessTokenValidityMillis = accessTokenValiditySeconds * 1000;
+        this.refreshTokenValidityMillis = refreshTokenValiditySeconds * 1000;
+        this.maxSessionMillis = maxSessionSeconds * 1000;
+    }
+
+    public String createAccessToken(AppUserPrincipal principal, Collection<String> roles, String issuer,
+                                    Date authTime) {
+        long now = System.currentTimeMillis();
+        return JWT.create()
+                .withSubject(principal.getEmail())
+                .withClaim(USER_ID_CLAIM, principal.getUserId())
+                .withClaim(CART_ID_CLAIM, principal.getCartId())
+                .withClaim(ROLES_CLAIM, List.copyOf(roles))
+                .withIssuedAt(new Date(now))
+                .withClaim(AUTH_TIME_CLAIM, authTime)
+                .withExpiresAt(new Date(Math.min(now + accessTokenValidityMillis, authTime.getTime() + maxSessionMillis)))
+                .withIssuer(issuer)
+                .sign(algorithm());
+    }
+
+    public String createRefreshToken(AppUserPrincipal principal, Collection<String> roles, String issuer,
+                                     Date authTime) {
+        long now = System.currentTimeMillis();
+        return JWT.create()
+                .withSubject(principal.getEmail())
+                .withJWTId(UUID.randomUUID().toString())
+                .withClaim(USER_ID_CLAIM, principal.getUserId())
+                .withClaim(CART_ID_CLAIM, principal.getCartId())
+                .withClaim(ROLES_CLAIM, List.copyOf(roles))
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .withIssuedAt(new Date(now))
+                .withClaim(AUTH_TIME_CLAIM, authTime)
+                .withExpiresAt(new Date(Math.min(now + refreshTokenValidityMillis, authTime.getTime() + maxSessionMillis)))
+                .withIssuer(issuer)
+                .sign(algorithm());
+    }
+
+    public DecodedJWT verifyRefreshToken(String refreshToken) throws JWTVerificationException {
+        JWTVerifier current = refreshTokenVerifier;
+        if (current == null) {
+            current = JWT.require(algorithm())
+                    .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                    .build();
+            refreshTokenVerifier = current;
+        }
+        return current.verify(refreshToken);
+    }
+
+    public static AppUserPrincipal principalOf(DecodedJWT decodedJWT) {
+        return new AppUserPrincipal(decodedJWT.getClaim(USER_ID_CLAIM).asLong(),
+                decodedJWT.getClaim(CART_ID_CLAIM).asLong(), decodedJWT.getSubject());
+    }
+
+    // Tokens issued before auth_time was added count their session from their own issue time
+    public static Date authTimeOf(DecodedJWT decodedJWT) {
+        Date authTime = decodedJWT.getClaim(AUTH_TIME_CLAIM).asDate();
+        return authTime != null ? authTime : decodedJWT.getIssuedAt();
+    }
+
+    public static boolean isRefreshToken(DecodedJWT decodedJWT) {
+        return REFRESH_TOKEN_TYPE.equals(decodedJWT.getClaim(TOKEN_TYPE_CLAIM).asString());
+    }
+
+    private Algorithm algorithm() {
+        Algorithm current = algorithm;
+        if (current == null) {
+            current = Algorithm.HMAC256(getSecretKey());
+            algorithm = current;
+        }
+        return current;
+    }
+}
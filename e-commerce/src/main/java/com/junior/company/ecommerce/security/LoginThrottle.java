@@ -0,0 +1,74 @@
+package com.junior.company.ecommerce.security;
+
+import com.junior.company.ecommerce.dto.LoginAttemptsResponse;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts failed logins per email and per client address over a sliding window.
+// A login over either limit is rejected before the user is loaded or any password is hashed.
+public class LoginThrottle {
+
+    private final SlidingWindowCounter emailFailures;
+    private final SlidingWindowCounter addressFailures;
+    private final int maxEmailFailures;
+    private final int maxAddressFailures;
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+
+    public LoginThrottle(long windowSeconds, int buckets, int rows, int slots,
+                         int maxEmailFailures, int maxAddressFailures) {
+        this.emailFailures = new SlidingWindowCounter(windowSeconds * 1000, buckets, rows, slots);
+        this.addressFailures = new SlidingWindowCounter(windowSeconds * 1000, buckets, rows, slots);
+        this.maxEmailFailures = maxEmailFailures;
+        this.maxAddressFailures = maxAddressFailures;
+    }
+
+    public boolean isBlocked(String email, String address, long now) {
+        if (address != null && addressFailures.count(address, now) >= maxAddressFailures) {
+            rejectedByAddress.increment();
+            return true;
+        }
+        if (email != null && emailFailures.count(emailKey(email), now) >= maxEmailFailures) {
+            rejectedByEmail.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordFailure(String email, String address, long now) {
+        if (email != null) {
+            emailFailures.increment(emailKey(email), now);
+        }
+        if (address != null) {
+            addressFailures.increment(address, now);
+        }
+    }
+
+    public long getRetryAfterSeconds(long now) {
+        return (emailFailures.millisUntilNextBucket(now) + 999) / 1000;
+    }
+
+    public LoginAttemptsResponse getAttempts(String email, String address, long now) {
+        Integer emailCount = email == null ? null : emailFailures.count(emailKey(email), now);
+        Integer addressCount = address == null ? null : addressFailures.count(address, now);
+        return LoginAttemptsResponse.builder()
+                .email(email)
+                .emailFailures(emailCount)
+                .maxEmailFailures(maxEmailFailures)
+                .emailBlocked(emailCount == null ? null : emailCount >= maxEmailFailures)
+                .address(address)
+                .addressFailures(addressCount)
+                .maxAddressFailures(maxAddressFailures)
+                .addressBlocked(addressCount == null ? null : addressCount >= maxAddressFailures)
+                .windowSeconds(emailFailures.getWindowMillis() / 1000)
+                .rejectedByEmail(rejectedByEmail.sum())
+                .rejectedByAddress(rejectedByAddress.sum())
+                .memoryBytes(emailFailures.getMemoryBytes() + addressFailures.getMemoryBytes())
+                .build();
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
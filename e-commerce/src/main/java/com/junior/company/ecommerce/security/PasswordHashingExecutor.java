@@ -0,0 +1,95 @@
+package com.junior.company.ecommerce.security;
+
+import com.junior.company.ecommerce.dto.PasswordHashingStatsResponse;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs bcrypt on a fixed number of threads with a bounded queue, so a burst of logins cannot take
+// every request thread. When the queue is full the caller is rejected at once instead of waiting.
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+    private final long retryAfterSeconds;
+    private final LongAdder rejectedHashes = new LongAdder();
+    private final LongAdder completedHashes = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(int threads, int queueCapacity, long retryAfterSeconds) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), (runnable) -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public <T> T execute(Supplier<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> measure(hashing));
+        } catch (RejectedExecutionException e) {
+            rejectedHashes.increment();
+            throw new ServiceOverloadedException("Too many password hashing requests, try again later",
+                    retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public PasswordHashingStatsResponse getStats() {
+        long completed = completedHashes.sum();
+        return PasswordHashingStatsResponse.builder()
+                .threads(threads)
+                .queueCapacity(queueCapacity)
+                .queueDepth(executor.getQueue().size())
+                .activeHashes(executor.getActiveCount())
+                .completedHashes(completed)
+                .rejectedHashes(rejectedHashes.sum())
+                .averageHashMillis(completed == 0 ? 0.0 : totalHashNanos.sum() / 1e6 / completed)
+                .maxHashMillis(maxHashNanos.get() / 1e6)
+                .build();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T measure(Supplier<T> hashing) {
+        long start = System.nanoTime();
+        try {
+            return hashing.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completedHashes.increment();
+            totalHashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
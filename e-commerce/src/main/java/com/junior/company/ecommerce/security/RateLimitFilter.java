@@ -0,0 +1,118 @@
+package com.junior.company.ecommerce.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.junior.company.ecommerce.model.Response;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Limits requests of every route group with a token bucket per client. Clients authenticated with an access
+// token are told apart by their user id, all others by their address. Runs after CustomAuthorizationFilter.
+// A pattern may start with an HTTP method and a space ("POST /api/v1/users") to match requests of that method only.
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    public static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final List<RouteGroup> routeGroups;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteGroup routeGroup = routeGroupOf(request.getMethod(), URL_PATH_HELPER.getPathWithinApplication(request));
+        if (routeGroup == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        TokenBucketLimiter limiter = routeGroup.getLimiter();
+        long result = limiter.tryAcquire(clientOf(request), System.nanoTime());
+        response.setHeader(RATE_LIMIT_LIMIT, String.valueOf(limiter.getCapacity()));
+        if (result >= 0) {
+            response.setHeader(RATE_LIMIT_REMAINING, String.valueOf(result));
+            response.setHeader(RATE_LIMIT_RESET, String.valueOf(toSeconds(limiter.nanosUntilFull(result))));
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = toSeconds(-result);
+        log.warn("Rate limit of {} exceeded by {}", routeGroup.getName(), clientOf(request));
+        response.setHeader(RATE_LIMIT_REMAINING, "0");
+        response.setHeader(RATE_LIMIT_RESET, String.valueOf(retryAfterSeconds));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OBJECT_MAPPER.writeValue(response.getOutputStream(), Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests, try again later")
+                .build());
+    }
+
+    private RouteGroup routeGroupOf(String method, String path) {
+        for (RouteGroup routeGroup : routeGroups) {
+            for (String pattern : routeGroup.getPatterns()) {
+                if (matches(pattern, method, path)) {
+                    return routeGroup;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String pattern, String method, String path) {
+        if (pattern.startsWith("/")) {
+            return PATH_MATCHER.match(pattern, path);
+        }
+        return pattern.startsWith(method) && pattern.length() > method.length()
+                && pattern.charAt(method.length()) == ' '
+                && PATH_MATCHER.match(pattern.substring(method.length() + 1), path);
+    }
+
+    private static Object clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppUserPrincipal) {
+            Long userId = ((AppUserPrincipal) authentication.getPrincipal()).getUserId();
+            if (userId != null) {
+                return userId;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RouteGroup {
+
+        private final String name;
+        private final String[] patterns;
+        private final TokenBucketLimiter limiter;
+    }
+}
@@ -1,6 +1,7 @@
 package com.junior.company.ecommerce.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,13 +13,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.List;
+
 import static com.junior.company.ecommerce.security.SecurityConstant.LOGIN_URL;
+import static com.junior.company.ecommerce.security.SecurityConstant.MAX_CACHED_TOKENS;
 import static com.junior.company.ecommerce.security.SecurityConstant.SWAGGER_URL;
+import static com.junior.company.ecommerce.security.SecurityConstant.TOKEN_URL;
 
 @Configuration
 @EnableWebSecurity
@@ -26,18 +29,109 @@ import static com.junior.company.ecommerce.security.SecurityConstant.SWAGGER_URL
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
-    private final UserDetailsService userDetailsService;
+    private final AppUserDetailsService appUserDetailsService;
+
+    @Value("${password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${password-hashing.threads:4}")
+    private int passwordHashingThreads;
+
+    @Value("${password-hashing.queue-capacity:100}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private long passwordHashingRetryAfterSeconds;
+
+    @Value("${login-throttle.window-seconds:900}")
+    private long loginThrottleWindowSeconds;
+
+    @Value("${login-throttle.buckets:5}")
+    private int loginThrottleBuckets;
+
+    @Value("${login-throttle.rows:2}")
+    private int loginThrottleRows;
+
+    @Value("${login-throttle.slots:32768}")
+    private int loginThrottleSlots;
+
+    @Value("${login-throttle.max-email-failures:10}")
+    private int loginThrottleMaxEmailFailures;
+
+    @Value("${login-throttle.max-address-failures:100}")
+    private int loginThrottleMaxAddressFailures;
+
+    @Value("${rate-limit.catalog.patterns:/api/v1/products/**,/api/v1/categories/**}")
+    private String[] catalogRateLimitPatterns;
+
+    @Value("${rate-limit.catalog.capacity:100}")
+    private int catalogRateLimitCapacity;
+
+    @Value("${rate-limit.catalog.refill-per-second:20}")
+    private double catalogRateLimitRefillPerSecond;
+
+    @Value("${rate-limit.auth.patterns:/api/v1/login,/api/v1/token/**,POST /api/v1/users}")
+    private String[] authRateLimitPatterns;
+
+    @Value("${rate-limit.auth.capacity:20}")
+    private int authRateLimitCapacity;
+
+    @Value("${rate-limit.auth.refill-per-second:2}")
+    private double authRateLimitRefillPerSecond;
+
+    @Value("${rate-limit.default.patterns:/api/**}")
+    private String[] defaultRateLimitPatterns;
+
+    @Value("${rate-limit.default.capacity:200}")
+    private int defaultRateLimitCapacity;
+
+    @Value("${rate-limit.default.refill-per-second:50}")
+    private double defaultRateLimitRefillPerSecond;
+
+    @Value("${rate-limit.max-clients:100000}")
+    private int rateLimitMaxClients;
+
+    @Value("${jwt.access-token-validity-seconds:3600}")
+    private long accessTokenValiditySeconds;
+
+    @Value("${jwt.refresh-token-validity-seconds:1209600}")
+    private long refreshTokenValiditySeconds;
+
+    @Value("${jwt.max-session-seconds:2592000}")
+    private long maxSessionSeconds;
+
+    @Bean
+    public JwtTokenProvider jwtTokenProvider() {
+        return new JwtTokenProvider(accessTokenValiditySeconds, refreshTokenValiditySeconds, maxSessionSeconds);
+    }
+
+    @Bean
+    public UserTokenRevocations userTokenRevocations() {
+        return new UserTokenRevocations(maxSessionSeconds);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor() {
+        return new PasswordHashingExecutor(passwordHashingThreads, passwordHashingQueueCapacity,
+                passwordHashingRetryAfterSeconds);
+    }
+
+    @Bean
+    public LoginThrottle loginThrottle() {
+        return new LoginThrottle(loginThrottleWindowSeconds, loginThrottleBuckets, loginThrottleRows,
+                loginThrottleSlots, loginThrottleMaxEmailFailures, loginThrottleMaxAddressFailures);
+    }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptStrength, passwordHashingExecutor());
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
 
         CustomAuthenticationFilter customAuthenticationFilter =
-                new CustomAuthenticationFilter(authenticationManagerBean());
+                new CustomAuthenticationFilter(authenticationManagerBean(), jwtTokenProvider(), loginThrottle());
         customAuthenticationFilter.setFilterProcessesUrl(LOGIN_URL);
 
         http.csrf().disable()
@@ -47,20 +141,35 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(HttpMethod.GET, "/api/v1/products/**").permitAll()
                 .antMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
                 .antMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
+                .antMatchers(HttpMethod.POST, TOKEN_URL).permitAll()
                 .antMatchers(SWAGGER_URL).permitAll()
                 .anyRequest().authenticated()
                 .and()
                 .formLogin()
                 .and()
-                .addFilterBefore(new CustomAuthorizationFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new CustomAuthorizationFilter(MAX_CACHED_TOKENS, userTokenRevocations()),
+                        UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter(), UsernamePasswordAuthenticationFilter.class)
                 .addFilter(customAuthenticationFilter);
     }
 
+    // Route groups are matched in order, the first matching one limits the request.
+    private RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter(List.of(
+                new RateLimitFilter.RouteGroup("catalog", catalogRateLimitPatterns, new TokenBucketLimiter(
+                        catalogRateLimitCapacity, catalogRateLimitRefillPerSecond, rateLimitMaxClients)),
+                new RateLimitFilter.RouteGroup("auth", authRateLimitPatterns, new TokenBucketLimiter(
+                        authRateLimitCapacity, authRateLimitRefillPerSecond, rateLimitMaxClients)),
+                new RateLimitFilter.RouteGroup("default", defaultRateLimitPatterns, new TokenBucketLimiter(
+                        defaultRateLimitCapacity, defaultRateLimitRefillPerSecond, rateLimitMaxClients))));
+    }
+
     @Bean
     public DaoAuthenticationProvider daoAuthenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setPasswordEncoder(passwordEncoder());
-        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsService(appUserDetailsService);
+        provider.setUserDetailsPasswordService(appUserDetailsService);
         return provider;
     }
     @Override
@@ -3,8 +3,6 @@ package com.junior.company.ecommerce.security;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-
 @Component
 public class SecurityConstant {
 
@@ -20,8 +18,6 @@ public class SecurityConstant {
         return SECRET_KEY;
     }
 
-    public static final Date ACCESS_TOKEN_EXPIRES_TIME = new Date(System.currentTimeMillis() + 60 * 60 * 1000);
-
     public static final String[] SWAGGER_URL = {
             "/v2/api-docs",
             "/swagger-resources/**",
@@ -31,4 +27,8 @@ public class SecurityConstant {
     };
 
     public static final String LOGIN_URL = "/api/v1/login";
+
+    public static final String TOKEN_URL = "/api/v1/token/**";
+
+    public static final int MAX_CACHED_TOKENS = 10_000;
 }
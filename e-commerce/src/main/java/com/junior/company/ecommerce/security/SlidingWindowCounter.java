@@ -0,0 +1,106 @@
+package com.junior.company.ecommerce.security;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Approximate per-key counts over a sliding window, in fixed memory and without locks.
+// The window is split into buckets; each bucket is a count-min sketch of rows x slots counters, so keys are never
+// stored and a key colliding with others can only be over-counted. A bucket is swapped for an empty one the first
+// time it is written to after its time slice has passed, which is how old counts get evicted.
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int rows;
+    private final int slots;
+    private final AtomicReferenceArray<Bucket> table;
+
+    public SlidingWindowCounter(long windowMillis, int buckets, int rows, int slots) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.buckets = buckets;
+        this.rows = rows;
+        this.slots = Integer.highestOneBit(Math.max(1, slots - 1) << 1);
+        this.table = new AtomicReferenceArray<>(buckets);
+    }
+
+    public int increment(String key, long now) {
+        long epoch = now / bucketMillis;
+        Bucket bucket = bucketOf(epoch);
+        long hash = hash(key);
+        for (int row = 0; row < rows; row++) {
+            bucket.counts.incrementAndGet(counterIndex(hash, row));
+        }
+        return count(key, now);
+    }
+
+    public int count(String key, long now) {
+        long epoch = now / bucketMillis;
+        long hash = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < rows; row++) {
+            int index = counterIndex(hash, row);
+            int sum = 0;
+            for (int i = 0; i < buckets; i++) {
+                Bucket bucket = table.get(i);
+                if (bucket != null && bucket.epoch > epoch - buckets && bucket.epoch <= epoch) {
+                    sum += bucket.counts.get(index);
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    public long millisUntilNextBucket(long now) {
+        return bucketMillis - now % bucketMillis;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * buckets;
+    }
+
+    public long getMemoryBytes() {
+        return (long) buckets * rows * slots * Integer.BYTES;
+    }
+
+    private Bucket bucketOf(long epoch) {
+        int index = (int) (epoch % buckets);
+        while (true) {
+            Bucket bucket = table.get(index);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch, rows * slots);
+            if (table.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int counterIndex(long hash, int row) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32) | 1;
+        return row * slots + ((first + row * second) & (slots - 1));
+    }
+
+    private static long hash(String key) {
+        long hash = key.hashCode() * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static class Bucket {
+
+        private final long epoch;
+        private final AtomicIntegerArray counts;
+
+        private Bucket(long epoch, int counters) {
+            this.epoch = epoch;
+            this.counts = new AtomicIntegerArray(counters);
+        }
+    }
+}
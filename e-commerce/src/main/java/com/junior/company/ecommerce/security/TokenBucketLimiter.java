@@ -0,0 +1,70 @@
+package com.junior.company.ecommerce.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket per client kept as a single "theoretical arrival time" (GCRA): the moment the client's bucket
+// would be full again. Taking a token moves it one refill interval later with a CAS, so no lock or allocation
+// is needed for a known client. A bucket whose time has passed is full and equal to a new one, so such idle
+// clients are dropped first when the map reaches max-clients.
+public class TokenBucketLimiter {
+
+    private final int capacity;
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxClients) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.maxClients = maxClients;
+    }
+
+    // Returns tokens left after taking one, or when none is left the negated nanos until the next one.
+    public long tryAcquire(Object client, long nowNanos) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evict(nowNanos);
+            }
+            bucket = buckets.computeIfAbsent(client, (key) -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + refillIntervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return -wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return (burstNanos - (next - nowNanos)) / refillIntervalNanos;
+            }
+        }
+    }
+
+    public long nanosUntilFull(long remaining) {
+        return (capacity - remaining) * refillIntervalNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long nowNanos) {
+        buckets.values().removeIf((arrival) -> arrival.get() <= nowNanos);
+        int target = maxClients * 9 / 10;
+        Iterator<Object> iterator = buckets.keySet().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
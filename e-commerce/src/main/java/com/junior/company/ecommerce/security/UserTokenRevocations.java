@@ -0,0 +1,62 @@
+package com.junior.company.ecommerce.security;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per user "not before" times: access and refresh tokens of a user issued before the time are rejected.
+// Tokens carry their issue time in whole seconds, so the time is rounded up and a token issued in the same
+// second as the revocation is rejected too. No token outlives the max session, so older entries are dropped.
+// New entries are also kept as pending until RefreshTokenServiceImpl writes them to the database, and the
+// persisted entries are loaded again on start, before requests are served.
+public class UserTokenRevocations {
+
+    private final long maxSessionMillis;
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public UserTokenRevocations(long maxSessionSeconds) {
+        this.maxSessionMillis = maxSessionSeconds * 1000;
+    }
+
+    public void revokeTokensOf(Long userId, long now) {
+        notBefore.values().removeIf((time) -> time + maxSessionMillis <= now);
+        long time = (now / 1000 + 1) * 1000;
+        notBefore.merge(userId, time, Math::max);
+        pending.merge(userId, time, Math::max);
+    }
+
+    public void restore(Long userId, long time) {
+        notBefore.merge(userId, time, Math::max);
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long time = userId == null ? null : notBefore.get(userId);
+        return time != null && (issuedAt == null || issuedAt.getTime() < time);
+    }
+
+    public Map<Long, Long> takePending() {
+        Map<Long, Long> revocations = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            Long time = pending.remove(userId);
+            if (time != null) {
+                revocations.put(userId, time);
+            }
+        }
+        return revocations;
+    }
+
+    public void returnPending(Map<Long, Long> revocations) {
+        revocations.forEach((userId, time) -> pending.merge(userId, time, Math::max));
+    }
+
+    // entries with a time at or before the returned one no longer reject any token
+    public long expiredBefore(long now) {
+        return now - maxSessionMillis;
+    }
+
+    public int size() {
+        return notBefore.size();
+    }
+}
@@ -1,14 +1,27 @@
 package com.junior.company.ecommerce.service;
 
+import com.junior.company.ecommerce.dto.AppUserPageResponse;
 import com.junior.company.ecommerce.dto.AppUserRequest;
 import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.LoginAttemptsResponse;
+import com.junior.company.ecommerce.dto.PasswordHashingStatsResponse;
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.dto.UserSearchPageResponse;
 import com.junior.company.ecommerce.model.AppUser;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface AppUserService {
 
-    List<AppUserResponse> findUsers();
+    AppUserPageResponse findUsersPage(Long afterId, int size);
+
+    UserSearchPageResponse searchUsers(String email, String lastName, int page, int size);
+
+    void exportUsers(OutputStream outputStream) throws IOException;
+
+    void exportPersonalData(Long userId, OutputStream outputStream) throws IOException;
 
     AppUserResponse findUserById(Long userId);
 
@@ -16,7 +29,15 @@ public interface AppUserService {
 
     boolean updateUser(AppUserRequest appUserRequest);
 
-    boolean deleteUserById(Long userId);
+    UserDeletionJobResponse deleteUserById(Long userId);
 
     AppUser getCurrentUser();
+
+    AppUserPrincipal getCurrentPrincipal();
+
+    boolean isCurrentUserAdmin();
+
+    PasswordHashingStatsResponse getPasswordHashingStats();
+
+    LoginAttemptsResponse getLoginAttempts(String email, String address);
 }
@@ -1,27 +1,54 @@
 package com.junior.company.ecommerce.service;
 
+import com.junior.company.ecommerce.dto.AppUserListView;
+import com.junior.company.ecommerce.dto.AppUserPageResponse;
 import com.junior.company.ecommerce.dto.AppUserRequest;
 import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.LoginAttemptsResponse;
+import com.junior.company.ecommerce.dto.PasswordHashingStatsResponse;
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.dto.UserRoleView;
+import com.junior.company.ecommerce.dto.UserSearchPageResponse;
+import com.junior.company.ecommerce.dto.UserSearchView;
+import com.junior.company.ecommerce.event.AppUserChangedEvent;
 import com.junior.company.ecommerce.exception.PermissionDeniedException;
+import com.junior.company.ecommerce.export.NdjsonAppUserExportWriter;
+import com.junior.company.ecommerce.export.PersonalDataExportWriter;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
 import com.junior.company.ecommerce.mapper.AppUserMapper;
 import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
 import com.junior.company.ecommerce.model.Role;
 import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.OrderRepository;
 import com.junior.company.ecommerce.repository.RoleRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
+import com.junior.company.ecommerce.security.LoginThrottle;
+import com.junior.company.ecommerce.security.PasswordHashingExecutor;
+import com.junior.company.ecommerce.security.UserTokenRevocations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,14 +56,106 @@ import java.util.Optional;
 @Transactional
 public class AppUserServiceImpl implements AppUserService {
 
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final AppUserRepository appUserRepository;
+    private final OrderRepository orderRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegisteredEmailService registeredEmailService;
+    private final UserDeletionService userDeletionService;
+    private final UserTokenRevocations userTokenRevocations;
+
+    @Override
+    public AppUserPageResponse findUsersPage(Long afterId, int size) {
+        log.info("Retrieving page of users after id: {}", afterId);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalStateException(String.format("Page size must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+        List<AppUserListView> appUsers = appUserRepository.findUsersAfterId(afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = appUsers.size() > size;
+        if (hasNext) {
+            appUsers = appUsers.subList(0, size);
+        }
+        return AppUserPageResponse.builder()
+                .users(mapAppUserListViews(appUsers))
+                .nextAfterId(hasNext ? appUsers.get(size - 1).getId() : null)
+                .build();
+    }
+
+    // Searches by a prefix of the email or of the last name, so that the query can range-scan an index.
+    @Override
+    public UserSearchPageResponse searchUsers(String email, String lastName, int page, int size) {
+        log.info("Searching users by email: {} or last name: {}", email, lastName);
+        boolean byEmail = email != null && !email.isBlank();
+        boolean byLastName = lastName != null && !lastName.isBlank();
+        if (byEmail == byLastName) {
+            throw new IllegalStateException("Either email or last name must be given");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalStateException(String.format(
+                    "Page must not be negative and page size must be between 1 and %s", MAX_SEARCH_PAGE_SIZE));
+        }
+        PageRequest pageRequest = PageRequest.of(page, size);
+        Slice<UserSearchView> appUsers = byEmail
+                ? appUserRepository.searchByEmail(toPrefixPattern(email), pageRequest)
+                : appUserRepository.searchByLastName(toPrefixPattern(lastName), pageRequest);
+        return UserSearchPageResponse.builder()
+                .users(AppUserMapper.mapUserSearchViewsToUserSearchResponses(appUsers.getContent()))
+                .page(page)
+                .size(size)
+                .hasNext(appUsers.hasNext())
+                .build();
+    }
+
+    @Override
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        log.info("Exporting users");
+        NdjsonAppUserExportWriter writer = new NdjsonAppUserExportWriter(outputStream);
+        long afterId = 0;
+        List<AppUserListView> appUsers;
+        do {
+            appUsers = appUserRepository.findUsersAfterId(afterId, PageRequest.of(0, EXPORT_CHUNK_SIZE));
+            for (AppUserResponse appUser : mapAppUserListViews(appUsers)) {
+                writer.write(appUser);
+            }
+            if (!appUsers.isEmpty()) {
+                afterId = appUsers.get(appUsers.size() - 1).getId();
+            }
+        } while (appUsers.size() == EXPORT_CHUNK_SIZE);
+        writer.finish();
+    }
 
+    // Orders are read with a forward-only cursor and written line by line, whatever the size of the history.
     @Override
-    public List<AppUserResponse> findUsers() {
-        log.info("Retrieving list of users");
-        return AppUserMapper.mapAppUsersToAppUserResponses(appUserRepository.findUsersAndAddresses());
+    public void exportPersonalData(Long userId, OutputStream outputStream) throws IOException {
+        log.info("Exporting personal data of user with id: {}", userId);
+        if (!Objects.equals(getCurrentPrincipal().getUserId(), userId) && !isCurrentUserAdmin()) {
+            throw new PermissionDeniedException("Permission denied");
+        }
+        AppUser appUser = appUserRepository.findUserAndAddressByUserId(userId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format("User with id: %s not found", userId)));
+
+        PersonalDataExportWriter writer = new PersonalDataExportWriter(outputStream);
+        writer.writeProfile(AppUserMapper.mapAppUserToAppUserResponse(appUser));
+        try {
+            orderRepository.scrollUserOrderLines(userId, (line) -> {
+                try {
+                    writer.writeOrderLine(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
     }
 
     @Override
@@ -45,19 +164,16 @@ public class AppUserServiceImpl implements AppUserService {
         AppUser appUser = appUserRepository.findUserAndAddressByUserId(userId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id: %s not found", userId)));
 
-        for (Role role : getCurrentUser().getRoles()) {
-            if (Objects.equals(role.getName(), "ADMIN") ||
-                    Objects.equals(getCurrentUser().getId(), userId)) {
-                return AppUserMapper.mapAppUserToAppUserResponse(appUser);
-            }
+        if (!Objects.equals(getCurrentPrincipal().getUserId(), userId) && !isCurrentUserAdmin()) {
+            throw new PermissionDeniedException("Permission denied");
         }
-        throw new PermissionDeniedException("Permission denied");
+        return AppUserMapper.mapAppUserToAppUserResponse(appUser);
     }
 
     @Override
     public boolean registerUser(AppUserRequest appUserRequest) {
         log.info("Registering new user");
-        if (appUserRepository.findByEmail(appUserRequest.getEmail()).isPresent()) {
+        if (registeredEmailService.isEmailTaken(appUserRequest.getEmail())) {
             throw new IllegalStateException(String.format("Email %s is already taken", appUserRequest.getEmail()));
         }
         AppUser appUser = AppUserMapper.mapAppUserRequestToAppUserCreate(appUserRequest);
@@ -69,43 +185,52 @@ public class AppUserServiceImpl implements AppUserService {
         optionalRole.ifPresent(roles::add);
         appUser.setRoles(roles);
         appUser.setCart(Cart.builder().totalValue(0.0).build());
-        appUserRepository.save(appUser);
+        registeredEmailService.addEmail(appUser.getEmail());
+        try {
+            appUserRepository.save(appUser);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(String.format("Email %s is already taken", appUserRequest.getEmail()));
+        }
         return true;
     }
 
     @Override
     public boolean updateUser(AppUserRequest appUserRequest) {
         log.info("Updating user with email: {}", appUserRequest.getEmail());
-        if (!Objects.equals(appUserRequest.getId(), getCurrentUser().getId())) {
+        if (!Objects.equals(appUserRequest.getId(), getCurrentPrincipal().getUserId())) {
             throw new PermissionDeniedException("Permission denied");
         }
 
+        AppUser currentUser = getCurrentUser();
         AppUser appUser = AppUserMapper
-                .mapAppUserRequestToAppUserUpdate(appUserRequest, getCurrentUser().getAddress().getId());
-        appUser.setEmail(getCurrentUser().getEmail());
+                .mapAppUserRequestToAppUserUpdate(appUserRequest, currentUser.getAddress().getId());
+        appUser.setEmail(currentUser.getEmail());
         appUser.setPassword(passwordEncoder.encode(appUserRequest.getPassword()));
-        appUser.setRoles(getCurrentUser().getRoles());
-        appUser.setEnabled(getCurrentUser().isEnabled());
-        appUser.setCart(getCurrentUser().getCart());
-        appUser.setOrders(getCurrentUser().getOrders());
+        appUser.setRoles(currentUser.getRoles());
+        appUser.setEnabled(currentUser.isEnabled());
+        appUser.setCart(currentUser.getCart());
+        appUser.setOrders(currentUser.getOrders());
         appUserRepository.save(appUser);
+        eventPublisher.publishEvent(AppUserChangedEvent.builder().email(appUser.getEmail()).build());
         return true;
     }
 
+    // The user is only disabled here, its rows are removed by a background job.
     @Override
-    public boolean deleteUserById(Long userId) {
+    public UserDeletionJobResponse deleteUserById(Long userId) {
         log.info("Deleting user by id: {}", userId);
-        AppUser appUser = appUserRepository.findById(userId).orElseThrow(() ->
+        String email = appUserRepository.findEmailById(userId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id: %s not found", userId)));
 
-        for (Role role : getCurrentUser().getRoles()) {
-            if (Objects.equals(role.getName(), "ADMIN") ||
-                    (Objects.equals(getCurrentUser().getId(), userId))) {
-                appUserRepository.delete(appUser);
-                return true;
-            }
+        if (!Objects.equals(getCurrentPrincipal().getUserId(), userId) && !isCurrentUserAdmin()) {
+            throw new PermissionDeniedException("Permission denied");
         }
-        throw new PermissionDeniedException("Permission denied");
+        appUserRepository.disableUser(userId);
+        userTokenRevocations.revokeTokensOf(userId, System.currentTimeMillis());
+        UserDeletionJobResponse userDeletionJob = userDeletionService.startDeletion(userId);
+        registeredEmailService.removeEmail(email);
+        eventPublisher.publishEvent(AppUserChangedEvent.builder().email(email).build());
+        return userDeletionJob;
     }
 
     @Override
@@ -116,4 +241,65 @@ public class AppUserServiceImpl implements AppUserService {
         return appUserRepository.findByEmail(principal.getName()).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with email %s not found", principal.getName())));
     }
+
+    // Tokens issued before user id and cart id claims were added carry only the email,
+    // for those the principal is built from the loaded user.
+    @Override
+    public AppUserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder
+                .getContext()
+                .getAuthentication();
+        if (authentication.getPrincipal() instanceof AppUserPrincipal) {
+            AppUserPrincipal principal = (AppUserPrincipal) authentication.getPrincipal();
+            if (principal.getUserId() != null) {
+                return principal;
+            }
+        }
+        AppUser appUser = getCurrentUser();
+        return new AppUserPrincipal(appUser.getId(),
+                appUser.getCart() == null ? null : appUser.getCart().getId(), appUser.getEmail());
+    }
+
+    @Override
+    public boolean isCurrentUserAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch((authority) -> Objects.equals(authority.getAuthority(), ADMIN_AUTHORITY));
+    }
+
+    @Override
+    public PasswordHashingStatsResponse getPasswordHashingStats() {
+        log.info("Retrieving statistics of password hashing");
+        return passwordHashingExecutor.getStats();
+    }
+
+    @Override
+    public LoginAttemptsResponse getLoginAttempts(String email, String address) {
+        log.info("Retrieving failed login attempts of email: {} and address: {}", email, address);
+        return loginThrottle.getAttempts(email, address, System.currentTimeMillis());
+    }
+
+    // Roles of the whole page are read with one query instead of one per user.
+    private List<AppUserResponse> mapAppUserListViews(List<AppUserListView> appUsers) {
+        if (appUsers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> userIds = appUsers.stream().map(AppUserListView::getId).collect(Collectors.toList());
+        Map<Long, List<Role>> rolesByUserId = new HashMap<>();
+        for (UserRoleView userRole : appUserRepository.findRolesByUserIds(userIds)) {
+            rolesByUserId.computeIfAbsent(userRole.getUserId(), (userId) -> new ArrayList<>())
+                    .add(Role.builder().id(userRole.getRoleId()).name(userRole.getRoleName()).build());
+        }
+        return appUsers.stream()
+                .map((appUser) -> AppUserMapper.mapAppUserListViewToAppUserResponse(
+                        appUser, rolesByUserId.getOrDefault(appUser.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    // LIKE wildcards typed by the admin are matched literally, '!' being the escape character of the search queries.
+    private String toPrefixPattern(String prefix) {
+        return prefix.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
 }
@@ -0,0 +1,17 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.BestsellerResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+
+import java.util.List;
+
+public interface BestsellerService {
+
+    void recordOrder(OrderPlacedEvent event);
+
+    void refresh();
+
+    void rebuild();
+
+    List<BestsellerResponse> findBestsellers(String window, Integer limit);
+}
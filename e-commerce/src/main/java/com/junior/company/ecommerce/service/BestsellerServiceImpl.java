@@ -0,0 +1,158 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.analytics.BestsellerWindow;
+import com.junior.company.ecommerce.analytics.Ranking;
+import com.junior.company.ecommerce.analytics.SlidingHeavyHitters;
+import com.junior.company.ecommerce.dto.BestsellerResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import com.junior.company.ecommerce.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BestsellerServiceImpl implements BestsellerService {
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BestsellerWindow, SlidingHeavyHitters> heavyHitters = new EnumMap<>(BestsellerWindow.class);
+    private volatile Map<Long, String> productNames = Map.of();
+    // Orders up to this id are counted by rebuild() from the history and their events are ignored. The web server
+    // accepts orders before the rebuild starts, so until it has read the highest order id every event is ignored:
+    // such an order is committed before that read and the rebuild counts it.
+    private volatile long rebuiltToOrderId = Long.MAX_VALUE;
+
+    public BestsellerServiceImpl(OrderRepository orderRepository,
+                                 ProductRepository productRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${bestsellers.top-k:20}") int topK) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            heavyHitters.put(window, new SlidingHeavyHitters(window.getBucket().toMillis(), window.getBuckets(), topK));
+        }
+    }
+
+    @Override
+    @TransactionalEventListener
+    public void recordOrder(OrderPlacedEvent event) {
+        if (event.getOrderId() <= rebuiltToOrderId) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long timeOfOrder = toMillis(event.getDateOfOrder());
+        for (OrderPlacedLine line : event.getLines()) {
+            for (SlidingHeavyHitters windowHeavyHitters : heavyHitters.values()) {
+                windowHeavyHitters.add(line.getProductId(), line.getAmount(), timeOfOrder, now);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${bestsellers.refresh-interval-ms:1000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        boolean rankingChanged = false;
+        for (SlidingHeavyHitters windowHeavyHitters : heavyHitters.values()) {
+            Ranking previous = windowHeavyHitters.top();
+            windowHeavyHitters.refresh(now);
+            rankingChanged |= !windowHeavyHitters.top().hasSameProducts(previous);
+        }
+        if (rankingChanged) {
+            refreshProductNames();
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long maxOrderId = orderRepository.findMaxId();
+        rebuiltToOrderId = maxOrderId;
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minus(BestsellerWindow.WEEK.getLength());
+        log.info("Rebuilding bestsellers from orders placed since: {} up to order with id: {}", from, maxOrderId);
+        long now = toMillis(to);
+        AtomicLong lines = new AtomicLong();
+        transactionTemplate.execute((status) -> {
+            orderRepository.scrollOrderLines(from, to, maxOrderId, (line) -> {
+                long timeOfOrder = toMillis(line.getDateOfOrder());
+                for (SlidingHeavyHitters windowHeavyHitters : heavyHitters.values()) {
+                    windowHeavyHitters.add(line.getProductId(), line.getAmount(), timeOfOrder, now);
+                }
+                lines.incrementAndGet();
+            });
+            return null;
+        });
+        refresh();
+        log.info("Rebuilt bestsellers from {} order lines", lines.get());
+    }
+
+    @Override
+    public List<BestsellerResponse> findBestsellers(String window, Integer limit) {
+        log.info("Retrieving bestsellers of the last: {}", window);
+        if (limit < 1) {
+            throw new IllegalStateException("Limit must be minimum 1");
+        }
+        Ranking ranking = heavyHitters.get(parseWindow(window)).top();
+        Map<Long, String> names = productNames;
+        int size = Math.min(limit, ranking.size());
+        List<BestsellerResponse> bestsellers = new ArrayList<>(size);
+        for (int position = 0; position < size; position++) {
+            long productId = ranking.productId(position);
+            bestsellers.add(BestsellerResponse.builder()
+                    .productId(productId)
+                    .name(names.get(productId))
+                    .unitsSold(ranking.count(position))
+                    .build());
+        }
+        return bestsellers;
+    }
+
+    private void refreshProductNames() {
+        List<Long> productIds = new ArrayList<>();
+        for (SlidingHeavyHitters windowHeavyHitters : heavyHitters.values()) {
+            Ranking ranking = windowHeavyHitters.top();
+            for (int position = 0; position < ranking.size(); position++) {
+                productIds.add(ranking.productId(position));
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        productRepository.findAllById(productIds.stream().distinct().collect(Collectors.toList()))
+                .forEach((product) -> names.put(product.getId(), product.getName()));
+        productNames = names;
+    }
+
+    private static BestsellerWindow parseWindow(String window) {
+        try {
+            return BestsellerWindow.valueOf(window.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Bestseller window: %s not found. Pick: %s", window,
+                    Arrays.stream(BestsellerWindow.values()).map(Enum::name).collect(Collectors.joining(" / "))));
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
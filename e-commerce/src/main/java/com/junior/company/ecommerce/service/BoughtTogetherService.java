@@ -0,0 +1,18 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.BoughtTogetherResponse;
+import com.junior.company.ecommerce.dto.BoughtTogetherStatsResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+
+import java.util.List;
+
+public interface BoughtTogetherService {
+
+    void recordOrder(OrderPlacedEvent event);
+
+    void rebuild();
+
+    List<BoughtTogetherResponse> findBoughtTogether(Long productId, Integer limit);
+
+    BoughtTogetherStatsResponse getStats();
+}
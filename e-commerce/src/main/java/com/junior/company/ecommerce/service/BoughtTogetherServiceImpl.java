@@ -0,0 +1,128 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.analytics.CoOccurrenceModel;
+import com.junior.company.ecommerce.analytics.Ranking;
+import com.junior.company.ecommerce.dto.BoughtTogetherResponse;
+import com.junior.company.ecommerce.dto.BoughtTogetherStatsResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+@Service
+@Slf4j
+public class BoughtTogetherServiceImpl implements BoughtTogetherService {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CoOccurrenceModel coOccurrenceModel;
+    private final int rebuildChunkSize;
+    private final int rebuildParallelism;
+    // Orders up to this id are added by rebuild() from the history and their events are ignored. The web server
+    // accepts orders before the rebuild starts, so until it has read the highest order id every event is ignored:
+    // such an order is committed before that read and the rebuild adds it.
+    private volatile long rebuiltToOrderId = Long.MAX_VALUE;
+
+    public BoughtTogetherServiceImpl(OrderRepository orderRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${bought-together.neighbours:10}") int neighbours,
+                                     @Value("${bought-together.tracked-neighbours:100}") int trackedNeighbours,
+                                     @Value("${bought-together.max-products:100000}") int maxProducts,
+                                     @Value("${bought-together.rebuild-chunk-size:10000}") int rebuildChunkSize,
+                                     @Value("${bought-together.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.coOccurrenceModel = new CoOccurrenceModel(neighbours, trackedNeighbours, maxProducts);
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    @Override
+    @TransactionalEventListener
+    public void recordOrder(OrderPlacedEvent event) {
+        if (event.getOrderId() <= rebuiltToOrderId) {
+            return;
+        }
+        coOccurrenceModel.addOrder(event.getLines().stream()
+                .mapToLong(OrderPlacedLine::getProductId)
+                .toArray());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long maxOrderId = orderRepository.findMaxId();
+        rebuiltToOrderId = maxOrderId;
+        long chunks = (maxOrderId + rebuildChunkSize - 1) / rebuildChunkSize;
+        log.info("Rebuilding frequently bought together products from {} orders in {} chunks", maxOrderId, chunks);
+        long start = System.currentTimeMillis();
+        AtomicLong orders = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            pool.submit(() -> LongStream.range(0, chunks).parallel().forEach((chunk) ->
+                    transactionTemplate.execute((status) -> {
+                        orderRepository.scrollOrderedProductIds(chunk * rebuildChunkSize + 1,
+                                Math.min((chunk + 1) * rebuildChunkSize, maxOrderId), (productIds) -> {
+                                    coOccurrenceModel.addOrder(productIds);
+                                    orders.incrementAndGet();
+                                });
+                        return null;
+                    }))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Rebuilding frequently bought together products interrupted", e);
+        } catch (ExecutionException e) {
+            log.error("Rebuilding frequently bought together products failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        CoOccurrenceModel.Stats stats = coOccurrenceModel.stats();
+        log.info("Rebuilt frequently bought together products from {} orders in {} ms: {} products, {} pairs, ~{} bytes",
+                orders.get(), System.currentTimeMillis() - start,
+                stats.getProducts(), stats.getPairs(), stats.getEstimatedBytes());
+    }
+
+    @Override
+    public List<BoughtTogetherResponse> findBoughtTogether(Long productId, Integer limit) {
+        log.info("Retrieving products frequently bought together with product with id: {}", productId);
+        if (limit < 1) {
+            throw new IllegalStateException("Limit must be minimum 1");
+        }
+        Ranking ranking = coOccurrenceModel.neighboursOf(productId);
+        int size = Math.min(limit, ranking.size());
+        List<BoughtTogetherResponse> boughtTogether = new ArrayList<>(size);
+        for (int position = 0; position < size; position++) {
+            boughtTogether.add(BoughtTogetherResponse.builder()
+                    .productId(ranking.productId(position))
+                    .timesBoughtTogether(ranking.count(position))
+                    .build());
+        }
+        return boughtTogether;
+    }
+
+    @Override
+    public BoughtTogetherStatsResponse getStats() {
+        log.info("Retrieving statistics of frequently bought together products");
+        CoOccurrenceModel.Stats stats = coOccurrenceModel.stats();
+        return BoughtTogetherStatsResponse.builder()
+                .products(stats.getProducts())
+                .maxProducts(coOccurrenceModel.getMaxProducts())
+                .pairs(stats.getPairs())
+                .trackedNeighbours(coOccurrenceModel.getTrackedNeighbours())
+                .estimatedBytes(stats.getEstimatedBytes())
+                .build();
+    }
+}
@@ -12,8 +12,8 @@ import com.junior.company.ecommerce.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -28,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public Set<CategoryResponse> findCategories() {
         log.info("Retrieving list of categories");
         Set<Category> categories = new HashSet<>(categoryRepository.findAll());
@@ -35,6 +36,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryResponse findCategoryByName(String categoryName) {
         log.info("Retrieving category with name: {}", categoryName);
         Category category = categoryRepository.findByName(categoryName).orElseThrow(() ->
@@ -88,6 +90,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> viewProducts(String categoryName) {
         log.info("Retrieving list of products for category with name: {}", categoryName);
         Category category = categoryRepository.findByName(categoryName).orElseThrow(() ->
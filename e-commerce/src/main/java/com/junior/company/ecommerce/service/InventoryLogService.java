@@ -0,0 +1,10 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.event.StockChangedEvent;
+
+public interface InventoryLogService {
+
+    void onStockChanged(StockChangedEvent event);
+
+    void reconcileWithDatabase();
+}
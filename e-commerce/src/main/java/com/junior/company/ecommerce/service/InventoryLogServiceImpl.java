@@ -0,0 +1,139 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.ItemQuantityView;
+import com.junior.company.ecommerce.event.StockChangedEvent;
+import com.junior.company.ecommerce.inventory.InventoryEventLog;
+import com.junior.company.ecommerce.inventory.InventoryLogReplay;
+import com.junior.company.ecommerce.model.StockChangeReason;
+import com.junior.company.ecommerce.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Stock changes are appended after their transaction committed, so the log never holds a change that was
+// rolled back. The price is that a crash between the commit and the append loses the record: on start,
+// before any request is served, the log is replayed and every item whose logged stock differs from its
+// quantity in the database gets a RECONCILED record for the difference.
+// With await-fsync the listener does not wait for every record of a transaction: the records of one commit
+// (every order line of a checkout batch) are appended first and the thread waits once, for the last of them.
+@Service
+@Slf4j
+public class InventoryLogServiceImpl implements InventoryLogService {
+
+    private final ItemRepository itemRepository;
+    private final Path directory;
+    private final InventoryEventLog inventoryEventLog;
+    private final boolean awaitFsync;
+
+    public InventoryLogServiceImpl(ItemRepository itemRepository,
+                                   @Value("${inventory-log.directory:./inventory-log}") String directory,
+                                   @Value("${inventory-log.segment-records:2097152}") int segmentRecords,
+                                   @Value("${inventory-log.await-fsync:true}") boolean awaitFsync) {
+        this.itemRepository = itemRepository;
+        this.directory = Path.of(directory);
+        this.awaitFsync = awaitFsync;
+        try {
+            this.inventoryEventLog = new InventoryEventLog(this.directory, segmentRecords);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.getDelta() == null || event.getDelta() == 0) {
+            return;
+        }
+        long record = inventoryEventLog.append(event.getItemId(), event.getDelta(), event.getReason(),
+                event.getOrderId() == null ? 0 : event.getOrderId(), System.currentTimeMillis());
+        if (!awaitFsync) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inventoryEventLog.awaitDurable(record);
+            return;
+        }
+        LastRecord lastRecord = (LastRecord) TransactionSynchronizationManager.getResource(this);
+        if (lastRecord == null) {
+            lastRecord = new LastRecord();
+            TransactionSynchronizationManager.bindResource(this, lastRecord);
+            TransactionSynchronizationManager.registerSynchronization(lastRecord);
+        }
+        lastRecord.record = record;
+    }
+
+    @Override
+    @PostConstruct
+    public void reconcileWithDatabase() {
+        List<ItemQuantityView> items = itemRepository.findItemQuantities();
+        long timestamp = System.currentTimeMillis();
+        long record = 0;
+        if (inventoryEventLog.isEmpty()) {
+            for (ItemQuantityView item : items) {
+                record = inventoryEventLog.append(item.getItemId(), item.getQuantity(),
+                        StockChangeReason.BASELINE, 0, timestamp);
+            }
+            inventoryEventLog.awaitDurable(record);
+            log.info("Written inventory log baseline of {} items", items.size());
+            return;
+        }
+        InventoryLogReplay replay;
+        try {
+            replay = InventoryLogReplay.replay(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Set<Long> itemIds = new HashSet<>();
+        int reconciled = 0;
+        for (ItemQuantityView item : items) {
+            itemIds.add(item.getItemId());
+            long difference = item.getQuantity() - replay.getQuantity(item.getItemId());
+            if (difference != 0) {
+                record = inventoryEventLog.append(item.getItemId(), (int) difference,
+                        StockChangeReason.RECONCILED, 0, timestamp);
+                reconciled++;
+            }
+        }
+        for (long itemId : replay.getItemIds()) {
+            long quantity = replay.getQuantity(itemId);
+            if (quantity != 0 && !itemIds.contains(itemId)) {
+                record = inventoryEventLog.append(itemId, (int) -quantity, StockChangeReason.RECONCILED, 0, timestamp);
+                reconciled++;
+            }
+        }
+        if (reconciled > 0) {
+            inventoryEventLog.awaitDurable(record);
+            log.warn("Reconciled inventory log with the database for {} items", reconciled);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        inventoryEventLog.close();
+    }
+
+    // Registered while the after commit listeners run, so only its afterCompletion is called, once they all ran
+    private class LastRecord implements TransactionSynchronization {
+
+        private long record;
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(InventoryLogServiceImpl.this);
+            inventoryEventLog.awaitDurable(record);
+        }
+    }
+}
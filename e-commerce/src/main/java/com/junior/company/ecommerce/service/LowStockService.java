@@ -0,0 +1,18 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.LowStockItemResponse;
+import com.junior.company.ecommerce.event.LowStockAlertEvent;
+import com.junior.company.ecommerce.event.StockChangedEvent;
+
+import java.util.List;
+
+public interface LowStockService {
+
+    void onStockChanged(StockChangedEvent event);
+
+    void onLowStockAlert(LowStockAlertEvent event);
+
+    void rebuild();
+
+    List<LowStockItemResponse> findLowStockItems();
+}
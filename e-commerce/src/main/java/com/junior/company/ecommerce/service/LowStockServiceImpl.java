@@ -0,0 +1,129 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.LowStockItemResponse;
+import com.junior.company.ecommerce.dto.LowStockItemView;
+import com.junior.company.ecommerce.event.LowStockAlertEvent;
+import com.junior.company.ecommerce.event.StockChangedEvent;
+import com.junior.company.ecommerce.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Service
+@Slf4j
+public class LowStockServiceImpl implements LowStockService {
+
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int hysteresis;
+    private final Map<Long, LowStockItemResponse> lowStockItems = new ConcurrentHashMap<>();
+    private final NavigableSet<LowStockItemResponse> lowStockItemsByHeadroom = new ConcurrentSkipListSet<>(
+            Comparator.<LowStockItemResponse>comparingInt((item) -> item.getQuantity() - item.getLowStockThreshold())
+                    .thenComparing(LowStockItemResponse::getItemId));
+
+    public LowStockServiceImpl(ItemRepository itemRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${low-stock.hysteresis:2}") int hysteresis) {
+        this.itemRepository = itemRepository;
+        this.eventPublisher = eventPublisher;
+        this.hysteresis = hysteresis;
+    }
+
+    @Override
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        LowStockItemResponse[] crossed = new LowStockItemResponse[1];
+        lowStockItems.compute(event.getItemId(), (itemId, current) -> {
+            if (current != null) {
+                lowStockItemsByHeadroom.remove(current);
+            }
+            if (event.isRemoved() || !isLow(event, current != null)) {
+                if (current != null) {
+                    log.info("Item with id: {} is no longer low on stock", itemId);
+                }
+                return null;
+            }
+            LowStockItemResponse lowStockItem = LowStockItemResponse.builder()
+                    .itemId(itemId)
+                    .productId(event.getProductId())
+                    .productName(event.getProductName())
+                    .size(event.getSize())
+                    .quantity(event.getQuantity())
+                    .lowStockThreshold(event.getLowStockThreshold())
+                    .build();
+            lowStockItemsByHeadroom.add(lowStockItem);
+            if (current == null) {
+                crossed[0] = lowStockItem;
+            }
+            return lowStockItem;
+        });
+        if (crossed[0] != null) {
+            eventPublisher.publishEvent(LowStockAlertEvent.builder()
+                    .itemId(crossed[0].getItemId())
+                    .productId(crossed[0].getProductId())
+                    .productName(crossed[0].getProductName())
+                    .size(crossed[0].getSize())
+                    .quantity(crossed[0].getQuantity())
+                    .lowStockThreshold(crossed[0].getLowStockThreshold())
+                    .build());
+        }
+    }
+
+    @Override
+    @EventListener
+    public void onLowStockAlert(LowStockAlertEvent event) {
+        log.warn("Item with id: {} ({}, size: {}) is low on stock: {} left, threshold: {}",
+                event.getItemId(), event.getProductName(), event.getSize(),
+                event.getQuantity(), event.getLowStockThreshold());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Loading items low on stock");
+        for (LowStockItemView view : itemRepository.findLowStockItems()) {
+            LowStockItemResponse lowStockItem = LowStockItemResponse.builder()
+                    .itemId(view.getItemId())
+                    .productId(view.getProductId())
+                    .productName(view.getProductName())
+                    .size(view.getSize())
+                    .quantity(view.getQuantity())
+                    .lowStockThreshold(view.getLowStockThreshold())
+                    .build();
+            lowStockItems.compute(lowStockItem.getItemId(), (itemId, current) -> {
+                if (current != null) {
+                    lowStockItemsByHeadroom.remove(current);
+                }
+                lowStockItemsByHeadroom.add(lowStockItem);
+                return lowStockItem;
+            });
+        }
+        log.info("Loaded {} items low on stock", lowStockItems.size());
+    }
+
+    @Override
+    public List<LowStockItemResponse> findLowStockItems() {
+        log.info("Retrieving list of items low on stock");
+        return new ArrayList<>(lowStockItemsByHeadroom);
+    }
+
+    private boolean isLow(StockChangedEvent event, boolean alreadyLow) {
+        int threshold = event.getLowStockThreshold() == null ? 0 : event.getLowStockThreshold();
+        if (threshold == 0) {
+            return false;
+        }
+        return event.getQuantity() < (alreadyLow ? threshold + hysteresis : threshold);
+    }
+}
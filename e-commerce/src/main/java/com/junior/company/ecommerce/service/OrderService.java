@@ -0,0 +1,21 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.dto.OrderStatusRequest;
+import com.junior.company.ecommerce.dto.OrderStatusResponse;
+import com.junior.company.ecommerce.export.OrderExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderService {
+
+    List<OrderResponse> findOrdersByStatus(String status, int page, int size);
+
+    OrderStatusResponse updateOrderStatus(OrderStatusRequest orderStatusRequest);
+
+    void exportOrders(LocalDate from, LocalDate to, OrderExportFormat format,
+                      OutputStream outputStream) throws IOException;
+}
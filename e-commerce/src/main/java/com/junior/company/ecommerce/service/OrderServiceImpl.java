@@ -0,0 +1,152 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.dto.OrderStatusRequest;
+import com.junior.company.ecommerce.dto.OrderStatusResponse;
+import com.junior.company.ecommerce.dto.OrderStatusView;
+import com.junior.company.ecommerce.export.OrderExportFormat;
+import com.junior.company.ecommerce.export.OrderExportWriter;
+import com.junior.company.ecommerce.model.OrderStatus;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrdersToOrderResponses;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderServiceImpl implements OrderService {
+
+    static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponse> findOrdersByStatus(String status, int page, int size) {
+        log.info("Retrieving list of orders with status: {}", status);
+        OrderStatus orderStatus = parseStatus(status);
+        return mapOrdersToOrderResponses(orderRepository
+                .findByStatus(orderStatus, PageRequest.of(page, size, Sort.by("id")))
+                .getContent());
+    }
+
+    @Override
+    public OrderStatusResponse updateOrderStatus(OrderStatusRequest orderStatusRequest) {
+        OrderStatus target = parseStatus(orderStatusRequest.getStatus());
+        Set<Long> orderIds = orderStatusRequest.getOrderIds();
+        log.info("Changing status of {} orders to: {}", orderIds.size(), target);
+
+        Map<Long, String> rejected = new TreeMap<>();
+        Map<OrderStatus, List<Long>> orderIdsBySource = new EnumMap<>(OrderStatus.class);
+        for (List<Long> chunk : partition(orderIds)) {
+            Set<Long> found = new HashSet<>();
+            for (OrderStatusView view : orderRepository.findStatusesByIds(chunk)) {
+                found.add(view.getId());
+                if (view.getStatus().canTransitionTo(target)) {
+                    orderIdsBySource.computeIfAbsent(view.getStatus(), (status) -> new ArrayList<>())
+                            .add(view.getId());
+                } else {
+                    rejected.put(view.getId(), String.format("Cannot change status from %s to %s",
+                            view.getStatus(), target));
+                }
+            }
+            for (Long orderId : chunk) {
+                if (!found.contains(orderId)) {
+                    rejected.put(orderId, String.format("Order with id: %s not found", orderId));
+                }
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<OrderStatus, List<Long>> entry : orderIdsBySource.entrySet()) {
+            for (List<Long> chunk : partition(entry.getValue())) {
+                int count = orderRepository.updateStatus(target, chunk, entry.getKey());
+                if (count < chunk.size()) {
+                    rejectConcurrentlyChanged(chunk, target, rejected);
+                }
+                updated += count;
+            }
+        }
+
+        return OrderStatusResponse.builder()
+                .status(target)
+                .requested(orderIds.size())
+                .updated(updated)
+                .rejected(rejected)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(LocalDate from, LocalDate to, OrderExportFormat format,
+                             OutputStream outputStream) throws IOException {
+        log.info("Exporting orders from: {} to: {} as {}", from, to, format);
+        OrderExportWriter writer = OrderExportWriter.of(format, outputStream);
+        try {
+            orderRepository.scrollOrderLines(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), (line) -> {
+                try {
+                    writer.write(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    private void rejectConcurrentlyChanged(List<Long> chunk, OrderStatus target, Map<Long, String> rejected) {
+        Set<Long> remaining = new HashSet<>(chunk);
+        for (OrderStatusView view : orderRepository.findStatusesByIds(chunk)) {
+            if (view.getStatus() == target) {
+                remaining.remove(view.getId());
+            }
+        }
+        remaining.forEach((orderId) -> rejected.put(orderId,
+                String.format("Status of order with id: %s changed concurrently", orderId)));
+    }
+
+    private static List<List<Long>> partition(Iterable<Long> orderIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(STATUS_UPDATE_CHUNK_SIZE);
+        for (Long orderId : orderIds) {
+            chunk.add(orderId);
+            if (chunk.size() == STATUS_UPDATE_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(STATUS_UPDATE_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalStateException(String.format("Order status: %s not found", status));
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.junior.company.ecommerce.mapper.ItemMapper;
 import com.junior.company.ecommerce.model.Category;
 import com.junior.company.ecommerce.model.Item;
 import com.junior.company.ecommerce.model.Product;
+import com.junior.company.ecommerce.model.StockChangeReason;
 import com.junior.company.ecommerce.model.WeatherSeason;
 import com.junior.company.ecommerce.repository.CategoryRepository;
 import com.junior.company.ecommerce.repository.ItemRepository;
@@ -16,11 +17,12 @@ import com.junior.company.ecommerce.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.support.PagedListHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.transaction.Transactional;
 import java.io.File;
 import java.io.IOException;
 import java.math.RoundingMode;
@@ -34,6 +36,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.junior.company.ecommerce.mapper.ItemMapper.mapItemToStockChangedEvent;
+import static com.junior.company.ecommerce.mapper.ItemMapper.mapItemToStockRemovedEvent;
 import static com.junior.company.ecommerce.mapper.ProductMapper.mapProductRequestToProductCreate;
 import static com.junior.company.ecommerce.mapper.ProductMapper.mapProductRequestToProductUpdate;
 import static com.junior.company.ecommerce.mapper.ProductMapper.mapProductToProductResponse;
@@ -54,15 +58,18 @@ public class ProductServiceImpl implements ProductService {
     private final CategoryRepository categoryRepository;
     private final ItemRepository itemRepository;
     private final WeatherService weatherService;
+    private final ApplicationEventPublisher eventPublisher;
     public static final String DIRECTORY = "./src/main/resources/static/images/";
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> findProductsPage(int page, int size) {
         log.info("Retrieving list of products");
         return mapProductsToProductResponses(productRepository.findAllPagination(PageRequest.of(page, size)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse findProductById(Long productId) {
         log.info("Retrieving product by id: {}", productId);
         Product product = productRepository.findById(productId).orElseThrow(() ->
@@ -90,7 +97,14 @@ public class ProductServiceImpl implements ProductService {
         product.setItems(existingProduct.getItems());
         product.setCategories(identifyCategories(productRequest));
         product.setImageUrl(existingProduct.getImageUrl());
+        boolean lowStockThresholdChanged =
+                !Objects.equals(existingProduct.getLowStockThreshold(), product.getLowStockThreshold());
         productRepository.save(product);
+        if (lowStockThresholdChanged) {
+            product.getItems().forEach((item) ->
+                    eventPublisher.publishEvent(mapItemToStockChangedEvent(item, product, 0,
+                            StockChangeReason.THRESHOLD_CHANGED, null)));
+        }
         return mapProductToProductResponse(product);
     }
 
@@ -101,6 +115,8 @@ public class ProductServiceImpl implements ProductService {
                 new ResourceNotFoundException(String.format("Product with id: %s not found", productId)));
         deleteProductImageByProductId(productId);
         productRepository.delete(product);
+        product.getItems().forEach((item) ->
+                eventPublisher.publishEvent(mapItemToStockRemovedEvent(item, StockChangeReason.PRODUCT_DELETED)));
         return true;
     }
 
@@ -115,6 +131,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> findProductsMatchToWeather(String city, String country, int page, int size) {
         log.info("Retrieving list of products matched to actual weather in: {}, {}", city, country);
         Double temperature = weatherService.getTemperature(city, country);
@@ -157,6 +174,8 @@ public class ProductServiceImpl implements ProductService {
         Item item = ItemMapper.mapItemRequestToItemCreate(itemRequest);
         item.setProduct(product);
         itemRepository.save(item);
+        eventPublisher.publishEvent(mapItemToStockChangedEvent(item, item.getQuantity(),
+                StockChangeReason.ITEM_CREATED, null));
         return ItemMapper.mapItemToItemResponse(item);
     }
 
@@ -172,7 +191,9 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ItemResponse updateItem(ItemRequest itemRequest) {
         log.info("Updating quantity of item with size: {}", itemRequest.getSize());
-        Item existingItem = itemRepository.findById(itemRequest.getId()).orElseThrow(() ->
+        // the row lock makes a concurrent checkout, which locks the items of its carts, either finish first, so
+        // the delta logged is taken from its decremented quantity, or wait until this update has committed
+        Item existingItem = itemRepository.findByIdForUpdate(itemRequest.getId()).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Item with id: %s not found", itemRequest.getId())));
 
         if (checkExistenceOfItemSize(existingItem.getProduct(), itemRequest.getSize()) &&
@@ -180,18 +201,21 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalStateException(String.format("Item with size: %s already exists", itemRequest.getSize()));
         }
 
+        int delta = itemRequest.getQuantity() - existingItem.getQuantity();
         Item item = ItemMapper.mapItemRequestToItemUpdate(itemRequest);
         item.setProduct(existingItem.getProduct());
         itemRepository.save(item);
+        eventPublisher.publishEvent(mapItemToStockChangedEvent(item, delta, StockChangeReason.ITEM_UPDATED, null));
         return ItemMapper.mapItemToItemResponse(item);
     }
 
     @Override
     public boolean deleteItemById(Long itemId) {
         log.info("Deleting item with id: {}", itemId);
-        Item item = itemRepository.findById(itemId).orElseThrow(() ->
+        Item item = itemRepository.findByIdForUpdate(itemId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Item with id: %s not found", itemId)));
         itemRepository.delete(item);
+        eventPublisher.publishEvent(mapItemToStockRemovedEvent(item, StockChangeReason.ITEM_DELETED));
         return true;
     }
 
@@ -259,6 +283,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public byte[] getProductImage(Long productId) {
         log.info("Retrieving image of product with id: {}", productId);
         Product product = productRepository.findById(productId).orElseThrow(() ->
@@ -0,0 +1,14 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.TokenResponse;
+
+public interface RefreshTokenService {
+
+    TokenResponse refreshAccessToken(String refreshToken);
+
+    boolean revokeRefreshToken(String refreshToken);
+
+    void loadRevokedTokens();
+
+    void persistRevokedTokens();
+}
@@ -0,0 +1,163 @@
+package com.junior.company.ecommerce.service;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.junior.company.ecommerce.dto.TokenResponse;
+import com.junior.company.ecommerce.exception.PermissionDeniedException;
+import com.junior.company.ecommerce.model.RevokedRefreshToken;
+import com.junior.company.ecommerce.model.UserTokenRevocation;
+import com.junior.company.ecommerce.repository.RevokedRefreshTokenRepository;
+import com.junior.company.ecommerce.repository.UserTokenRevocationRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
+import com.junior.company.ecommerce.security.JwtTokenProvider;
+import com.junior.company.ecommerce.security.UserTokenRevocations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.junior.company.ecommerce.security.JwtTokenProvider.ROLES_CLAIM;
+
+// Refresh only verifies the HMAC signature and looks the token id and the user up in memory. Each refresh token
+// is single use: it is revoked when exchanged, and revocations are written to the database in the background.
+// Tokens of a user revoked as a whole (deleted) are rejected through UserTokenRevocations, whose new entries are
+// written to the database in the same run. Both are loaded before the web server accepts requests, so a token
+// revoked before a restart stays revoked.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserTokenRevocations userTokenRevocations;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingRevocations = new ConcurrentHashMap<>();
+
+    @Override
+    public TokenResponse refreshAccessToken(String refreshToken) {
+        DecodedJWT decodedJWT = verify(refreshToken);
+        AppUserPrincipal principal = JwtTokenProvider.principalOf(decodedJWT);
+        if (userTokenRevocations.isRevoked(principal.getUserId(), decodedJWT.getIssuedAt())) {
+            log.warn("Rejected refresh token of user with revoked tokens: {}", decodedJWT.getSubject());
+            throw new PermissionDeniedException("Refresh token has been revoked");
+        }
+        if (!revoke(decodedJWT)) {
+            log.warn("Rejected reused refresh token of user: {}", decodedJWT.getSubject());
+            throw new PermissionDeniedException("Refresh token has been revoked");
+        }
+        log.info("Refreshing access token of user: {}", decodedJWT.getSubject());
+        List<String> roles = decodedJWT.getClaim(ROLES_CLAIM).asList(String.class);
+        Date authTime = JwtTokenProvider.authTimeOf(decodedJWT);
+        return TokenResponse.builder()
+                .accessToken(jwtTokenProvider.createAccessToken(principal, roles, decodedJWT.getIssuer(), authTime))
+                .refreshToken(jwtTokenProvider.createRefreshToken(principal, roles, decodedJWT.getIssuer(), authTime))
+                .build();
+    }
+
+    @Override
+    public boolean revokeRefreshToken(String refreshToken) {
+        DecodedJWT decodedJWT = verify(refreshToken);
+        log.info("Revoking refresh token of user: {}", decodedJWT.getSubject());
+        revoke(decodedJWT);
+        return true;
+    }
+
+    @Override
+    @PostConstruct
+    public void loadRevokedTokens() {
+        List<RevokedRefreshToken> tokens = revokedRefreshTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        tokens.forEach((token) -> revokedTokens.put(token.getTokenId(), toMillis(token.getExpiresAt())));
+        log.info("Loaded {} revoked refresh tokens", tokens.size());
+        List<UserTokenRevocation> userRevocations = userTokenRevocationRepository.findByNotBeforeAfter(
+                toDateTime(userTokenRevocations.expiredBefore(System.currentTimeMillis())));
+        userRevocations.forEach((revocation) ->
+                userTokenRevocations.restore(revocation.getAppUserId(), toMillis(revocation.getNotBefore())));
+        log.info("Loaded {} users with revoked tokens", userRevocations.size());
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${refresh-token.persist-interval-ms:5000}")
+    public void persistRevokedTokens() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf((expiresAt) -> expiresAt <= now);
+        Map<String, Long> revocations = new HashMap<>();
+        for (String tokenId : pendingRevocations.keySet()) {
+            Long expiresAt = pendingRevocations.remove(tokenId);
+            if (expiresAt != null) {
+                revocations.put(tokenId, expiresAt);
+            }
+        }
+        Map<Long, Long> userRevocations = userTokenRevocations.takePending();
+        if (revocations.isEmpty() && userRevocations.isEmpty()) {
+            return;
+        }
+        log.info("Persisting {} revoked refresh tokens and {} users with revoked tokens",
+                revocations.size(), userRevocations.size());
+        List<RevokedRefreshToken> tokens = new ArrayList<>();
+        revocations.forEach((tokenId, expiresAt) -> tokens.add(RevokedRefreshToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(toDateTime(expiresAt))
+                .build()));
+        List<UserTokenRevocation> users = new ArrayList<>();
+        userRevocations.forEach((userId, notBefore) -> users.add(UserTokenRevocation.builder()
+                .appUserId(userId)
+                .notBefore(toDateTime(notBefore))
+                .build()));
+        try {
+            transactionTemplate.execute((status) -> {
+                revokedRefreshTokenRepository.deleteExpired(toDateTime(now));
+                revokedRefreshTokenRepository.saveAll(tokens);
+                userTokenRevocationRepository.deleteExpired(toDateTime(userTokenRevocations.expiredBefore(now)));
+                userTokenRevocationRepository.saveAll(users);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Persisting revoked refresh tokens failed, kept for the next run", e);
+            pendingRevocations.putAll(revocations);
+            userTokenRevocations.returnPending(userRevocations);
+        }
+    }
+
+    private DecodedJWT verify(String refreshToken) {
+        try {
+            return jwtTokenProvider.verifyRefreshToken(refreshToken);
+        } catch (JWTVerificationException e) {
+            throw new PermissionDeniedException("Invalid refresh token: " + e.getMessage());
+        }
+    }
+
+    private boolean revoke(DecodedJWT decodedJWT) {
+        long expiresAt = decodedJWT.getExpiresAt().getTime();
+        if (revokedTokens.putIfAbsent(decodedJWT.getId(), expiresAt) != null) {
+            return false;
+        }
+        pendingRevocations.put(decodedJWT.getId(), expiresAt);
+        return true;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
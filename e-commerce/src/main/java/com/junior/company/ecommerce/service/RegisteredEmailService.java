@@ -0,0 +1,14 @@
+package com.junior.company.ecommerce.service;
+
+public interface RegisteredEmailService {
+
+    boolean isEmailTaken(String email);
+
+    void addEmail(String email);
+
+    void removeEmail(String email);
+
+    void rebuildFilter();
+
+    void rebuildFilterIfStale();
+}
@@ -0,0 +1,113 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.registration.EmailBloomFilter;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Emails of registered users are kept in a Bloom filter built on startup from app_user.email.
+// An email the filter has never seen is free without asking the database; any other is checked with an exists
+// query on the unique email index. Emails are added before their user is saved, so the filter may only claim
+// too much. Deleted emails cannot be taken out of the filter, so it is rebuilt once removed-ratio of its emails
+// are gone or it holds more emails than it was sized for.
+@Service
+@Slf4j
+public class RegisteredEmailServiceImpl implements RegisteredEmailService {
+
+    private final AppUserRepository appUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedEmails;
+    private final double falsePositiveProbability;
+    private final double removedRatio;
+    private final AtomicLong removedEmails = new AtomicLong();
+
+    private volatile EmailBloomFilter filter;
+    private volatile EmailBloomFilter pendingFilter;
+
+    public RegisteredEmailServiceImpl(AppUserRepository appUserRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${registered-email.expected-emails:5000000}") long expectedEmails,
+                                      @Value("${registered-email.false-positive-probability:0.01}")
+                                              double falsePositiveProbability,
+                                      @Value("${registered-email.removed-ratio:0.1}") double removedRatio) {
+        this.appUserRepository = appUserRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.removedRatio = removedRatio;
+    }
+
+    @Override
+    public boolean isEmailTaken(String email) {
+        EmailBloomFilter current = filter;
+        if (current != null && !current.mightContain(email)) {
+            return false;
+        }
+        return appUserRepository.existsByEmail(email);
+    }
+
+    @Override
+    public void addEmail(String email) {
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.add(email);
+        }
+        EmailBloomFilter pending = pendingFilter;
+        if (pending != null) {
+            pending.add(email);
+        }
+        EmailBloomFilter rebuilt = filter;
+        if (rebuilt != current && rebuilt != pending) {
+            rebuilt.add(email);
+        }
+    }
+
+    @Override
+    public void removeEmail(String email) {
+        removedEmails.incrementAndGet();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildFilter() {
+        long start = System.currentTimeMillis();
+        EmailBloomFilter current = filter;
+        long removed = removedEmails.get();
+        long size = current == null ? expectedEmails : Math.max(expectedEmails, current.getAdditions() * 2);
+        EmailBloomFilter rebuilt = new EmailBloomFilter(size, falsePositiveProbability);
+        pendingFilter = rebuilt;
+        try {
+            transactionTemplate.execute((status) -> {
+                appUserRepository.scrollEmails(rebuilt::add);
+                return null;
+            });
+            filter = rebuilt;
+            removedEmails.addAndGet(-removed);
+        } finally {
+            pendingFilter = null;
+        }
+        log.info("Built registered emails filter of {} emails in {} ms: {} bits, {} hash functions",
+                rebuilt.getAdditions(), System.currentTimeMillis() - start,
+                rebuilt.getBitSize(), rebuilt.getHashFunctions());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${registered-email.stale-check-interval-ms:60000}")
+    public void rebuildFilterIfStale() {
+        EmailBloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        long emails = current.getAdditions();
+        if (removedEmails.get() > emails * removedRatio || emails > current.getExpectedEmails()) {
+            rebuildFilter();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.SalesResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesRollupService {
+
+    void recordOrder(OrderPlacedEvent event);
+
+    void flush();
+
+    List<SalesResponse> findDailySales(LocalDate from, LocalDate to);
+
+    List<SalesResponse> findProductSales(LocalDate from, LocalDate to, Long productId);
+
+    List<SalesResponse> findCategorySales(LocalDate from, LocalDate to, Long categoryId);
+}
@@ -0,0 +1,162 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.SalesResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.model.DailyCategorySales;
+import com.junior.company.ecommerce.model.DailyProductSales;
+import com.junior.company.ecommerce.model.SalesRollupId;
+import com.junior.company.ecommerce.repository.DailyCategorySalesRepository;
+import com.junior.company.ecommerce.repository.DailyProductSalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.junior.company.ecommerce.mapper.SalesMapper.mapDailyCategorySalesToSalesResponses;
+import static com.junior.company.ecommerce.mapper.SalesMapper.mapDailyProductSalesToSalesResponses;
+import static com.junior.company.ecommerce.mapper.SalesMapper.mapDailySalesViewsToSalesResponses;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final DailyCategorySalesRepository dailyCategorySalesRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SalesRollupId, SalesDelta> pendingProductSales = new ConcurrentHashMap<>();
+    private final Map<SalesRollupId, SalesDelta> pendingCategorySales = new ConcurrentHashMap<>();
+
+    @Override
+    @TransactionalEventListener
+    public void recordOrder(OrderPlacedEvent event) {
+        LocalDate saleDate = event.getDateOfOrder().toLocalDate();
+        for (OrderPlacedLine line : event.getLines()) {
+            SalesDelta delta = new SalesDelta(line.getAmount(), line.getPrice() * line.getAmount());
+            pendingProductSales.merge(new SalesRollupId(saleDate, line.getProductId()), delta, SalesDelta::plus);
+            for (Long categoryId : line.getCategoryIds()) {
+                pendingCategorySales.merge(new SalesRollupId(saleDate, categoryId), delta, SalesDelta::plus);
+            }
+        }
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${sales.rollup.flush-interval-ms:1000}")
+    public void flush() {
+        Map<SalesRollupId, SalesDelta> productSales = drain(pendingProductSales);
+        Map<SalesRollupId, SalesDelta> categorySales = drain(pendingCategorySales);
+        if (productSales.isEmpty() && categorySales.isEmpty()) {
+            return;
+        }
+        log.info("Flushing sales rollups for {} products and {} categories",
+                productSales.size(), categorySales.size());
+        try {
+            transactionTemplate.execute((status) -> {
+                productSales.forEach(this::upsertProductSales);
+                categorySales.forEach(this::upsertCategorySales);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Flushing sales rollups failed, deltas kept for the next flush", e);
+            productSales.forEach((id, delta) -> pendingProductSales.merge(id, delta, SalesDelta::plus));
+            categorySales.forEach((id, delta) -> pendingCategorySales.merge(id, delta, SalesDelta::plus));
+        }
+    }
+
+    @Override
+    public List<SalesResponse> findDailySales(LocalDate from, LocalDate to) {
+        log.info("Retrieving daily sales from: {} to: {}", from, to);
+        validateRange(from, to);
+        return mapDailySalesViewsToSalesResponses(dailyProductSalesRepository.sumBySaleDateBetween(from, to));
+    }
+
+    @Override
+    public List<SalesResponse> findProductSales(LocalDate from, LocalDate to, Long productId) {
+        log.info("Retrieving product sales from: {} to: {}", from, to);
+        validateRange(from, to);
+        List<DailyProductSales> sales = productId == null
+                ? dailyProductSalesRepository.findBySaleDateBetween(from, to)
+                : dailyProductSalesRepository.findBySaleDateBetweenAndProductId(from, to, productId);
+        return mapDailyProductSalesToSalesResponses(sales);
+    }
+
+    @Override
+    public List<SalesResponse> findCategorySales(LocalDate from, LocalDate to, Long categoryId) {
+        log.info("Retrieving category sales from: {} to: {}", from, to);
+        validateRange(from, to);
+        List<DailyCategorySales> sales = categoryId == null
+                ? dailyCategorySalesRepository.findBySaleDateBetween(from, to)
+                : dailyCategorySalesRepository.findBySaleDateBetweenAndCategoryId(from, to, categoryId);
+        return mapDailyCategorySalesToSalesResponses(sales);
+    }
+
+    private void upsertProductSales(SalesRollupId id, SalesDelta delta) {
+        if (dailyProductSalesRepository.increment(id, delta.units, delta.revenue) == 0) {
+            dailyProductSalesRepository.save(DailyProductSales.builder()
+                    .id(id)
+                    .units(delta.units)
+                    .revenue(delta.revenue)
+                    .build());
+        }
+    }
+
+    private void upsertCategorySales(SalesRollupId id, SalesDelta delta) {
+        if (dailyCategorySalesRepository.increment(id, delta.units, delta.revenue) == 0) {
+            dailyCategorySalesRepository.save(DailyCategorySales.builder()
+                    .id(id)
+                    .units(delta.units)
+                    .revenue(delta.revenue)
+                    .build());
+        }
+    }
+
+    private static Map<SalesRollupId, SalesDelta> drain(Map<SalesRollupId, SalesDelta> pending) {
+        Map<SalesRollupId, SalesDelta> drained = new HashMap<>();
+        for (SalesRollupId id : pending.keySet()) {
+            SalesDelta delta = pending.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalStateException("Date from must not be after date to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalStateException(String.format("Date range must not exceed %s days", MAX_RANGE_DAYS));
+        }
+    }
+
+    private static final class SalesDelta {
+
+        private final long units;
+        private final double revenue;
+
+        private SalesDelta(long units, double revenue) {
+            this.units = units;
+            this.revenue = revenue;
+        }
+
+        private SalesDelta plus(SalesDelta other) {
+            return new SalesDelta(units + other.units, revenue + other.revenue);
+        }
+    }
+}
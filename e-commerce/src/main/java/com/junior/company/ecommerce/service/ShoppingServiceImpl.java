@@ -1,49 +1,107 @@
 package com.junior.company.ecommerce.service;
 
+import com.junior.company.ecommerce.checkout.CheckoutBatchQueue;
+import com.junior.company.ecommerce.checkout.CheckoutMode;
+import com.junior.company.ecommerce.checkout.CheckoutRequest;
 import com.junior.company.ecommerce.dto.CartResponse;
 import com.junior.company.ecommerce.dto.OrderResponse;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
+import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
 import com.junior.company.ecommerce.model.CartItem;
 import com.junior.company.ecommerce.model.Item;
 import com.junior.company.ecommerce.model.Order;
 import com.junior.company.ecommerce.model.OrderItem;
+import com.junior.company.ecommerce.model.OrderStatus;
+import com.junior.company.ecommerce.model.StockChangeReason;
+import com.junior.company.ecommerce.repository.AppUserRepository;
 import com.junior.company.ecommerce.repository.CartItemRepository;
 import com.junior.company.ecommerce.repository.ItemRepository;
-import lombok.RequiredArgsConstructor;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.transaction.Transactional;
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
+import static com.junior.company.ecommerce.mapper.ItemMapper.mapItemToStockChangedEvent;
 import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapCartItemsToOrderItems;
 import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapCartToCartResponse;
+import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrderToOrderPlacedEvent;
 import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrdersToOrderResponses;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class ShoppingServiceImpl implements ShoppingService {
 
+    private static final long CHECKOUT_RETRY_AFTER_SECONDS = 1;
+
     private final AppUserService appUserService;
+    private final AppUserRepository appUserRepository;
     private final ItemRepository itemRepository;
     private final CartItemRepository cartItemRepository;
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final CheckoutBatchQueue<CheckoutRequest> checkoutQueue;
+    private final long checkoutTimeoutMillis;
+
+    public ShoppingServiceImpl(AppUserService appUserService,
+                               AppUserRepository appUserRepository,
+                               ItemRepository itemRepository,
+                               CartItemRepository cartItemRepository,
+                               OrderRepository orderRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${checkout.mode:direct}") CheckoutMode checkoutMode,
+                               @Value("${checkout.batch.shards:4}") int shards,
+                               @Value("${checkout.batch.queue-capacity:1024}") int queueCapacity,
+                               @Value("${checkout.batch.max-size:64}") int maxBatchSize,
+                               @Value("${checkout.batch.timeout-ms:10000}") long checkoutTimeoutMillis) {
+        this.appUserService = appUserService;
+        this.appUserRepository = appUserRepository;
+        this.itemRepository = itemRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.checkoutQueue = checkoutMode == CheckoutMode.BATCHED
+                ? new CheckoutBatchQueue<>(shards, queueCapacity, maxBatchSize, this::checkoutBatch,
+                (requests, e) -> requests.forEach((request) -> request.getResult().completeExceptionally(e)))
+                : null;
+        this.checkoutTimeoutMillis = checkoutTimeoutMillis;
+    }
 
     @Override
+    @Transactional(readOnly = true)
     public CartResponse viewCart() {
-        log.info("Retrieving view of cart for user: {}", appUserService.getCurrentUser().getEmail());
-        Cart cart = appUserService.getCurrentUser().getCart();
-        return mapCartToCartResponse(cart);
+        AppUser appUser = appUserService.getCurrentUser();
+        log.info("Retrieving view of cart for user: {}", appUser.getEmail());
+        return mapCartToCartResponse(appUser.getCart());
     }
 
     @Override
     public boolean addCartItem(Long itemId, Integer amount) {
-        log.info("Adding item with id: {} to cart of user: {}", itemId, appUserService.getCurrentUser().getEmail());
+        AppUser appUser = appUserService.getCurrentUser();
+        log.info("Adding item with id: {} to cart of user: {}", itemId, appUser.getEmail());
 
         if (amount < 1) {
             throw new IllegalStateException("Ordered amount must be minimum 1");
@@ -56,7 +114,7 @@ public class ShoppingServiceImpl implements ShoppingService {
             throw new IllegalStateException("Ordered amount must not exceed quantity of item");
         }
 
-        Cart cart = appUserService.getCurrentUser().getCart();
+        Cart cart = appUser.getCart();
 
         boolean existed = false;
         for (CartItem cartItem : cart.getCartItems()) {
@@ -82,14 +140,14 @@ public class ShoppingServiceImpl implements ShoppingService {
 
     @Override
     public boolean removeCartItem(Long itemId, Integer amount) {
-        log.info("Removing item with id: {} from cart of user: {}",
-                itemId, appUserService.getCurrentUser().getEmail());
+        AppUser appUser = appUserService.getCurrentUser();
+        log.info("Removing item with id: {} from cart of user: {}", itemId, appUser.getEmail());
 
         if (amount < 1) {
             throw new IllegalStateException("Amount to delete must be minimum 1");
         }
 
-        Cart cart = appUserService.getCurrentUser().getCart();
+        Cart cart = appUser.getCart();
 
         for (CartItem cartItem : cart.getCartItems()) {
             if (Objects.equals(cartItem.getItem().getId(), itemId)) {
@@ -108,9 +166,93 @@ public class ShoppingServiceImpl implements ShoppingService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean checkout() {
-        log.info("Shopping cart checkout for user: {}", appUserService.getCurrentUser().getEmail());
-        Cart cart = appUserService.getCurrentUser().getCart();
+        if (checkoutQueue == null) {
+            return Objects.requireNonNull(transactionTemplate.execute((status) -> {
+                AppUser appUser = appUserService.getCurrentUser();
+                log.info("Shopping cart checkout for user: {}", appUser.getEmail());
+                itemRepository.findItemsInCartsForUpdate(List.of(appUser.getCart().getId()));
+                return placeOrder(appUser);
+            }));
+        }
+
+        CheckoutRequest request = Objects.requireNonNull(transactionTemplate.execute((status) -> {
+            AppUserPrincipal principal = appUserService.getCurrentPrincipal();
+            log.info("Queueing shopping cart checkout for user: {}", principal.getEmail());
+            Long cartId = principal.getCartId();
+            return new CheckoutRequest(principal.getUserId(), cartId,
+                    itemRepository.findFirstItemIdInCart(cartId).orElse(0L));
+        }));
+        // Carts sharing their first item always land on the same writer, which keeps their batches apart.
+        // Carts overlapping only on other items may still be placed by two writers at once, which
+        // findItemsInCartsForUpdate serializes by locking the item rows.
+        if (!checkoutQueue.submit(request.getFirstItemId(), request)) {
+            throw new ServiceOverloadedException(
+                    "Too many checkouts are waiting, try again later", CHECKOUT_RETRY_AFTER_SECONDS);
+        }
+        try {
+            return request.getResult().get(checkoutTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException(
+                    "Checkout is taking too long, check your orders before trying again", CHECKOUT_RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for checkout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponse> viewOrders() {
+        AppUser appUser = appUserService.getCurrentUser();
+        log.info("Retrieving list of orders for user: {}", appUser.getEmail());
+        return mapOrdersToOrderResponses(appUser.getOrders());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (checkoutQueue != null) {
+            checkoutQueue.close();
+        }
+    }
+
+    private void checkoutBatch(List<CheckoutRequest> requests) {
+        Map<CheckoutRequest, RuntimeException> rejected = new HashMap<>();
+        transactionTemplate.execute((status) -> {
+            itemRepository.findItemsInCartsForUpdate(requests.stream()
+                    .map(CheckoutRequest::getCartId)
+                    .collect(Collectors.toList()));
+            for (CheckoutRequest request : requests) {
+                try {
+                    AppUser appUser = appUserRepository.findById(request.getAppUserId()).orElseThrow(() ->
+                            new ResourceNotFoundException(String.format(
+                                    "User with id: %s not found", request.getAppUserId())));
+                    placeOrder(appUser);
+                } catch (IllegalStateException | ResourceNotFoundException e) {
+                    rejected.put(request, e);
+                }
+            }
+            return null;
+        });
+        for (CheckoutRequest request : requests) {
+            RuntimeException rejection = rejected.get(request);
+            if (rejection == null) {
+                request.getResult().complete(true);
+            } else {
+                request.getResult().completeExceptionally(rejection);
+            }
+        }
+        log.info("Checked out batch of {} carts, {} rejected", requests.size(), rejected.size());
+    }
+
+    private boolean placeOrder(AppUser appUser) {
+        Cart cart = appUser.getCart();
 
         for (CartItem cartItem : cart.getCartItems()) {
             if (cartItem.getAmount() > cartItem.getItem().getQuantity()) {
@@ -122,6 +264,7 @@ public class ShoppingServiceImpl implements ShoppingService {
                 .orderItems(new ArrayList<>())
                 .totalValue(cart.getTotalValue())
                 .dateOfOrder(LocalDateTime.now())
+                .status(OrderStatus.PLACED)
                 .build();
 
         List<OrderItem> orderItems = mapCartItemsToOrderItems(cart.getCartItems());
@@ -129,33 +272,16 @@ public class ShoppingServiceImpl implements ShoppingService {
             order.getOrderItems().add(orderItem);
             orderItem.getItem().setQuantity(orderItem.getItem().getQuantity() - orderItem.getAmount());
         }
-        appUserService.getCurrentUser().getOrders().add(order);
+        orderRepository.save(order);
+        for (OrderItem orderItem : orderItems) {
+            eventPublisher.publishEvent(mapItemToStockChangedEvent(orderItem.getItem(), -orderItem.getAmount(),
+                    StockChangeReason.CHECKOUT, order.getId()));
+        }
+        appUser.getOrders().add(order);
 
         cart.setTotalValue(0.0);
         cart.getCartItems().forEach(cartItemRepository::delete);
+        eventPublisher.publishEvent(mapOrderToOrderPlacedEvent(order, appUser));
         return true;
     }
-
-    @Override
-    public List<OrderResponse> viewOrders() {
-        log.info("Retrieving list of orders for user: {}", appUserService.getCurrentUser().getEmail());
-        List<Order> orders = appUserService.getCurrentUser().getOrders();
-        return mapOrdersToOrderResponses(orders);
-    }
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,15 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.event.UserDeletionRequestedEvent;
+
+public interface UserDeletionService {
+
+    UserDeletionJobResponse startDeletion(Long userId);
+
+    UserDeletionJobResponse findDeletionById(Long deletionId);
+
+    void onDeletionRequested(UserDeletionRequestedEvent event);
+
+    void resumeDeletions();
+}
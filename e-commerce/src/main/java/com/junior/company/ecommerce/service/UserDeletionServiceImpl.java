@@ -0,0 +1,174 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.event.UserDeletionRequestedEvent;
+import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.mapper.UserDeletionMapper;
+import com.junior.company.ecommerce.model.UserDeletionJob;
+import com.junior.company.ecommerce.model.UserDeletionStatus;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.UserDeletionJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToIntFunction;
+
+// A deleted user is disabled at once, its tokens revoked, and its rows are removed in the background, one job at a
+// time. Orders with their lines and cart items go in chunks of chunk-size with one transaction per chunk, the user
+// row together with its role links, address, cart and anything added to it meanwhile last. Every step is a plain
+// delete of what is left, so jobs that were queued or running when the application stopped are started again.
+@Service
+@Slf4j
+public class UserDeletionServiceImpl implements UserDeletionService {
+
+    private static final List<UserDeletionStatus> ACTIVE_STATUSES =
+            List.of(UserDeletionStatus.QUEUED, UserDeletionStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final AppUserRepository appUserRepository;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService deletionExecutor = Executors.newSingleThreadExecutor((runnable) -> {
+        Thread thread = new Thread(runnable, "user-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserDeletionServiceImpl(AppUserRepository appUserRepository,
+                                   UserDeletionJobRepository userDeletionJobRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${user-deletion.chunk-size:500}") int chunkSize) {
+        this.appUserRepository = appUserRepository;
+        this.userDeletionJobRepository = userDeletionJobRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // The job starts once the transaction disabling the user commits.
+    @Override
+    public UserDeletionJobResponse startDeletion(Long userId) {
+        log.info("Queueing deletion of user with id: {}", userId);
+        UserDeletionJob userDeletionJob = userDeletionJobRepository
+                .findFirstByAppUserIdAndStatusIn(userId, ACTIVE_STATUSES)
+                .orElse(null);
+        if (userDeletionJob == null) {
+            userDeletionJob = userDeletionJobRepository.save(UserDeletionJob.builder()
+                    .appUserId(userId)
+                    .status(UserDeletionStatus.QUEUED)
+                    .deletedRows(0L)
+                    .requestedAt(LocalDateTime.now())
+                    .build());
+            eventPublisher.publishEvent(UserDeletionRequestedEvent.builder()
+                    .deletionId(userDeletionJob.getId())
+                    .build());
+        }
+        return UserDeletionMapper.mapUserDeletionJobToUserDeletionJobResponse(userDeletionJob);
+    }
+
+    @Override
+    public UserDeletionJobResponse findDeletionById(Long deletionId) {
+        log.info("Retrieving user deletion with id: {}", deletionId);
+        return UserDeletionMapper.mapUserDeletionJobToUserDeletionJobResponse(findUserDeletionJob(deletionId));
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeletionRequested(UserDeletionRequestedEvent event) {
+        deletionExecutor.execute(() -> runDeletion(event.getDeletionId()));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeDeletions() {
+        List<UserDeletionJob> userDeletionJobs = userDeletionJobRepository.findByStatusInOrderById(ACTIVE_STATUSES);
+        if (!userDeletionJobs.isEmpty()) {
+            log.info("Resuming {} user deletions", userDeletionJobs.size());
+        }
+        for (UserDeletionJob userDeletionJob : userDeletionJobs) {
+            deletionExecutor.execute(() -> runDeletion(userDeletionJob.getId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deletionExecutor.shutdownNow();
+    }
+
+    void runDeletion(Long deletionId) {
+        UserDeletionJob userDeletionJob = transactionTemplate.execute((status) -> {
+            UserDeletionJob queued = findUserDeletionJob(deletionId);
+            if (!ACTIVE_STATUSES.contains(queued.getStatus())) {
+                return null;
+            }
+            queued.setStatus(UserDeletionStatus.RUNNING);
+            return userDeletionJobRepository.save(queued);
+        });
+        if (userDeletionJob == null) {
+            return;
+        }
+        try {
+            while (deleteChunk(userDeletionJob,
+                    (userId) -> appUserRepository.deleteOrdersChunk(userId, chunkSize)) > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            while (deleteChunk(userDeletionJob,
+                    (userId) -> appUserRepository.deleteCartItemsChunk(userId, chunkSize)) > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            deleteChunk(userDeletionJob, appUserRepository::deleteUserRows);
+            finishDeletion(deletionId, UserDeletionStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("User deletion with id: {} failed", deletionId, e);
+            String error = e.toString();
+            finishDeletion(deletionId, UserDeletionStatus.FAILED,
+                    error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+        }
+    }
+
+    private int deleteChunk(UserDeletionJob userDeletionJob, ToIntFunction<Long> deletion) {
+        Integer deleted = transactionTemplate.execute((status) -> {
+            int rows = deletion.applyAsInt(userDeletionJob.getAppUserId());
+            userDeletionJob.setDeletedRows(userDeletionJob.getDeletedRows() + rows);
+            userDeletionJobRepository.save(userDeletionJob);
+            return rows;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void finishDeletion(Long deletionId, UserDeletionStatus status, String error) {
+        transactionTemplate.execute((transactionStatus) -> {
+            UserDeletionJob userDeletionJob = findUserDeletionJob(deletionId);
+            userDeletionJob.setStatus(status);
+            userDeletionJob.setLastError(error);
+            userDeletionJob.setFinishedAt(LocalDateTime.now());
+            userDeletionJobRepository.save(userDeletionJob);
+            log.info("User deletion with id: {} {}: {} rows of user with id: {} deleted",
+                    deletionId, status, userDeletionJob.getDeletedRows(), userDeletionJob.getAppUserId());
+            return null;
+        });
+    }
+
+    private UserDeletionJob findUserDeletionJob(Long deletionId) {
+        return userDeletionJobRepository.findById(deletionId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format("User deletion with id: %s not found", deletionId)));
+    }
+}
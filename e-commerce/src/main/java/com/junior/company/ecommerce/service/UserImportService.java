@@ -0,0 +1,20 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserImportJobResponse;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    UserImportJobResponse startImport(UserImportFormat format, InputStream inputStream) throws IOException;
+
+    UserImportJobResponse findImportById(Long importId);
+
+    UserImportJobResponse resumeImport(Long importId);
+
+    void markRunningImportsInterrupted();
+
+    void expireAbandonedImports();
+}
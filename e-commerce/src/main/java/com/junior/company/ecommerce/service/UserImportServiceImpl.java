@@ -0,0 +1,335 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserImportJobResponse;
+import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.mapper.UserImportMapper;
+import com.junior.company.ecommerce.model.Role;
+import com.junior.company.ecommerce.model.UserImportJob;
+import com.junior.company.ecommerce.model.UserImportStatus;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.RoleRepository;
+import com.junior.company.ecommerce.repository.UserImportJobRepository;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import com.junior.company.ecommerce.userimport.UserImportReader;
+import com.junior.company.ecommerce.userimport.UserImportRecord;
+import com.junior.company.ecommerce.validation.EmailValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+// The uploaded file is stored first and imported in the background, one job at a time, in chunks of chunk-size
+// records. Passwords of a chunk are hashed in parallel before its transaction starts, and the transaction inserts
+// the chunk together with the job progress, so an interrupted or failed import resumes after the last stored chunk.
+// The file may hold plaintext passwords: it is readable by the owner only and deleted once the import completed.
+// A failed or interrupted import not resumed within the retention time expires and its file is deleted too.
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final List<UserImportStatus> RESUMABLE_STATUSES =
+            List.of(UserImportStatus.FAILED, UserImportStatus.INTERRUPTED);
+
+    private final AppUserRepository appUserRepository;
+    private final RoleRepository roleRepository;
+    private final UserImportJobRepository userImportJobRepository;
+    private final RegisteredEmailService registeredEmailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final long retentionHours;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final EmailValidator emailValidator = new EmailValidator();
+    private final ForkJoinPool hashingPool;
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor((runnable) -> {
+        Thread thread = new Thread(runnable, "user-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserImportServiceImpl(AppUserRepository appUserRepository,
+                                 RoleRepository roleRepository,
+                                 UserImportJobRepository userImportJobRepository,
+                                 RegisteredEmailService registeredEmailService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${user-import.directory:./user-import}") String directory,
+                                 @Value("${user-import.chunk-size:1000}") int chunkSize,
+                                 @Value("${user-import.hashing-parallelism:4}") int hashingParallelism,
+                                 @Value("${user-import.retention-hours:24}") long retentionHours,
+                                 @Value("${password-hashing.bcrypt-strength:10}") int bcryptStrength) {
+        this.appUserRepository = appUserRepository;
+        this.roleRepository = roleRepository;
+        this.userImportJobRepository = userImportJobRepository;
+        this.registeredEmailService = registeredEmailService;
+        this.transactionTemplate = transactionTemplate;
+        this.directory = Path.of(directory);
+        this.chunkSize = chunkSize;
+        this.retentionHours = retentionHours;
+        this.bCryptPasswordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        this.hashingPool = new ForkJoinPool(hashingParallelism);
+    }
+
+    @Override
+    public UserImportJobResponse startImport(UserImportFormat format, InputStream inputStream) throws IOException {
+        Path file = createPrivateFile(String.format("users-%s.%s", UUID.randomUUID(), format.getExtension()));
+        long size;
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            size = inputStream.transferTo(outputStream);
+        }
+        log.info("Starting import of users from {} file of {} bytes", format, size);
+
+        UserImportJob userImportJob = userImportJobRepository.save(UserImportJob.builder()
+                .fileName(file.toString())
+                .format(format)
+                .status(UserImportStatus.RUNNING)
+                .processedRecords(0L)
+                .importedUsers(0L)
+                .skippedUsers(0L)
+                .invalidRecords(0L)
+                .hashingMillis(0L)
+                .elapsedMillis(0L)
+                .startedAt(LocalDateTime.now())
+                .build());
+        UserImportJobResponse response = UserImportMapper.mapUserImportJobToUserImportJobResponse(userImportJob);
+        importExecutor.execute(() -> runImport(userImportJob));
+        return response;
+    }
+
+    @Override
+    public UserImportJobResponse findImportById(Long importId) {
+        log.info("Retrieving user import with id: {}", importId);
+        return UserImportMapper.mapUserImportJobToUserImportJobResponse(findUserImportJob(importId));
+    }
+
+    // The status is changed only if the job is still resumable, so of concurrent resumes only one starts a run.
+    @Override
+    public UserImportJobResponse resumeImport(Long importId) {
+        log.info("Resuming user import with id: {}", importId);
+        findUserImportJob(importId);
+        Integer restarted = transactionTemplate.execute((status) -> userImportJobRepository.restartById(
+                importId, RESUMABLE_STATUSES, UserImportStatus.RUNNING));
+        if (restarted == null || restarted == 0) {
+            throw new IllegalStateException(String.format("User import with id: %s cannot be resumed from status: %s",
+                    importId, findUserImportJob(importId).getStatus()));
+        }
+        UserImportJob resumed = findUserImportJob(importId);
+        UserImportJobResponse response = UserImportMapper.mapUserImportJobToUserImportJobResponse(resumed);
+        importExecutor.execute(() -> runImport(resumed));
+        return response;
+    }
+
+    // Jobs still running when the application stopped are left to be resumed.
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void markRunningImportsInterrupted() {
+        Integer interrupted = transactionTemplate.execute((status) ->
+                userImportJobRepository.updateStatus(UserImportStatus.RUNNING, UserImportStatus.INTERRUPTED));
+        if (interrupted != null && interrupted > 0) {
+            log.info("Marked {} user imports as interrupted", interrupted);
+        }
+    }
+
+    // The status is changed only if the job was not resumed in the meantime, and only then the file is deleted.
+    @Override
+    @Scheduled(fixedDelayString = "${user-import.cleanup-interval-ms:3600000}")
+    public void expireAbandonedImports() {
+        List<Long> importIds = userImportJobRepository.findIdsByStatusInAndLastRunBefore(RESUMABLE_STATUSES,
+                LocalDateTime.now().minusHours(retentionHours));
+        for (Long importId : importIds) {
+            Integer expired = transactionTemplate.execute((status) -> userImportJobRepository.updateStatusById(
+                    importId, RESUMABLE_STATUSES, UserImportStatus.EXPIRED,
+                    String.format("Not resumed within %s hours, uploaded file deleted", retentionHours)));
+            if (expired != null && expired > 0) {
+                log.info("User import with id: {} expired", importId);
+                deleteFile(findUserImportJob(importId));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    void runImport(UserImportJob userImportJob) {
+        long start = System.currentTimeMillis();
+        long previouslyElapsed = userImportJob.getElapsedMillis();
+        Long roleId = roleRepository.findRoleByName("USER").map(Role::getId).orElse(null);
+        UserImportStatus status = UserImportStatus.COMPLETED;
+        String error = null;
+        try (UserImportReader reader = UserImportReader.of(userImportJob.getFormat(),
+                Files.newInputStream(Path.of(userImportJob.getFileName())))) {
+            for (long record = 0; record < userImportJob.getProcessedRecords(); record++) {
+                if (reader.next() == null) {
+                    break;
+                }
+            }
+            List<UserImportRecord> chunk = readChunk(reader);
+            while (!chunk.isEmpty()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    status = UserImportStatus.INTERRUPTED;
+                    break;
+                }
+                importChunk(userImportJob, chunk, roleId, previouslyElapsed, start);
+                chunk = readChunk(reader);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = UserImportStatus.INTERRUPTED;
+        } catch (Exception e) {
+            log.error("User import with id: {} failed", userImportJob.getId(), e);
+            status = UserImportStatus.FAILED;
+            error = e instanceof ExecutionException ? e.getCause().toString() : e.toString();
+        }
+        finishImport(userImportJob.getId(), status, error, previouslyElapsed + System.currentTimeMillis() - start);
+        if (status == UserImportStatus.COMPLETED) {
+            deleteFile(userImportJob);
+        }
+    }
+
+    // Where the file system supports it, the directory and the file are created accessible to the owner only.
+    private Path createPrivateFile(String fileName) throws IOException {
+        boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!posix) {
+            Files.createDirectories(directory);
+            return Files.createFile(directory.resolve(fileName));
+        }
+        Files.createDirectories(directory,
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+        return Files.createFile(directory.resolve(fileName),
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    }
+
+    private void deleteFile(UserImportJob userImportJob) {
+        try {
+            Files.deleteIfExists(Path.of(userImportJob.getFileName()));
+        } catch (IOException e) {
+            log.warn("Deleting file of user import with id: {} failed: {}", userImportJob.getId(), e.getMessage());
+        }
+    }
+
+    private List<UserImportRecord> readChunk(UserImportReader reader) throws IOException {
+        List<UserImportRecord> chunk = new ArrayList<>(chunkSize);
+        UserImportRecord record;
+        while (chunk.size() < chunkSize && (record = reader.next()) != null) {
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    private void importChunk(UserImportJob userImportJob, List<UserImportRecord> records, Long roleId,
+                             long previouslyElapsed, long start) throws InterruptedException, ExecutionException {
+        long invalid = 0;
+        long skipped = 0;
+        Map<String, UserImportRecord> usersByEmail = new LinkedHashMap<>();
+        for (UserImportRecord record : records) {
+            if (!isValid(record)) {
+                invalid++;
+            } else if (usersByEmail.putIfAbsent(record.getEmail(), record) != null) {
+                skipped++;
+            }
+        }
+        if (!usersByEmail.isEmpty()) {
+            for (String existingEmail : appUserRepository.findExistingEmails(usersByEmail.keySet())) {
+                usersByEmail.remove(existingEmail);
+                skipped++;
+            }
+        }
+        List<UserImportRecord> users = new ArrayList<>(usersByEmail.values());
+
+        long hashingStart = System.currentTimeMillis();
+        hashingPool.submit(() -> users.parallelStream()
+                .filter((user) -> user.getPasswordHash() == null)
+                .forEach((user) -> {
+                    user.setPasswordHash(bCryptPasswordEncoder.encode(user.getPassword()));
+                    user.setPassword(null);
+                })).get();
+        long hashingMillis = System.currentTimeMillis() - hashingStart;
+
+        users.forEach((user) -> registeredEmailService.addEmail(user.getEmail()));
+        long skippedUsers = skipped;
+        long invalidRecords = invalid;
+        transactionTemplate.execute((status) -> {
+            if (!users.isEmpty()) {
+                appUserRepository.insertImportedUsers(users, roleId);
+            }
+            userImportJob.setProcessedRecords(userImportJob.getProcessedRecords() + records.size());
+            userImportJob.setImportedUsers(userImportJob.getImportedUsers() + users.size());
+            userImportJob.setSkippedUsers(userImportJob.getSkippedUsers() + skippedUsers);
+            userImportJob.setInvalidRecords(userImportJob.getInvalidRecords() + invalidRecords);
+            userImportJob.setHashingMillis(userImportJob.getHashingMillis() + hashingMillis);
+            userImportJob.setElapsedMillis(previouslyElapsed + System.currentTimeMillis() - start);
+            userImportJobRepository.save(userImportJob);
+            return null;
+        });
+    }
+
+    // Progress is read back from the database, so counters of a chunk whose transaction failed are not kept.
+    private void finishImport(Long importId, UserImportStatus status, String error, long elapsedMillis) {
+        transactionTemplate.execute((transactionStatus) -> {
+            UserImportJob userImportJob = findUserImportJob(importId);
+            userImportJob.setStatus(status);
+            userImportJob.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH
+                    ? error : error.substring(0, MAX_ERROR_LENGTH));
+            userImportJob.setElapsedMillis(elapsedMillis);
+            userImportJob.setFinishedAt(LocalDateTime.now());
+            userImportJobRepository.save(userImportJob);
+            log.info("User import with id: {} {}: {} records processed, {} users imported in {} ms",
+                    importId, status, userImportJob.getProcessedRecords(), userImportJob.getImportedUsers(),
+                    elapsedMillis);
+            return null;
+        });
+    }
+
+    private boolean isValid(UserImportRecord record) {
+        boolean hasPassword = record.getPasswordHash() == null
+                ? record.getPassword() != null && record.getPassword().length() >= 8
+                : BCRYPT_PATTERN.matcher(record.getPasswordHash()).matches();
+        return hasPassword
+                && emailValidator.isValid(record.getEmail(), null)
+                && hasMinLength(record.getFirstName())
+                && hasMinLength(record.getLastName())
+                && hasMinLength(record.getPhoneNumber())
+                && record.getDob() != null
+                && record.getApartmentNumber() != null && record.getApartmentNumber() >= 0
+                && hasMinLength(record.getStreet())
+                && hasMinLength(record.getCity())
+                && hasMinLength(record.getCountry());
+    }
+
+    private static boolean hasMinLength(String value) {
+        return value != null && value.strip().length() >= 2;
+    }
+
+    private UserImportJob findUserImportJob(Long importId) {
+        return userImportJobRepository.findById(importId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format("User import with id: %s not found", importId)));
+    }
+}
@@ -16,6 +16,7 @@ import springfox.documentation.spring.web.plugins.Docket;
 
 import java.util.List;
 
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.ANALYTICS_API_TAG;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.API_KEY_REFERENCE;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.API_LICENSE;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.API_LICENSE_URL;
@@ -28,8 +29,10 @@ import static com.junior.company.ecommerce.swagger.SwaggerConstants.CATEGORIES_A
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.CONTACT_EMAIL;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.CONTACT_NAME;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.CONTACT_URL;
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.ORDERS_API_TAG;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.PRODUCTS_API_TAG;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.SHOPPING_API_TAG;
+import static com.junior.company.ecommerce.swagger.SwaggerConstants.TOKENS_API_TAG;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.USERS_API_TAG;
 import static com.junior.company.ecommerce.swagger.SwaggerConstants.getApiDescription;
 import static java.util.Collections.emptyList;
@@ -51,7 +54,10 @@ public class SwaggerConfig {
                 .tags(new Tag(USERS_API_TAG, "APIs related to users"),
                         new Tag(CATEGORIES_API_TAG, "APIs related to categories"),
                         new Tag(PRODUCTS_API_TAG, "APIs related to products"),
-                        new Tag(SHOPPING_API_TAG, "APIs related to shopping activities"));
+                        new Tag(SHOPPING_API_TAG, "APIs related to shopping activities"),
+                        new Tag(ORDERS_API_TAG, "APIs related to orders fulfilment"),
+                        new Tag(ANALYTICS_API_TAG, "APIs related to sales analytics"),
+                        new Tag(TOKENS_API_TAG, "APIs related to access and refresh tokens"));
     }
 
     private ApiKey apiKey() {
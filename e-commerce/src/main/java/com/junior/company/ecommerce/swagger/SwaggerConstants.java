@@ -36,4 +36,7 @@ public class SwaggerConstants {
     public static final String CATEGORIES_API_TAG = "Categories service";
     public static final String PRODUCTS_API_TAG = "Products service";
     public static final String SHOPPING_API_TAG = "Shopping service";
+    public static final String ORDERS_API_TAG = "Orders service";
+    public static final String ANALYTICS_API_TAG = "Analytics service";
+    public static final String TOKENS_API_TAG = "Tokens service";
 }
@@ -0,0 +1,108 @@
+package com.junior.company.ecommerce.userimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads users line by line from CSV with a header row naming the columns (email, password, passwordHash,
+// firstName, lastName, phoneNumber, dob, apartmentNumber, street, city, country). Values may be double-quoted.
+public class CsvUserImportReader implements UserImportReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber;
+
+    public CsvUserImportReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        lineNumber++;
+        List<String> names = parseLine(header.startsWith("﻿") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+    }
+
+    @Override
+    public UserImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        List<String> values = parseLine(line);
+        String dob = value(values, "dob");
+        String apartmentNumber = value(values, "apartmentNumber");
+        try {
+            return UserImportRecord.builder()
+                    .email(value(values, "email"))
+                    .password(value(values, "password"))
+                    .passwordHash(value(values, "passwordHash"))
+                    .firstName(value(values, "firstName"))
+                    .lastName(value(values, "lastName"))
+                    .phoneNumber(value(values, "phoneNumber"))
+                    .dob(dob == null ? null : LocalDate.parse(dob))
+                    .apartmentNumber(apartmentNumber == null ? null : Integer.valueOf(apartmentNumber))
+                    .street(value(values, "street"))
+                    .city(value(values, "city"))
+                    .country(value(values, "country"))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(String.format("Invalid value in line %s: %s", lineNumber, e.getMessage()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,35 @@
+package com.junior.company.ecommerce.userimport;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Reads users one by one from either a JSON array or a sequence of JSON objects (NDJSON).
+public class JsonUserImportReader implements UserImportReader {
+
+    private static final ObjectReader USER_READER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(UserImportRecord.class);
+
+    private final MappingIterator<UserImportRecord> records;
+
+    public JsonUserImportReader(InputStream inputStream) throws IOException {
+        this.records = USER_READER.readValues(inputStream);
+    }
+
+    @Override
+    public UserImportRecord next() throws IOException {
+        return records.hasNextValue() ? records.nextValue() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
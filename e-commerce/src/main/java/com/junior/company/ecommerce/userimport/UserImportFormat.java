@@ -0,0 +1,26 @@
+package com.junior.company.ecommerce.userimport;
+
+public enum UserImportFormat {
+
+    JSON("json"),
+    CSV("csv");
+
+    private final String extension;
+
+    UserImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static UserImportFormat of(String format) {
+        for (UserImportFormat importFormat : values()) {
+            if (importFormat.name().equalsIgnoreCase(format)) {
+                return importFormat;
+            }
+        }
+        throw new IllegalStateException(String.format("Import format: %s not supported. Pick: JSON / CSV", format));
+    }
+}
@@ -0,0 +1,22 @@
+package com.junior.company.ecommerce.userimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportReader extends Closeable {
+
+    // Returns null once the whole file has been read.
+    UserImportRecord next() throws IOException;
+
+    static UserImportReader of(UserImportFormat format, InputStream inputStream) throws IOException {
+        switch (format) {
+            case JSON:
+                return new JsonUserImportReader(inputStream);
+            case CSV:
+                return new CsvUserImportReader(inputStream);
+            default:
+                throw new IllegalStateException(String.format("Import format: %s not supported", format));
+        }
+    }
+}
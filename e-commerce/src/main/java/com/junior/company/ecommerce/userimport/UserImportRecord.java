@@ -0,0 +1,28 @@
+package com.junior.company.ecommerce.userimport;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+// A single user of an import file. Either a plain password or an already computed bcrypt passwordHash is given.
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public class UserImportRecord {
+
+    private String email;
+    private String password;
+    private String passwordHash;
+    private String firstName;
+    private String lastName;
+    private String phoneNumber;
+    private LocalDate dob;
+    private Integer apartmentNumber;
+    private String street;
+    private String city;
+    private String country;
+}
@@ -1,15 +1,17 @@
 package com.junior.company.ecommerce.validation;
 
-import org.springframework.beans.BeanWrapperImpl;
-
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.util.Objects;
+import java.util.function.Function;
 
+// Compares the fields through getter lambdas resolved on the first validated object. A validator instance
+// may be shared by classes declaring the same constraint, so they are resolved again when the class changes.
 public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Object> {
 
     private String firstFieldName;
     private String secondFieldName;
+    private volatile Accessors accessors;
 
     @Override
     public void initialize(FieldMatch constraintAnnotation) {
@@ -19,8 +21,29 @@ public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Obje
 
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
-        final Object firstObj = new BeanWrapperImpl(value).getPropertyValue(firstFieldName);
-        final Object secondObj = new BeanWrapperImpl(value).getPropertyValue(secondFieldName);
-        return Objects.equals(firstObj, secondObj);
+        if (value == null) {
+            return true;
+        }
+        Accessors current = accessors;
+        if (current == null || current.type != value.getClass()) {
+            current = new Accessors(value.getClass(),
+                    PropertyAccessors.getter(value.getClass(), firstFieldName),
+                    PropertyAccessors.getter(value.getClass(), secondFieldName));
+            accessors = current;
+        }
+        return Objects.equals(current.firstField.apply(value), current.secondField.apply(value));
+    }
+
+    private static class Accessors {
+
+        private final Class<?> type;
+        private final Function<Object, Object> firstField;
+        private final Function<Object, Object> secondField;
+
+        private Accessors(Class<?> type, Function<Object, Object> firstField, Function<Object, Object> secondField) {
+            this.type = type;
+            this.firstField = firstField;
+            this.secondField = secondField;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package com.junior.company.ecommerce.validation;
+
+import com.junior.company.ecommerce.model.OrderStatus;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class OrderStatusValidator implements ConstraintValidator<ValidOrderStatus, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return false;
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            if (status.name().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
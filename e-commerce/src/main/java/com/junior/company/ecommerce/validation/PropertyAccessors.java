@@ -0,0 +1,43 @@
+package com.junior.company.ecommerce.validation;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+// Turns the getter of a bean property into a lambda, so reading the property costs a plain method call
+// instead of a reflective lookup and invocation.
+final class PropertyAccessors {
+
+    private PropertyAccessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> type, String propertyName) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, propertyName);
+        Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+        if (readMethod == null) {
+            throw new IllegalStateException(String.format("Property %s of %s cannot be read",
+                    propertyName, type.getName()));
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflect(readMethod);
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            getter,
+                            getter.type().wrap())
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(String.format("Property %s of %s cannot be read",
+                    propertyName, type.getName()), e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.junior.company.ecommerce.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Constraint(validatedBy = OrderStatusValidator.class)
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidOrderStatus {
+
+    String message() default "Given wrong Order Status. Pick: PLACED / PAID / SHIPPED / DELIVERED / CANCELLED";
+
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
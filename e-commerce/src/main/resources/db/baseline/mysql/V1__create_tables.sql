@@ -1,6 +1,3 @@
-CREATE DATABASE IF NOT EXISTS clothes_e_commerce;
-USE clothes_e_commerce;
-
 CREATE TABLE product (
   id bigint AUTO_INCREMENT,
   product_name varchar(50) NOT NULL,
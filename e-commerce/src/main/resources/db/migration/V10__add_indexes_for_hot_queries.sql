@@ -0,0 +1,8 @@
+-- cart items are read by cart on every view of the cart, cart change and checkout
+CREATE INDEX IX_cart_item_cart_id ON cart_item (cart_id);
+
+-- orders are read by user (view of orders, personal data export, user deletion), optionally within a date range
+CREATE INDEX IX_purchase_order_app_user_id_date_of_order ON purchase_order (app_user_id, date_of_order);
+
+-- products are read by category; the primary key only serves lookups by product
+CREATE INDEX IX_product_category_category_id ON product_category (category_id, product_id);
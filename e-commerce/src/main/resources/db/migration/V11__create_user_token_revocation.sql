@@ -0,0 +1,7 @@
+-- tokens of a user issued before not_before are rejected (user deleted), see UserTokenRevocations
+CREATE TABLE user_token_revocation (
+  app_user_id bigint NOT NULL,
+  not_before datetime NOT NULL,
+
+  PRIMARY KEY (app_user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
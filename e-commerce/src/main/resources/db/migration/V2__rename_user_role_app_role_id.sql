@@ -0,0 +1,2 @@
+-- the entity mapping and the JDBC user import join user_role to app_role by role_id
+ALTER TABLE user_role CHANGE COLUMN app_role_id role_id bigint NOT NULL;
@@ -0,0 +1,6 @@
+-- orders move from PLACED through PAID and SHIPPED to DELIVERED, or to CANCELLED, and admins change them by status
+ALTER TABLE purchase_order ADD COLUMN status varchar(20) NOT NULL DEFAULT 'PLACED' AFTER date_of_order;
+CREATE INDEX IX_purchase_order_status ON purchase_order (status);
+
+-- orders are exported by date range
+CREATE INDEX IX_purchase_order_date_of_order ON purchase_order (date_of_order);
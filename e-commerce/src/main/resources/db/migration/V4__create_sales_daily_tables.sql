@@ -0,0 +1,17 @@
+CREATE TABLE sales_daily_product (
+  sale_date date NOT NULL,
+  product_id bigint NOT NULL,
+  units bigint NOT NULL,
+  revenue decimal(14,2) NOT NULL,
+
+  PRIMARY KEY (sale_date, product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+CREATE TABLE sales_daily_category (
+  sale_date date NOT NULL,
+  category_id bigint NOT NULL,
+  units bigint NOT NULL,
+  revenue decimal(14,2) NOT NULL,
+
+  PRIMARY KEY (sale_date, category_id)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
@@ -0,0 +1 @@
+ALTER TABLE product ADD COLUMN low_stock_threshold int NOT NULL DEFAULT 5 AFTER product_description;
@@ -0,0 +1,6 @@
+CREATE TABLE revoked_refresh_token (
+  token_id varchar(36) NOT NULL,
+  expires_at datetime NOT NULL,
+
+  PRIMARY KEY (token_id)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
@@ -0,0 +1,17 @@
+CREATE TABLE user_import_job (
+  id bigint NOT NULL AUTO_INCREMENT,
+  file_name varchar(255) NOT NULL,
+  format varchar(10) NOT NULL,
+  status varchar(20) NOT NULL,
+  processed_records bigint NOT NULL,
+  imported_users bigint NOT NULL,
+  skipped_users bigint NOT NULL,
+  invalid_records bigint NOT NULL,
+  hashing_millis bigint NOT NULL,
+  elapsed_millis bigint NOT NULL,
+  started_at datetime NOT NULL,
+  finished_at datetime DEFAULT NULL,
+  last_error varchar(255) DEFAULT NULL,
+
+  PRIMARY KEY (id)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
@@ -0,0 +1,12 @@
+CREATE TABLE user_deletion_job (
+  id bigint NOT NULL AUTO_INCREMENT,
+  app_user_id bigint NOT NULL,
+  status varchar(20) NOT NULL,
+  deleted_rows bigint NOT NULL,
+  requested_at datetime NOT NULL,
+  finished_at datetime DEFAULT NULL,
+  last_error varchar(255) DEFAULT NULL,
+
+  PRIMARY KEY (id),
+  INDEX IX_user_deletion_job_app_user_id (app_user_id)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
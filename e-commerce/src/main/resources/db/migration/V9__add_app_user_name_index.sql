@@ -0,0 +1,2 @@
+-- admins search users by last name prefix, ordered by last name, first name and id
+CREATE INDEX IX_app_user_last_name_first_name ON app_user (last_name, first_name, id);
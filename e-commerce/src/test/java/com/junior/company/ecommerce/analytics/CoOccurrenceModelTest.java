@@ -0,0 +1,119 @@
+package com.junior.company.ecommerce.analytics;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CoOccurrenceModelTest {
+
+    @Test
+    void shouldRankNeighboursByOrdersInCommon() {
+
+        // given
+        CoOccurrenceModel coOccurrenceModel = new CoOccurrenceModel(2, 10, 100);
+        coOccurrenceModel.addOrder(new long[]{1, 2, 3});
+        coOccurrenceModel.addOrder(new long[]{1, 3});
+        coOccurrenceModel.addOrder(new long[]{1, 3, 4});
+        coOccurrenceModel.addOrder(new long[]{1, 4, 4});
+
+        // when
+        Ranking result = coOccurrenceModel.neighboursOf(1);
+
+        // then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.productId(0)).isEqualTo(3L);
+        assertThat(result.count(0)).isEqualTo(3L);
+        assertThat(result.productId(1)).isEqualTo(4L);
+        assertThat(result.count(1)).isEqualTo(2L);
+        assertThat(coOccurrenceModel.neighboursOf(4).productId(0)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldReturnEmptyRanking_givenUnknownProduct() {
+
+        // given
+        CoOccurrenceModel coOccurrenceModel = new CoOccurrenceModel(2, 10, 100);
+        coOccurrenceModel.addOrder(new long[]{1});
+
+        // when
+        Ranking result = coOccurrenceModel.neighboursOf(1);
+
+        // then
+        assertThat(result.size()).isEqualTo(0);
+        assertThat(coOccurrenceModel.stats().getProducts()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldKeepStrongestNeighbours_whenTrackedNeighboursAreExceeded() {
+
+        // given
+        CoOccurrenceModel coOccurrenceModel = new CoOccurrenceModel(2, 4, 100);
+        for (int i = 0; i < 5; i++) {
+            coOccurrenceModel.addOrder(new long[]{1, 2});
+        }
+        for (int i = 0; i < 3; i++) {
+            coOccurrenceModel.addOrder(new long[]{1, 3});
+        }
+
+        // when
+        for (long neighbour = 10; neighbour < 30; neighbour++) {
+            coOccurrenceModel.addOrder(new long[]{1, neighbour});
+        }
+
+        // then
+        Ranking result = coOccurrenceModel.neighboursOf(1);
+        assertThat(result.productId(0)).isEqualTo(2L);
+        assertThat(result.count(0)).isEqualTo(5L);
+        assertThat(result.productId(1)).isEqualTo(3L);
+        assertThat(result.count(1)).isEqualTo(3L);
+        assertThat(coOccurrenceModel.stats().getPairs()).isLessThanOrEqualTo(30L);
+    }
+
+    @Test
+    void shouldNotTrackMoreProductsThanAllowed() {
+
+        // given
+        CoOccurrenceModel coOccurrenceModel = new CoOccurrenceModel(2, 10, 2);
+
+        // when
+        coOccurrenceModel.addOrder(new long[]{1, 2, 3});
+
+        // then
+        CoOccurrenceModel.Stats result = coOccurrenceModel.stats();
+        assertThat(result.getProducts()).isEqualTo(2);
+        assertThat(result.getPairs()).isEqualTo(4L);
+        assertThat(result.getEstimatedBytes()).isPositive();
+    }
+
+    @Test
+    void shouldCountAllConcurrentOrders() throws InterruptedException {
+
+        // given
+        CoOccurrenceModel coOccurrenceModel = new CoOccurrenceModel(5, 20, 100);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int thread = 0; thread < 8; thread++) {
+            executorService.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    coOccurrenceModel.addOrder(new long[]{1, 2, 3});
+                }
+            });
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        Ranking result = coOccurrenceModel.neighboursOf(2);
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.count(0)).isEqualTo(8_000L);
+        assertThat(result.count(1)).isEqualTo(8_000L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.junior.company.ecommerce.analytics;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SlidingHeavyHittersTest {
+
+    private static final long BUCKET_MILLIS = 1000;
+    private static final long NOW = 1_000_000;
+
+    @Test
+    void shouldRankProductsByUnitsSold() {
+
+        // given
+        SlidingHeavyHitters heavyHitters = new SlidingHeavyHitters(BUCKET_MILLIS, 10, 2);
+        heavyHitters.add(1L, 5, NOW, NOW);
+        heavyHitters.add(2L, 9, NOW, NOW);
+        heavyHitters.add(3L, 1, NOW, NOW);
+        heavyHitters.add(1L, 7, NOW - BUCKET_MILLIS, NOW);
+
+        // when
+        heavyHitters.refresh(NOW);
+        Ranking result = heavyHitters.top();
+
+        // then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.productId(0)).isEqualTo(1L);
+        assertThat(result.count(0)).isEqualTo(12L);
+        assertThat(result.productId(1)).isEqualTo(2L);
+        assertThat(result.count(1)).isEqualTo(9L);
+    }
+
+    @Test
+    void shouldForgetSalesOutsideOfWindow() {
+
+        // given
+        SlidingHeavyHitters heavyHitters = new SlidingHeavyHitters(BUCKET_MILLIS, 10, 2);
+        heavyHitters.add(1L, 5, NOW, NOW);
+        heavyHitters.add(2L, 3, NOW + 5 * BUCKET_MILLIS, NOW + 5 * BUCKET_MILLIS);
+        heavyHitters.add(3L, 100, NOW - 10 * BUCKET_MILLIS, NOW);
+
+        // when
+        long later = NOW + 10 * BUCKET_MILLIS;
+        heavyHitters.refresh(later);
+        Ranking result = heavyHitters.top();
+
+        // then
+        assertThat(heavyHitters.estimate(1L, later)).isEqualTo(0L);
+        assertThat(heavyHitters.estimate(3L, later)).isEqualTo(0L);
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.productId(0)).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldReuseBucketOfExpiredTimeSlot() {
+
+        // given
+        SlidingHeavyHitters heavyHitters = new SlidingHeavyHitters(BUCKET_MILLIS, 2, 2);
+        heavyHitters.add(1L, 5, NOW, NOW);
+
+        // when
+        long later = NOW + 3 * BUCKET_MILLIS;
+        heavyHitters.add(1L, 2, later, later);
+
+        // then
+        assertThat(heavyHitters.estimate(1L, later)).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldCountAllConcurrentSales() throws InterruptedException {
+
+        // given
+        SlidingHeavyHitters heavyHitters = new SlidingHeavyHitters(BUCKET_MILLIS, 10, 5);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int thread = 0; thread < 8; thread++) {
+            executorService.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    heavyHitters.add(i % 4, 1, NOW, NOW);
+                }
+            });
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        heavyHitters.refresh(NOW);
+
+        // then
+        Ranking result = heavyHitters.top();
+        assertThat(result.size()).isEqualTo(4);
+        for (int position = 0; position < result.size(); position++) {
+            assertThat(result.count(position)).isEqualTo(20_000L);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.junior.company.ecommerce.checkout;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CheckoutBatchQueueTest {
+
+    @Test
+    void shouldDrainRingBufferInOrder_whenValuesOffered() {
+
+        // given
+        CheckoutRingBuffer<Integer> ring = new CheckoutRingBuffer<>(4);
+        List<Integer> batch = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            ring.offer(i);
+        }
+        int drained = ring.drainTo(batch, 3);
+
+        // then
+        assertThat(drained).isEqualTo(3);
+        assertThat(batch).containsExactly(0, 1, 2);
+        assertThat(ring.offer(5)).isTrue();
+        assertThat(ring.drainTo(batch, 10)).isEqualTo(2);
+        assertThat(batch).containsExactly(0, 1, 2, 3, 5);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldNotCreateRingBuffer_givenCapacityNotPowerOfTwo() {
+
+        // when then
+        assertThatThrownBy(() -> new CheckoutRingBuffer<Integer>(3))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Ring buffer capacity must be a power of two");
+    }
+
+    @Test
+    void shouldHandleEveryValueOnceOnWriterOfItsShard_whenSubmittedConcurrently() throws Exception {
+
+        // given
+        Map<Long, String> writers = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> handled = new ConcurrentHashMap<>();
+        AtomicInteger batches = new AtomicInteger();
+        CheckoutBatchQueue<Long> queue = new CheckoutBatchQueue<>(2, 1024, 4, (batch) -> {
+            batches.incrementAndGet();
+            for (Long value : batch) {
+                handled.computeIfAbsent(value, (key) -> new AtomicInteger()).incrementAndGet();
+                writers.put(value, Thread.currentThread().getName());
+            }
+        }, (batch, e) -> {
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        for (long value = 0; value < 1000; value++) {
+            long submitted = value;
+            executorService.execute(() -> queue.submit(submitted, submitted));
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        queue.close();
+
+        // then
+        assertThat(handled).hasSize(1000);
+        assertThat(handled.values()).allMatch((count) -> count.get() == 1);
+        assertThat(writers.get(0L)).isEqualTo("checkout-writer-0");
+        assertThat(writers.get(1L)).isEqualTo("checkout-writer-1");
+        assertThat(batches.get()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    void shouldPassBatchToFailureHandlerAndKeepWriting_whenHandlerThrowsError() throws Exception {
+
+        // given
+        List<Long> failed = new CopyOnWriteArrayList<>();
+        List<Long> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        CheckoutBatchQueue<Long> queue = new CheckoutBatchQueue<>(1, 8, 1, (batch) -> {
+            if (batch.contains(0L)) {
+                throw new StackOverflowError();
+            }
+            handled.addAll(batch);
+            done.countDown();
+        }, (batch, e) -> {
+            failed.addAll(batch);
+            done.countDown();
+        });
+
+        // when
+        queue.submit(0, 0L);
+        queue.submit(0, 1L);
+        boolean result = done.await(10, TimeUnit.SECONDS);
+        queue.close();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(failed).containsExactly(0L);
+        assertThat(handled).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRejectValue_whenRingOfShardIsFull() throws Exception {
+
+        // given
+        CountDownLatch released = new CountDownLatch(1);
+        List<Long> handled = new CopyOnWriteArrayList<>();
+        CheckoutBatchQueue<Long> queue = new CheckoutBatchQueue<>(1, 2, 1, (batch) -> {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.addAll(batch);
+        }, (batch, e) -> {
+        });
+        List<Boolean> accepted = new ArrayList<>();
+
+        // when
+        for (long value = 0; value < 4; value++) {
+            accepted.add(queue.submit(0, value));
+        }
+        released.countDown();
+        queue.close();
+
+        // then
+        assertThat(accepted.get(3)).isFalse();
+        assertThat(handled).hasSize((int) accepted.stream().filter((value) -> value).count());
+    }
+
+    @Test
+    void shouldHandleEveryAcceptedValue_whenClosedWhileSubmitting() throws Exception {
+
+        // given
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        Set<Long> accepted = ConcurrentHashMap.newKeySet();
+        CheckoutBatchQueue<Long> queue = new CheckoutBatchQueue<>(2, 8, 4, handled::addAll, (batch, e) -> {
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (long value = 0; value < 10000; value++) {
+            long submitted = value;
+            executorService.execute(() -> {
+                try {
+                    if (queue.submit(submitted, submitted)) {
+                        accepted.add(submitted);
+                    }
+                } catch (IllegalStateException e) {
+                    // closed before this submit
+                }
+            });
+        }
+
+        // when
+        queue.close();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(handled).containsAll(accepted);
+    }
+}
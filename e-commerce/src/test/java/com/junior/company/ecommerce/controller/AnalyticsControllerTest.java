@@ -0,0 +1,184 @@
+package com.junior.company.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.BoughtTogetherStatsResponse;
+import com.junior.company.ecommerce.dto.SalesResponse;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.BoughtTogetherService;
+import com.junior.company.ecommerce.service.SalesRollupService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AnalyticsController.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private SalesRollupService salesRollupService;
+
+    @MockBean
+    private BoughtTogetherService boughtTogetherService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetBoughtTogetherStats() throws Exception {
+
+        // given
+        BoughtTogetherStatsResponse stats = BoughtTogetherStatsResponse.builder()
+                .products(2)
+                .maxProducts(100000)
+                .pairs(2L)
+                .trackedNeighbours(100)
+                .estimatedBytes(512L)
+                .build();
+
+        given(boughtTogetherService.getStats()).willReturn(stats);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved statistics of frequently bought together products")
+                .data(Map.of("stats", stats))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/analytics/bought-together"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetDailySales() throws Exception {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        List<SalesResponse> sales = List.of(SalesResponse.builder()
+                .date(LocalDate.of(2022, 1, 2))
+                .units(3L)
+                .revenue(30.0)
+                .build());
+
+        given(salesRollupService.findDailySales(from, to)).willReturn(sales);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved daily sales from: 2022-01-01 to: 2022-01-31")
+                .data(Map.of("sales", sales))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/analytics/sales")
+                        .param("from", "2022-01-01")
+                        .param("to", "2022-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetProductSales_givenProductId() throws Exception {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        List<SalesResponse> sales = List.of(SalesResponse.builder()
+                .date(LocalDate.of(2022, 1, 2))
+                .productId(1L)
+                .units(3L)
+                .revenue(30.0)
+                .build());
+
+        given(salesRollupService.findProductSales(from, to, 1L)).willReturn(sales);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved product sales from: 2022-01-01 to: 2022-01-31")
+                .data(Map.of("sales", sales))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/analytics/sales/products")
+                        .param("from", "2022-01-01")
+                        .param("to", "2022-01-31")
+                        .param("productId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetCategorySales() throws Exception {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        List<SalesResponse> sales = List.of(SalesResponse.builder()
+                .date(LocalDate.of(2022, 1, 2))
+                .categoryId(1L)
+                .units(3L)
+                .revenue(30.0)
+                .build());
+
+        given(salesRollupService.findCategorySales(from, to, null)).willReturn(sales);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved category sales from: 2022-01-01 to: 2022-01-31")
+                .data(Map.of("sales", sales))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/analytics/sales/categories")
+                        .param("from", "2022-01-01")
+                        .param("to", "2022-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotGetDailySales_whenUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/analytics/sales")
+                        .param("from", "2022-01-01")
+                        .param("to", "2022-01-31"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -2,10 +2,17 @@ package com.junior.company.ecommerce.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.junior.company.ecommerce.dto.AddressRequest;
+import com.junior.company.ecommerce.dto.AppUserPageResponse;
+import com.junior.company.ecommerce.dto.UserSearchPageResponse;
+import com.junior.company.ecommerce.dto.UserSearchResponse;
 import com.junior.company.ecommerce.dto.AppUserRequest;
 import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.LoginAttemptsResponse;
+import com.junior.company.ecommerce.dto.PasswordHashingStatsResponse;
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
 import com.junior.company.ecommerce.exception.PermissionDeniedException;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
 import com.junior.company.ecommerce.mapper.AppUserMapper;
 import com.junior.company.ecommerce.model.*;
 import com.junior.company.ecommerce.security.AppUserDetailsService;
@@ -21,18 +28,23 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AppUserController.class)
@@ -53,7 +65,7 @@ class AppUserControllerTest {
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
-    void shouldGetListOfUsers() throws Exception {
+    void shouldGetPageOfUsers() throws Exception {
 
         // given
         Role role = new Role(1L, "USER");
@@ -102,24 +114,109 @@ class AppUserControllerTest {
                 .build();
 
         List<AppUser> appUsers = List.of(appUserOne, appUserTwo);
+        AppUserPageResponse page = AppUserPageResponse.builder()
+                .users(AppUserMapper.mapAppUsersToAppUserResponses(appUsers))
+                .nextAfterId(2L)
+                .build();
+
+        given(appUserService.findUsersPage(0L, 2)).willReturn(page);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved page of users")
+                .data(Map.of("page", page))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/users")
+                        .param("afterId", "0")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldSearchUsersByEmail() throws Exception {
+
+        // given
+        UserSearchPageResponse page = UserSearchPageResponse.builder()
+                .users(List.of(UserSearchResponse.builder()
+                        .id(1L)
+                        .email("one@email.com")
+                        .firstName("firstname_one")
+                        .lastName("lastname_one")
+                        .enabled(true)
+                        .build()))
+                .page(0)
+                .size(20)
+                .hasNext(false)
+                .build();
 
-        given(appUserService.findUsers()).willReturn(
-                AppUserMapper.mapAppUsersToAppUserResponses(appUsers));
+        given(appUserService.searchUsers("one", null, 0, 20)).willReturn(page);
 
         Response expectedResponseBody = Response.builder()
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
-                .message("Retrieved list of users")
-                .data(Map.of("users", appUserService.findUsers()))
+                .message("Retrieved users matching search")
+                .data(Map.of("page", page))
                 .build();
 
         // when then
-        mockMvc.perform(get("/api/v1/users"))
+        mockMvc.perform(get("/api/v1/users/search")
+                        .param("email", "one"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotSearchUsers_whenCurrentUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/search")
+                        .param("lastName", "last"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldExportUsersAsNdjson() throws Exception {
+
+        // given
+        willAnswer((invocation) -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(appUserService).exportUsers(any());
+
+        // when then
+        mockMvc.perform(get("/api/v1/users").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldExportPersonalDataAsJson_givenValidUserId() throws Exception {
+
+        // given
+        willAnswer((invocation) -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1,\"orders\":[]}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(appUserService).exportPersonalData(eq(1L), any());
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/{userId}/personal-data", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"personal_data_1.json\""))
+                .andExpect(content().string("{\"id\":1,\"orders\":[]}"));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     void shouldGetUserById_givenValidUserId() throws Exception {
@@ -338,6 +435,118 @@ class AppUserControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
 
+    @Test
+    void shouldNotRegisterUser_whenPasswordHashingIsOverloaded() throws Exception {
+
+        // given
+        AddressRequest addressRequest = AddressRequest.builder()
+                .id(1L)
+                .apartmentNumber(100)
+                .street("street_one")
+                .city("city_one")
+                .country("country_one")
+                .build();
+        AppUserRequest appUserRequest = AppUserRequest.builder()
+                .id(1L)
+                .email("one@email.com")
+                .password("password_one")
+                .matchingPassword("password_one")
+                .firstName("firstname_one")
+                .lastName("lastname_one")
+                .phoneNumber("987654321")
+                .dob(LocalDate.of(2000, 1, 1))
+                .address(addressRequest)
+                .build();
+
+        given(appUserService.registerUser(any())).willThrow(
+                new ServiceOverloadedException("Too many password hashing requests, try again later", 1));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Too many password hashing requests, try again later")
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(appUserRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetPasswordHashingStats() throws Exception {
+
+        // given
+        PasswordHashingStatsResponse stats = PasswordHashingStatsResponse.builder()
+                .threads(4)
+                .queueCapacity(100)
+                .queueDepth(3)
+                .activeHashes(4)
+                .completedHashes(10L)
+                .rejectedHashes(1L)
+                .averageHashMillis(80.0)
+                .maxHashMillis(120.0)
+                .build();
+
+        given(appUserService.getPasswordHashingStats()).willReturn(stats);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved statistics of password hashing")
+                .data(Map.of("stats", stats))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/password-hashing"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetLoginAttempts_givenEmailAndAddress() throws Exception {
+
+        // given
+        LoginAttemptsResponse attempts = LoginAttemptsResponse.builder()
+                .email("user@email.com")
+                .emailFailures(10)
+                .maxEmailFailures(10)
+                .emailBlocked(true)
+                .address("10.0.0.1")
+                .addressFailures(12)
+                .maxAddressFailures(100)
+                .addressBlocked(false)
+                .windowSeconds(900L)
+                .rejectedByEmail(3L)
+                .rejectedByAddress(0L)
+                .memoryBytes(2621440L)
+                .build();
+
+        given(appUserService.getLoginAttempts("user@email.com", "10.0.0.1")).willReturn(attempts);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved failed login attempts")
+                .data(Map.of("attempts", attempts))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/login-attempts")
+                        .param("email", "user@email.com")
+                        .param("address", "10.0.0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void shouldUpdateUser_givenValidAppUserRequest() throws Exception {
@@ -429,18 +638,25 @@ class AppUserControllerTest {
         // given
         Long userId = 1L;
 
-        given(appUserService.deleteUserById(userId)).willReturn(true);
+        UserDeletionJobResponse userDeletionJobResponse = UserDeletionJobResponse.builder()
+                .id(1L)
+                .userId(userId)
+                .status(UserDeletionStatus.QUEUED)
+                .deletedRows(0L)
+                .build();
+
+        given(appUserService.deleteUserById(userId)).willReturn(userDeletionJobResponse);
 
         Response expectedResponseBody = Response.builder()
-                .status(HttpStatus.OK)
-                .statusCode(HttpStatus.OK.value())
-                .message(String.format("Deleted user with id: %s", userId))
-                .data(Map.of("is_deleted", appUserService.deleteUserById(userId)))
+                .status(HttpStatus.ACCEPTED)
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .message(String.format("Deleting user with id: %s", userId))
+                .data(Map.of("deletion", userDeletionJobResponse))
                 .build();
 
         // when then
         mockMvc.perform(delete("/api/v1/users/{userId}", userId))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
@@ -33,6 +33,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CategoryController.class)
@@ -81,6 +82,8 @@ class CategoryControllerTest {
         // when then
         mockMvc.perform(get("/api/v1/categories"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "100"))
+                .andExpect(header().exists("RateLimit-Remaining"))
                 .andExpect(content().contentType(APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
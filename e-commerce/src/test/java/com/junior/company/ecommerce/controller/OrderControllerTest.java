@@ -0,0 +1,207 @@
+package com.junior.company.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.dto.OrderStatusRequest;
+import com.junior.company.ecommerce.dto.OrderStatusResponse;
+import com.junior.company.ecommerce.export.OrderExportFormat;
+import com.junior.company.ecommerce.model.Order;
+import com.junior.company.ecommerce.model.OrderStatus;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.OrderService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrdersToOrderResponses;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderController.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetListOfOrdersByStatus() throws Exception {
+
+        // given
+        Order order = Order.builder()
+                .id(1L)
+                .orderItems(new ArrayList<>())
+                .totalValue(10.0)
+                .dateOfOrder(LocalDateTime.of(2022, 1, 1, 12, 0))
+                .status(OrderStatus.PAID)
+                .build();
+        List<OrderResponse> orderResponses = mapOrdersToOrderResponses(List.of(order));
+
+        given(orderService.findOrdersByStatus("PAID", 0, 10)).willReturn(orderResponses);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved list of orders with status: PAID")
+                .data(Map.of("orders", orderResponses))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/orders").param("status", "PAID"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotGetListOfOrdersByStatus_whenUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/orders").param("status", "PAID"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldUpdateOrderStatus_givenValidOrderStatusRequest() throws Exception {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(Set.of(1L, 2L))
+                .status("PAID")
+                .build();
+        OrderStatusResponse orderStatusResponse = OrderStatusResponse.builder()
+                .status(OrderStatus.PAID)
+                .requested(2)
+                .updated(1)
+                .rejected(Map.of(2L, "Cannot change status from DELIVERED to PAID"))
+                .build();
+
+        given(orderService.updateOrderStatus(any())).willReturn(orderStatusResponse);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Updated status of orders")
+                .data(Map.of("result", orderStatusResponse))
+                .build();
+
+        // when then
+        mockMvc.perform(put("/api/v1/orders/status")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderStatusRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldNotUpdateOrderStatus_givenInvalidStatus() throws Exception {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(Set.of(1L))
+                .status("LOST")
+                .build();
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("status", "Given wrong Order Status. Pick: PLACED / PAID / SHIPPED / DELIVERED / CANCELLED");
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .message("error occurred")
+                .data(Map.of("errors", errors))
+                .build();
+
+        // when then
+        mockMvc.perform(put("/api/v1/orders/status")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderStatusRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldExportOrders_givenValidDateRange() throws Exception {
+
+        // given
+        willAnswer((invocation) -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("order_id\n1\n".getBytes());
+            return null;
+        }).given(orderService).exportOrders(eq(LocalDate.of(2022, 3, 1)), eq(LocalDate.of(2022, 3, 31)),
+                eq(OrderExportFormat.CSV), any());
+
+        // when then
+        mockMvc.perform(get("/api/v1/orders/export")
+                        .param("from", "2022-03-01")
+                        .param("to", "2022-03-31")
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"orders_2022-03-01_2022-03-31.csv\""))
+                .andExpect(content().string("order_id\n1\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldNotExportOrders_givenUnsupportedFormat() throws Exception {
+
+        // given
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .message("Export format: xml not supported. Pick: CSV / NDJSON")
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/orders/export")
+                        .param("from", "2022-03-01")
+                        .param("to", "2022-03-31")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+        verify(orderService, never()).exportOrders(any(), any(), any(), any());
+    }
+}
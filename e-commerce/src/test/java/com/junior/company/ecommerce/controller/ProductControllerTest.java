@@ -1,8 +1,11 @@
 package com.junior.company.ecommerce.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.BestsellerResponse;
+import com.junior.company.ecommerce.dto.BoughtTogetherResponse;
 import com.junior.company.ecommerce.dto.ItemRequest;
 import com.junior.company.ecommerce.dto.ItemResponse;
+import com.junior.company.ecommerce.dto.LowStockItemResponse;
 import com.junior.company.ecommerce.dto.ProductRequest;
 import com.junior.company.ecommerce.dto.ProductResponse;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
@@ -12,6 +15,9 @@ import com.junior.company.ecommerce.model.Product;
 import com.junior.company.ecommerce.model.Response;
 import com.junior.company.ecommerce.model.WeatherSeason;
 import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.BestsellerService;
+import com.junior.company.ecommerce.service.BoughtTogetherService;
+import com.junior.company.ecommerce.service.LowStockService;
 import com.junior.company.ecommerce.service.ProductService;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -65,9 +71,110 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private BestsellerService bestsellerService;
+
+    @MockBean
+    private BoughtTogetherService boughtTogetherService;
+
+    @MockBean
+    private LowStockService lowStockService;
+
     @MockBean
     private AppUserDetailsService appUserDetailsService;
 
+    @Test
+    void shouldGetListOfBestsellers() throws Exception {
+
+        // given
+        List<BestsellerResponse> bestsellers = List.of(BestsellerResponse.builder()
+                .productId(1L)
+                .name("basic black t-shirt")
+                .unitsSold(12L)
+                .build());
+
+        given(bestsellerService.findBestsellers("hour", 5)).willReturn(bestsellers);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved bestsellers of the last: hour")
+                .data(Map.of("bestsellers", bestsellers))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/products/bestsellers")
+                        .param("window", "hour")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    void shouldGetListOfProductsBoughtTogether() throws Exception {
+
+        // given
+        List<BoughtTogetherResponse> boughtTogether = List.of(BoughtTogetherResponse.builder()
+                .productId(2L)
+                .timesBoughtTogether(7L)
+                .build());
+
+        given(boughtTogetherService.findBoughtTogether(1L, 10)).willReturn(boughtTogether);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved products bought together with product with id: 1")
+                .data(Map.of("products", boughtTogether))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/products/1/bought-together"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetListOfLowStockItems() throws Exception {
+
+        // given
+        List<LowStockItemResponse> lowStockItems = List.of(LowStockItemResponse.builder()
+                .itemId(1L)
+                .productId(1L)
+                .productName("basic black t-shirt")
+                .size("S")
+                .quantity(2)
+                .lowStockThreshold(5)
+                .build());
+
+        given(lowStockService.findLowStockItems()).willReturn(lowStockItems);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved list of items low on stock")
+                .data(Map.of("items", lowStockItems))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/products/items/low-stock"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotGetListOfLowStockItems_whenUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/products/items/low-stock"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void shouldGetListOfProducts() throws Exception {
 
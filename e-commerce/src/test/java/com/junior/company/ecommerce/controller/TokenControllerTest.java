@@ -0,0 +1,122 @@
+package com.junior.company.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.RefreshTokenRequest;
+import com.junior.company.ecommerce.dto.TokenResponse;
+import com.junior.company.ecommerce.exception.PermissionDeniedException;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.RefreshTokenService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TokenController.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TokenControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    void shouldRefreshAccessToken_givenValidRefreshToken() throws Exception {
+
+        // given
+        RefreshTokenRequest refreshTokenRequest = RefreshTokenRequest.builder()
+                .refreshToken("refresh")
+                .build();
+        TokenResponse tokens = TokenResponse.builder()
+                .accessToken("new-access")
+                .refreshToken("new-refresh")
+                .build();
+
+        given(refreshTokenService.refreshAccessToken("refresh")).willReturn(tokens);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Refreshed access token")
+                .data(Map.of("access_token", "new-access", "refresh_token", "new-refresh"))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/token/refresh")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshTokenRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_givenRevokedRefreshToken() throws Exception {
+
+        // given
+        RefreshTokenRequest refreshTokenRequest = RefreshTokenRequest.builder()
+                .refreshToken("revoked")
+                .build();
+
+        given(refreshTokenService.refreshAccessToken("revoked"))
+                .willThrow(new PermissionDeniedException("Refresh token has been revoked"));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .message("Refresh token has been revoked")
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/token/refresh")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshTokenRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    void shouldRevokeRefreshToken() throws Exception {
+
+        // given
+        RefreshTokenRequest refreshTokenRequest = RefreshTokenRequest.builder()
+                .refreshToken("refresh")
+                .build();
+
+        given(refreshTokenService.revokeRefreshToken("refresh")).willReturn(true);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Revoked refresh token")
+                .data(Map.of("is_revoked", true))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/token/revoke")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshTokenRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+}
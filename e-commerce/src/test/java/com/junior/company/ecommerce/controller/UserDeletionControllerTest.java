@@ -0,0 +1,92 @@
+package com.junior.company.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.model.UserDeletionStatus;
+import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.UserDeletionService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserDeletionController.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class UserDeletionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private UserDeletionService userDeletionService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetDeletionById() throws Exception {
+
+        // given
+        UserDeletionJobResponse userDeletionJobResponse = UserDeletionJobResponse.builder()
+                .id(1L)
+                .userId(2L)
+                .status(UserDeletionStatus.COMPLETED)
+                .deletedRows(42L)
+                .build();
+        given(userDeletionService.findDeletionById(1L)).willReturn(userDeletionJobResponse);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved user deletion with id: 1")
+                .data(Map.of("deletion", userDeletionJobResponse))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/deletions/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldNotGetDeletionById_givenInvalidDeletionId() throws Exception {
+
+        // given
+        given(userDeletionService.findDeletionById(0L)).willThrow(
+                new ResourceNotFoundException("User deletion with id: 0 not found"));
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/deletions/0"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotGetDeletionById_whenUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/deletions/1"))
+                .andExpect(status().isForbidden());
+    }
+}
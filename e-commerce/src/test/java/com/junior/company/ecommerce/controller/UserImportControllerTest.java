@@ -0,0 +1,118 @@
+package com.junior.company.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.ecommerce.dto.UserImportJobResponse;
+import com.junior.company.ecommerce.model.Response;
+import com.junior.company.ecommerce.model.UserImportStatus;
+import com.junior.company.ecommerce.security.AppUserDetailsService;
+import com.junior.company.ecommerce.service.UserImportService;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserImportController.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldStartImport_givenCsvFile() throws Exception {
+
+        // given
+        UserImportJobResponse userImportJobResponse = userImportJobResponse(UserImportStatus.RUNNING);
+        given(userImportService.startImport(eq(UserImportFormat.CSV), any())).willReturn(userImportJobResponse);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.ACCEPTED)
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .message("Started import of users")
+                .data(Map.of("import", userImportJobResponse))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/users/import").param("format", "csv")
+                        .content("email,password\ntom@email.com,password\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetBadRequest_givenUnsupportedImportFormat() throws Exception {
+
+        // when then
+        mockMvc.perform(post("/api/v1/users/import").param("format", "xml").content("<users/>"))
+                .andExpect(status().isBadRequest());
+        verify(userImportService, never()).startImport(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetImportById() throws Exception {
+
+        // given
+        UserImportJobResponse userImportJobResponse = userImportJobResponse(UserImportStatus.COMPLETED);
+        given(userImportService.findImportById(1L)).willReturn(userImportJobResponse);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved user import with id: 1")
+                .data(Map.of("import", userImportJobResponse))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/import/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    private static UserImportJobResponse userImportJobResponse(UserImportStatus status) {
+        return UserImportJobResponse.builder()
+                .id(1L)
+                .format(UserImportFormat.CSV)
+                .status(status)
+                .processedRecords(1L)
+                .importedUsers(1L)
+                .skippedUsers(0L)
+                .invalidRecords(0L)
+                .elapsedSeconds(0.5)
+                .hashingSeconds(0.1)
+                .usersPerSecond(2.0)
+                .build();
+    }
+}
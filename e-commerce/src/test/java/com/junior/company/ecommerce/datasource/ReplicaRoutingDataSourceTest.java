@@ -0,0 +1,160 @@
+package com.junior.company.ecommerce.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replicaOne = database("replica_one");
+    private final DataSource replicaTwo = database("replica_two");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReadFromReplicasInTurn_inReadOnlyTransactions() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(replicaOne, replicaTwo), 60000);
+
+        // when
+        String first = readDatabaseName(dataSource, true);
+        String second = readDatabaseName(dataSource, true);
+        String third = readDatabaseName(dataSource, true);
+
+        // then
+        assertThat(first).isEqualTo("replica_one");
+        assertThat(second).isEqualTo("replica_two");
+        assertThat(third).isEqualTo("replica_one");
+    }
+
+    @Test
+    void shouldUsePrimary_inReadWriteTransactionAndWithoutTransaction() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(replicaOne), 60000);
+
+        // when
+        String inTransaction = readDatabaseName(dataSource, false);
+        String withoutTransaction = new JdbcTemplate(dataSource).queryForObject("SELECT name FROM database_name",
+                String.class);
+
+        // then
+        assertThat(inTransaction).isEqualTo("primary");
+        assertThat(withoutTransaction).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadFromPrimary_afterOwnWriteWithinStickyWindow() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(replicaOne), 60000);
+        authenticate("one@email.com");
+        readDatabaseName(dataSource, false);
+
+        // when
+        String ownRead = readDatabaseName(dataSource, true);
+        authenticate("two@email.com");
+        String otherUserRead = readDatabaseName(dataSource, true);
+        SecurityContextHolder.clearContext();
+        String anonymousRead = readDatabaseName(dataSource, true);
+
+        // then
+        assertThat(ownRead).isEqualTo("primary");
+        assertThat(otherUserRead).isEqualTo("replica_one");
+        assertThat(anonymousRead).isEqualTo("replica_one");
+    }
+
+    @Test
+    void shouldReadFromReplica_afterOwnTransactionRolledBack() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(replicaOne), 60000);
+        authenticate("one@email.com");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.executeWithoutResult((status) -> {
+            new JdbcTemplate(dataSource).update("UPDATE database_name SET name = 'changed'");
+            status.setRollbackOnly();
+        });
+
+        // when
+        String result = readDatabaseName(dataSource, true);
+
+        // then
+        assertThat(result).isEqualTo("replica_one");
+        assertThat(readDatabaseName(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldReadFromReplica_afterOwnWrite_givenNoStickyWindow() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(replicaOne), 0);
+        authenticate("one@email.com");
+        readDatabaseName(dataSource, false);
+
+        // when
+        String result = readDatabaseName(dataSource, true);
+
+        // then
+        assertThat(result).isEqualTo("replica_one");
+    }
+
+    @Test
+    void shouldReadFromPrimary_givenNoReplicas() {
+
+        // given
+        DataSource dataSource = routingDataSource(List.of(), 60000);
+
+        // when
+        String result = readDatabaseName(dataSource, true);
+
+        // then
+        assertThat(result).isEqualTo("primary");
+    }
+
+    private DataSource routingDataSource(List<DataSource> replicas, long stickyPrimaryMillis) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicas, stickyPrimaryMillis, 100));
+    }
+
+    private static String readDatabaseName(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute((status) -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT name FROM database_name", String.class));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE database_name (name varchar(20))");
+        jdbcTemplate.update("INSERT INTO database_name (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
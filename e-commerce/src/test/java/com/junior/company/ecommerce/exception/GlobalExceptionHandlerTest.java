@@ -0,0 +1,51 @@
+package com.junior.company.ecommerce.exception;
+
+import com.junior.company.ecommerce.model.Response;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    void shouldReportSameErrorOfField_whenViolationsComeInAnyOrder() throws NoSuchMethodException {
+
+        // given
+        FieldError notBlank = fieldError("NotBlank", "Cannot be empty");
+        FieldError length = fieldError("Length", "Min length is 1");
+
+        // when
+        Object result = errors(List.of(notBlank, length));
+        Object reversedResult = errors(List.of(length, notBlank));
+
+        // then
+        assertThat(result).isEqualTo(Map.of("size", "Min length is 1"));
+        assertThat(reversedResult).isEqualTo(result);
+    }
+
+    private Object errors(List<FieldError> fieldErrors) throws NoSuchMethodException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "itemRequest");
+        fieldErrors.forEach(bindingResult::addError);
+        MethodParameter parameter = new MethodParameter(Object.class.getMethod("equals", Object.class), 0);
+        ResponseEntity<Response> response = globalExceptionHandler
+                .handleMethodArgumentNotValidException(new MethodArgumentNotValidException(parameter, bindingResult));
+        return response.getBody().getData().get("errors");
+    }
+
+    private static FieldError fieldError(String code, String message) {
+        return new FieldError("itemRequest", "size", "", false, new String[]{code}, null, message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.junior.company.ecommerce.inventory;
+
+import com.junior.company.ecommerce.model.StockChangeReason;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class InventoryEventLogTest {
+
+    private static final long NOW = 1_000_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadAppendedRecords() throws IOException {
+
+        // given
+        try (InventoryEventLog log = new InventoryEventLog(directory, 16)) {
+            log.append(1L, 10, StockChangeReason.BASELINE, 0, NOW);
+            long record = log.append(1L, -2, StockChangeReason.CHECKOUT, 7L, NOW + 1);
+            log.awaitDurable(record);
+        }
+        List<String> records = new ArrayList<>();
+
+        // when
+        long result = InventoryEventLog.read(directory, (itemId, delta, reason, orderId, timestamp) ->
+                records.add(itemId + ":" + delta + ":" + reason + ":" + orderId + ":" + timestamp));
+
+        // then
+        assertThat(result).isEqualTo(2);
+        assertThat(records).containsExactly(
+                "1:10:BASELINE:0:" + NOW,
+                "1:-2:CHECKOUT:7:" + (NOW + 1));
+    }
+
+    @Test
+    void shouldRollOverToNewSegment_whenSegmentIsFull() throws IOException {
+
+        // given
+        try (InventoryEventLog log = new InventoryEventLog(directory, 4)) {
+
+            // when
+            for (int i = 0; i < 10; i++) {
+                log.append(i, 1, StockChangeReason.ITEM_CREATED, 0, NOW);
+            }
+        }
+
+        // then
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments.count()).isEqualTo(3);
+        }
+        assertThat(InventoryEventLog.read(directory, (itemId, delta, reason, orderId, timestamp) -> {
+        })).isEqualTo(10);
+    }
+
+    @Test
+    void shouldContinueAfterLastRecord_whenReopened() throws IOException {
+
+        // given
+        try (InventoryEventLog log = new InventoryEventLog(directory, 4)) {
+            for (int i = 0; i < 5; i++) {
+                log.append(1L, 1, StockChangeReason.ITEM_UPDATED, 0, NOW);
+            }
+        }
+
+        // when
+        try (InventoryEventLog log = new InventoryEventLog(directory, 4)) {
+            assertThat(log.isEmpty()).isFalse();
+            log.append(1L, -3, StockChangeReason.CHECKOUT, 1L, NOW);
+        }
+
+        // then
+        assertThat(InventoryLogReplay.replay(directory).getRecords()).isEqualTo(6);
+        assertThat(InventoryLogReplay.replay(directory).getQuantity(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotAppend_whenClosed() throws IOException {
+
+        // given
+        InventoryEventLog log = new InventoryEventLog(directory, 4);
+        log.close();
+
+        // when then
+        assertThatThrownBy(() -> log.append(1L, 1, StockChangeReason.CHECKOUT, 0, NOW))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Inventory log is closed");
+    }
+
+    @Test
+    void shouldReplayStockOfManyItems() throws IOException {
+
+        // given
+        try (InventoryEventLog log = new InventoryEventLog(directory, 1024)) {
+            for (long itemId = 1; itemId <= 5000; itemId++) {
+                log.append(itemId, 100, StockChangeReason.BASELINE, 0, NOW);
+            }
+            for (long itemId = 1; itemId <= 5000; itemId++) {
+                log.append(itemId, (int) -(itemId % 100), StockChangeReason.CHECKOUT, itemId, NOW);
+            }
+        }
+
+        // when
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+
+        // then
+        assertThat(result.getRecords()).isEqualTo(10000);
+        assertThat(result.size()).isEqualTo(5000);
+        assertThat(result.getQuantity(1L)).isEqualTo(99);
+        assertThat(result.getQuantity(250L)).isEqualTo(50);
+        assertThat(result.getQuantity(5001L)).isZero();
+    }
+}
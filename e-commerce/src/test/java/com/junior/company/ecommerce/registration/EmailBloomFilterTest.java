@@ -0,0 +1,54 @@
+package com.junior.company.ecommerce.registration;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class EmailBloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedEmail_ignoringCase() {
+
+        // given
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        IntStream.range(0, 10000).forEach((i) -> filter.add(String.format("user%s@email.com", i)));
+
+        // when then
+        assertThat(IntStream.range(0, 10000)
+                .allMatch((i) -> filter.mightContain(String.format("user%s@email.com", i)))).isTrue();
+        assertThat(filter.mightContain("USER42@Email.com")).isTrue();
+        assertThat(filter.getAdditions()).isEqualTo(10000L);
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearExpectedProbability() {
+
+        // given
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        IntStream.range(0, 10000).forEach((i) -> filter.add(String.format("user%s@email.com", i)));
+
+        // when
+        long falsePositives = IntStream.range(0, 100000)
+                .filter((i) -> filter.mightContain(String.format("other%s@email.com", i)))
+                .count();
+
+        // then
+        assertThat(falsePositives).isLessThan(2000L);
+        assertThat(filter.getHashFunctions()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldNotContainEmail_givenEmptyFilter() {
+
+        // given
+        EmailBloomFilter filter = new EmailBloomFilter(100, 0.01);
+
+        // when then
+        assertThat(filter.mightContain("user@email.com")).isFalse();
+    }
+}
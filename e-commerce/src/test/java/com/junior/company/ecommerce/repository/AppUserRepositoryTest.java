@@ -1,12 +1,21 @@
 package com.junior.company.ecommerce.repository;
 
+import com.junior.company.ecommerce.dto.AppUserListView;
+import com.junior.company.ecommerce.dto.AuthUserView;
+import com.junior.company.ecommerce.dto.UserRoleView;
+import com.junior.company.ecommerce.dto.UserSearchView;
 import com.junior.company.ecommerce.model.Address;
 import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
+import com.junior.company.ecommerce.model.Role;
+import com.junior.company.ecommerce.userimport.UserImportRecord;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,7 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 class AppUserRepositoryTest {
@@ -22,6 +31,12 @@ class AppUserRepositoryTest {
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private static Cart cart;
     private static Address address;
     private static AppUser appUser;
@@ -73,8 +88,7 @@ class AppUserRepositoryTest {
     void shouldFindUserAndAddressById_givenValidUserId() {
 
         // given
-        appUserRepository.save(appUser);
-        Long userId = 1L;
+        Long userId = appUserRepository.save(appUser).getId();
 
         // when
         Optional<AppUser> result = appUserRepository.findUserAndAddressByUserId(userId);
@@ -125,4 +139,269 @@ class AppUserRepositoryTest {
         // then
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindEmailPasswordEnabledAndRoles_givenValidUserEmail() {
+
+        // given
+        appUserRepository.save(appUser);
+        String email = "email@email.com";
+
+        // when
+        List<AuthUserView> result = appUserRepository.findAuthUserByEmail(email);
+
+        // then
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getEmail()).isEqualTo(email);
+        assertThat(result.get(0).getPassword()).isEqualTo("password");
+        assertThat(result.get(0).getEnabled()).isTrue();
+        assertThat(result.get(0).getRoleName()).isNull();
+    }
+
+    @Test
+    void shouldFindUsersAfterIdInIdOrder_withLimit() {
+
+        // given
+        AppUser saved = appUserRepository.save(appUser);
+
+        // when
+        List<AppUserListView> result = appUserRepository.findUsersAfterId(saved.getId() - 1, PageRequest.of(0, 1));
+        List<AppUserListView> empty = appUserRepository.findUsersAfterId(saved.getId(), PageRequest.of(0, 1));
+
+        // then
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getEmail()).isEqualTo("email@email.com");
+        assertThat(result.get(0).getCity()).isEqualTo("city");
+        assertThat(empty.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFindNoRolesByUserIds_givenUserWithoutRoles() {
+
+        // given
+        AppUser saved = appUserRepository.save(appUser);
+
+        // when
+        List<UserRoleView> result = appUserRepository.findRolesByUserIds(List.of(saved.getId()));
+
+        // then
+        assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFindExistingEmails() {
+
+        // given
+        appUserRepository.save(appUser);
+
+        // when
+        List<String> result = appUserRepository.findExistingEmails(List.of("email@email.com", "other@email.com"));
+
+        // then
+        assertThat(result).isEqualTo(List.of("email@email.com"));
+    }
+
+    @Test
+    void shouldInsertImportedUsersWithAddressesCartsAndRole() {
+
+        // given
+        Role role = roleRepository.saveAndFlush(Role.builder().name("USER").build());
+        List<UserImportRecord> users = List.of(importRecord("first@email.com"), importRecord("second@email.com"));
+
+        // when
+        appUserRepository.insertImportedUsers(users, role.getId());
+
+        // then
+        List<AuthUserView> first = appUserRepository.findAuthUserByEmail("first@email.com");
+        List<AuthUserView> second = appUserRepository.findAuthUserByEmail("second@email.com");
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(first.get(0).getPassword()).isEqualTo("hash");
+        assertThat(first.get(0).getCartId()).isNotNull();
+        assertThat(first.get(0).getRoleName()).isEqualTo("USER");
+        assertThat(second.size()).isEqualTo(1);
+        assertThat(second.get(0).getCartId()).isNotEqualTo(first.get(0).getCartId());
+        assertThat(appUserRepository.findUserAndAddressByUserId(second.get(0).getId()).orElseThrow()
+                .getAddress().getCity()).isEqualTo("city");
+    }
+
+    @Test
+    void shouldSearchUsersByEmailPrefixInEmailOrder() {
+
+        // given
+        Role role = roleRepository.saveAndFlush(Role.builder().name("USER").build());
+        appUserRepository.insertImportedUsers(List.of(
+                importRecord("anna@email.com"),
+                importRecord("an_na@email.com"),
+                importRecord("adam@email.com"),
+                importRecord("bob@email.com")), role.getId());
+
+        // when
+        Slice<UserSearchView> result = appUserRepository.searchByEmail("a%", PageRequest.of(0, 2));
+        Slice<UserSearchView> escaped = appUserRepository.searchByEmail("an!_%", PageRequest.of(0, 2));
+
+        // then
+        assertThat(result.getContent()).extracting(UserSearchView::getEmail)
+                .containsExactly("adam@email.com", "an_na@email.com");
+        assertThat(result.hasNext()).isTrue();
+        assertThat(escaped.getContent()).extracting(UserSearchView::getEmail).containsExactly("an_na@email.com");
+        assertThat(escaped.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldSearchUsersByLastNamePrefixInLastNameAndFirstNameOrder() {
+
+        // given
+        Role role = roleRepository.saveAndFlush(Role.builder().name("USER").build());
+        appUserRepository.insertImportedUsers(List.of(
+                importRecord("one@email.com", "Jan", "Kowalski"),
+                importRecord("two@email.com", "Piotr", "Kowal"),
+                importRecord("three@email.com", "Adam", "Kowalski"),
+                importRecord("four@email.com", "Jan", "Nowak")), role.getId());
+
+        // when
+        Slice<UserSearchView> result = appUserRepository.searchByLastName("Kowal%", PageRequest.of(1, 2));
+
+        // then
+        assertThat(result.getContent()).extracting(UserSearchView::getEmail).containsExactly("one@email.com");
+        assertThat(result.getContent().get(0).getFirstName()).isEqualTo("Jan");
+        assertThat(result.getContent().get(0).getEnabled()).isTrue();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    private static UserImportRecord importRecord(String email) {
+        return importRecord(email, "first_name", "last_name");
+    }
+
+    private static UserImportRecord importRecord(String email, String firstName, String lastName) {
+        return UserImportRecord.builder()
+                .email(email)
+                .passwordHash("hash")
+                .firstName(firstName)
+                .lastName(lastName)
+                .phoneNumber("987654321")
+                .dob(LocalDate.of(1990, 2, 2))
+                .apartmentNumber(100)
+                .street("street")
+                .city("city")
+                .country("country")
+                .build();
+    }
+
+    @Test
+    void shouldCheckIfEmailExists() {
+
+        // given
+        appUserRepository.save(appUser);
+
+        // when
+        boolean taken = appUserRepository.existsByEmail("email@email.com");
+        boolean free = appUserRepository.existsByEmail("other@email.com");
+
+        // then
+        assertThat(taken).isTrue();
+        assertThat(free).isFalse();
+    }
+
+    @Test
+    void shouldScrollAllEmails() {
+
+        // given
+        appUserRepository.save(appUser);
+        List<String> emails = new ArrayList<>();
+
+        // when
+        appUserRepository.scrollEmails(emails::add);
+
+        // then
+        assertThat(emails).isEqualTo(List.of("email@email.com"));
+    }
+
+    @Test
+    void shouldDeleteUserWithOrdersAndCartItemsInChunks() {
+
+        // given
+        Role role = roleRepository.saveAndFlush(Role.builder().name("USER").build());
+        appUserRepository.insertImportedUsers(List.of(importRecord("deleted@email.com"),
+                importRecord("kept@email.com")), role.getId());
+        Long deletedUserId = appUserRepository.findAuthUserByEmail("deleted@email.com").get(0).getId();
+        Long keptUserId = appUserRepository.findAuthUserByEmail("kept@email.com").get(0).getId();
+        executeSql("INSERT INTO item (id, size, quantity) VALUES (1000, 'M', 10)");
+        for (long orderId = 1000; orderId < 1003; orderId++) {
+            executeSql(String.format("INSERT INTO purchase_order (id, total_value, date_of_order, status, " +
+                    "app_user_id) VALUES (%s, 10.0, CURRENT_TIMESTAMP, 'PLACED', %s)", orderId, deletedUserId));
+            executeSql(String.format("INSERT INTO order_item (amount, item_id, purchase_order_id) " +
+                    "VALUES (1, 1000, %s)", orderId));
+        }
+        executeSql(String.format("INSERT INTO purchase_order (id, total_value, date_of_order, status, app_user_id) " +
+                "VALUES (1003, 10.0, CURRENT_TIMESTAMP, 'PLACED', %s)", keptUserId));
+        executeSql(String.format("INSERT INTO cart_item (amount, item_id, cart_id) " +
+                "SELECT 1, 1000, cart_id FROM app_user WHERE id = %s", deletedUserId));
+
+        // when
+        int firstOrdersChunk = appUserRepository.deleteOrdersChunk(deletedUserId, 2);
+        int secondOrdersChunk = appUserRepository.deleteOrdersChunk(deletedUserId, 2);
+        int lastOrdersChunk = appUserRepository.deleteOrdersChunk(deletedUserId, 2);
+        int cartItems = appUserRepository.deleteCartItemsChunk(deletedUserId, 2);
+        int userRows = appUserRepository.deleteUserRows(deletedUserId);
+
+        // then
+        assertThat(firstOrdersChunk).isEqualTo(4);
+        assertThat(secondOrdersChunk).isEqualTo(2);
+        assertThat(lastOrdersChunk).isEqualTo(0);
+        assertThat(cartItems).isEqualTo(1);
+        assertThat(userRows).isEqualTo(4);
+        assertThat(appUserRepository.existsByEmail("deleted@email.com")).isFalse();
+        assertThat(appUserRepository.existsByEmail("kept@email.com")).isTrue();
+        assertThat(countRows("SELECT COUNT(*) FROM purchase_order")).isEqualTo(1L);
+        assertThat(countRows("SELECT COUNT(*) FROM address")).isEqualTo(1L);
+        assertThat(countRows("SELECT COUNT(*) FROM cart")).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldDeleteOrdersAndCartItemsLeftOver_whenDeletingUserRows() {
+
+        // given
+        Role role = roleRepository.saveAndFlush(Role.builder().name("USER").build());
+        appUserRepository.insertImportedUsers(List.of(importRecord("deleted@email.com")), role.getId());
+        Long deletedUserId = appUserRepository.findAuthUserByEmail("deleted@email.com").get(0).getId();
+        executeSql("INSERT INTO item (id, size, quantity) VALUES (1000, 'M', 10)");
+        executeSql(String.format("INSERT INTO purchase_order (id, total_value, date_of_order, status, app_user_id) " +
+                "VALUES (1000, 10.0, CURRENT_TIMESTAMP, 'PLACED', %s)", deletedUserId));
+        executeSql("INSERT INTO order_item (amount, item_id, purchase_order_id) VALUES (1, 1000, 1000)");
+        executeSql(String.format("INSERT INTO cart_item (amount, item_id, cart_id) " +
+                "SELECT 1, 1000, cart_id FROM app_user WHERE id = %s", deletedUserId));
+
+        // when
+        int userRows = appUserRepository.deleteUserRows(deletedUserId);
+
+        // then
+        assertThat(userRows).isEqualTo(7);
+        assertThat(appUserRepository.existsByEmail("deleted@email.com")).isFalse();
+        assertThat(countRows("SELECT COUNT(*) FROM purchase_order")).isEqualTo(0L);
+        assertThat(countRows("SELECT COUNT(*) FROM order_item")).isEqualTo(0L);
+        assertThat(countRows("SELECT COUNT(*) FROM cart_item")).isEqualTo(0L);
+    }
+
+    @Test
+    void shouldDisableUser() {
+
+        // given
+        Long userId = appUserRepository.saveAndFlush(appUser).getId();
+
+        // when
+        int updated = appUserRepository.disableUser(userId);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(appUserRepository.findEmailById(userId)).isEqualTo(Optional.of("email@email.com"));
+        assertThat(appUserRepository.findAuthUserByEmail("email@email.com").get(0).getEnabled()).isFalse();
+    }
+
+    private void executeSql(String sql) {
+        testEntityManager.getEntityManager().createNativeQuery(sql).executeUpdate();
+    }
+
+    private long countRows(String sql) {
+        return ((Number) testEntityManager.getEntityManager().createNativeQuery(sql).getSingleResult()).longValue();
+    }
+}
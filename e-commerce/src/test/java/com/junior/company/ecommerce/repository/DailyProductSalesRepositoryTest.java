@@ -0,0 +1,76 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.DailySalesView;
+import com.junior.company.ecommerce.model.DailyProductSales;
+import com.junior.company.ecommerce.model.SalesRollupId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class DailyProductSalesRepositoryTest {
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void shouldIncrementOnlyExistingRollupRow() {
+
+        // given
+        SalesRollupId existingId = new SalesRollupId(LocalDate.of(2022, 1, 2), 1L);
+        SalesRollupId missingId = new SalesRollupId(LocalDate.of(2022, 1, 2), 2L);
+        dailyProductSalesRepository.save(productSales(existingId, 2L, 20.0));
+        testEntityManager.flush();
+
+        // when
+        int existingResult = dailyProductSalesRepository.increment(existingId, 3L, 30.0);
+        int missingResult = dailyProductSalesRepository.increment(missingId, 3L, 30.0);
+        testEntityManager.clear();
+
+        // then
+        assertThat(existingResult).isEqualTo(1);
+        assertThat(missingResult).isEqualTo(0);
+        DailyProductSales result = dailyProductSalesRepository.findById(existingId).orElseThrow();
+        assertThat(result.getUnits()).isEqualTo(5L);
+        assertThat(result.getRevenue()).isEqualTo(50.0);
+    }
+
+    @Test
+    void shouldSumSalesPerDayWithinRange() {
+
+        // given
+        dailyProductSalesRepository.save(productSales(new SalesRollupId(LocalDate.of(2022, 1, 2), 1L), 2L, 20.0));
+        dailyProductSalesRepository.save(productSales(new SalesRollupId(LocalDate.of(2022, 1, 2), 2L), 1L, 15.0));
+        dailyProductSalesRepository.save(productSales(new SalesRollupId(LocalDate.of(2022, 1, 3), 1L), 1L, 10.0));
+        dailyProductSalesRepository.save(productSales(new SalesRollupId(LocalDate.of(2022, 2, 1), 1L), 1L, 10.0));
+        testEntityManager.flush();
+
+        // when
+        List<DailySalesView> result = dailyProductSalesRepository.sumBySaleDateBetween(
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 1, 31));
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getSaleDate()).isEqualTo(LocalDate.of(2022, 1, 2));
+        assertThat(result.get(0).getUnits()).isEqualTo(3L);
+        assertThat(result.get(0).getRevenue()).isEqualTo(35.0);
+        assertThat(result.get(1).getSaleDate()).isEqualTo(LocalDate.of(2022, 1, 3));
+    }
+
+    private static DailyProductSales productSales(SalesRollupId id, Long units, Double revenue) {
+        return DailyProductSales.builder()
+                .id(id)
+                .units(units)
+                .revenue(revenue)
+                .build();
+    }
+}
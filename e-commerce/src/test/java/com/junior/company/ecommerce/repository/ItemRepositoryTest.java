@@ -0,0 +1,95 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.model.Cart;
+import com.junior.company.ecommerce.model.CartItem;
+import com.junior.company.ecommerce.model.Item;
+import com.junior.company.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without the test transaction, so that the checkout and the update commit and lock like in production.
+@DataJpaTest
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldReadQuantityCommittedByCheckout_whenLockingItemLockedByCheckout() throws Exception {
+
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long[] ids = transactionTemplate.execute((status) -> {
+            Product product = Product.builder()
+                    .name("name")
+                    .price(10.0)
+                    .description("description")
+                    .build();
+            entityManager.persist(product);
+            Item item = Item.builder()
+                    .size("L")
+                    .quantity(10)
+                    .product(product)
+                    .build();
+            entityManager.persist(item);
+            CartItem cartItem = CartItem.builder()
+                    .item(item)
+                    .amount(3)
+                    .build();
+            entityManager.persist(cartItem);
+            Cart cart = Cart.builder()
+                    .totalValue(30.0)
+                    .cartItems(List.of(cartItem))
+                    .build();
+            entityManager.persist(cart);
+            return new Long[]{item.getId(), cart.getId()};
+        });
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> checkout = CompletableFuture.runAsync(() -> transactionTemplate.execute((status) -> {
+            Item item = itemRepository.findItemsInCartsForUpdate(List.of(ids[1])).get(0);
+            item.setQuantity(item.getQuantity() - 3);
+            locked.countDown();
+            sleep();
+            return null;
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Integer result = transactionTemplate.execute((status) ->
+                itemRepository.findByIdForUpdate(ids[0]).orElseThrow().getQuantity());
+
+        // then
+        checkout.get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(7);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
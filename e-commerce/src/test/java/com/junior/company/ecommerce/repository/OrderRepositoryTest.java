@@ -0,0 +1,261 @@
+package com.junior.company.ecommerce.repository;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.dto.OrderStatusView;
+import com.junior.company.ecommerce.model.AppUser;
+import com.junior.company.ecommerce.model.Item;
+import com.junior.company.ecommerce.model.Order;
+import com.junior.company.ecommerce.model.OrderItem;
+import com.junior.company.ecommerce.model.OrderStatus;
+import com.junior.company.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DirtiesContext
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void shouldUpdateStatusOnlyOfOrdersInSourceStatus() {
+
+        // given
+        Order placed = orderRepository.save(order(OrderStatus.PLACED));
+        Order delivered = orderRepository.save(order(OrderStatus.DELIVERED));
+        testEntityManager.flush();
+
+        // when
+        int result = orderRepository.updateStatus(OrderStatus.PAID,
+                List.of(placed.getId(), delivered.getId()), OrderStatus.PLACED);
+        testEntityManager.clear();
+
+        // then
+        assertThat(result).isEqualTo(1);
+        assertThat(orderRepository.findById(placed.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(orderRepository.findById(delivered.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void shouldFindStatusesByIds() {
+
+        // given
+        Order placed = orderRepository.save(order(OrderStatus.PLACED));
+        testEntityManager.flush();
+
+        // when
+        List<OrderStatusView> result = orderRepository.findStatusesByIds(List.of(placed.getId(), 0L));
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(placed.getId());
+        assertThat(result.get(0).getStatus()).isEqualTo(OrderStatus.PLACED);
+    }
+
+    @Test
+    void shouldScrollOrderLinesInDateRange() {
+
+        // given
+        Product product = testEntityManager.persist(Product.builder()
+                .name("name")
+                .price(10.0)
+                .description("description")
+                .build());
+        Item item = testEntityManager.persist(Item.builder()
+                .size("L")
+                .quantity(10)
+                .product(product)
+                .build());
+        Order inRange = orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(2).build(),
+                        OrderItem.builder().item(item).amount(1).build())))
+                .totalValue(30.0)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 15, 10, 0))
+                .status(OrderStatus.PLACED)
+                .build());
+        orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(5).build())))
+                .totalValue(50.0)
+                .dateOfOrder(LocalDateTime.of(2022, 4, 1, 0, 0))
+                .status(OrderStatus.PLACED)
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<OrderExportLine> result = new ArrayList<>();
+
+        // when
+        orderRepository.scrollOrderLines(LocalDateTime.of(2022, 3, 1, 0, 0),
+                LocalDateTime.of(2022, 4, 1, 0, 0), result::add);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result).allSatisfy((line) -> {
+            assertThat(line.getOrderId()).isEqualTo(inRange.getId());
+            assertThat(line.getDateOfOrder()).isEqualTo(LocalDateTime.of(2022, 3, 15, 10, 0));
+            assertThat(line.getStatus()).isEqualTo(OrderStatus.PLACED);
+            assertThat(line.getItemId()).isEqualTo(item.getId());
+            assertThat(line.getProductName()).isEqualTo("name");
+        });
+        assertThat(result.get(0).getAmount()).isEqualTo(2);
+        assertThat(result.get(1).getAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldScrollOrderLinesInDateRangeUpToOrderId() {
+
+        // given
+        Product product = testEntityManager.persist(Product.builder()
+                .name("name")
+                .price(10.0)
+                .description("description")
+                .build());
+        Item item = testEntityManager.persist(Item.builder()
+                .size("L")
+                .quantity(10)
+                .product(product)
+                .build());
+        Order first = orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(2).build())))
+                .totalValue(20.0)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 15, 10, 0))
+                .status(OrderStatus.PLACED)
+                .build());
+        orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(5).build())))
+                .totalValue(50.0)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 16, 10, 0))
+                .status(OrderStatus.PLACED)
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<OrderExportLine> result = new ArrayList<>();
+
+        // when
+        orderRepository.scrollOrderLines(LocalDateTime.of(2022, 3, 1, 0, 0),
+                LocalDateTime.of(2022, 4, 1, 0, 0), first.getId(), result::add);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getOrderId()).isEqualTo(first.getId());
+        assertThat(result.get(0).getAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldScrollOrderLinesOfUser() {
+
+        // given
+        Product product = testEntityManager.persist(Product.builder()
+                .name("name")
+                .price(10.0)
+                .description("description")
+                .build());
+        Item item = testEntityManager.persist(Item.builder()
+                .size("L")
+                .quantity(10)
+                .product(product)
+                .build());
+        AppUser appUser = testEntityManager.persist(AppUser.builder()
+                .email("user@email.com")
+                .password("password")
+                .enabled(true)
+                .orders(new ArrayList<>(List.of(Order.builder()
+                        .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(2).build())))
+                        .totalValue(20.0)
+                        .dateOfOrder(LocalDateTime.of(2022, 3, 15, 10, 0))
+                        .status(OrderStatus.PLACED)
+                        .build())))
+                .build());
+        orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(item).amount(5).build())))
+                .totalValue(50.0)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 16, 10, 0))
+                .status(OrderStatus.PLACED)
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<OrderExportLine> result = new ArrayList<>();
+
+        // when
+        orderRepository.scrollUserOrderLines(appUser.getId(), result::add);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getAppUserId()).isEqualTo(appUser.getId());
+        assertThat(result.get(0).getAmount()).isEqualTo(2);
+        assertThat(result.get(0).getProductName()).isEqualTo("name");
+    }
+
+    @Test
+    void shouldScrollProductIdsOfOrdersInIdRange() {
+
+        // given
+        Product productOne = testEntityManager.persist(Product.builder()
+                .name("name_one")
+                .price(10.0)
+                .description("description")
+                .build());
+        Product productTwo = testEntityManager.persist(Product.builder()
+                .name("name_two")
+                .price(20.0)
+                .description("description")
+                .build());
+        Item itemOne = testEntityManager.persist(Item.builder()
+                .size("L")
+                .quantity(10)
+                .product(productOne)
+                .build());
+        Item itemTwo = testEntityManager.persist(Item.builder()
+                .size("M")
+                .quantity(10)
+                .product(productTwo)
+                .build());
+        Order both = orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(itemOne).amount(1).build(),
+                        OrderItem.builder().item(itemTwo).amount(1).build())))
+                .totalValue(30.0)
+                .dateOfOrder(LocalDateTime.now())
+                .status(OrderStatus.PLACED)
+                .build());
+        Order single = orderRepository.save(Order.builder()
+                .orderItems(new ArrayList<>(List.of(OrderItem.builder().item(itemTwo).amount(2).build())))
+                .totalValue(40.0)
+                .dateOfOrder(LocalDateTime.now())
+                .status(OrderStatus.PLACED)
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<long[]> result = new ArrayList<>();
+
+        // when
+        orderRepository.scrollOrderedProductIds(both.getId(), single.getId(), result::add);
+
+        // then
+        assertThat(orderRepository.findMaxId()).isEqualTo(single.getId());
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsExactlyInAnyOrder(productOne.getId(), productTwo.getId());
+        assertThat(result.get(1)).containsExactly(productTwo.getId());
+    }
+
+    private static Order order(OrderStatus status) {
+        return Order.builder()
+                .orderItems(new ArrayList<>())
+                .totalValue(10.0)
+                .dateOfOrder(LocalDateTime.now())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.junior.company.ecommerce.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Applies the H2 translation of the baseline (V1) and the migrations of db/migration to an H2 database in MySQL mode
+// and checks that the indexes added for the queries run on every request exist and are used by their plans.
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SchemaMigrationTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:schema_migration;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/baseline/h2", "classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void shouldApplyAllMigrationsInOrder() {
+
+        // when
+        List<String> result = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" " +
+                        "WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+
+        // then
+        assertThat(result).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11");
+    }
+
+    @Test
+    void shouldUseEmailIndex_whenLoadingUserForAuthentication() {
+
+        // when
+        // mirrors AppUserRepository.findAuthUserByEmail
+        String result = explain("SELECT u.id, c.id, u.email, u.user_password, u.enabled, r.role_name " +
+                "FROM app_user u " +
+                "LEFT JOIN cart c ON c.id = u.cart_id " +
+                "LEFT JOIN user_role ur ON ur.app_user_id = u.id " +
+                "LEFT JOIN app_role r ON r.id = ur.role_id " +
+                "WHERE u.email = 'user@email.com'");
+
+        // then
+        assertThat(result).contains("UQ_APP_USER_EMAIL");
+    }
+
+    @Test
+    void shouldUseCartIdIndex_whenLoadingCartItemsOfCart() {
+
+        // when
+        // mirrors the load of Cart.cartItems, joined by cart_id
+        String result = explain("SELECT ci.id, ci.amount, ci.item_id FROM cart_item ci WHERE ci.cart_id = 1");
+
+        // then
+        // H2 keeps the index it created for FK_cart_item_cart next to IX_cart_item_cart_id and may use either
+        assertThat(indexColumns("IX_CART_ITEM_CART_ID")).containsExactly("CART_ID");
+        assertThat(result).doesNotContain("tableScan").contains("CART_ID = 1");
+    }
+
+    @Test
+    void shouldUseUserIdIndex_whenLoadingOrderLinesOfUser() {
+
+        // when
+        // mirrors OrderRepositoryCustomImpl.scrollUserOrderLines
+        String result = explain(OrderRepositoryCustomImpl.ORDER_LINES_QUERY +
+                "WHERE po.app_user_id = 1 ORDER BY po.id, oi.id");
+
+        // then
+        // H2 keeps the index it created for FK_purchase_order_app_user next to
+        // IX_purchase_order_app_user_id_date_of_order and may use either
+        assertThat(indexColumns("IX_PURCHASE_ORDER_APP_USER_ID_DATE_OF_ORDER"))
+                .containsExactly("APP_USER_ID", "DATE_OF_ORDER");
+        assertThat(result).doesNotContain("tableScan").contains("APP_USER_ID = 1");
+    }
+
+    @Test
+    void shouldUseCategoryIdIndex_whenLoadingProductsOfCategory() {
+
+        // when
+        // mirrors the load of Category.products, joined through product_category by category_id
+        String result = explain("SELECT p.id, p.product_name, p.price " +
+                "FROM product_category pc " +
+                "JOIN product p ON p.id = pc.product_id " +
+                "WHERE pc.category_id = 1");
+
+        // then
+        assertThat(result).contains("IX_PRODUCT_CATEGORY_CATEGORY_ID");
+    }
+
+    private static String explain(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+    }
+
+    private static List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, indexName);
+    }
+}
@@ -0,0 +1,157 @@
+package com.junior.company.ecommerce.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one page (20 users) of the admin user search on a table of synthetic users, with (true) and
+// without (false) IX_app_user_last_name_first_name. The email search always has UQ_app_user_email.
+// The statements are the ones Hibernate generates for AppUserRepository.searchByEmail and searchByLastName.
+// Run with: mvn test-compile, then
+// java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+//     com.junior.company.ecommerce.repository.UserSearchBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int PREFIX_COUNT = 1024;
+    private static final String[] SYLLABLES = {"ka", "ko", "wal", "ski", "no", "wak", "ma", "rek", "zie", "lin",
+            "sta", "nis", "le", "wan", "dow", "ber", "gen", "tor", "mi", "chal"};
+
+    @Param({"2000000"})
+    private int users;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement searchByEmail;
+    private PreparedStatement searchByLastName;
+    private final String[] emailPrefixes = new String[PREFIX_COUNT];
+    private final String[] lastNamePrefixes = new String[PREFIX_COUNT];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:user_search_" + indexed + ";MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE app_user (id bigint AUTO_INCREMENT PRIMARY KEY, " +
+                    "email varchar(50) NOT NULL, user_password varchar(68) NOT NULL, enabled tinyint NOT NULL, " +
+                    "first_name varchar(50) NOT NULL, last_name varchar(50) NOT NULL, " +
+                    "phone_number varchar(20) NOT NULL, date_of_birth date NOT NULL, " +
+                    "CONSTRAINT UQ_app_user_email UNIQUE (email))");
+        }
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO app_user (email, user_password, " +
+                "enabled, first_name, last_name, phone_number, date_of_birth) VALUES (?, ?, 1, ?, ?, ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                String firstName = name(random, 2);
+                String lastName = name(random, 3);
+                String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@email.com";
+                insert.setString(1, email);
+                insert.setString(2, "$2a$10$hash");
+                insert.setString(3, firstName);
+                insert.setString(4, lastName);
+                insert.setString(5, "987654321");
+                insert.setDate(6, Date.valueOf(LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28)));
+                insert.addBatch();
+                if (i % 10000 == 9999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (i % (users / PREFIX_COUNT) == 0 && i / (users / PREFIX_COUNT) < PREFIX_COUNT) {
+                    emailPrefixes[i / (users / PREFIX_COUNT)] = email.substring(0, 6);
+                    lastNamePrefixes[i / (users / PREFIX_COUNT)] = lastName.substring(0, 5);
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX IX_app_user_last_name_first_name " +
+                        "ON app_user (last_name, first_name, id)");
+            }
+        }
+        searchByEmail = connection.prepareStatement("SELECT id, email, first_name, last_name, enabled " +
+                "FROM app_user WHERE email LIKE ? ESCAPE '!' ORDER BY email LIMIT ?, ?");
+        searchByLastName = connection.prepareStatement("SELECT id, email, first_name, last_name, enabled " +
+                "FROM app_user WHERE last_name LIKE ? ESCAPE '!' ORDER BY last_name, first_name, id LIMIT ?, ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long searchByEmailPrefix() throws SQLException {
+        return search(searchByEmail, emailPrefixes[next++ & (PREFIX_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public long searchByLastNamePrefix() throws SQLException {
+        return search(searchByLastName, lastNamePrefixes[next++ & (PREFIX_COUNT - 1)]);
+    }
+
+    private long search(PreparedStatement statement, String prefix) throws SQLException {
+        statement.setString(1, prefix + "%");
+        statement.setInt(2, 0);
+        statement.setInt(3, PAGE_SIZE + 1);
+        long sum = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                sum += resultSet.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    private static String name(Random random, int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
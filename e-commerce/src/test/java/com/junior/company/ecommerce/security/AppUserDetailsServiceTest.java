@@ -0,0 +1,151 @@
+package com.junior.company.ecommerce.security;
+
+import com.junior.company.ecommerce.dto.AuthUserView;
+import com.junior.company.ecommerce.event.AppUserChangedEvent;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class AppUserDetailsServiceTest {
+
+    private static final String EMAIL = "user@email.com";
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private AppUserDetailsService appUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        appUserDetailsService = new AppUserDetailsService(appUserRepository, 60, 100);
+    }
+
+    @Test
+    void shouldLoadUserByUsername_withAllRoles() {
+
+        // given
+        given(appUserRepository.findAuthUserByEmail(EMAIL))
+                .willReturn(List.of(authUserView("USER"), authUserView("ADMIN")));
+
+        // when
+        UserDetails result = appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // then
+        assertThat(result.getUsername()).isEqualTo(EMAIL);
+        assertThat(result.getPassword()).isEqualTo("hash");
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(((AppUserDetails) result).getUserId()).isEqualTo(1L);
+        assertThat(((AppUserDetails) result).getCartId()).isEqualTo(2L);
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldLoadUserByUsernameFromCache_whenLoadedBefore() {
+
+        // given
+        given(appUserRepository.findAuthUserByEmail(EMAIL)).willReturn(List.of(authUserView("USER")));
+        UserDetails loaded = appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // when
+        UserDetails result = appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // then
+        assertThat(result).isSameAs(loaded);
+        verify(appUserRepository, times(1)).findAuthUserByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldReloadUserByUsername_whenUserChanged() {
+
+        // given
+        given(appUserRepository.findAuthUserByEmail(EMAIL)).willReturn(List.of(authUserView("USER")));
+        appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // when
+        appUserDetailsService.onAppUserChanged(AppUserChangedEvent.builder().email(EMAIL).build());
+        appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // then
+        verify(appUserRepository, times(2)).findAuthUserByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldReloadUserByUsername_whenCacheEntryExpired() {
+
+        // given
+        appUserDetailsService = new AppUserDetailsService(appUserRepository, 0, 100);
+        given(appUserRepository.findAuthUserByEmail(EMAIL)).willReturn(List.of(authUserView("USER")));
+        appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // when
+        appUserDetailsService.loadUserByUsername(EMAIL);
+
+        // then
+        verify(appUserRepository, times(2)).findAuthUserByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldNotLoadUserByUsername_givenInvalidEmail() {
+
+        // given
+        given(appUserRepository.findAuthUserByEmail(EMAIL)).willReturn(List.of());
+
+        // when
+        // then
+        assertThatThrownBy(() -> appUserDetailsService.loadUserByUsername(EMAIL))
+                .isInstanceOf(UsernameNotFoundException.class)
+                .hasMessageContaining(String.format("User with email: %s not found", EMAIL));
+    }
+
+    private AuthUserView authUserView(String roleName) {
+        return new AuthUserView() {
+
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getCartId() {
+                return 2L;
+            }
+
+            @Override
+            public String getEmail() {
+                return EMAIL;
+            }
+
+            @Override
+            public String getPassword() {
+                return "hash";
+            }
+
+            @Override
+            public Boolean getEnabled() {
+                return true;
+            }
+
+            @Override
+            public String getRoleName() {
+                return roleName;
+            }
+        };
+    }
+}
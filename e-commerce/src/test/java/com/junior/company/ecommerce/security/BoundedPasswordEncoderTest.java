@@ -0,0 +1,92 @@
+package com.junior.company.ecommerce.security;
+
+import com.junior.company.ecommerce.dto.PasswordHashingStatsResponse;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BoundedPasswordEncoderTest {
+
+    private final PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    void shouldEncodeAndMatchPassword() {
+
+        // given
+        BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(4, passwordHashingExecutor);
+
+        // when
+        String result = passwordEncoder.encode("password");
+
+        // then
+        assertThat(result).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("password", result)).isTrue();
+        assertThat(passwordEncoder.matches("other", result)).isFalse();
+        PasswordHashingStatsResponse stats = passwordHashingExecutor.getStats();
+        assertThat(stats.getCompletedHashes()).isEqualTo(3);
+        assertThat(stats.getRejectedHashes()).isZero();
+    }
+
+    @Test
+    void shouldUpgradeEncoding_whenStrengthDiffers() {
+
+        // given
+        BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(5, passwordHashingExecutor);
+
+        // when then
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void shouldRejectHashing_whenQueueIsFull() throws Exception {
+
+        // given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        callers.execute(() -> passwordHashingExecutor.execute(() -> {
+            running.countDown();
+            await(release);
+            return "running";
+        }));
+        running.await();
+        callers.execute(() -> passwordHashingExecutor.execute(() -> "queued"));
+        while (passwordHashingExecutor.getStats().getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when then
+        assertThatThrownBy(() -> passwordHashingExecutor.execute(() -> "rejected"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("Too many password hashing requests, try again later");
+        assertThat(passwordHashingExecutor.getStats().getRejectedHashes()).isEqualTo(1);
+        release.countDown();
+        callers.shutdown();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
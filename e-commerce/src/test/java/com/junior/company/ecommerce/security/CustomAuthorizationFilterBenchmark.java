@@ -0,0 +1,83 @@
+package com.junior.company.ecommerce.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+// Cost of authorizing a request carrying the same bearer token, with (10000) and without (0) the verified-token cache.
+// Run with: mvn test-compile, then
+// java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+//     com.junior.company.ecommerce.security.CustomAuthorizationFilterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomAuthorizationFilterBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret";
+    private static final FilterChain FILTER_CHAIN = (request, response) -> {
+    };
+
+    @Param({"0", "10000"})
+    private int maxCachedTokens;
+
+    private CustomAuthorizationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(SecurityConstant.class, "SECRET_KEY", SECRET_KEY);
+        filter = new CustomAuthorizationFilter(maxCachedTokens, new UserTokenRevocations(3600));
+        authorizationHeader = "Bearer " + JWT.create()
+                .withSubject("user@email.com")
+                .withClaim("roles", List.of("ROLE_USER"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .withIssuer("http://localhost:8080/api/v1/login")
+                .sign(Algorithm.HMAC256(SECRET_KEY));
+    }
+
+    @Benchmark
+    public int filterAuthorizedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/carts");
+        request.setServletPath("/api/v1/carts");
+        request.addHeader(AUTHORIZATION, authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, FILTER_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomAuthorizationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
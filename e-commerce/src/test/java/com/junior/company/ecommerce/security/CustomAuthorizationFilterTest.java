@@ -0,0 +1,85 @@
+package com.junior.company.ecommerce.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CustomAuthorizationFilterTest {
+
+    private static final AppUserPrincipal PRINCIPAL = new AppUserPrincipal(1L, 2L, "user@email.com");
+    private static final String ISSUER = "http://localhost/api/v1/login";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(60, 600, 3600);
+    private final UserTokenRevocations userTokenRevocations = new UserTokenRevocations(3600);
+    private final CustomAuthorizationFilter customAuthorizationFilter =
+            new CustomAuthorizationFilter(100, userTokenRevocations);
+
+    @BeforeAll
+    static void beforeAll() {
+        ReflectionTestUtils.setField(SecurityConstant.class, "SECRET_KEY", "authorization-filter-test-secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthorizeRequest_givenValidAccessToken() throws Exception {
+
+        // given
+        String accessToken = jwtTokenProvider.createAccessToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        customAuthorizationFilter.doFilter(request(accessToken), response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .usingRecursiveComparison().isEqualTo(PRINCIPAL);
+    }
+
+    @Test
+    void shouldNotAuthorizeRequest_whenTokensOfUserRevokedAfterTokenWasCached() throws Exception {
+
+        // given
+        String accessToken = jwtTokenProvider.createAccessToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        customAuthorizationFilter.doFilter(request(accessToken), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        userTokenRevocations.revokeTokensOf(PRINCIPAL.getUserId(), System.currentTimeMillis());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        customAuthorizationFilter.doFilter(request(accessToken), response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        assertThat(response.getContentAsString()).contains("Token has been revoked");
+    }
+
+    private MockHttpServletRequest request(String accessToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/carts");
+        request.setServletPath("/api/v1/carts");
+        request.addHeader(AUTHORIZATION, "Bearer " + accessToken);
+        return request;
+    }
+}
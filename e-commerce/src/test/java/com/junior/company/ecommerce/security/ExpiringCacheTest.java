@@ -0,0 +1,85 @@
+package com.junior.company.ecommerce.security;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ExpiringCacheTest {
+
+    private static final long NOW = 1_000_000;
+
+    @Test
+    void shouldReturnAuthentication_untilTokenExpires() {
+
+        // given
+        ExpiringCache<String, Authentication> cache = new ExpiringCache<>(10);
+        Authentication authentication = authentication("user@email.com");
+
+        // when
+        cache.put("token", authentication, NOW + 1000, NOW);
+
+        // then
+        assertThat(cache.get("token", NOW + 999)).isSameAs(authentication);
+        assertThat(cache.get("token", NOW + 1000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotReturnEntry_whenRemoved() {
+
+        // given
+        ExpiringCache<String, Authentication> cache = new ExpiringCache<>(10);
+        cache.put("token", authentication("user@email.com"), NOW + 1000, NOW);
+
+        // when
+        cache.remove("token");
+
+        // then
+        assertThat(cache.get("token", NOW)).isNull();
+    }
+
+    @Test
+    void shouldNotCache_whenCacheIsDisabledOrTokenExpired() {
+
+        // given
+        ExpiringCache<String, Authentication> disabled = new ExpiringCache<>(0);
+        ExpiringCache<String, Authentication> cache = new ExpiringCache<>(10);
+
+        // when
+        disabled.put("token", authentication("user@email.com"), NOW + 1000, NOW);
+        cache.put("token", authentication("user@email.com"), NOW, NOW);
+
+        // then
+        assertThat(disabled.get("token", NOW)).isNull();
+        assertThat(cache.get("token", NOW)).isNull();
+    }
+
+    @Test
+    void shouldStayWithinMaxSize_whenFull() {
+
+        // given
+        ExpiringCache<String, Authentication> cache = new ExpiringCache<>(10);
+        cache.put("expired", authentication("expired@email.com"), NOW + 1, NOW);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            cache.put("token" + i, authentication("user@email.com"), NOW + 1000, NOW + 10);
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("expired", NOW + 10)).isNull();
+        assertThat(cache.get("token99", NOW + 10)).isNotNull();
+    }
+
+    private Authentication authentication(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+    }
+}
@@ -0,0 +1,71 @@
+package com.junior.company.ecommerce.security;
+
+import com.junior.company.ecommerce.dto.LoginAttemptsResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class LoginThrottleTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void shouldBlockEmail_afterMaxFailures_ignoringCase() {
+
+        // given
+        LoginThrottle loginThrottle = new LoginThrottle(60, 5, 2, 1024, 3, 100);
+        loginThrottle.recordFailure("user@email.com", "10.0.0.1", NOW);
+        loginThrottle.recordFailure("User@Email.com", "10.0.0.2", NOW);
+
+        // when
+        boolean beforeLimit = loginThrottle.isBlocked("user@email.com", "10.0.0.3", NOW);
+        loginThrottle.recordFailure("user@email.com", "10.0.0.3", NOW);
+        boolean atLimit = loginThrottle.isBlocked("USER@email.com", "10.0.0.4", NOW);
+        boolean otherEmail = loginThrottle.isBlocked("other@email.com", "10.0.0.4", NOW);
+
+        // then
+        assertThat(beforeLimit).isFalse();
+        assertThat(atLimit).isTrue();
+        assertThat(otherEmail).isFalse();
+    }
+
+    @Test
+    void shouldBlockAddress_afterMaxFailuresForAnyEmails() {
+
+        // given
+        LoginThrottle loginThrottle = new LoginThrottle(60, 5, 2, 1024, 10, 2);
+        loginThrottle.recordFailure("first@email.com", "10.0.0.1", NOW);
+        loginThrottle.recordFailure("second@email.com", "10.0.0.1", NOW);
+
+        // when
+        boolean sameAddress = loginThrottle.isBlocked("third@email.com", "10.0.0.1", NOW);
+        boolean otherAddress = loginThrottle.isBlocked("third@email.com", "10.0.0.2", NOW);
+
+        // then
+        assertThat(sameAddress).isTrue();
+        assertThat(otherAddress).isFalse();
+    }
+
+    @Test
+    void shouldGetAttempts_withRejectedLogins() {
+
+        // given
+        LoginThrottle loginThrottle = new LoginThrottle(60, 5, 2, 1024, 1, 100);
+        loginThrottle.recordFailure("user@email.com", "10.0.0.1", NOW);
+        loginThrottle.isBlocked("user@email.com", "10.0.0.1", NOW);
+
+        // when
+        LoginAttemptsResponse result = loginThrottle.getAttempts("user@email.com", null, NOW);
+
+        // then
+        assertThat(result.getEmailFailures()).isEqualTo(1);
+        assertThat(result.getEmailBlocked()).isTrue();
+        assertThat(result.getAddressFailures()).isNull();
+        assertThat(result.getRejectedByEmail()).isEqualTo(1L);
+        assertThat(result.getWindowSeconds()).isEqualTo(60L);
+        assertThat(loginThrottle.getRetryAfterSeconds(NOW)).isEqualTo(8L);
+    }
+}
@@ -0,0 +1,136 @@
+package com.junior.company.ecommerce.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class RateLimitFilterTest {
+
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(List.of(
+            new RateLimitFilter.RouteGroup("catalog", new String[]{"/api/v1/products/**"},
+                    new TokenBucketLimiter(1, 1, 100)),
+            new RateLimitFilter.RouteGroup("auth", new String[]{"POST /api/v1/users"},
+                    new TokenBucketLimiter(1, 1, 100)),
+            new RateLimitFilter.RouteGroup("default", new String[]{"/api/**"},
+                    new TokenBucketLimiter(5, 1, 100))));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldPassRequestWithRateLimitHeaders_givenTokenLeft() throws Exception {
+
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        rateLimitFilter.doFilter(request("/api/v1/orders", "10.0.0.1"), response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isNotNull();
+        assertThat(response.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT)).isEqualTo("5");
+        assertThat(response.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING)).isEqualTo("4");
+        assertThat(response.getHeader(RateLimitFilter.RATE_LIMIT_RESET)).isEqualTo("1");
+    }
+
+    @Test
+    void shouldRejectRequest_givenNoTokenLeftInRouteGroup() throws Exception {
+
+        // given
+        rateLimitFilter.doFilter(request("/api/v1/products/1", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        rateLimitFilter.doFilter(request("/api/v1/products/2", "10.0.0.1"), response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING)).isEqualTo("0");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void shouldLimitAuthenticatedUsersByUserId() throws Exception {
+
+        // given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AppUserPrincipal(1L, 2L, "user@email.com"), null, List.of()));
+        rateLimitFilter.doFilter(request("/api/v1/products/1", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        MockHttpServletResponse sameUser = new MockHttpServletResponse();
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+
+        // when
+        rateLimitFilter.doFilter(request("/api/v1/products/1", "10.0.0.2"), sameUser, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        rateLimitFilter.doFilter(request("/api/v1/products/1", "10.0.0.1"), anonymous, new MockFilterChain());
+
+        // then
+        assertThat(sameUser.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(anonymous.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldLimitRequestInGroupOfPatternWithMethod_onlyGivenThatMethod() throws Exception {
+
+        // given
+        rateLimitFilter.doFilter(request("POST", "/api/v1/users", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        MockHttpServletResponse secondRegistration = new MockHttpServletResponse();
+        MockHttpServletResponse listing = new MockHttpServletResponse();
+
+        // when
+        rateLimitFilter.doFilter(request("POST", "/api/v1/users", "10.0.0.1"), secondRegistration,
+                new MockFilterChain());
+        rateLimitFilter.doFilter(request("/api/v1/users", "10.0.0.1"), listing, new MockFilterChain());
+
+        // then
+        assertThat(secondRegistration.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(listing.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(listing.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT)).isEqualTo("5");
+    }
+
+    @Test
+    void shouldNotLimitRequest_givenPathOutsideRouteGroups() throws Exception {
+
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        rateLimitFilter.doFilter(request("/swagger-ui/index.html", "10.0.0.1"), response, filterChain);
+
+        // then
+        assertThat(filterChain.getRequest()).isNotNull();
+        assertThat(response.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT)).isNull();
+    }
+
+    private static MockHttpServletRequest request(String path, String address) {
+        return request("GET", path, address);
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
@@ -0,0 +1,70 @@
+package com.junior.company.ecommerce.security;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void shouldCountEveryKeySeparately() {
+
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 5, 2, 1024);
+        counter.increment("first", NOW);
+        counter.increment("first", NOW + 1);
+        counter.increment("second", NOW + 2);
+
+        // when then
+        assertThat(counter.count("first", NOW + 3)).isEqualTo(2);
+        assertThat(counter.count("second", NOW + 3)).isEqualTo(1);
+        assertThat(counter.count("third", NOW + 3)).isEqualTo(0);
+    }
+
+    @Test
+    void shouldForgetCounts_whenTheirBucketLeftTheWindow() {
+
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 5, 2, 1024);
+        counter.increment("key", NOW);
+        counter.increment("key", NOW + 500);
+
+        // when then
+        assertThat(counter.count("key", NOW + 999)).isEqualTo(2);
+        assertThat(counter.count("key", NOW + 1000)).isEqualTo(1);
+        assertThat(counter.count("key", NOW + 1500)).isEqualTo(0);
+        assertThat(counter.increment("key", NOW + 5000)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLoseIncrements_givenConcurrentWriters() throws InterruptedException {
+
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 5, 2, 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+
+        // when
+        IntStream.range(0, 8).forEach((thread) -> executor.execute(() -> {
+            IntStream.range(0, 1000).forEach((i) -> counter.increment("key", NOW));
+            done.countDown();
+        }));
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(counter.count("key", NOW)).isEqualTo(8000);
+        assertThat(counter.getMemoryBytes()).isEqualTo(5L * 2 * 1024 * 4);
+    }
+}
@@ -0,0 +1,89 @@
+package com.junior.company.ecommerce.security;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long NOW = 1000 * SECOND;
+
+    @Test
+    void shouldAllowBurstOfCapacity_thenReject() {
+
+        // given
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 100);
+
+        // when
+        long first = limiter.tryAcquire("client", NOW);
+        long second = limiter.tryAcquire("client", NOW);
+        long third = limiter.tryAcquire("client", NOW);
+        long rejected = limiter.tryAcquire("client", NOW);
+
+        // then
+        assertThat(first).isEqualTo(2L);
+        assertThat(second).isEqualTo(1L);
+        assertThat(third).isEqualTo(0L);
+        assertThat(rejected).isEqualTo(-SECOND);
+        assertThat(limiter.nanosUntilFull(third)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    void shouldRefillTokensOverTime_upToCapacity() {
+
+        // given
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 2, 100);
+        limiter.tryAcquire("client", NOW);
+        limiter.tryAcquire("client", NOW);
+
+        // when
+        long afterHalfSecond = limiter.tryAcquire("client", NOW + SECOND / 2);
+        long afterTenSeconds = limiter.tryAcquire("client", NOW + 10 * SECOND);
+
+        // then
+        assertThat(afterHalfSecond).isEqualTo(0L);
+        assertThat(afterTenSeconds).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClient() {
+
+        // given
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+        limiter.tryAcquire("10.0.0.1", NOW);
+
+        // when
+        long sameClient = limiter.tryAcquire("10.0.0.1", NOW);
+        long otherClient = limiter.tryAcquire(1L, NOW);
+
+        // then
+        assertThat(sameClient).isNegative();
+        assertThat(otherClient).isEqualTo(0L);
+    }
+
+    @Test
+    void shouldEvictIdleClientsFirst_whenFull() {
+
+        // given
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 10);
+        for (int client = 0; client < 9; client++) {
+            limiter.tryAcquire(client, NOW);
+        }
+        limiter.tryAcquire("busy", NOW + 2 * SECOND);
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire("busy", NOW + 2 * SECOND);
+        }
+
+        // when
+        limiter.tryAcquire("new", NOW + 2 * SECOND);
+        long busy = limiter.tryAcquire("busy", NOW + 2 * SECOND);
+
+        // then
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(busy).isEqualTo(0L);
+    }
+}
@@ -1,17 +1,34 @@
 package com.junior.company.ecommerce.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.junior.company.ecommerce.dto.AddressRequest;
+import com.junior.company.ecommerce.dto.AppUserListView;
+import com.junior.company.ecommerce.dto.AppUserPageResponse;
 import com.junior.company.ecommerce.dto.AppUserRequest;
 import com.junior.company.ecommerce.dto.AppUserResponse;
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.dto.UserRoleView;
+import com.junior.company.ecommerce.dto.UserSearchPageResponse;
+import com.junior.company.ecommerce.dto.UserSearchView;
+import com.junior.company.ecommerce.event.AppUserChangedEvent;
 import com.junior.company.ecommerce.exception.PermissionDeniedException;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
 import com.junior.company.ecommerce.mapper.AppUserMapper;
 import com.junior.company.ecommerce.model.Address;
 import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
+import com.junior.company.ecommerce.model.OrderStatus;
 import com.junior.company.ecommerce.model.Role;
+import com.junior.company.ecommerce.model.UserDeletionStatus;
 import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.OrderRepository;
 import com.junior.company.ecommerce.repository.RoleRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
+import com.junior.company.ecommerce.security.LoginThrottle;
+import com.junior.company.ecommerce.security.PasswordHashingExecutor;
+import com.junior.company.ecommerce.security.UserTokenRevocations;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -20,22 +37,39 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -43,15 +77,38 @@ import static org.mockito.Mockito.verify;
 @TestMethodOrder(MethodOrderer.MethodName.class)
 class AppUserServiceImplTest {
 
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private OrderRepository orderRepository;
+
     @Mock
     private RoleRepository roleRepository;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RegisteredEmailService registeredEmailService;
+
+    @Mock
+    private UserDeletionService userDeletionService;
+
+    @Mock
+    private UserTokenRevocations userTokenRevocations;
+
     @Mock
     private Authentication authentication;
 
@@ -62,46 +119,196 @@ class AppUserServiceImplTest {
     private AppUserServiceImpl appUserService;
 
     @Test
-    void shouldGetListOfUsers() {
+    void shouldGetPageOfUsers_withRolesFetchedForWholePage() {
+
+        // given
+        given(appUserRepository.findUsersAfterId(0L, PageRequest.of(0, 3))).willReturn(List.of(
+                appUserListView(1L, "one@email.com"),
+                appUserListView(2L, "two@email.com"),
+                appUserListView(3L, "three@email.com")));
+        given(appUserRepository.findRolesByUserIds(List.of(1L, 2L))).willReturn(List.of(
+                userRoleView(1L, 1L, "ADMIN"),
+                userRoleView(1L, 2L, "USER"),
+                userRoleView(2L, 2L, "USER")));
+
+        // when
+        AppUserPageResponse result = appUserService.findUsersPage(0L, 2);
+
+        // then
+        assertThat(result.getNextAfterId()).isEqualTo(2L);
+        assertThat(result.getUsers().size()).isEqualTo(2);
+        assertThat(result.getUsers().get(0).getEmail()).isEqualTo("one@email.com");
+        assertThat(result.getUsers().get(0).getRoles().size()).isEqualTo(2);
+        assertThat(result.getUsers().get(0).getAddress().getCity()).isEqualTo("city");
+        assertThat(result.getUsers().get(1).getRoles().get(0).getName()).isEqualTo("USER");
+        verify(appUserRepository, times(1)).findRolesByUserIds(any());
+    }
+
+    @Test
+    void shouldGetLastPageOfUsers() {
+
+        // given
+        given(appUserRepository.findUsersAfterId(2L, PageRequest.of(0, 3)))
+                .willReturn(List.of(appUserListView(3L, "three@email.com")));
+        given(appUserRepository.findRolesByUserIds(List.of(3L))).willReturn(List.of());
+
+        // when
+        AppUserPageResponse result = appUserService.findUsersPage(2L, 2);
+
+        // then
+        assertThat(result.getNextAfterId()).isNull();
+        assertThat(result.getUsers().size()).isEqualTo(1);
+        assertThat(result.getUsers().get(0).getRoles().isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldNotGetPageOfUsers_givenInvalidSize() {
+
+        // when then
+        assertThatThrownBy(() -> appUserService.findUsersPage(0L, 1001))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Page size must be between 1 and 1000");
+    }
+
+    @Test
+    void shouldSearchUsersByEmailPrefix_givenEmail() {
+
+        // given
+        given(appUserRepository.searchByEmail("one!_a!%%", PageRequest.of(0, 1))).willReturn(new SliceImpl<>(
+                List.of(userSearchView(1L, "one_a%@email.com")), PageRequest.of(0, 1), true));
+
+        // when
+        UserSearchPageResponse result = appUserService.searchUsers(" one_a% ", null, 0, 1);
+
+        // then
+        assertThat(result.getUsers().size()).isEqualTo(1);
+        assertThat(result.getUsers().get(0).getEmail()).isEqualTo("one_a%@email.com");
+        assertThat(result.getUsers().get(0).getLastName()).isEqualTo("last_name");
+        assertThat(result.isHasNext()).isTrue();
+        verify(appUserRepository, never()).searchByLastName(any(), any());
+    }
+
+    @Test
+    void shouldSearchUsersByLastNamePrefix_givenLastName() {
+
+        // given
+        given(appUserRepository.searchByLastName("last%", PageRequest.of(2, 20))).willReturn(new SliceImpl<>(
+                List.of(userSearchView(1L, "one@email.com")), PageRequest.of(2, 20), false));
+
+        // when
+        UserSearchPageResponse result = appUserService.searchUsers("", "last", 2, 20);
+
+        // then
+        assertThat(result.getUsers().size()).isEqualTo(1);
+        assertThat(result.getPage()).isEqualTo(2);
+        assertThat(result.isHasNext()).isFalse();
+        verify(appUserRepository, never()).searchByEmail(any(), any());
+    }
+
+    @Test
+    void shouldNotSearchUsers_givenBothOrNoneOfEmailAndLastName() {
+
+        // when then
+        assertThatThrownBy(() -> appUserService.searchUsers("one", "last", 0, 20))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Either email or last name must be given");
+        assertThatThrownBy(() -> appUserService.searchUsers(null, " ", 0, 20))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Either email or last name must be given");
+    }
+
+    @Test
+    void shouldNotSearchUsers_givenInvalidSize() {
+
+        // when then
+        assertThatThrownBy(() -> appUserService.searchUsers("one", null, 0, 101))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("page size must be between 1 and 100");
+    }
+
+    @Test
+    void shouldExportUsersAsNdjson() throws IOException {
+
+        // given
+        given(appUserRepository.findUsersAfterId(0L, PageRequest.of(0, 1000))).willReturn(List.of(
+                appUserListView(1L, "one@email.com"),
+                appUserListView(2L, "two@email.com")));
+        given(appUserRepository.findRolesByUserIds(List.of(1L, 2L)))
+                .willReturn(List.of(userRoleView(1L, 1L, "ADMIN")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        appUserService.exportUsers(outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,\"email\":\"one@email.com\",\"roles\":[\"ADMIN\"]");
+        assertThat(lines[1]).startsWith("{\"id\":2,\"email\":\"two@email.com\",\"roles\":[]");
+    }
+
+    @Test
+    void shouldExportPersonalDataWithOrders_givenCurrentUser() throws IOException {
 
         // given
-        Role role = Role.builder()
-                .id(1L)
-                .name("ADMIN")
-                .build();
-        Cart cart1 = Cart.builder()
-                .totalValue(0.0)
-                .build();
-        Address address = Address.builder()
-                .apartmentNumber(101)
-                .street("street_name_1")
-                .city("city_name_1")
-                .country("country_name_1")
-                .build();
         AppUser appUser = AppUser.builder()
                 .id(1L)
-                .email("admin@email.com")
-                .password(passwordEncoder.encode("password"))
-                .roles(List.of(role))
+                .email("user@email.com")
+                .roles(List.of(Role.builder().id(1L).name("USER").build()))
                 .enabled(true)
-                .firstName("admin")
-                .lastName("admin")
+                .firstName("user")
+                .lastName("user")
                 .phoneNumber("100100100")
                 .dob(LocalDate.of(1980, 1, 1))
-                .address(address)
-                .cart(cart1)
-                .build();
+                .address(Address.builder()
+                        .apartmentNumber(101)
+                        .street("street_name_1")
+                        .city("city_name_1")
+                        .country("country_name_1")
+                        .build())
+                .build();
+        given(appUserRepository.findUserAndAddressByUserId(1L)).willReturn(Optional.of(appUser));
+        willAnswer((invocation) -> {
+            Consumer<OrderExportLine> consumer = invocation.getArgument(1);
+            consumer.accept(orderExportLine(10L, 100L, 2));
+            consumer.accept(orderExportLine(10L, 101L, 1));
+            consumer.accept(orderExportLine(11L, 102L, 3));
+            return null;
+        }).given(orderRepository).scrollUserOrderLines(eq(1L), any());
 
-        List<AppUser> appUsers = new ArrayList<>(List.of(appUser));
-        given(appUserRepository.findUsersAndAddresses()).willReturn(appUsers);
-        List<AppUserResponse> appUserResponses = AppUserMapper.mapAppUsersToAppUserResponses(appUsers);
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // when
-        List<AppUserResponse> result = appUserService.findUsers();
+        appUserService.exportPersonalData(1L, outputStream);
 
         // then
-        verify(appUserRepository, times(1)).findUsersAndAddresses();
-        assertThat(result).usingRecursiveComparison().isEqualTo(appUserResponses);
+        JsonNode document = new ObjectMapper().readTree(outputStream.toByteArray());
+        assertThat(document.get("email").asText()).isEqualTo("user@email.com");
+        assertThat(document.get("address").get("city").asText()).isEqualTo("city_name_1");
+        assertThat(document.get("orders").size()).isEqualTo(2);
+        assertThat(document.get("orders").get(0).get("id").asLong()).isEqualTo(10L);
+        assertThat(document.get("orders").get(0).get("order_items").size()).isEqualTo(2);
+        assertThat(document.get("orders").get(1).get("order_items").get(0).get("amount").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotExportPersonalData_whenCurrentUserGotNoPermission() {
+
+        // given
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
+        given(authentication.getAuthorities()).willAnswer((invocation) ->
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // when then
+        assertThatThrownBy(() -> appUserService.exportPersonalData(2L, new ByteArrayOutputStream()))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Permission denied");
+        verify(orderRepository, never()).scrollUserOrderLines(anyLong(), any());
     }
 
     @Test
@@ -139,8 +346,9 @@ class AppUserServiceImplTest {
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin@email.com");
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(appUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(2L, 1L, "admin@email.com"));
+        given(authentication.getAuthorities()).willAnswer((invocation) ->
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
 
         AppUserResponse appUserResponse = AppUserMapper.mapAppUserToAppUserResponse(appUser);
 
@@ -186,9 +394,7 @@ class AppUserServiceImplTest {
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin@email.com");
-
-        given(appUserRepository.findByEmail("admin@email.com")).willReturn(Optional.of(appUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "admin@email.com"));
 
         AppUserResponse appUserResponse = AppUserMapper.mapAppUserToAppUserResponse(appUser);
 
@@ -262,9 +468,9 @@ class AppUserServiceImplTest {
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("current@email.com");
-
-        given(appUserRepository.findByEmail("current@email.com")).willReturn(Optional.of(currentAppUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(2L, 1L, "current@email.com"));
+        given(authentication.getAuthorities()).willAnswer((invocation) ->
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         // when then
         assertThatThrownBy(() -> appUserService.findUserById(1L))
@@ -335,6 +541,53 @@ class AppUserServiceImplTest {
                         "User with email %s not found", email));
     }
 
+    @Test
+    void shouldGetCurrentPrincipal_fromTokenClaims() {
+
+        // given
+        AppUserPrincipal principal = new AppUserPrincipal(1L, 2L, "user@email.com");
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getPrincipal()).willReturn(principal);
+
+        // when
+        AppUserPrincipal result = appUserService.getCurrentPrincipal();
+
+        // then
+        assertThat(result).isSameAs(principal);
+        verify(appUserRepository, times(0)).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldGetCurrentPrincipal_fromCurrentUser_whenTokenGotNoUserIdClaim() {
+
+        // given
+        Cart cart = Cart.builder()
+                .id(2L)
+                .totalValue(0.0)
+                .build();
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .email("user@email.com")
+                .cart(cart)
+                .build();
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(null, null, "user@email.com"));
+        given(authentication.getName()).willReturn("user@email.com");
+        given(appUserRepository.findByEmail("user@email.com")).willReturn(Optional.of(appUser));
+
+        // when
+        AppUserPrincipal result = appUserService.getCurrentPrincipal();
+
+        // then
+        assertThat(result.getUserId()).isEqualTo(1L);
+        assertThat(result.getCartId()).isEqualTo(2L);
+        assertThat(result.getEmail()).isEqualTo("user@email.com");
+    }
+
     @Test
     void shouldRegisterUser_givenValidAppUserRequest() {
 
@@ -361,7 +614,7 @@ class AppUserServiceImplTest {
                 .totalValue(0.0)
                 .build();
 
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.empty());
+        given(registeredEmailService.isEmailTaken("email@email.com")).willReturn(false);
         given(roleRepository.findRoleByName(anyString())).willReturn(Optional.of(userRole));
 
         AppUser appUser = AppUserMapper.mapAppUserRequestToAppUserCreate(appUserRequest);
@@ -380,6 +633,36 @@ class AppUserServiceImplTest {
 
         assertThat(capturedAppUser).usingRecursiveComparison().isEqualTo(appUser);
         assertThat(result).isTrue();
+        verify(registeredEmailService).addEmail("email@email.com");
+    }
+
+    @Test
+    void shouldNotRegisterUser_givenEmailTakenConcurrently() {
+
+        // given
+        AppUserRequest appUserRequest = AppUserRequest.builder()
+                .email("email@email.com")
+                .password("password")
+                .matchingPassword("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .phoneNumber("123456789")
+                .dob(LocalDate.of(2000, 1, 1))
+                .address(AddressRequest.builder()
+                        .apartmentNumber(101)
+                        .street("street_name")
+                        .city("city_name")
+                        .country("country_name")
+                        .build())
+                .build();
+
+        given(registeredEmailService.isEmailTaken("email@email.com")).willReturn(false);
+        given(appUserRepository.save(any())).willThrow(new DataIntegrityViolationException("UQ_app_user_email"));
+
+        // when then
+        assertThatThrownBy(() -> appUserService.registerUser(appUserRequest))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Email email@email.com is already taken");
     }
 
     @Test
@@ -429,7 +712,7 @@ class AppUserServiceImplTest {
                 .cart(cart1)
                 .build();
 
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(appUser));
+        given(registeredEmailService.isEmailTaken("email@email.com")).willReturn(true);
 
         // when then
         assertThatThrownBy(() -> appUserService.registerUser(appUserRequest))
@@ -489,6 +772,7 @@ class AppUserServiceImplTest {
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
         given(authentication.getName()).willReturn("user@email.com");
         given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(currentUser));
 
@@ -513,6 +797,7 @@ class AppUserServiceImplTest {
 
         assertThat(capturedAppUser).usingRecursiveComparison().isEqualTo(updatedUser);
         assertThat(result).isTrue();
+        verify(eventPublisher).publishEvent(any(AppUserChangedEvent.class));
     }
 
     @Test
@@ -566,8 +851,7 @@ class AppUserServiceImplTest {
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("user@email.com");
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(currentUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
 
         // when then
         assertThatThrownBy(() -> appUserService.updateUser(appUserRequest))
@@ -579,149 +863,79 @@ class AppUserServiceImplTest {
     void shouldDeleteUserById_whenCurrentUserIsAdmin_givenValidUserId() {
 
         // given
-        Role role = Role.builder()
-                .id(1L)
-                .name("ADMIN")
-                .build();
-        Cart cart1 = Cart.builder()
-                .totalValue(0.0)
-                .build();
-        Address address = Address.builder()
-                .apartmentNumber(101)
-                .street("street_name_1")
-                .city("city_name_1")
-                .country("country_name_1")
-                .build();
-        AppUser currentUser = AppUser.builder()
+        UserDeletionJobResponse userDeletionJobResponse = UserDeletionJobResponse.builder()
                 .id(1L)
-                .email("admin@email.com")
-                .password(passwordEncoder.encode("password"))
-                .roles(List.of(role))
-                .enabled(true)
-                .firstName("admin")
-                .lastName("admin")
-                .phoneNumber("100100100")
-                .dob(LocalDate.of(1980, 1, 1))
-                .address(address)
-                .cart(cart1)
+                .userId(99L)
+                .status(UserDeletionStatus.QUEUED)
+                .deletedRows(0L)
                 .build();
 
-        given(appUserRepository.findById(anyLong())).willReturn(Optional.of(currentUser));
+        given(appUserRepository.findEmailById(99L)).willReturn(Optional.of("user@email.com"));
+        given(userDeletionService.startDeletion(99L)).willReturn(userDeletionJobResponse);
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin@email.com");
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(currentUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "admin@email.com"));
+        given(authentication.getAuthorities()).willAnswer((invocation) ->
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
 
         // when
-        boolean result = appUserService.deleteUserById(99L);
+        UserDeletionJobResponse result = appUserService.deleteUserById(99L);
 
         // then
-        assertThat(result).isTrue();
-        verify(appUserRepository, times(1)).delete(currentUser);
+        assertThat(result).isEqualTo(userDeletionJobResponse);
+        verify(appUserRepository).disableUser(99L);
+        verify(userTokenRevocations).revokeTokensOf(eq(99L), anyLong());
+        verify(appUserRepository, never()).delete(any());
+        verify(registeredEmailService).removeEmail("user@email.com");
+        verify(eventPublisher).publishEvent(any(AppUserChangedEvent.class));
     }
 
     @Test
     void shouldDeleteUserById_whenCurrentUserIsUser_givenValidUserId() {
 
         // given
-        Role role = Role.builder()
-                .id(1L)
-                .name("USER")
-                .build();
-        Cart cart1 = Cart.builder()
-                .totalValue(0.0)
-                .build();
-        Address address = Address.builder()
-                .apartmentNumber(101)
-                .street("street_name_1")
-                .city("city_name_1")
-                .country("country_name_1")
-                .build();
-        AppUser currentUser = AppUser.builder()
+        UserDeletionJobResponse userDeletionJobResponse = UserDeletionJobResponse.builder()
                 .id(1L)
-                .email("user@email.com")
-                .password(passwordEncoder.encode("password"))
-                .roles(List.of(role))
-                .enabled(true)
-                .firstName("user")
-                .lastName("user")
-                .phoneNumber("100100100")
-                .dob(LocalDate.of(1980, 1, 1))
-                .address(address)
-                .cart(cart1)
+                .userId(1L)
+                .status(UserDeletionStatus.QUEUED)
+                .deletedRows(0L)
                 .build();
 
-        given(appUserRepository.findById(anyLong())).willReturn(Optional.of(currentUser));
+        given(appUserRepository.findEmailById(1L)).willReturn(Optional.of("user@email.com"));
+        given(userDeletionService.startDeletion(1L)).willReturn(userDeletionJobResponse);
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin@email.com");
-        given(appUserRepository.findByEmail(anyString())).willReturn(Optional.of(currentUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
 
         // when
-        boolean result = appUserService.deleteUserById(1L);
+        UserDeletionJobResponse result = appUserService.deleteUserById(1L);
 
         // then
-        assertThat(result).isTrue();
-        verify(appUserRepository, times(1)).delete(currentUser);
+        assertThat(result).isEqualTo(userDeletionJobResponse);
+        verify(appUserRepository).disableUser(1L);
+        verify(eventPublisher).publishEvent(any(AppUserChangedEvent.class));
     }
 
     @Test
     void shouldNotDeleteUserById_whenCurrentUserGotNoPermission() {
 
         // given
-        Role role = Role.builder()
-                .id(1L)
-                .name("USER")
-                .build();
-        Cart cart1 = Cart.builder()
-                .totalValue(0.0)
-                .build();
-        Address address = Address.builder()
-                .apartmentNumber(101)
-                .street("street_name_1")
-                .city("city_name_1")
-                .country("country_name_1")
-                .build();
-        AppUser currentUser = AppUser.builder()
-                .id(1L)
-                .email("user@email.com")
-                .password(passwordEncoder.encode("password"))
-                .roles(List.of(role))
-                .enabled(true)
-                .firstName("user")
-                .lastName("user")
-                .phoneNumber("100100100")
-                .dob(LocalDate.of(1980, 1, 1))
-                .address(address)
-                .cart(cart1)
-                .build();
-        AppUser anotherUser = AppUser.builder()
-                .id(2L)
-                .email("other@email.com")
-                .password(passwordEncoder.encode("password"))
-                .roles(List.of(role))
-                .enabled(true)
-                .firstName("other")
-                .lastName("other")
-                .phoneNumber("100100100")
-                .dob(LocalDate.of(1980, 1, 1))
-                .address(address)
-                .cart(cart1)
-                .build();
-
-        given(appUserRepository.findById(anyLong())).willReturn(Optional.of(anotherUser));
+        given(appUserRepository.findEmailById(2L)).willReturn(Optional.of("other@email.com"));
 
         SecurityContextHolder.setContext(securityContext);
         given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin@email.com");
-        given(appUserRepository.findByEmail(any())).willReturn(Optional.of(currentUser));
+        given(authentication.getPrincipal()).willReturn(new AppUserPrincipal(1L, 1L, "user@email.com"));
+        given(authentication.getAuthorities()).willAnswer((invocation) ->
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         // when then
         assertThatThrownBy(() -> appUserService.deleteUserById(2L))
                 .isInstanceOf(PermissionDeniedException.class)
                 .hasMessageContaining("Permission denied");
+        verify(appUserRepository, never()).disableUser(anyLong());
+        verify(userDeletionService, never()).startDeletion(anyLong());
     }
 
     @Test
@@ -730,11 +944,55 @@ class AppUserServiceImplTest {
         // given
         Long userId = 0L;
 
-        given(appUserRepository.findById(userId)).willReturn(Optional.empty());
+        given(appUserRepository.findEmailById(userId)).willReturn(Optional.empty());
 
         // when then
         assertThatThrownBy(() -> appUserService.deleteUserById(userId))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining(String.format("User with id: %s not found", userId));
     }
-}
\ No newline at end of file
+
+    private static OrderExportLine orderExportLine(Long orderId, Long orderItemId, int amount) {
+        return OrderExportLine.builder()
+                .orderId(orderId)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 15, 10, 0))
+                .status(OrderStatus.PLACED)
+                .totalValue(30.0)
+                .appUserId(1L)
+                .orderItemId(orderItemId)
+                .itemId(1L)
+                .size("L")
+                .productId(1L)
+                .productName("name")
+                .price(10.0)
+                .amount(amount)
+                .build();
+    }
+
+    private AppUserListView appUserListView(Long id, String email) {
+        Map<String, Object> appUser = new HashMap<>();
+        appUser.put("id", id);
+        appUser.put("email", email);
+        appUser.put("enabled", true);
+        appUser.put("firstName", "first_name");
+        appUser.put("lastName", "last_name");
+        appUser.put("phoneNumber", "100100100");
+        appUser.put("dob", LocalDate.of(1980, 1, 1));
+        appUser.put("addressId", id);
+        appUser.put("apartmentNumber", 101);
+        appUser.put("street", "street");
+        appUser.put("city", "city");
+        appUser.put("country", "country");
+        return PROJECTION_FACTORY.createProjection(AppUserListView.class, appUser);
+    }
+
+    private UserSearchView userSearchView(Long id, String email) {
+        return PROJECTION_FACTORY.createProjection(UserSearchView.class, Map.of(
+                "id", id, "email", email, "firstName", "first_name", "lastName", "last_name", "enabled", true));
+    }
+
+    private UserRoleView userRoleView(Long userId, Long roleId, String roleName) {
+        return PROJECTION_FACTORY.createProjection(UserRoleView.class,
+                Map.of("userId", userId, "roleId", roleId, "roleName", roleName));
+    }
+}
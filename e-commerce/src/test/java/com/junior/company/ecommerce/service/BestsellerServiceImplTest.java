@@ -0,0 +1,175 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.BestsellerResponse;
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.model.Product;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import com.junior.company.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BestsellerServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BestsellerServiceImpl bestsellerService;
+
+    @BeforeEach
+    void setUp() {
+        bestsellerService = new BestsellerServiceImpl(orderRepository, productRepository, transactionTemplate, 2);
+    }
+
+    @Test
+    void shouldGetBestsellers_givenRecordedOrders() {
+
+        // given
+        bestsellerService.rebuild();
+        bestsellerService.recordOrder(orderPlacedEvent(1L, 1L, 3));
+        bestsellerService.recordOrder(orderPlacedEvent(2L, 2L, 5));
+        bestsellerService.recordOrder(orderPlacedEvent(3L, 3L, 1));
+
+        given(productRepository.findAllById(anyList())).willReturn(List.of(product(1L), product(2L)));
+
+        // when
+        bestsellerService.refresh();
+        List<BestsellerResponse> result = bestsellerService.findBestsellers("hour", 10);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getProductId()).isEqualTo(2L);
+        assertThat(result.get(0).getName()).isEqualTo("product_2");
+        assertThat(result.get(0).getUnitsSold()).isEqualTo(5L);
+        assertThat(result.get(1).getProductId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRebuildBestsellers_givenRecentOrderLines() {
+
+        // given
+        OrderExportLine orderLine = OrderExportLine.builder()
+                .orderId(1L)
+                .dateOfOrder(LocalDateTime.now().minusDays(2))
+                .productId(1L)
+                .amount(4)
+                .build();
+
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer((invocation) -> {
+            invocation.<Consumer<OrderExportLine>>getArgument(3).accept(orderLine);
+            return null;
+        }).given(orderRepository).scrollOrderLines(any(), any(), anyLong(), any());
+        given(productRepository.findAllById(anyList())).willReturn(List.of(product(1L)));
+
+        // when
+        bestsellerService.rebuild();
+
+        // then
+        assertThat(bestsellerService.findBestsellers("week", 10)).hasSize(1);
+        assertThat(bestsellerService.findBestsellers("week", 10).get(0).getUnitsSold()).isEqualTo(4L);
+        assertThat(bestsellerService.findBestsellers("day", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldCountOrderOnce_whenOrderPlacedBeforeRebuildReadsHistory() {
+
+        // given
+        OrderExportLine orderLine = OrderExportLine.builder()
+                .orderId(1L)
+                .dateOfOrder(LocalDateTime.now())
+                .productId(1L)
+                .amount(4)
+                .build();
+
+        bestsellerService.recordOrder(orderPlacedEvent(1L, 1L, 4));
+        given(orderRepository.findMaxId()).willReturn(1L);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer((invocation) -> {
+            invocation.<Consumer<OrderExportLine>>getArgument(3).accept(orderLine);
+            return null;
+        }).given(orderRepository).scrollOrderLines(any(), any(), eq(1L), any());
+        given(productRepository.findAllById(anyList())).willReturn(List.of(product(1L)));
+
+        // when
+        bestsellerService.rebuild();
+        bestsellerService.recordOrder(orderPlacedEvent(1L, 1L, 4));
+        bestsellerService.recordOrder(orderPlacedEvent(2L, 1L, 2));
+        bestsellerService.refresh();
+
+        // then
+        assertThat(bestsellerService.findBestsellers("hour", 10).get(0).getUnitsSold()).isEqualTo(6L);
+    }
+
+    @Test
+    void shouldNotGetBestsellers_givenUnknownWindow() {
+
+        // when then
+        assertThatThrownBy(() -> bestsellerService.findBestsellers("month", 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Bestseller window: month not found. Pick: HOUR / DAY / WEEK");
+    }
+
+    @Test
+    void shouldNotGetBestsellers_givenLimitLowerThanOne() {
+
+        // when then
+        assertThatThrownBy(() -> bestsellerService.findBestsellers("day", 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Limit must be minimum 1");
+    }
+
+    private static OrderPlacedEvent orderPlacedEvent(Long orderId, Long productId, Integer amount) {
+        return OrderPlacedEvent.builder()
+                .orderId(orderId)
+                .appUserId(1L)
+                .dateOfOrder(LocalDateTime.now())
+                .lines(List.of(OrderPlacedLine.builder()
+                        .itemId(productId)
+                        .productId(productId)
+                        .categoryIds(Set.of())
+                        .amount(amount)
+                        .price(10.0)
+                        .build()))
+                .build();
+    }
+
+    private static Product product(Long id) {
+        return Product.builder()
+                .id(id)
+                .name("product_" + id)
+                .build();
+    }
+}
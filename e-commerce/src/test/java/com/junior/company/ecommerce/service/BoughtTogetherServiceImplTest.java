@@ -0,0 +1,165 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.BoughtTogetherResponse;
+import com.junior.company.ecommerce.dto.BoughtTogetherStatsResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BoughtTogetherServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BoughtTogetherServiceImpl boughtTogetherService;
+
+    @BeforeEach
+    void setUp() {
+        boughtTogetherService = new BoughtTogetherServiceImpl(orderRepository, transactionTemplate,
+                2, 10, 100, 2, 2);
+    }
+
+    @Test
+    void shouldGetProductsBoughtTogether_givenRecordedOrders() {
+
+        // given
+        boughtTogetherService.rebuild();
+        boughtTogetherService.recordOrder(orderPlacedEvent(1L, 1L, 2L, 3L));
+        boughtTogetherService.recordOrder(orderPlacedEvent(2L, 1L, 3L));
+
+        // when
+        List<BoughtTogetherResponse> result = boughtTogetherService.findBoughtTogether(1L, 1);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getProductId()).isEqualTo(3L);
+        assertThat(result.get(0).getTimesBoughtTogether()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldRebuildFromOrderHistoryInChunks() {
+
+        // given
+        given(orderRepository.findMaxId()).willReturn(3L);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer((invocation) -> {
+            long fromOrderId = invocation.getArgument(0);
+            Consumer<long[]> consumer = invocation.getArgument(2);
+            if (fromOrderId == 1L) {
+                consumer.accept(new long[]{1, 2});
+                consumer.accept(new long[]{1, 2});
+            } else {
+                consumer.accept(new long[]{1, 3});
+            }
+            return null;
+        }).given(orderRepository).scrollOrderedProductIds(anyLong(), anyLong(), any());
+
+        // when
+        boughtTogetherService.rebuild();
+
+        // then
+        verify(orderRepository).scrollOrderedProductIds(eq(1L), eq(2L), any());
+        verify(orderRepository).scrollOrderedProductIds(eq(3L), eq(3L), any());
+        List<BoughtTogetherResponse> result = boughtTogetherService.findBoughtTogether(1L, 10);
+        assertThat(result.stream().map(BoughtTogetherResponse::getProductId).collect(Collectors.toList()))
+                .containsExactly(2L, 3L);
+        assertThat(result.get(0).getTimesBoughtTogether()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldAddOrderOnce_whenOrderPlacedBeforeRebuildReadsHistory() {
+
+        // given
+        given(orderRepository.findMaxId()).willReturn(1L);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer((invocation) -> {
+            invocation.<Consumer<long[]>>getArgument(2).accept(new long[]{1, 2});
+            return null;
+        }).given(orderRepository).scrollOrderedProductIds(eq(1L), eq(1L), any());
+        boughtTogetherService.recordOrder(orderPlacedEvent(1L, 1L, 2L));
+
+        // when
+        boughtTogetherService.rebuild();
+        boughtTogetherService.recordOrder(orderPlacedEvent(1L, 1L, 2L));
+        boughtTogetherService.recordOrder(orderPlacedEvent(2L, 1L, 2L));
+
+        // then
+        List<BoughtTogetherResponse> result = boughtTogetherService.findBoughtTogether(1L, 10);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTimesBoughtTogether()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldGetStats() {
+
+        // given
+        boughtTogetherService.rebuild();
+        boughtTogetherService.recordOrder(orderPlacedEvent(1L, 1L, 2L));
+
+        // when
+        BoughtTogetherStatsResponse result = boughtTogetherService.getStats();
+
+        // then
+        assertThat(result.getProducts()).isEqualTo(2);
+        assertThat(result.getPairs()).isEqualTo(2L);
+        assertThat(result.getMaxProducts()).isEqualTo(100);
+        assertThat(result.getTrackedNeighbours()).isEqualTo(10);
+        assertThat(result.getEstimatedBytes()).isPositive();
+    }
+
+    @Test
+    void shouldNotGetProductsBoughtTogether_givenLimitLowerThanOne() {
+
+        // when then
+        assertThatThrownBy(() -> boughtTogetherService.findBoughtTogether(1L, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Limit must be minimum 1");
+    }
+
+    private static OrderPlacedEvent orderPlacedEvent(Long orderId, Long... productIds) {
+        return OrderPlacedEvent.builder()
+                .orderId(orderId)
+                .appUserId(1L)
+                .dateOfOrder(LocalDateTime.now())
+                .lines(Set.of(productIds).stream().map((productId) -> OrderPlacedLine.builder()
+                                .itemId(productId)
+                                .productId(productId)
+                                .categoryIds(Set.of())
+                                .amount(1)
+                                .price(10.0)
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.ItemQuantityView;
+import com.junior.company.ecommerce.event.StockChangedEvent;
+import com.junior.company.ecommerce.inventory.InventoryLogReplay;
+import com.junior.company.ecommerce.model.StockChangeReason;
+import com.junior.company.ecommerce.repository.ItemRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class InventoryLogServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @TempDir
+    Path directory;
+
+    private InventoryLogServiceImpl inventoryLogService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryLogService = new InventoryLogServiceImpl(itemRepository, directory.toString(), 16, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryLogService.close();
+    }
+
+    @Test
+    void shouldAppendStockDeltas() throws IOException {
+
+        // when
+        inventoryLogService.onStockChanged(stockChangedEvent(1L, 10, StockChangeReason.ITEM_CREATED, null));
+        inventoryLogService.onStockChanged(stockChangedEvent(1L, -3, StockChangeReason.CHECKOUT, 5L));
+        inventoryLogService.onStockChanged(stockChangedEvent(1L, 0, StockChangeReason.THRESHOLD_CHANGED, null));
+
+        // then
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+        assertThat(result.getRecords()).isEqualTo(2);
+        assertThat(result.getQuantity(1L)).isEqualTo(7);
+    }
+
+    @Test
+    void shouldAppendEveryStockDeltaOfTransaction_whenCommitted() throws IOException {
+
+        // given
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:inventory_log;DB_CLOSE_DELAY=-1");
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // when
+        transactionTemplate.executeWithoutResult((status) ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        inventoryLogService.onStockChanged(stockChangedEvent(1L, -2, StockChangeReason.CHECKOUT, 5L));
+                        inventoryLogService.onStockChanged(stockChangedEvent(2L, -1, StockChangeReason.CHECKOUT, 5L));
+                    }
+                }));
+
+        // then
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+        assertThat(result.getRecords()).isEqualTo(2);
+        assertThat(result.getQuantity(1L)).isEqualTo(-2);
+        assertThat(result.getQuantity(2L)).isEqualTo(-1);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void shouldWriteBaseline_whenLogIsEmpty() throws IOException {
+
+        // given
+        given(itemRepository.findItemQuantities()).willReturn(List.of(itemQuantity(1L, 10), itemQuantity(2L, 4)));
+
+        // when
+        inventoryLogService.reconcileWithDatabase();
+
+        // then
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+        assertThat(result.getRecords()).isEqualTo(2);
+        assertThat(result.getQuantity(1L)).isEqualTo(10);
+        assertThat(result.getQuantity(2L)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotAppendRecords_whenLogMatchesDatabase() throws IOException {
+
+        // given
+        inventoryLogService.onStockChanged(stockChangedEvent(1L, 10, StockChangeReason.ITEM_CREATED, null));
+        given(itemRepository.findItemQuantities()).willReturn(List.of(itemQuantity(1L, 10)));
+
+        // when
+        inventoryLogService.reconcileWithDatabase();
+
+        // then
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+        assertThat(result.getRecords()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAppendReconciledRecords_whenLogMissesCommittedChanges() throws IOException {
+
+        // given
+        inventoryLogService.onStockChanged(stockChangedEvent(1L, 10, StockChangeReason.ITEM_CREATED, null));
+        inventoryLogService.onStockChanged(stockChangedEvent(2L, 5, StockChangeReason.ITEM_CREATED, null));
+        given(itemRepository.findItemQuantities()).willReturn(List.of(itemQuantity(1L, 7), itemQuantity(3L, 4)));
+
+        // when
+        inventoryLogService.reconcileWithDatabase();
+
+        // then
+        InventoryLogReplay result = InventoryLogReplay.replay(directory);
+        assertThat(result.getRecords()).isEqualTo(5);
+        assertThat(result.getQuantity(1L)).isEqualTo(7);
+        assertThat(result.getQuantity(2L)).isEqualTo(0);
+        assertThat(result.getQuantity(3L)).isEqualTo(4);
+    }
+
+    private StockChangedEvent stockChangedEvent(Long itemId, int delta, StockChangeReason reason, Long orderId) {
+        return StockChangedEvent.builder()
+                .itemId(itemId)
+                .delta(delta)
+                .reason(reason)
+                .orderId(orderId)
+                .build();
+    }
+
+    private ItemQuantityView itemQuantity(Long itemId, Integer quantity) {
+        return new ItemQuantityView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.LowStockItemResponse;
+import com.junior.company.ecommerce.dto.LowStockItemView;
+import com.junior.company.ecommerce.event.LowStockAlertEvent;
+import com.junior.company.ecommerce.event.StockChangedEvent;
+import com.junior.company.ecommerce.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class LowStockServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LowStockServiceImpl lowStockService;
+
+    @BeforeEach
+    void setUp() {
+        lowStockService = new LowStockServiceImpl(itemRepository, eventPublisher, 2);
+    }
+
+    @Test
+    void shouldAlertOnce_whenQuantityDropsBelowThreshold() {
+
+        // when
+        lowStockService.onStockChanged(stockChangedEvent(1L, 6, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 4, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 3, 5));
+
+        // then
+        ArgumentCaptor<LowStockAlertEvent> lowStockAlertEventArgumentCaptor =
+                ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(eventPublisher).publishEvent(lowStockAlertEventArgumentCaptor.capture());
+        assertThat(lowStockAlertEventArgumentCaptor.getValue().getItemId()).isEqualTo(1L);
+        assertThat(lowStockAlertEventArgumentCaptor.getValue().getQuantity()).isEqualTo(4);
+        List<LowStockItemResponse> result = lowStockService.findLowStockItems();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldAlertAgain_onlyAfterRestockAboveHysteresis() {
+
+        // when
+        lowStockService.onStockChanged(stockChangedEvent(1L, 4, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 6, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 4, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 7, 5));
+        lowStockService.onStockChanged(stockChangedEvent(1L, 4, 5));
+
+        // then
+        verify(eventPublisher, times(2)).publishEvent(any(LowStockAlertEvent.class));
+        assertThat(lowStockService.findLowStockItems()).hasSize(1);
+    }
+
+    @Test
+    void shouldListLowStockItemsMostDepletedFirst() {
+
+        // given
+        lowStockService.onStockChanged(stockChangedEvent(1L, 4, 5));
+        lowStockService.onStockChanged(stockChangedEvent(2L, 0, 5));
+        lowStockService.onStockChanged(stockChangedEvent(3L, 9, 10));
+        lowStockService.onStockChanged(stockChangedEvent(4L, 20, 5));
+
+        // when
+        List<LowStockItemResponse> result = lowStockService.findLowStockItems();
+
+        // then
+        assertThat(result.stream().map(LowStockItemResponse::getItemId).collect(Collectors.toList()))
+                .containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void shouldNotTrackItem_whenRemovedOrThresholdIsZero() {
+
+        // when
+        lowStockService.onStockChanged(stockChangedEvent(1L, 0, 0));
+        lowStockService.onStockChanged(stockChangedEvent(2L, 1, 5));
+        lowStockService.onStockChanged(StockChangedEvent.builder()
+                .itemId(2L)
+                .productId(2L)
+                .quantity(1)
+                .lowStockThreshold(5)
+                .removed(true)
+                .build());
+
+        // then
+        assertThat(lowStockService.findLowStockItems()).isEmpty();
+    }
+
+    @Test
+    void shouldNotTrackRemovedItems() {
+
+        // given
+        lowStockService.onStockChanged(stockChangedEvent(1L, 1, 5));
+        lowStockService.onStockChanged(stockChangedEvent(2L, 1, 5));
+
+        // when
+        lowStockService.onStockChanged(StockChangedEvent.builder()
+                .itemId(1L)
+                .productId(1L)
+                .quantity(0)
+                .removed(true)
+                .build());
+
+        // then
+        assertThat(lowStockService.findLowStockItems()).hasSize(1);
+        assertThat(lowStockService.findLowStockItems().get(0).getItemId()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldLoadLowStockItemsWithoutAlerting() {
+
+        // given
+        LowStockItemView view = new LowStockItemView() {
+            @Override
+            public Long getItemId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getProductId() {
+                return 1L;
+            }
+
+            @Override
+            public String getProductName() {
+                return "name";
+            }
+
+            @Override
+            public String getSize() {
+                return "L";
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return 2;
+            }
+
+            @Override
+            public Integer getLowStockThreshold() {
+                return 5;
+            }
+        };
+        given(itemRepository.findLowStockItems()).willReturn(List.of(view));
+
+        // when
+        lowStockService.rebuild();
+        lowStockService.onStockChanged(stockChangedEvent(1L, 1, 5));
+
+        // then
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(lowStockService.findLowStockItems()).hasSize(1);
+        assertThat(lowStockService.findLowStockItems().get(0).getQuantity()).isEqualTo(1);
+    }
+
+    private static StockChangedEvent stockChangedEvent(Long itemId, Integer quantity, Integer lowStockThreshold) {
+        return StockChangedEvent.builder()
+                .itemId(itemId)
+                .productId(itemId)
+                .productName("name")
+                .size("L")
+                .quantity(quantity)
+                .lowStockThreshold(lowStockThreshold)
+                .build();
+    }
+}
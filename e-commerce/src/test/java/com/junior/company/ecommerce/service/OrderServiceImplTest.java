@@ -0,0 +1,301 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.OrderExportLine;
+import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.dto.OrderStatusRequest;
+import com.junior.company.ecommerce.dto.OrderStatusResponse;
+import com.junior.company.ecommerce.dto.OrderStatusView;
+import com.junior.company.ecommerce.export.OrderExportFormat;
+import com.junior.company.ecommerce.model.Order;
+import com.junior.company.ecommerce.model.OrderStatus;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrdersToOrderResponses;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Test
+    void shouldAllowOnlyDefinedTransitions() {
+
+        // when then
+        assertThat(OrderStatus.PLACED.canTransitionTo(OrderStatus.PAID)).isTrue();
+        assertThat(OrderStatus.PLACED.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+        assertThat(OrderStatus.PAID.canTransitionTo(OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderStatus.PAID.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderStatus.PLACED.canTransitionTo(OrderStatus.SHIPPED)).isFalse();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.PLACED)).isFalse();
+        assertThat(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.PAID)).isFalse();
+    }
+
+    @Test
+    void shouldFindOrdersByStatus_givenValidStatus() {
+
+        // given
+        Order order = Order.builder()
+                .id(1L)
+                .orderItems(new ArrayList<>())
+                .totalValue(10.0)
+                .dateOfOrder(LocalDateTime.now())
+                .status(OrderStatus.PAID)
+                .build();
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("id"));
+        given(orderRepository.findByStatus(OrderStatus.PAID, pageRequest)).willReturn(new PageImpl<>(List.of(order)));
+        List<OrderResponse> orderResponses = mapOrdersToOrderResponses(List.of(order));
+
+        // when
+        List<OrderResponse> result = orderService.findOrdersByStatus("PAID", 0, 10);
+
+        // then
+        assertThat(result).usingRecursiveComparison().isEqualTo(orderResponses);
+    }
+
+    @Test
+    void shouldNotFindOrdersByStatus_givenInvalidStatus() {
+
+        // when then
+        assertThatThrownBy(() -> orderService.findOrdersByStatus("LOST", 0, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Order status: LOST not found");
+    }
+
+    @Test
+    void shouldUpdateOrderStatus_andReportInvalidTransitionsAndMissingOrders() {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(new LinkedHashSet<>(List.of(1L, 2L, 3L, 4L)))
+                .status("PAID")
+                .build();
+        given(orderRepository.findStatusesByIds(anyCollection())).willReturn(List.of(
+                statusView(1L, OrderStatus.PLACED),
+                statusView(2L, OrderStatus.PLACED),
+                statusView(3L, OrderStatus.DELIVERED)));
+        given(orderRepository.updateStatus(eq(OrderStatus.PAID), eq(List.of(1L, 2L)), eq(OrderStatus.PLACED)))
+                .willReturn(2);
+
+        // when
+        OrderStatusResponse result = orderService.updateOrderStatus(orderStatusRequest);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(Map.of(
+                3L, "Cannot change status from DELIVERED to PAID",
+                4L, "Order with id: 4 not found"));
+    }
+
+    @Test
+    void shouldUpdateOrderStatus_withOneStatementPerSourceStatus() {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(Set.of(1L, 2L))
+                .status("CANCELLED")
+                .build();
+        given(orderRepository.findStatusesByIds(anyCollection())).willReturn(List.of(
+                statusView(1L, OrderStatus.PLACED),
+                statusView(2L, OrderStatus.PAID)));
+        given(orderRepository.updateStatus(eq(OrderStatus.CANCELLED), eq(List.of(1L)), eq(OrderStatus.PLACED)))
+                .willReturn(1);
+        given(orderRepository.updateStatus(eq(OrderStatus.CANCELLED), eq(List.of(2L)), eq(OrderStatus.PAID)))
+                .willReturn(1);
+
+        // when
+        OrderStatusResponse result = orderService.updateOrderStatus(orderStatusRequest);
+
+        // then
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateOrderStatus_inChunks_givenThousandsOfOrders() {
+
+        // given
+        Set<Long> orderIds = LongStream.rangeClosed(1, 2500).boxed()
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(orderIds)
+                .status("SHIPPED")
+                .build();
+        given(orderRepository.findStatusesByIds(anyCollection())).willAnswer((invocation) -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().map((orderId) -> statusView(orderId, OrderStatus.PAID))
+                    .collect(Collectors.toList());
+        });
+        given(orderRepository.updateStatus(eq(OrderStatus.SHIPPED), anyCollection(), eq(OrderStatus.PAID)))
+                .willAnswer((invocation) -> ((List<?>) invocation.getArgument(1)).size());
+
+        // when
+        OrderStatusResponse result = orderService.updateOrderStatus(orderStatusRequest);
+
+        // then
+        verify(orderRepository, times(3)).findStatusesByIds(anyCollection());
+        verify(orderRepository, times(3)).updateStatus(eq(OrderStatus.SHIPPED), anyCollection(), eq(OrderStatus.PAID));
+        assertThat(result.getUpdated()).isEqualTo(2500);
+        assertThat(result.getRejected()).isEmpty();
+    }
+
+    @Test
+    void shouldReportOrdersChangedConcurrently() {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(new LinkedHashSet<>(List.of(1L, 2L)))
+                .status("PAID")
+                .build();
+        given(orderRepository.findStatusesByIds(anyCollection()))
+                .willReturn(List.of(statusView(1L, OrderStatus.PLACED), statusView(2L, OrderStatus.PLACED)))
+                .willReturn(List.of(statusView(1L, OrderStatus.PAID), statusView(2L, OrderStatus.CANCELLED)));
+        given(orderRepository.updateStatus(eq(OrderStatus.PAID), eq(List.of(1L, 2L)), eq(OrderStatus.PLACED)))
+                .willReturn(1);
+
+        // when
+        OrderStatusResponse result = orderService.updateOrderStatus(orderStatusRequest);
+
+        // then
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(Map.of(
+                2L, "Status of order with id: 2 changed concurrently"));
+    }
+
+    @Test
+    void shouldNotUpdateOrderStatus_givenInvalidStatus() {
+
+        // given
+        OrderStatusRequest orderStatusRequest = OrderStatusRequest.builder()
+                .orderIds(Set.of(1L))
+                .status("LOST")
+                .build();
+
+        // when then
+        assertThatThrownBy(() -> orderService.updateOrderStatus(orderStatusRequest))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Order status: LOST not found");
+        verify(orderRepository, never()).findStatusesByIds(anyCollection());
+    }
+
+    @Test
+    void shouldExportOrdersAsCsv() throws Exception {
+
+        // given
+        givenOrderLines(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 3, 31));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        orderService.exportOrders(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 3, 31),
+                OrderExportFormat.CSV, outputStream);
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "order_id,date_of_order,status,total_value,app_user_id," +
+                        "order_item_id,item_id,size,product_id,product_name,price,amount\n" +
+                        "1,2022-03-15T10:00,PLACED,30.0,7,1,3,L,5,\"shirt, \"\"basic\"\"\",10.0,2\n" +
+                        "1,2022-03-15T10:00,PLACED,30.0,7,2,3,L,5,\"shirt, \"\"basic\"\"\",10.0,1\n");
+    }
+
+    @Test
+    void shouldExportOrdersAsNdjson_withOneOrderPerLine() throws Exception {
+
+        // given
+        givenOrderLines(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 3, 31));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        orderService.exportOrders(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 3, 31),
+                OrderExportFormat.NDJSON, outputStream);
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"date_of_order\":\"2022-03-15T10:00\",\"status\":\"PLACED\",\"total_value\":30.0," +
+                        "\"app_user_id\":7,\"order_items\":[" +
+                        "{\"id\":1,\"item_id\":3,\"size\":\"L\",\"product_id\":5," +
+                        "\"product_name\":\"shirt, \\\"basic\\\"\",\"price\":10.0,\"amount\":2}," +
+                        "{\"id\":2,\"item_id\":3,\"size\":\"L\",\"product_id\":5," +
+                        "\"product_name\":\"shirt, \\\"basic\\\"\",\"price\":10.0,\"amount\":1}]}\n");
+    }
+
+    private void givenOrderLines(LocalDate from, LocalDate to) {
+        willAnswer((invocation) -> {
+            Consumer<OrderExportLine> consumer = invocation.getArgument(2);
+            consumer.accept(orderLine(1L, 2));
+            consumer.accept(orderLine(2L, 1));
+            return null;
+        }).given(orderRepository).scrollOrderLines(eq(from.atStartOfDay()), eq(to.plusDays(1).atStartOfDay()), any());
+    }
+
+    private static OrderExportLine orderLine(Long orderItemId, Integer amount) {
+        return OrderExportLine.builder()
+                .orderId(1L)
+                .dateOfOrder(LocalDateTime.of(2022, 3, 15, 10, 0))
+                .status(OrderStatus.PLACED)
+                .totalValue(30.0)
+                .appUserId(7L)
+                .orderItemId(orderItemId)
+                .itemId(3L)
+                .size("L")
+                .productId(5L)
+                .productName("shirt, \"basic\"")
+                .price(10.0)
+                .amount(amount)
+                .build();
+    }
+
+    private static OrderStatusView statusView(Long id, OrderStatus status) {
+        return new OrderStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
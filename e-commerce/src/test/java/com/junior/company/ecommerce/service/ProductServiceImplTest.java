@@ -4,6 +4,7 @@ import com.junior.company.ecommerce.dto.ItemRequest;
 import com.junior.company.ecommerce.dto.ItemResponse;
 import com.junior.company.ecommerce.dto.ProductRequest;
 import com.junior.company.ecommerce.dto.ProductResponse;
+import com.junior.company.ecommerce.event.StockChangedEvent;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
 import com.junior.company.ecommerce.model.Category;
 import com.junior.company.ecommerce.model.Item;
@@ -20,6 +21,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.mock.web.MockMultipartFile;
@@ -67,6 +69,9 @@ class ProductServiceImplTest {
     @Mock
     private WeatherService weatherService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private MultipartFile multipartFile;
 
@@ -325,7 +330,7 @@ class ProductServiceImplTest {
                 .price(10.0)
                 .imageUrl("url")
                 .description("description")
-                .items(null)
+                .items(new ArrayList<>())
                 .build();
 
         given(productRepository.findById(anyLong())).willReturn(Optional.of(product));
@@ -550,7 +555,7 @@ class ProductServiceImplTest {
                 .build();
         product.getItems().add(item);
 
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item));
+        given(itemRepository.findByIdForUpdate(anyLong())).willReturn(Optional.of(item));
         Item updatedItem = mapItemRequestToItemUpdate(itemRequest);
         updatedItem.setProduct(item.getProduct());
         ItemResponse itemResponse = mapItemToItemResponse(updatedItem);
@@ -565,6 +570,14 @@ class ProductServiceImplTest {
 
         assertThat(capturedItem).usingRecursiveComparison().isEqualTo(updatedItem);
         assertThat(result).usingRecursiveComparison().isEqualTo(itemResponse);
+
+        ArgumentCaptor<StockChangedEvent> stockChangedEventArgumentCaptor =
+                ArgumentCaptor.forClass(StockChangedEvent.class);
+        verify(eventPublisher).publishEvent(stockChangedEventArgumentCaptor.capture());
+        assertThat(stockChangedEventArgumentCaptor.getValue().getItemId()).isEqualTo(1L);
+        assertThat(stockChangedEventArgumentCaptor.getValue().getQuantity()).isEqualTo(50);
+        assertThat(stockChangedEventArgumentCaptor.getValue().getDelta()).isEqualTo(0);
+        assertThat(stockChangedEventArgumentCaptor.getValue().isRemoved()).isFalse();
     }
 
     @Test
@@ -622,7 +635,7 @@ class ProductServiceImplTest {
         product.getItems().add(item);
         product.getItems().add(otherItem);
 
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item));
+        given(itemRepository.findByIdForUpdate(anyLong())).willReturn(Optional.of(item));
 
         // when then
         assertThatThrownBy(() -> productService.updateItem(itemRequest))
@@ -641,7 +654,7 @@ class ProductServiceImplTest {
                 .quantity(50)
                 .build();
 
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item));
+        given(itemRepository.findByIdForUpdate(anyLong())).willReturn(Optional.of(item));
 
         // when
         boolean result = productService.deleteItemById(itemId);
@@ -656,7 +669,7 @@ class ProductServiceImplTest {
         // given
         Long itemId = 0L;
 
-        given(itemRepository.findById(anyLong())).willReturn(Optional.empty());
+        given(itemRepository.findByIdForUpdate(anyLong())).willReturn(Optional.empty());
 
         // when then
         assertThatThrownBy(() -> productService.deleteItemById(itemId))
@@ -0,0 +1,245 @@
+package com.junior.company.ecommerce.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.junior.company.ecommerce.dto.TokenResponse;
+import com.junior.company.ecommerce.exception.PermissionDeniedException;
+import com.junior.company.ecommerce.model.RevokedRefreshToken;
+import com.junior.company.ecommerce.model.UserTokenRevocation;
+import com.junior.company.ecommerce.repository.RevokedRefreshTokenRepository;
+import com.junior.company.ecommerce.repository.UserTokenRevocationRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
+import com.junior.company.ecommerce.security.JwtTokenProvider;
+import com.junior.company.ecommerce.security.SecurityConstant;
+import com.junior.company.ecommerce.security.UserTokenRevocations;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class RefreshTokenServiceImplTest {
+
+    private static final String EMAIL = "user@email.com";
+    private static final String ISSUER = "http://localhost/api/v1/login";
+    private static final AppUserPrincipal PRINCIPAL = new AppUserPrincipal(1L, 2L, EMAIL);
+
+    @Mock
+    private RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserTokenRevocations userTokenRevocations;
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeAll
+    static void beforeAll() {
+        ReflectionTestUtils.setField(SecurityConstant.class, "SECRET_KEY", "refresh-token-test-secret");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(60, 600, 3600);
+        userTokenRevocations = new UserTokenRevocations(3600);
+        refreshTokenService = new RefreshTokenServiceImpl(
+                jwtTokenProvider, revokedRefreshTokenRepository, transactionTemplate, userTokenRevocations,
+                userTokenRevocationRepository);
+    }
+
+    @Test
+    void shouldRefreshAccessToken_givenValidRefreshToken() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+
+        // when
+        TokenResponse result = refreshTokenService.refreshAccessToken(refreshToken);
+
+        // then
+        DecodedJWT accessToken = JWT.decode(result.getAccessToken());
+        assertThat(accessToken.getSubject()).isEqualTo(EMAIL);
+        assertThat(accessToken.getClaim("user_id").asLong()).isEqualTo(1L);
+        assertThat(accessToken.getClaim("cart_id").asLong()).isEqualTo(2L);
+        assertThat(accessToken.getClaim("roles").asList(String.class)).containsExactly("ROLE_USER");
+        assertThat(accessToken.getExpiresAt().getTime() - accessToken.getIssuedAt().getTime()).isEqualTo(60_000);
+        assertThat(JwtTokenProvider.isRefreshToken(accessToken)).isFalse();
+        assertThat(jwtTokenProvider.verifyRefreshToken(result.getRefreshToken()).getSubject()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_whenRefreshTokenUsedTwice() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        refreshTokenService.refreshAccessToken(refreshToken);
+
+        // when
+        // then
+        assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(refreshToken))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Refresh token has been revoked");
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_whenTokensOfUserRevoked() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        userTokenRevocations.revokeTokensOf(PRINCIPAL.getUserId(), System.currentTimeMillis());
+
+        // when
+        // then
+        assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(refreshToken))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Refresh token has been revoked");
+    }
+
+    @Test
+    void shouldKeepSessionDeadline_whenRefreshingAccessToken() {
+
+        // given
+        Date authTime = new Date((System.currentTimeMillis() - 3570_000) / 1000 * 1000);
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, authTime);
+
+        // when
+        TokenResponse result = refreshTokenService.refreshAccessToken(refreshToken);
+
+        // then
+        DecodedJWT accessToken = JWT.decode(result.getAccessToken());
+        DecodedJWT newRefreshToken = JWT.decode(result.getRefreshToken());
+        assertThat(JwtTokenProvider.authTimeOf(newRefreshToken)).isEqualTo(authTime);
+        assertThat(newRefreshToken.getExpiresAt().getTime()).isEqualTo(authTime.getTime() + 3600_000);
+        assertThat(accessToken.getExpiresAt().getTime()).isEqualTo(authTime.getTime() + 3600_000);
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_givenAccessToken() {
+
+        // given
+        String accessToken = jwtTokenProvider.createAccessToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+
+        // when
+        // then
+        assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(accessToken))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Invalid refresh token");
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_whenRevokedBeforeRestart() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        given(revokedRefreshTokenRepository.findByExpiresAtAfter(any())).willReturn(List.of(
+                RevokedRefreshToken.builder()
+                        .tokenId(JWT.decode(refreshToken).getId())
+                        .expiresAt(LocalDateTime.now().plusMinutes(10))
+                        .build()));
+
+        // when
+        refreshTokenService.loadRevokedTokens();
+
+        // then
+        assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(refreshToken))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Refresh token has been revoked");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistRevokedTokens() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        refreshTokenService.revokeRefreshToken(refreshToken);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when
+        refreshTokenService.persistRevokedTokens();
+
+        // then
+        ArgumentCaptor<List<RevokedRefreshToken>> tokensArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(revokedRefreshTokenRepository).saveAll(tokensArgumentCaptor.capture());
+        assertThat(tokensArgumentCaptor.getValue()).extracting(RevokedRefreshToken::getTokenId)
+                .containsExactly(JWT.decode(refreshToken).getId());
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_whenTokensOfUserRevokedBeforeRestart() {
+
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken(PRINCIPAL, List.of("ROLE_USER"), ISSUER, new Date());
+        given(userTokenRevocationRepository.findByNotBeforeAfter(any())).willReturn(List.of(
+                UserTokenRevocation.builder()
+                        .appUserId(PRINCIPAL.getUserId())
+                        .notBefore(LocalDateTime.now().plusSeconds(1))
+                        .build()));
+
+        // when
+        refreshTokenService.loadRevokedTokens();
+
+        // then
+        assertThatThrownBy(() -> refreshTokenService.refreshAccessToken(refreshToken))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessageContaining("Refresh token has been revoked");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistUsersWithRevokedTokens() {
+
+        // given
+        userTokenRevocations.revokeTokensOf(PRINCIPAL.getUserId(), System.currentTimeMillis());
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when
+        refreshTokenService.persistRevokedTokens();
+        refreshTokenService.persistRevokedTokens();
+
+        // then
+        ArgumentCaptor<List<UserTokenRevocation>> revocationsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userTokenRevocationRepository).saveAll(revocationsArgumentCaptor.capture());
+        assertThat(revocationsArgumentCaptor.getValue()).extracting(UserTokenRevocation::getAppUserId)
+                .containsExactly(PRINCIPAL.getUserId());
+    }
+
+    @Test
+    void shouldKeepUsersWithRevokedTokensForNextRun_whenPersistingFails() {
+
+        // given
+        userTokenRevocations.revokeTokensOf(PRINCIPAL.getUserId(), System.currentTimeMillis());
+        given(transactionTemplate.execute(any())).willThrow(new IllegalStateException("Database unavailable"));
+
+        // when
+        refreshTokenService.persistRevokedTokens();
+
+        // then
+        assertThat(userTokenRevocations.takePending()).containsOnlyKeys(PRINCIPAL.getUserId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class RegisteredEmailServiceImplTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RegisteredEmailServiceImpl registeredEmailService;
+
+    @BeforeEach
+    void setUp() {
+        registeredEmailService = new RegisteredEmailServiceImpl(appUserRepository, transactionTemplate,
+                1000, 0.01, 0.1);
+    }
+
+    @Test
+    void shouldCheckDatabase_whenFilterNotBuiltYet() {
+
+        // given
+        given(appUserRepository.existsByEmail("user@email.com")).willReturn(true);
+
+        // when
+        boolean result = registeredEmailService.isEmailTaken("user@email.com");
+
+        // then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void shouldNotCheckDatabase_givenEmailNotInFilter() {
+
+        // given
+        stubEmails(List.of("user@email.com"));
+        registeredEmailService.rebuildFilter();
+
+        // when
+        boolean result = registeredEmailService.isEmailTaken("free@email.com");
+
+        // then
+        assertThat(result).isFalse();
+        verify(appUserRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void shouldCheckDatabase_givenEmailInFilter() {
+
+        // given
+        stubEmails(List.of("user@email.com"));
+        registeredEmailService.rebuildFilter();
+        registeredEmailService.addEmail("new@email.com");
+        given(appUserRepository.existsByEmail("new@email.com")).willReturn(false);
+        given(appUserRepository.existsByEmail("user@email.com")).willReturn(true);
+
+        // when
+        boolean added = registeredEmailService.isEmailTaken("new@email.com");
+        boolean built = registeredEmailService.isEmailTaken("user@email.com");
+
+        // then
+        assertThat(added).isFalse();
+        assertThat(built).isTrue();
+    }
+
+    @Test
+    void shouldRebuildFilter_whenTooManyEmailsRemoved() {
+
+        // given
+        stubEmails(List.of("first@email.com", "second@email.com"));
+        registeredEmailService.rebuildFilter();
+        registeredEmailService.removeEmail("first@email.com");
+
+        // when
+        registeredEmailService.rebuildFilterIfStale();
+        registeredEmailService.rebuildFilterIfStale();
+
+        // then
+        verify(appUserRepository, times(2)).scrollEmails(any());
+    }
+
+    @Test
+    void shouldNotRebuildFilter_whenFewEmailsRemoved() {
+
+        // given
+        stubEmails(List.of("first@email.com", "second@email.com", "third@email.com", "fourth@email.com",
+                "fifth@email.com", "sixth@email.com", "seventh@email.com", "eighth@email.com", "ninth@email.com",
+                "tenth@email.com", "eleventh@email.com"));
+        registeredEmailService.rebuildFilter();
+        registeredEmailService.removeEmail("first@email.com");
+
+        // when
+        registeredEmailService.rebuildFilterIfStale();
+
+        // then
+        verify(appUserRepository, times(1)).scrollEmails(any());
+    }
+
+    private void stubEmails(List<String> emails) {
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        willAnswer((invocation) -> {
+            emails.forEach(invocation.<Consumer<String>>getArgument(0));
+            return null;
+        }).given(appUserRepository).scrollEmails(any());
+    }
+}
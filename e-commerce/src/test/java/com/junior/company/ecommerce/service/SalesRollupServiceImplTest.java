@@ -0,0 +1,241 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.DailySalesView;
+import com.junior.company.ecommerce.dto.SalesResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.OrderPlacedLine;
+import com.junior.company.ecommerce.model.DailyCategorySales;
+import com.junior.company.ecommerce.model.DailyProductSales;
+import com.junior.company.ecommerce.model.SalesRollupId;
+import com.junior.company.ecommerce.repository.DailyCategorySalesRepository;
+import com.junior.company.ecommerce.repository.DailyProductSalesRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SalesRollupServiceImplTest {
+
+    @Mock
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    private DailyCategorySalesRepository dailyCategorySalesRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    @Test
+    void shouldCoalesceOrdersIntoOneUpsertPerRollupRow() {
+
+        // given
+        LocalDate saleDate = LocalDate.of(2022, 1, 2);
+        SalesRollupId productSalesId = new SalesRollupId(saleDate, 1L);
+        salesRollupService.recordOrder(orderPlacedEvent(saleDate, 2));
+        salesRollupService.recordOrder(orderPlacedEvent(saleDate, 3));
+
+        givenTransactionExecuted();
+        given(dailyProductSalesRepository.increment(productSalesId, 5L, 50.0)).willReturn(0);
+        given(dailyCategorySalesRepository.increment(any(), anyLong(), anyDouble())).willReturn(1);
+
+        // when
+        salesRollupService.flush();
+
+        // then
+        ArgumentCaptor<DailyProductSales> productSalesArgumentCaptor =
+                ArgumentCaptor.forClass(DailyProductSales.class);
+        verify(dailyProductSalesRepository).save(productSalesArgumentCaptor.capture());
+        assertThat(productSalesArgumentCaptor.getValue().getId()).isEqualTo(productSalesId);
+        assertThat(productSalesArgumentCaptor.getValue().getUnits()).isEqualTo(5L);
+        assertThat(productSalesArgumentCaptor.getValue().getRevenue()).isEqualTo(50.0);
+        verify(dailyCategorySalesRepository).increment(new SalesRollupId(saleDate, 1L), 5L, 50.0);
+        verify(dailyCategorySalesRepository).increment(new SalesRollupId(saleDate, 2L), 5L, 50.0);
+        verify(dailyCategorySalesRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotTouchDatabase_whenNothingWasRecorded() {
+
+        // when
+        salesRollupService.flush();
+
+        // then
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void shouldKeepDeltas_whenFlushFails() {
+
+        // given
+        LocalDate saleDate = LocalDate.of(2022, 1, 2);
+        salesRollupService.recordOrder(orderPlacedEvent(saleDate, 2));
+
+        given(transactionTemplate.execute(any()))
+                .willThrow(new IllegalStateException("database unavailable"))
+                .willAnswer((invocation) -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(dailyProductSalesRepository.increment(any(), anyLong(), anyDouble())).willReturn(1);
+        given(dailyCategorySalesRepository.increment(any(), anyLong(), anyDouble())).willReturn(1);
+
+        // when
+        salesRollupService.flush();
+        salesRollupService.flush();
+
+        // then
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(dailyProductSalesRepository).increment(new SalesRollupId(saleDate, 1L), 2L, 20.0);
+    }
+
+    @Test
+    void shouldGetDailySales() {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        DailySalesView dailySalesView = new DailySalesView() {
+            @Override
+            public LocalDate getSaleDate() {
+                return LocalDate.of(2022, 1, 2);
+            }
+
+            @Override
+            public Long getUnits() {
+                return 3L;
+            }
+
+            @Override
+            public Double getRevenue() {
+                return 30.0;
+            }
+        };
+
+        given(dailyProductSalesRepository.sumBySaleDateBetween(from, to)).willReturn(List.of(dailySalesView));
+
+        // when
+        List<SalesResponse> result = salesRollupService.findDailySales(from, to);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getDate()).isEqualTo(LocalDate.of(2022, 1, 2));
+        assertThat(result.get(0).getUnits()).isEqualTo(3L);
+        assertThat(result.get(0).getRevenue()).isEqualTo(30.0);
+    }
+
+    @Test
+    void shouldGetProductSales_givenProductId() {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        DailyProductSales productSales = DailyProductSales.builder()
+                .id(new SalesRollupId(LocalDate.of(2022, 1, 2), 1L))
+                .units(3L)
+                .revenue(30.0)
+                .build();
+
+        given(dailyProductSalesRepository.findBySaleDateBetweenAndProductId(from, to, 1L))
+                .willReturn(List.of(productSales));
+
+        // when
+        List<SalesResponse> result = salesRollupService.findProductSales(from, to, 1L);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getProductId()).isEqualTo(1L);
+        assertThat(result.get(0).getCategoryId()).isNull();
+        verify(dailyProductSalesRepository, never()).findBySaleDateBetween(any(), any());
+    }
+
+    @Test
+    void shouldGetCategorySales() {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+        DailyCategorySales categorySales = DailyCategorySales.builder()
+                .id(new SalesRollupId(LocalDate.of(2022, 1, 2), 2L))
+                .units(3L)
+                .revenue(30.0)
+                .build();
+
+        given(dailyCategorySalesRepository.findBySaleDateBetween(from, to)).willReturn(List.of(categorySales));
+
+        // when
+        List<SalesResponse> result = salesRollupService.findCategorySales(from, to, null);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCategoryId()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldNotGetSales_whenDateRangeIsTooLong() {
+
+        // given
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 31);
+
+        // when then
+        assertThatThrownBy(() -> salesRollupService.findDailySales(from, to))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Date range must not exceed 366 days");
+    }
+
+    @Test
+    void shouldNotGetSales_whenDateFromIsAfterDateTo() {
+
+        // given
+        LocalDate from = LocalDate.of(2022, 2, 1);
+        LocalDate to = LocalDate.of(2022, 1, 1);
+
+        // when then
+        assertThatThrownBy(() -> salesRollupService.findProductSales(from, to, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Date from must not be after date to");
+    }
+
+    private void givenTransactionExecuted() {
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static OrderPlacedEvent orderPlacedEvent(LocalDate saleDate, int amount) {
+        return OrderPlacedEvent.builder()
+                .orderId(1L)
+                .appUserId(1L)
+                .dateOfOrder(saleDate.atTime(12, 0))
+                .lines(List.of(OrderPlacedLine.builder()
+                        .itemId(1L)
+                        .productId(1L)
+                        .categoryIds(Set.of(1L, 2L))
+                        .amount(amount)
+                        .price(10.0)
+                        .build()))
+                .build();
+    }
+}
@@ -1,8 +1,12 @@
 package com.junior.company.ecommerce.service;
 
+import com.junior.company.ecommerce.checkout.CheckoutMode;
 import com.junior.company.ecommerce.dto.CartResponse;
 import com.junior.company.ecommerce.dto.OrderResponse;
+import com.junior.company.ecommerce.event.OrderPlacedEvent;
+import com.junior.company.ecommerce.event.StockChangedEvent;
 import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.exception.ServiceOverloadedException;
 import com.junior.company.ecommerce.model.Address;
 import com.junior.company.ecommerce.model.AppUser;
 import com.junior.company.ecommerce.model.Cart;
@@ -14,17 +18,22 @@ import com.junior.company.ecommerce.model.OrderItem;
 import com.junior.company.ecommerce.model.Product;
 import com.junior.company.ecommerce.model.Role;
 import com.junior.company.ecommerce.model.WeatherSeason;
+import com.junior.company.ecommerce.repository.AppUserRepository;
 import com.junior.company.ecommerce.repository.CartItemRepository;
 import com.junior.company.ecommerce.repository.ItemRepository;
+import com.junior.company.ecommerce.repository.OrderRepository;
+import com.junior.company.ecommerce.security.AppUserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,11 +41,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapCartToCartResponse;
 import static com.junior.company.ecommerce.mapper.ShoppingMapper.mapOrdersToOrderResponses;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
@@ -49,13 +67,24 @@ class ShoppingServiceImplTest {
     @Mock
     private AppUserService appUserService;
 
+    @Mock
+    private AppUserRepository appUserRepository;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private CartItemRepository cartItemRepository;
 
-    @InjectMocks
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     private ShoppingServiceImpl shoppingService;
 
     private Role role;
@@ -65,6 +94,7 @@ class ShoppingServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        shoppingService = shoppingService(CheckoutMode.DIRECT);
         cart = Cart.builder()
                 .id(1L)
                 .totalValue(0.0)
@@ -426,6 +456,13 @@ class ShoppingServiceImplTest {
                 .quantity(10)
                 .product(product)
                 .build();
+        Category category = Category.builder()
+                .id(1L)
+                .name("coat")
+                .weatherSeason(WeatherSeason.SUMMER)
+                .products(List.of(product))
+                .build();
+        product.setCategories(Set.of(category));
         product.setItems(List.of(item));
         CartItem cartItem = CartItem.builder()
                 .id(1L)
@@ -446,12 +483,26 @@ class ShoppingServiceImplTest {
         appUser.getOrders().add(order);
 
         given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         // when
         boolean result = shoppingService.checkout();
 
         // then
         assertThat(result).isTrue();
+        verify(itemRepository).findItemsInCartsForUpdate(List.of(cart.getId()));
+        verify(orderRepository).save(any(Order.class));
+        ArgumentCaptor<Object> eventArgumentCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(eventArgumentCaptor.capture());
+        StockChangedEvent stockChangedEvent = (StockChangedEvent) eventArgumentCaptor.getAllValues().get(0);
+        assertThat(stockChangedEvent.getItemId()).isEqualTo(1L);
+        assertThat(stockChangedEvent.getQuantity()).isEqualTo(9);
+        OrderPlacedEvent orderPlacedEvent = (OrderPlacedEvent) eventArgumentCaptor.getAllValues().get(1);
+        assertThat(orderPlacedEvent.getLines().size()).isEqualTo(1);
+        assertThat(orderPlacedEvent.getLines().get(0).getProductId()).isEqualTo(1L);
+        assertThat(orderPlacedEvent.getLines().get(0).getCategoryIds()).isEqualTo(Set.of(1L));
+        assertThat(orderPlacedEvent.getLines().get(0).getAmount()).isEqualTo(1);
     }
 
     @Test
@@ -492,6 +543,8 @@ class ShoppingServiceImplTest {
         appUser.getOrders().add(order);
 
         given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         // when then
         assertThatThrownBy(() -> shoppingService.checkout())
@@ -499,6 +552,161 @@ class ShoppingServiceImplTest {
                 .hasMessageContaining("Ordered amount must not exceed quantity of item");
     }
 
+    @Test
+    void shouldPerformCheckout_whenCheckoutIsBatched() {
+
+        // given
+        ShoppingServiceImpl batchedShoppingService = shoppingService(CheckoutMode.BATCHED);
+        Product product = Product.builder()
+                .id(1L)
+                .name("name")
+                .price(10.0)
+                .items(new ArrayList<>())
+                .categories(Set.of())
+                .build();
+        Item item = Item.builder()
+                .id(1L)
+                .size("L")
+                .quantity(10)
+                .product(product)
+                .build();
+        cart.getCartItems().add(CartItem.builder()
+                .id(1L)
+                .item(item)
+                .amount(3)
+                .build());
+
+        given(appUserService.getCurrentPrincipal())
+                .willReturn(new AppUserPrincipal(appUser.getId(), cart.getId(), appUser.getEmail()));
+        given(appUserRepository.findById(anyLong())).willReturn(Optional.of(appUser));
+        given(itemRepository.findFirstItemIdInCart(anyLong())).willReturn(Optional.of(1L));
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when
+        boolean result = batchedShoppingService.checkout();
+        batchedShoppingService.close();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(item.getQuantity()).isEqualTo(7);
+        verify(itemRepository).findItemsInCartsForUpdate(List.of(cart.getId()));
+        verify(orderRepository).save(any(Order.class));
+    }
+
+    @Test
+    void shouldNotPerformCheckout_whenCheckoutIsBatchedAndOrderedAmountExceedQuantityInStock() {
+
+        // given
+        ShoppingServiceImpl batchedShoppingService = shoppingService(CheckoutMode.BATCHED);
+        Item item = Item.builder()
+                .id(1L)
+                .size("L")
+                .quantity(1)
+                .build();
+        cart.getCartItems().add(CartItem.builder()
+                .id(1L)
+                .item(item)
+                .amount(3)
+                .build());
+
+        given(appUserService.getCurrentPrincipal())
+                .willReturn(new AppUserPrincipal(appUser.getId(), cart.getId(), appUser.getEmail()));
+        given(appUserRepository.findById(anyLong())).willReturn(Optional.of(appUser));
+        given(itemRepository.findFirstItemIdInCart(anyLong())).willReturn(Optional.of(1L));
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when then
+        assertThatThrownBy(batchedShoppingService::checkout)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Ordered amount must not exceed quantity of item");
+        batchedShoppingService.close();
+        assertThat(item.getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotPerformCheckout_whenCheckoutIsBatchedAndBatchFailsWithError() {
+
+        // given
+        ShoppingServiceImpl batchedShoppingService = shoppingService(CheckoutMode.BATCHED);
+        StackOverflowError error = new StackOverflowError();
+
+        given(appUserService.getCurrentPrincipal())
+                .willReturn(new AppUserPrincipal(appUser.getId(), cart.getId(), appUser.getEmail()));
+        given(itemRepository.findFirstItemIdInCart(anyLong())).willReturn(Optional.of(1L));
+        given(itemRepository.findItemsInCartsForUpdate(List.of(cart.getId()))).willThrow(error);
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when then
+        assertThatThrownBy(batchedShoppingService::checkout)
+                .isInstanceOf(CompletionException.class)
+                .hasCause(error);
+        batchedShoppingService.close();
+    }
+
+    @Test
+    void shouldNotPerformCheckout_whenCheckoutIsBatchedAndBatchTakesTooLong() throws InterruptedException {
+
+        // given
+        ShoppingServiceImpl batchedShoppingService = shoppingService(CheckoutMode.BATCHED, 50);
+        CountDownLatch released = new CountDownLatch(1);
+
+        given(appUserService.getCurrentPrincipal())
+                .willReturn(new AppUserPrincipal(appUser.getId(), cart.getId(), appUser.getEmail()));
+        given(itemRepository.findFirstItemIdInCart(anyLong())).willReturn(Optional.of(1L));
+        given(itemRepository.findItemsInCartsForUpdate(List.of(cart.getId()))).willAnswer((invocation) -> {
+            released.await();
+            throw new IllegalStateException("Released");
+        });
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when then
+        assertThatThrownBy(batchedShoppingService::checkout)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("Checkout is taking too long");
+        released.countDown();
+        batchedShoppingService.close();
+    }
+
+    @Test
+    void shouldNotPerformCheckout_whenCheckoutIsBatchedAndQueueIsFull() throws Exception {
+
+        // given
+        ShoppingServiceImpl batchedShoppingService = shoppingService(CheckoutMode.BATCHED);
+        CountDownLatch released = new CountDownLatch(1);
+
+        given(appUserService.getCurrentPrincipal())
+                .willReturn(new AppUserPrincipal(appUser.getId(), cart.getId(), appUser.getEmail()));
+        given(itemRepository.findFirstItemIdInCart(anyLong())).willReturn(Optional.of(1L));
+        given(itemRepository.findItemsInCartsForUpdate(any())).willAnswer((invocation) -> {
+            released.await();
+            throw new IllegalStateException("Released");
+        });
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CompletionService<Boolean> checkouts = new ExecutorCompletionService<>(executorService);
+
+        // when
+        for (int checkout = 0; checkout < 32; checkout++) {
+            checkouts.submit(batchedShoppingService::checkout);
+        }
+        Future<Boolean> firstDone = checkouts.poll(10, TimeUnit.SECONDS);
+        released.countDown();
+        executorService.shutdown();
+
+        // then
+        assertThat(firstDone).isNotNull();
+        assertThatThrownBy(firstDone::get)
+                .hasCauseInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("Too many checkouts are waiting");
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        batchedShoppingService.close();
+    }
+
     @Test
     void shouldRetrieveViewOfOrders() {
 
@@ -553,4 +761,13 @@ class ShoppingServiceImplTest {
         // then
         assertThat(result).usingRecursiveComparison().isEqualTo(orderResponses);
     }
-}
\ No newline at end of file
+
+    private ShoppingServiceImpl shoppingService(CheckoutMode checkoutMode) {
+        return shoppingService(checkoutMode, 10000);
+    }
+
+    private ShoppingServiceImpl shoppingService(CheckoutMode checkoutMode, long checkoutTimeoutMillis) {
+        return new ShoppingServiceImpl(appUserService, appUserRepository, itemRepository, cartItemRepository,
+                orderRepository, eventPublisher, transactionTemplate, checkoutMode, 2, 16, 8, checkoutTimeoutMillis);
+    }
+}
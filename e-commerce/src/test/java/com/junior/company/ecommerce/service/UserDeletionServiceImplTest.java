@@ -0,0 +1,181 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserDeletionJobResponse;
+import com.junior.company.ecommerce.event.UserDeletionRequestedEvent;
+import com.junior.company.ecommerce.exception.ResourceNotFoundException;
+import com.junior.company.ecommerce.model.UserDeletionJob;
+import com.junior.company.ecommerce.model.UserDeletionStatus;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.UserDeletionJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class UserDeletionServiceImplTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserDeletionServiceImpl userDeletionService;
+
+    @BeforeEach
+    void setUp() {
+        userDeletionService = new UserDeletionServiceImpl(appUserRepository, userDeletionJobRepository,
+                eventPublisher, transactionTemplate, 2);
+    }
+
+    @Test
+    void shouldQueueDeletion_givenNoActiveDeletionOfUser() {
+
+        // given
+        given(userDeletionJobRepository.findFirstByAppUserIdAndStatusIn(eq(5L), anyCollection()))
+                .willReturn(Optional.empty());
+        given(userDeletionJobRepository.save(any(UserDeletionJob.class))).willReturn(userDeletionJob(
+                UserDeletionStatus.QUEUED));
+
+        // when
+        UserDeletionJobResponse result = userDeletionService.startDeletion(5L);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getStatus()).isEqualTo(UserDeletionStatus.QUEUED);
+        verify(eventPublisher).publishEvent(any(UserDeletionRequestedEvent.class));
+    }
+
+    @Test
+    void shouldReturnActiveDeletion_givenUserAlreadyBeingDeleted() {
+
+        // given
+        given(userDeletionJobRepository.findFirstByAppUserIdAndStatusIn(eq(5L), anyCollection()))
+                .willReturn(Optional.of(userDeletionJob(UserDeletionStatus.RUNNING)));
+
+        // when
+        UserDeletionJobResponse result = userDeletionService.startDeletion(5L);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(UserDeletionStatus.RUNNING);
+        verify(userDeletionJobRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldDeleteOrdersAndCartItemsInChunks_thenUserRows() {
+
+        // given
+        UserDeletionJob userDeletionJob = userDeletionJob(UserDeletionStatus.QUEUED);
+        stubTransactions(userDeletionJob);
+        given(appUserRepository.deleteOrdersChunk(5L, 2)).willReturn(6, 3, 0);
+        given(appUserRepository.deleteCartItemsChunk(5L, 2)).willReturn(2, 0);
+        given(appUserRepository.deleteUserRows(5L)).willReturn(4);
+
+        // when
+        userDeletionService.runDeletion(1L);
+
+        // then
+        verify(appUserRepository, times(3)).deleteOrdersChunk(5L, 2);
+        verify(appUserRepository, times(2)).deleteCartItemsChunk(5L, 2);
+        assertThat(userDeletionJob.getStatus()).isEqualTo(UserDeletionStatus.COMPLETED);
+        assertThat(userDeletionJob.getDeletedRows()).isEqualTo(15L);
+        assertThat(userDeletionJob.getFinishedAt()).isNotNull();
+        assertThat(userDeletionJob.getLastError()).isNull();
+    }
+
+    @Test
+    void shouldMarkDeletionFailed_givenDeleteFails() {
+
+        // given
+        UserDeletionJob userDeletionJob = userDeletionJob(UserDeletionStatus.QUEUED);
+        stubTransactions(userDeletionJob);
+        given(appUserRepository.deleteOrdersChunk(5L, 2)).willReturn(6, 0);
+        given(appUserRepository.deleteCartItemsChunk(5L, 2)).willReturn(0);
+        given(appUserRepository.deleteUserRows(5L)).willThrow(new DataIntegrityViolationException("FK_order"));
+
+        // when
+        userDeletionService.runDeletion(1L);
+
+        // then
+        assertThat(userDeletionJob.getStatus()).isEqualTo(UserDeletionStatus.FAILED);
+        assertThat(userDeletionJob.getDeletedRows()).isEqualTo(6L);
+        assertThat(userDeletionJob.getLastError()).contains("FK_order");
+    }
+
+    @Test
+    void shouldNotRunDeletion_givenDeletionAlreadyFinished() {
+
+        // given
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(userDeletionJobRepository.findById(1L)).willReturn(Optional.of(userDeletionJob(
+                UserDeletionStatus.COMPLETED)));
+
+        // when
+        userDeletionService.runDeletion(1L);
+
+        // then
+        verify(appUserRepository, never()).deleteOrdersChunk(anyLong(), anyInt());
+        verify(appUserRepository, never()).deleteUserRows(anyLong());
+    }
+
+    @Test
+    void shouldNotFindDeletion_givenInvalidDeletionId() {
+
+        // given
+        given(userDeletionJobRepository.findById(0L)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> userDeletionService.findDeletionById(0L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User deletion with id: 0 not found");
+    }
+
+    private void stubTransactions(UserDeletionJob userDeletionJob) {
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(userDeletionJobRepository.findById(1L)).willReturn(Optional.of(userDeletionJob));
+        given(userDeletionJobRepository.save(userDeletionJob)).willReturn(userDeletionJob);
+    }
+
+    private static UserDeletionJob userDeletionJob(UserDeletionStatus status) {
+        return UserDeletionJob.builder()
+                .id(1L)
+                .appUserId(5L)
+                .status(status)
+                .deletedRows(0L)
+                .requestedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,307 @@
+package com.junior.company.ecommerce.service;
+
+import com.junior.company.ecommerce.dto.UserImportJobResponse;
+import com.junior.company.ecommerce.model.Role;
+import com.junior.company.ecommerce.model.UserImportJob;
+import com.junior.company.ecommerce.model.UserImportStatus;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.RoleRepository;
+import com.junior.company.ecommerce.repository.UserImportJobRepository;
+import com.junior.company.ecommerce.userimport.UserImportFormat;
+import com.junior.company.ecommerce.userimport.UserImportRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class UserImportServiceImplTest {
+
+    private static final String HEADER = "email,password,passwordHash,firstName,lastName,phoneNumber,dob," +
+            "apartmentNumber,street,city,country\n";
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private UserImportJobRepository userImportJobRepository;
+
+    @Mock
+    private RegisteredEmailService registeredEmailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path directory;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(appUserRepository, roleRepository, userImportJobRepository,
+                registeredEmailService, transactionTemplate, directory.toString(), 2, 2, 24, 4);
+    }
+
+    @Test
+    void shouldImportUsersInChunks_skippingTakenEmailsAndInvalidRecords() throws IOException {
+
+        // given
+        String passwordHash = new BCryptPasswordEncoder(4).encode("password");
+        UserImportJob userImportJob = userImportJob(HEADER +
+                user("first@email.com", "password", "") +
+                user("second@email.com", "", passwordHash) +
+                user("taken@email.com", "password", "") +
+                user("invalid@email.com", "short", ""), 0L);
+        List<List<UserImportRecord>> inserted = stubImport(userImportJob);
+        given(appUserRepository.findExistingEmails(anyCollection()))
+                .willReturn(List.of())
+                .willReturn(List.of("taken@email.com"));
+
+        // when
+        userImportService.runImport(userImportJob);
+
+        // then
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0)).extracting("email").containsExactly("first@email.com", "second@email.com");
+        assertThat(new BCryptPasswordEncoder().matches("password", inserted.get(0).get(0).getPasswordHash())).isTrue();
+        assertThat(inserted.get(0).get(0).getPassword()).isNull();
+        assertThat(inserted.get(0).get(1).getPasswordHash()).isEqualTo(passwordHash);
+        assertThat(userImportJob.getStatus()).isEqualTo(UserImportStatus.COMPLETED);
+        assertThat(userImportJob.getProcessedRecords()).isEqualTo(4L);
+        assertThat(userImportJob.getImportedUsers()).isEqualTo(2L);
+        assertThat(userImportJob.getSkippedUsers()).isEqualTo(1L);
+        assertThat(userImportJob.getInvalidRecords()).isEqualTo(1L);
+        assertThat(userImportJob.getFinishedAt()).isNotNull();
+        assertThat(Path.of(userImportJob.getFileName())).doesNotExist();
+        verify(registeredEmailService).addEmail("first@email.com");
+        verify(registeredEmailService).addEmail("second@email.com");
+    }
+
+    @Test
+    void shouldResumeImportAfterProcessedRecords() throws IOException {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER +
+                user("first@email.com", "password", "") +
+                user("second@email.com", "password", "") +
+                user("third@email.com", "password", ""), 2L);
+        List<List<UserImportRecord>> inserted = stubImport(userImportJob);
+        given(appUserRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+
+        // when
+        userImportService.runImport(userImportJob);
+
+        // then
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0)).extracting("email").containsExactly("third@email.com");
+        assertThat(userImportJob.getStatus()).isEqualTo(UserImportStatus.COMPLETED);
+        assertThat(userImportJob.getProcessedRecords()).isEqualTo(3L);
+        assertThat(userImportJob.getImportedUsers()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldMarkImportFailedWithoutProgress_whenChunkInsertFails() throws IOException {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER + user("first@email.com", "password", ""), 0L);
+        stubTransactions(userImportJob);
+        given(appUserRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        willThrow(new IllegalStateException("Duplicate entry")).given(appUserRepository)
+                .insertImportedUsers(anyList(), any());
+
+        // when
+        userImportService.runImport(userImportJob);
+
+        // then
+        assertThat(userImportJob.getStatus()).isEqualTo(UserImportStatus.FAILED);
+        assertThat(userImportJob.getLastError()).contains("Duplicate entry");
+        assertThat(userImportJob.getProcessedRecords()).isEqualTo(0L);
+        assertThat(Path.of(userImportJob.getFileName())).exists();
+    }
+
+    @Test
+    void shouldStoreUploadedFileReadableByOwnerOnly() throws IOException {
+
+        // given
+        List<String> stored = new ArrayList<>();
+        given(userImportJobRepository.save(any(UserImportJob.class))).willAnswer((invocation) -> {
+            Path file = Path.of(invocation.<UserImportJob>getArgument(0).getFileName());
+            stored.add(Files.readString(file));
+            stored.add(PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+            return invocation.getArgument(0);
+        });
+
+        // when
+        userImportService.startImport(UserImportFormat.CSV,
+                new ByteArrayInputStream(HEADER.getBytes(StandardCharsets.UTF_8)));
+        userImportService.shutdown();
+
+        // then
+        assertThat(stored).containsExactly(HEADER, "rw-------");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory))).isEqualTo("rwx------");
+    }
+
+    @Test
+    void shouldExpireAbandonedImportAndDeleteItsFile() throws IOException {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER, 0L);
+        userImportJob.setStatus(UserImportStatus.FAILED);
+        given(userImportJobRepository.findIdsByStatusInAndLastRunBefore(anyCollection(), any()))
+                .willReturn(List.of(1L));
+        given(userImportJobRepository.updateStatusById(eq(1L), anyCollection(), eq(UserImportStatus.EXPIRED),
+                anyString())).willReturn(1);
+        given(userImportJobRepository.findById(1L)).willReturn(Optional.of(userImportJob));
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when
+        userImportService.expireAbandonedImports();
+
+        // then
+        assertThat(Path.of(userImportJob.getFileName())).doesNotExist();
+    }
+
+    @Test
+    void shouldRunImportOnce_whenResumedTwice() throws Exception {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER, 0L);
+        userImportJob.setStatus(UserImportStatus.INTERRUPTED);
+        stubTransactions(userImportJob);
+        given(userImportJobRepository.restartById(eq(1L), anyCollection(), eq(UserImportStatus.RUNNING)))
+                .willAnswer((invocation) -> {
+                    userImportJob.setStatus(UserImportStatus.RUNNING);
+                    return 1;
+                })
+                .willReturn(0);
+        CountDownLatch finished = new CountDownLatch(1);
+        given(userImportJobRepository.save(any(UserImportJob.class))).willAnswer((invocation) -> {
+            finished.countDown();
+            return invocation.getArgument(0);
+        });
+
+        // when
+        UserImportJobResponse result = userImportService.resumeImport(1L);
+        assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(UserImportStatus.RUNNING);
+        assertThatThrownBy(() -> userImportService.resumeImport(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("User import with id: 1 cannot be resumed from status");
+        userImportService.shutdown();
+        verify(roleRepository).findRoleByName("USER");
+    }
+
+    @Test
+    void shouldThrowIllegalStateException_givenCompletedImportToResume() throws IOException {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER, 0L);
+        userImportJob.setStatus(UserImportStatus.COMPLETED);
+        given(userImportJobRepository.findById(1L)).willReturn(Optional.of(userImportJob));
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // when then
+        assertThatThrownBy(() -> userImportService.resumeImport(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("User import with id: 1 cannot be resumed from status: COMPLETED");
+        verify(userImportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldGetImportWithThroughput() throws IOException {
+
+        // given
+        UserImportJob userImportJob = userImportJob(HEADER, 0L);
+        userImportJob.setImportedUsers(3000L);
+        userImportJob.setElapsedMillis(2000L);
+        given(userImportJobRepository.findById(1L)).willReturn(Optional.of(userImportJob));
+
+        // when
+        UserImportJobResponse result = userImportService.findImportById(1L);
+
+        // then
+        assertThat(result.getImportedUsers()).isEqualTo(3000L);
+        assertThat(result.getElapsedSeconds()).isEqualTo(2.0);
+        assertThat(result.getUsersPerSecond()).isEqualTo(1500.0);
+    }
+
+    private List<List<UserImportRecord>> stubImport(UserImportJob userImportJob) {
+        stubTransactions(userImportJob);
+        List<List<UserImportRecord>> inserted = new ArrayList<>();
+        willAnswer((invocation) -> inserted.add(new ArrayList<>(invocation.<List<UserImportRecord>>getArgument(0))))
+                .given(appUserRepository).insertImportedUsers(anyList(), eq(5L));
+        return inserted;
+    }
+
+    private void stubTransactions(UserImportJob userImportJob) {
+        given(roleRepository.findRoleByName("USER")).willReturn(Optional.of(Role.builder().id(5L).name("USER").build()));
+        given(transactionTemplate.execute(any())).willAnswer((invocation) ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(userImportJobRepository.findById(1L)).willReturn(Optional.of(userImportJob));
+    }
+
+    private UserImportJob userImportJob(String content, Long processedRecords) throws IOException {
+        Path file = Files.writeString(directory.resolve("users.csv"), content);
+        return UserImportJob.builder()
+                .id(1L)
+                .fileName(file.toString())
+                .format(UserImportFormat.CSV)
+                .status(UserImportStatus.RUNNING)
+                .processedRecords(processedRecords)
+                .importedUsers(0L)
+                .skippedUsers(0L)
+                .invalidRecords(0L)
+                .hashingMillis(0L)
+                .elapsedMillis(0L)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String user(String email, String password, String passwordHash) {
+        return List.of(email, password, passwordHash, "Tom", "Jones", "500600700", "1990-02-20", "101", "Pine",
+                "Seattle", "USA").stream().collect(Collectors.joining(",", "", "\n"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.junior.company.ecommerce.stress;
+
+import com.junior.company.ecommerce.model.AppUser;
+import com.junior.company.ecommerce.model.Cart;
+import com.junior.company.ecommerce.model.Item;
+import com.junior.company.ecommerce.model.Product;
+import com.junior.company.ecommerce.repository.AppUserRepository;
+import com.junior.company.ecommerce.repository.ProductRepository;
+import com.junior.company.ecommerce.service.ShoppingService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs concurrent virtual users doing random cart mutations and checkouts against a few hot items,
+// then checks stock invariants and reports throughput and checkout latency percentiles.
+// Run with: mvn test -Pstress [-Dstress.users=200 -Dstress.operations=50 -Dstress.items=5 -Dstress.initial-stock=500]
+@SpringBootTest(properties = {
+        "secret.key=stress-test-secret",
+        "api.description=stress test",
+        "logging.level.com.junior.company.ecommerce=WARN"})
+@Tag("stress")
+@Slf4j
+class CheckoutStressTest {
+
+    private static final int USERS = Integer.getInteger("stress.users", 200);
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 50);
+    private static final int ITEMS = Integer.getInteger("stress.items", 5);
+    private static final int INITIAL_STOCK = Integer.getInteger("stress.initial-stock", 500);
+    private static final double PRICE = 10.0;
+
+    @Autowired
+    private ShoppingService shoppingService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Item> items = new ArrayList<>();
+        Product product = Product.builder()
+                .name("stress product")
+                .price(PRICE)
+                .description("description")
+                .imageUrl("url")
+                .lowStockThreshold(0)
+                .items(items)
+                .build();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item("S" + i, INITIAL_STOCK);
+            item.setProduct(product);
+            items.add(item);
+        }
+        productRepository.save(product).getItems().forEach((item) -> itemIds.add(item.getId()));
+
+        for (int i = 0; i < USERS; i++) {
+            AppUser appUser = AppUser.builder()
+                    .email("stress" + i + "@mail.com")
+                    .password("password")
+                    .enabled(true)
+                    .roles(new ArrayList<>())
+                    .orders(new ArrayList<>())
+                    .cart(Cart.builder().totalValue(0.0).cartItems(new ArrayList<>()).build())
+                    .build();
+            emails.add(appUserRepository.save(appUser).getEmail());
+        }
+    }
+
+    @Test
+    void shouldKeepStockConsistent_whenUsersCheckoutConcurrently() throws Exception {
+
+        // given
+        ExecutorService executorService = Executors.newFixedThreadPool(USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = emails.get(i);
+            long seed = i;
+            results.add(executorService.submit(() -> runUser(email, seed, start)));
+        }
+
+        // when
+        long startNanos = System.nanoTime();
+        start.countDown();
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            latencies.add(result.get());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executorService.shutdown();
+
+        // then
+        long[] checkoutNanos = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        report(checkoutNanos, elapsedNanos);
+
+        Map<Long, Long> ordered = new HashMap<>();
+        jdbcTemplate.query("SELECT item_id, SUM(amount) FROM order_item GROUP BY item_id",
+                (row) -> {
+                    ordered.put(row.getLong(1), row.getLong(2));
+                });
+        List<String> violations = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            Integer quantity = jdbcTemplate.queryForObject(
+                    "SELECT quantity FROM item WHERE id = ?", Integer.class, itemId);
+            long orderedUnits = ordered.getOrDefault(itemId, 0L);
+            if (quantity < 0) {
+                violations.add(String.format("item %s has negative stock: %s", itemId, quantity));
+            }
+            if (orderedUnits + quantity != INITIAL_STOCK) {
+                violations.add(String.format("item %s: ordered %s + remaining %s != initial %s",
+                        itemId, orderedUnits, quantity, INITIAL_STOCK));
+            }
+        }
+        jdbcTemplate.query("SELECT c.id, c.total_value, COALESCE(SUM(ci.amount), 0) FROM cart c " +
+                        "LEFT JOIN cart_item ci ON ci.cart_id = c.id GROUP BY c.id, c.total_value",
+                (row) -> {
+                    double expected = row.getLong(3) * PRICE;
+                    if (Math.abs(row.getDouble(2) - expected) > 0.001) {
+                        violations.add(String.format("cart %s total %s != sum of lines %s",
+                                row.getLong(1), row.getDouble(2), expected));
+                    }
+                });
+        assertThat(violations).isEmpty();
+    }
+
+    private long[] runUser(String email, long seed, CountDownLatch start) throws InterruptedException {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        Random random = new Random(seed);
+        Map<Long, Integer> cart = new HashMap<>();
+        long[] checkoutNanos = new long[OPERATIONS];
+        int checkouts = 0;
+        start.await();
+        try {
+            for (int i = 0; i < OPERATIONS; i++) {
+                Long itemId = itemIds.get(random.nextInt(itemIds.size()));
+                int operation = random.nextInt(10);
+                try {
+                    if (operation < 6) {
+                        int amount = 1 + random.nextInt(3);
+                        shoppingService.addCartItem(itemId, amount);
+                        cart.merge(itemId, amount, Integer::sum);
+                    } else if (operation < 7 && cart.containsKey(itemId)) {
+                        shoppingService.removeCartItem(itemId, 1);
+                        cart.computeIfPresent(itemId, (id, amount) -> amount == 1 ? null : amount - 1);
+                    } else if (!cart.isEmpty()) {
+                        long checkoutStart = System.nanoTime();
+                        shoppingService.checkout();
+                        checkoutNanos[checkouts++] = System.nanoTime() - checkoutStart;
+                        cart.clear();
+                    }
+                } catch (RuntimeException e) {
+                    rejections.computeIfAbsent(e.getClass().getSimpleName(), (name) -> new LongAdder()).increment();
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return Arrays.copyOf(checkoutNanos, checkouts);
+    }
+
+    private void report(long[] checkoutNanos, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        log.warn("Stress run: {} users x {} operations on {} items in {} s",
+                USERS, OPERATIONS, ITEMS, String.format("%.2f", seconds));
+        log.warn("Throughput: {} operations/s, {} checkouts/s",
+                String.format("%.0f", USERS * OPERATIONS / seconds),
+                String.format("%.0f", checkoutNanos.length / seconds));
+        log.warn("Checkout latency: p50 {} ms, p99 {} ms, p999 {} ms",
+                percentile(checkoutNanos, 0.5), percentile(checkoutNanos, 0.99), percentile(checkoutNanos, 0.999));
+        log.warn("Rejected operations: {}", rejections);
+    }
+
+    private String percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return String.format("%.2f", sortedNanos[Math.max(index, 0)] / 1e6);
+    }
+}
@@ -0,0 +1,94 @@
+package com.junior.company.ecommerce.userimport;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class UserImportReaderTest {
+
+    @Test
+    void shouldReadCsvRecords_givenHeaderInAnyOrderAndQuotedValues() throws IOException {
+
+        // given
+        String csv = "city,email,street,dob,apartmentNumber\n" +
+                "\"Seattle, WA\",tom@email.com,\"Pine \"\"Old\"\" Street\",1990-02-20,101\n" +
+                "\n" +
+                "Boston,ann@email.com,Elm,,\n";
+
+        // when
+        List<UserImportRecord> result = readAll(UserImportFormat.CSV, csv);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getCity()).isEqualTo("Seattle, WA");
+        assertThat(result.get(0).getStreet()).isEqualTo("Pine \"Old\" Street");
+        assertThat(result.get(0).getDob()).isEqualTo(LocalDate.of(1990, 2, 20));
+        assertThat(result.get(0).getApartmentNumber()).isEqualTo(101);
+        assertThat(result.get(1).getEmail()).isEqualTo("ann@email.com");
+        assertThat(result.get(1).getDob()).isNull();
+        assertThat(result.get(1).getApartmentNumber()).isNull();
+    }
+
+    @Test
+    void shouldThrowIllegalStateException_givenCsvRecordWithInvalidDate() {
+
+        // given
+        String csv = "email,dob\ntom@email.com,20-02-1990\n";
+
+        // when then
+        assertThatThrownBy(() -> readAll(UserImportFormat.CSV, csv))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Invalid value in line 2");
+    }
+
+    @Test
+    void shouldReadJsonRecords_givenArray() throws IOException {
+
+        // given
+        String json = "[{\"email\":\"tom@email.com\",\"dob\":\"1990-02-20\",\"apartmentNumber\":101}," +
+                "{\"email\":\"ann@email.com\",\"unknown\":true}]";
+
+        // when
+        List<UserImportRecord> result = readAll(UserImportFormat.JSON, json);
+
+        // then
+        assertThat(result).extracting("email").containsExactly("tom@email.com", "ann@email.com");
+        assertThat(result.get(0).getDob()).isEqualTo(LocalDate.of(1990, 2, 20));
+    }
+
+    @Test
+    void shouldReadJsonRecords_givenObjectPerLine() throws IOException {
+
+        // given
+        String json = "{\"email\":\"tom@email.com\"}\n{\"email\":\"ann@email.com\"}\n";
+
+        // when
+        List<UserImportRecord> result = readAll(UserImportFormat.JSON, json);
+
+        // then
+        assertThat(result).extracting("email").containsExactly("tom@email.com", "ann@email.com");
+    }
+
+    private static List<UserImportRecord> readAll(UserImportFormat format, String content) throws IOException {
+        List<UserImportRecord> records = new ArrayList<>();
+        try (UserImportReader reader = UserImportReader.of(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+            UserImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
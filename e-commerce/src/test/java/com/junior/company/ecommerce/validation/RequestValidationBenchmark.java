@@ -0,0 +1,111 @@
+package com.junior.company.ecommerce.validation;
+
+import com.junior.company.ecommerce.dto.AppUserRequest;
+import com.junior.company.ecommerce.dto.ProductRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanWrapperImpl;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Cost of validating request bodies, and of the custom constraints before (compiled pattern and bean wrappers
+// per call) and after (precompiled pattern and getter lambdas).
+// Run with: mvn test-compile, then
+// java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+//     com.junior.company.ecommerce.validation.RequestValidationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestValidationBenchmark {
+
+    private static final String EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
+            + "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EmailValidator emailValidator;
+    private FieldMatchValidator fieldMatchValidator;
+    private AppUserRequest appUserRequest;
+    private ProductRequest productRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        emailValidator = new EmailValidator();
+        fieldMatchValidator = new FieldMatchValidator();
+        fieldMatchValidator.initialize(AppUserRequest.class.getAnnotation(FieldMatch.List.class).value()[0]);
+        appUserRequest = RequestValidationTest.appUserRequest("tom@email.com", "password", "password");
+        productRequest = ProductRequest.builder()
+                .name("black basic t-shirt")
+                .price(29.99)
+                .description("Casual t-shirt.")
+                .lowStockThreshold(5)
+                .categoriesIds(Set.of(1L, 2L))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean emailPatternCompiledPerCall() {
+        return Pattern.compile(EMAIL_PATTERN).matcher(appUserRequest.getEmail()).matches();
+    }
+
+    @Benchmark
+    public boolean emailPatternPrecompiled() {
+        return emailValidator.isValid(appUserRequest.getEmail(), null);
+    }
+
+    @Benchmark
+    public boolean fieldMatchWithBeanWrappers() {
+        Object password = new BeanWrapperImpl(appUserRequest).getPropertyValue("password");
+        Object matchingPassword = new BeanWrapperImpl(appUserRequest).getPropertyValue("matchingPassword");
+        return Objects.equals(password, matchingPassword);
+    }
+
+    @Benchmark
+    public boolean fieldMatchWithGetterLambdas() {
+        return fieldMatchValidator.isValid(appUserRequest, null);
+    }
+
+    @Benchmark
+    public int validateAppUserRequest() {
+        return validator.validate(appUserRequest).size();
+    }
+
+    @Benchmark
+    public int validateProductRequest() {
+        return validator.validate(productRequest).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
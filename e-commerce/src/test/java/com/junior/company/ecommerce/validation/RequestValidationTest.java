@@ -0,0 +1,120 @@
+package com.junior.company.ecommerce.validation;
+
+import com.junior.company.ecommerce.dto.AddressRequest;
+import com.junior.company.ecommerce.dto.AppUserRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class RequestValidationTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void shouldAcceptAppUserRequest_givenValidFields() {
+
+        // given
+        AppUserRequest appUserRequest = appUserRequest("tom@email.com", "password", "password");
+
+        // when
+        Set<ConstraintViolation<AppUserRequest>> violations = validator.validate(appUserRequest);
+
+        // then
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    void shouldRejectAppUserRequest_givenInvalidEmail() {
+
+        // given
+        AppUserRequest appUserRequest = appUserRequest("tom@email", "password", "password");
+
+        // when
+        Set<ConstraintViolation<AppUserRequest>> violations = validator.validate(appUserRequest);
+
+        // then
+        assertThat(violations).extracting(ConstraintViolation::getMessage).containsExactly("Invalid email");
+    }
+
+    @Test
+    void shouldRejectAppUserRequest_givenNotMatchingPasswords() {
+
+        // given
+        AppUserRequest appUserRequest = appUserRequest("tom@email.com", "password", "passw0rd");
+
+        // when
+        Set<ConstraintViolation<AppUserRequest>> violations = validator.validate(appUserRequest);
+
+        // then
+        assertThat(violations).extracting(ConstraintViolation::getMessage)
+                .containsExactly("The password must match");
+    }
+
+    @Test
+    void shouldReadPropertiesThroughGetterLambdas() {
+
+        // given
+        AppUserRequest appUserRequest = appUserRequest("tom@email.com", "password", "password");
+
+        // when
+        Object email = PropertyAccessors.getter(AppUserRequest.class, "email").apply(appUserRequest);
+        Object dob = PropertyAccessors.getter(AppUserRequest.class, "dob").apply(appUserRequest);
+
+        // then
+        assertThat(email).isEqualTo("tom@email.com");
+        assertThat(dob).isEqualTo(LocalDate.of(1990, 2, 20));
+    }
+
+    @Test
+    void shouldNotResolveGetter_givenUnknownProperty() {
+
+        // when
+        // then
+        assertThatThrownBy(() -> PropertyAccessors.getter(AppUserRequest.class, "nickname"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Property nickname");
+    }
+
+    static AppUserRequest appUserRequest(String email, String password, String matchingPassword) {
+        return AppUserRequest.builder()
+                .email(email)
+                .password(password)
+                .matchingPassword(matchingPassword)
+                .firstName("Tom")
+                .lastName("Jones")
+                .phoneNumber("500600700")
+                .dob(LocalDate.of(1990, 2, 20))
+                .address(AddressRequest.builder()
+                        .apartmentNumber(101)
+                        .street("Pine")
+                        .city("Seattle")
+                        .country("USA")
+                        .build())
+                .build();
+    }
+}
@@ -73,30 +73,29 @@ VALUES('S',10,1), ('M',10,1), ('L',15,1),
 ('S',43,20), ('M',55,20), ('L',89,20),
 ('S',80,21), ('M',41,21), ('L',33,21);
 
-INSERT INTO purchase_order (total_value, date_of_order, app_user_id)
-VALUES (279.97, '2020-08-11 12:37', 2),
-(49.99, '2020-10-21 14:15', 2),
-(329.95, '2020-06-30 21:12', 3);
+INSERT INTO purchase_order (total_value, date_of_order, status, app_user_id)
+VALUES (279.97, '2020-08-11 12:37', 'DELIVERED', 2),
+(49.99, '2020-10-21 14:15', 'DELIVERED', 2),
+(329.95, '2020-06-30 21:12', 'DELIVERED', 3);
 
 INSERT INTO order_item (amount, item_id, purchase_order_id)
 VALUES (1, 2, 1), (2, 14, 1),
 (1, 26, 2),
 (3, 50, 3), (1,32, 3), (1, 1, 3);
 
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
+INSERT INTO sales_daily_product (sale_date, product_id, units, revenue)
+SELECT DATE(po.date_of_order), i.product_id, SUM(oi.amount), SUM(oi.amount * p.price)
+FROM purchase_order po
+JOIN order_item oi ON oi.purchase_order_id = po.id
+JOIN item i ON i.id = oi.item_id
+JOIN product p ON p.id = i.product_id
+GROUP BY DATE(po.date_of_order), i.product_id;
+
+INSERT INTO sales_daily_category (sale_date, category_id, units, revenue)
+SELECT DATE(po.date_of_order), pc.category_id, SUM(oi.amount), SUM(oi.amount * p.price)
+FROM purchase_order po
+JOIN order_item oi ON oi.purchase_order_id = po.id
+JOIN item i ON i.id = oi.item_id
+JOIN product p ON p.id = i.product_id
+JOIN product_category pc ON pc.product_id = p.id
+GROUP BY DATE(po.date_of_order), pc.category_id;